@@ -0,0 +1,21 @@
+package com.terfehr.homehub.application.command;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Command object for adding a new item to a ShoppingList. Contains information about the ShoppingList, the name of the
+ * item and its quantity.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+@NoArgsConstructor
+public class AddShoppingListItemCommand {
+
+    private Long shoppingListId;
+    private String name;
+    private int quantity;
+}
@@ -0,0 +1,25 @@
+package com.terfehr.homehub.application.command;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Command for creating a new Budget. Contains the Household the Budget belongs to, an optional Account it is restricted to,
+ * its name, the monthly limit with its currency and the scope that defines which Expenses are counted against it.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+@NoArgsConstructor
+public class CreateBudgetCommand {
+
+    private Long householdId;
+    private Long accountId;
+    private String name;
+    private long monthlyLimit;
+    private String currencyCode;
+    private String scope;
+    private String recipient;
+}
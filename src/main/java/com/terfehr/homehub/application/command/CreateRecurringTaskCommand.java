@@ -0,0 +1,25 @@
+package com.terfehr.homehub.application.command;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Command for creating a new RecurringTask. Contains the TaskList the occurrences are added to, their action and
+ * description as well as the recurrence rule in RRULE format and the start of the recurrence.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+@NoArgsConstructor
+public class CreateRecurringTaskCommand {
+
+    private Long taskListId;
+    private String action;
+    private String description;
+    private String recurrenceRule;
+    private LocalDateTime startsAt;
+}
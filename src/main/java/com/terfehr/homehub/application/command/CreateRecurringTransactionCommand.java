@@ -0,0 +1,30 @@
+package com.terfehr.homehub.application.command;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Command for creating a new RecurringTransaction. Contains the Account the occurrences are booked on, whether they are
+ * Expenses or Incomes, their amount, description and counterparty as well as the recurrence rule consisting of the
+ * frequency, the interval and the period in which the RecurringTransaction is active.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+@NoArgsConstructor
+public class CreateRecurringTransactionCommand {
+
+    private Long accountId;
+    private String type;
+    private long amount;
+    private String description;
+    private String counterparty;
+    private String frequency;
+    private int interval;
+    private LocalDateTime startsAt;
+    private LocalDateTime endsAt;
+}
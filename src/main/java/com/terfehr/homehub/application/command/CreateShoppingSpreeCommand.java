@@ -6,12 +6,13 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 /**
  * Command object for creating a new ShoppingSpree. It encapsulates all the necessary information for creating a new ShoppingSpree.
  * It is annotated with @Builder to allow for easy construction of the object. Contains information about the household the ShoppingList the Spree comes from,
  * the Account from which the Spree has been paid. The amount how expensive it was, a brief description of the Spree, the Date when it happened and the recipient
- * who received the money.
+ * who received the money. Optionally, it contains the unit prices of the bought items by their names.
  */
 @Getter
 @AllArgsConstructor
@@ -25,4 +26,5 @@ public class CreateShoppingSpreeCommand {
     private String description;
     private LocalDateTime date;
     private String recipient;
+    private Map<String, Long> unitPrices;
 }
@@ -0,0 +1,23 @@
+package com.terfehr.homehub.application.command;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Command for searching the Transactions of an Account. Contains the Account, the search query, the size of the page
+ * and the rank and ID of the last result of the previous page, which are both null for the first page.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+@NoArgsConstructor
+public class SearchTransactionsCommand {
+
+    private Long accountId;
+    private String query;
+    private Float afterRank;
+    private Long afterId;
+    private int limit;
+}
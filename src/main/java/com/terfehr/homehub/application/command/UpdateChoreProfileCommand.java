@@ -0,0 +1,25 @@
+package com.terfehr.homehub.application.command;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Command object for updating the ChoreProfile of a Roommate. Contains the Household and User identifying the
+ * Roommate, their availability between 0 and 1 and the actions they prefer or avoid.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+@NoArgsConstructor
+public class UpdateChoreProfileCommand {
+
+    private Long householdId;
+    private Long userId;
+    private double availability;
+    private List<String> preferredActions;
+    private List<String> avoidedActions;
+}
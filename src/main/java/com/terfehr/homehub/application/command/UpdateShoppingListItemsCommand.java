@@ -0,0 +1,23 @@
+package com.terfehr.homehub.application.command;
+
+import com.terfehr.homehub.domain.shopping.value.ShoppingListItemUpdate;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Command object for updating several items of a ShoppingList at once. Contains information about the ShoppingList
+ * and the desired state of every item.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+@NoArgsConstructor
+public class UpdateShoppingListItemsCommand {
+
+    private Long shoppingListId;
+    private List<ShoppingListItemUpdate> updates;
+}
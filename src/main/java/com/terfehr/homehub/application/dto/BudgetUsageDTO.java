@@ -0,0 +1,53 @@
+package com.terfehr.homehub.application.dto;
+
+import com.terfehr.homehub.domain.bookkeeping.value.BudgetUsage;
+import lombok.Getter;
+
+/**
+ * DTO for transporting the state of a Budget in a month between application and controller layer. Contains the
+ * Budget's ID, name, scope and restrictions as well as its limit, the consumed amount and the consumed share in percent.
+ */
+@Getter
+public class BudgetUsageDTO {
+
+    private final Long id;
+    private final String name;
+    private final String scope;
+    private final String recipient;
+    private final Long accountId;
+    private final String currencyCode;
+    private final long monthlyLimit;
+    private final long consumed;
+    private final double percentConsumed;
+
+    /**
+     * Constructs a BudgetUsageDTO from a BudgetUsage.
+     *
+     * @param usage The BudgetUsage to create the DTO from.
+     * @throws IllegalArgumentException If the given BudgetUsage is invalid.
+     */
+    public BudgetUsageDTO(BudgetUsage usage) throws IllegalArgumentException {
+        if (!validate(usage)) {
+            throw new IllegalArgumentException("Invalid budget usage");
+        }
+        this.id = usage.budgetId();
+        this.name = usage.name();
+        this.scope = usage.scope().name();
+        this.recipient = usage.recipient();
+        this.accountId = usage.accountId();
+        this.currencyCode = usage.currency().getCurrencyCode();
+        this.monthlyLimit = usage.limitInSmallestUnit();
+        this.consumed = usage.consumedInSmallestUnit();
+        this.percentConsumed = usage.percentConsumed();
+    }
+
+    /**
+     * Validates the given BudgetUsage. It and its Budget ID both have to be not null.
+     *
+     * @param usage The BudgetUsage to validate.
+     * @return True, if the BudgetUsage is valid. False otherwise.
+     */
+    private boolean validate(BudgetUsage usage) {
+        return usage != null && usage.budgetId() != null;
+    }
+}
@@ -0,0 +1,59 @@
+package com.terfehr.homehub.application.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * DTO for transporting the changes of a Household since a change version between application and controller layer.
+ * Contains the version to resume from, whether the client has to replace its state instead of applying the changes,
+ * the changed lists and entries and the deleted entities.
+ */
+@Getter
+public class ChangeSetDTO {
+
+    private final long version;
+    private final boolean fullResync;
+    private final List<ListSummaryDTO> shoppingLists;
+    private final List<ShoppingListItemDTO> shoppingListItems;
+    private final List<ListSummaryDTO> taskLists;
+    private final List<TaskDTO> tasks;
+    private final List<TombstoneDTO> deleted;
+
+    /**
+     * Constructor for ChangeSetDTO.
+     *
+     * @param version The change version the client resumes from on its next synchronization.
+     * @param fullResync True, if the change set contains the complete state and the client has to drop everything else.
+     * @param shoppingLists The changed ShoppingLists.
+     * @param shoppingListItems The changed ShoppingListItems.
+     * @param taskLists The changed TaskLists.
+     * @param tasks The changed Tasks.
+     * @param deleted The deleted entities. Always empty for a full resynchronization.
+     * @throws IllegalArgumentException If the given parameters are invalid.
+     */
+    public ChangeSetDTO(long version, boolean fullResync, List<ListSummaryDTO> shoppingLists, List<ShoppingListItemDTO> shoppingListItems,
+                        List<ListSummaryDTO> taskLists, List<TaskDTO> tasks, List<TombstoneDTO> deleted) throws IllegalArgumentException {
+        if (!validate(version, shoppingLists, shoppingListItems, taskLists, tasks, deleted)) {
+            throw new IllegalArgumentException("Invalid change set");
+        }
+        this.version = version;
+        this.fullResync = fullResync;
+        this.shoppingLists = shoppingLists;
+        this.shoppingListItems = shoppingListItems;
+        this.taskLists = taskLists;
+        this.tasks = tasks;
+        this.deleted = deleted;
+    }
+
+    /**
+     * Validates the given parameters. The version must not be negative and none of the lists may be null.
+     *
+     * @return True, if the parameters are valid. False otherwise.
+     */
+    private boolean validate(long version, List<ListSummaryDTO> shoppingLists, List<ShoppingListItemDTO> shoppingListItems,
+                             List<ListSummaryDTO> taskLists, List<TaskDTO> tasks, List<TombstoneDTO> deleted) {
+        return version >= 0 && shoppingLists != null && shoppingListItems != null && taskLists != null
+                && tasks != null && deleted != null;
+    }
+}
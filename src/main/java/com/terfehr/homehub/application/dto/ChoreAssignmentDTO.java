@@ -0,0 +1,39 @@
+package com.terfehr.homehub.application.dto;
+
+import com.terfehr.homehub.domain.scheduling.value.ChoreAssignment;
+import lombok.Getter;
+
+/**
+ * DTO for transporting an automatic assignment of a Task between application and controller layer. Contains the ID of
+ * the Task and the ID of the User it was assigned to.
+ */
+@Getter
+public class ChoreAssignmentDTO {
+
+    private final Long taskId;
+    private final Long userId;
+
+    /**
+     * Constructs a ChoreAssignmentDTO from a ChoreAssignment.
+     *
+     * @param assignment The ChoreAssignment to create the DTO from.
+     * @throws IllegalArgumentException If the given ChoreAssignment is invalid.
+     */
+    public ChoreAssignmentDTO(ChoreAssignment assignment) throws IllegalArgumentException {
+        if (!validate(assignment)) {
+            throw new IllegalArgumentException("Invalid chore assignment");
+        }
+        this.taskId = assignment.taskId();
+        this.userId = assignment.userId();
+    }
+
+    /**
+     * Validates the given ChoreAssignment. It, its Task ID and its User ID have to be not null.
+     *
+     * @param assignment The ChoreAssignment to validate.
+     * @return True, if the ChoreAssignment is valid. False otherwise.
+     */
+    private boolean validate(ChoreAssignment assignment) {
+        return assignment != null && assignment.taskId() != null && assignment.userId() != null;
+    }
+}
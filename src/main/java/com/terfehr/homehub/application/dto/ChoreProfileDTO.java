@@ -0,0 +1,48 @@
+package com.terfehr.homehub.application.dto;
+
+import com.terfehr.homehub.domain.scheduling.entity.ChoreProfile;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * DTO for transporting the ChoreProfile of a Roommate between application and controller layer. Contains the ID of
+ * the User, the current completion load, the availability and the preferred and avoided actions.
+ */
+@Getter
+public class ChoreProfileDTO {
+
+    private final Long userId;
+    private final double completionLoad;
+    private final double availability;
+    private final List<String> preferredActions;
+    private final List<String> avoidedActions;
+
+    /**
+     * Constructs a ChoreProfileDTO from a ChoreProfile.
+     *
+     * @param profile The ChoreProfile to create the DTO from.
+     * @param completionLoad The completion load decayed to the current time.
+     * @throws IllegalArgumentException If the given ChoreProfile is invalid.
+     */
+    public ChoreProfileDTO(ChoreProfile profile, double completionLoad) throws IllegalArgumentException {
+        if (!validate(profile)) {
+            throw new IllegalArgumentException("Invalid chore profile");
+        }
+        this.userId = profile.getId().getUserId();
+        this.completionLoad = completionLoad;
+        this.availability = profile.getAvailability();
+        this.preferredActions = profile.getPreferredActions() == null ? List.of() : List.of(profile.getPreferredActions());
+        this.avoidedActions = profile.getAvoidedActions() == null ? List.of() : List.of(profile.getAvoidedActions());
+    }
+
+    /**
+     * Validates the given ChoreProfile. It and its ID both have to be not null.
+     *
+     * @param profile The ChoreProfile to validate.
+     * @return True, if the ChoreProfile is valid. False otherwise.
+     */
+    private boolean validate(ChoreProfile profile) {
+        return profile != null && profile.getId() != null;
+    }
+}
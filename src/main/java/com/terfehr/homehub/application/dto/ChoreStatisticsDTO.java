@@ -0,0 +1,57 @@
+package com.terfehr.homehub.application.dto;
+
+import com.terfehr.homehub.domain.scheduling.value.RoommateChoreStatistics;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * DTO for transporting the chore statistics of a Roommate over a window of weeks between application and controller
+ * layer. Contains the ID and name of the User, the number of finished Tasks in the window and in the current week,
+ * the current streak in weeks, the average time to finish a Task in seconds, or null if unknown, and the number of
+ * finished Tasks per week starting on Monday.
+ */
+@Getter
+public class ChoreStatisticsDTO {
+
+    private final Long userId;
+    private final String username;
+    private final long finishedCount;
+    private final long finishedThisWeek;
+    private final int streakWeeks;
+    private final Double averageFinishSeconds;
+    private final Map<LocalDate, Integer> finishedPerWeek;
+
+    /**
+     * Constructs a ChoreStatisticsDTO from the summed up statistics of a Roommate and its weekly counts.
+     *
+     * @param statistics The summed up statistics of the Roommate.
+     * @param finishedPerWeek The number of finished Tasks per week of the window.
+     * @throws IllegalArgumentException If the given parameters are invalid.
+     */
+    public ChoreStatisticsDTO(RoommateChoreStatistics statistics, Map<LocalDate, Integer> finishedPerWeek) throws IllegalArgumentException {
+        if (!validate(statistics, finishedPerWeek)) {
+            throw new IllegalArgumentException("Invalid chore statistics");
+        }
+        this.userId = statistics.getUserId();
+        this.username = statistics.getUsername();
+        this.finishedCount = statistics.getFinishedCount();
+        this.finishedThisWeek = statistics.getFinishedThisWeek();
+        this.streakWeeks = statistics.getStreak();
+        this.averageFinishSeconds = statistics.getTimedCount() == 0 ? null : (double) statistics.getFinishSeconds() / statistics.getTimedCount();
+        this.finishedPerWeek = finishedPerWeek;
+    }
+
+    /**
+     * Validates the given parameters. The statistics and their User ID as well as the weekly counts have to be not
+     * null.
+     *
+     * @param statistics The statistics to validate.
+     * @param finishedPerWeek The weekly counts to validate.
+     * @return True, if the parameters are valid. False otherwise.
+     */
+    private boolean validate(RoommateChoreStatistics statistics, Map<LocalDate, Integer> finishedPerWeek) {
+        return statistics != null && statistics.getUserId() != null && finishedPerWeek != null;
+    }
+}
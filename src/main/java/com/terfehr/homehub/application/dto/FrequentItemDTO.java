@@ -0,0 +1,39 @@
+package com.terfehr.homehub.application.dto;
+
+import com.terfehr.homehub.domain.shopping.value.FrequentItem;
+import lombok.Getter;
+
+/**
+ * DTO for transporting an item a Household buys frequently between application and controller layer. Contains the
+ * name of the item and its weight, which decays with the age of the purchases.
+ */
+@Getter
+public class FrequentItemDTO {
+
+    private final String name;
+    private final double weight;
+
+    /**
+     * Constructs a FrequentItemDTO from a FrequentItem.
+     *
+     * @param frequentItem The FrequentItem to create the DTO from.
+     * @throws IllegalArgumentException If the given FrequentItem is invalid.
+     */
+    public FrequentItemDTO(FrequentItem frequentItem) throws IllegalArgumentException {
+        if (!validate(frequentItem)) {
+            throw new IllegalArgumentException("Invalid frequent item");
+        }
+        this.name = frequentItem.name();
+        this.weight = frequentItem.weight();
+    }
+
+    /**
+     * Validates the given FrequentItem. It and its name both have to be not null.
+     *
+     * @param frequentItem The FrequentItem to validate.
+     * @return True, if the FrequentItem is valid. False otherwise.
+     */
+    private boolean validate(FrequentItem frequentItem) {
+        return frequentItem != null && frequentItem.name() != null;
+    }
+}
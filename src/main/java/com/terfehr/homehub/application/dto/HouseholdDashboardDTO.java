@@ -0,0 +1,72 @@
+package com.terfehr.homehub.application.dto;
+
+import com.terfehr.homehub.domain.bookkeeping.value.AccountBalance;
+import com.terfehr.homehub.domain.household.value.RoommateSummary;
+import com.terfehr.homehub.domain.scheduling.value.TaskListSummary;
+import com.terfehr.homehub.domain.shopping.value.ShoppingListSummary;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * DTO for transporting the dashboard of a Household between application and controller layer. Contains the ID and
+ * name of the Household, its Roommates, the balances of its Accounts and the number of open Tasks and unpicked items
+ * of its TaskLists and ShoppingLists. Sections that could not be read in time are null and named in the unavailable
+ * sections instead.
+ */
+@Getter
+public class HouseholdDashboardDTO {
+
+    private final Long id;
+    private final String name;
+    private final List<RoommateSummary> roommates;
+    private final List<AccountBalance> accounts;
+    private final List<TaskListSummary> taskLists;
+    private final List<ShoppingListSummary> shoppingLists;
+    private final List<String> unavailableSections;
+
+    /**
+     * Constructor for HouseholdDashboardDTO.
+     *
+     * @param id The ID of the Household.
+     * @param name The name of the Household.
+     * @param roommates The Roommates of the Household.
+     * @param accounts The balances of the Accounts of the Household.
+     * @param taskLists The summaries of the TaskLists of the Household.
+     * @param shoppingLists The summaries of the ShoppingLists of the Household.
+     * @param unavailableSections The names of the sections that are unavailable.
+     * @throws IllegalArgumentException If the given parameters are invalid.
+     */
+    public HouseholdDashboardDTO(Long id, String name, List<RoommateSummary> roommates, List<AccountBalance> accounts,
+                                 List<TaskListSummary> taskLists, List<ShoppingListSummary> shoppingLists,
+                                 List<String> unavailableSections) throws IllegalArgumentException {
+        if (!validate(id, name, roommates, accounts, taskLists, shoppingLists, unavailableSections)) {
+            throw new IllegalArgumentException("Invalid household dashboard");
+        }
+        this.id = id;
+        this.name = name;
+        this.roommates = roommates;
+        this.accounts = accounts;
+        this.taskLists = taskLists;
+        this.shoppingLists = shoppingLists;
+        this.unavailableSections = unavailableSections;
+    }
+
+    /**
+     * Validates the given parameters. The Household has to be persisted and named and every section has to be
+     * either present or unavailable.
+     *
+     * @return True, if the parameters are valid. False otherwise.
+     */
+    private boolean validate(Long id, String name, List<RoommateSummary> roommates, List<AccountBalance> accounts,
+                             List<TaskListSummary> taskLists, List<ShoppingListSummary> shoppingLists,
+                             List<String> unavailableSections) {
+        if (id == null || name == null || unavailableSections == null) {
+            return false;
+        }
+        long missing = Stream.of(roommates, accounts, taskLists, shoppingLists).filter(Objects::isNull).count();
+        return missing == unavailableSections.size();
+    }
+}
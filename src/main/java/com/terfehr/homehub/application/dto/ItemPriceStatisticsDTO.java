@@ -0,0 +1,57 @@
+package com.terfehr.homehub.application.dto;
+
+import com.terfehr.homehub.domain.shopping.value.ItemPriceSummary;
+import lombok.Getter;
+
+/**
+ * DTO for transporting the price statistics of an item between application and controller layer. Contains the name
+ * of the item, the currency and number of the recorded unit prices, their minimum, median, 90th percentile and
+ * maximum as well as the recent average and its trend. If a price was given, it also contains the fraction of
+ * recorded prices at or below it.
+ */
+@Getter
+public class ItemPriceStatisticsDTO {
+
+    private final String name;
+    private final String currencyCode;
+    private final long count;
+    private final long min;
+    private final long median;
+    private final long p90;
+    private final long max;
+    private final long recentAverage;
+    private final double trend;
+    private final Double percentileRank;
+
+    /**
+     * Constructs an ItemPriceStatisticsDTO from an ItemPriceSummary.
+     *
+     * @param summary The ItemPriceSummary to create the DTO from.
+     * @throws IllegalArgumentException If the given ItemPriceSummary is invalid.
+     */
+    public ItemPriceStatisticsDTO(ItemPriceSummary summary) throws IllegalArgumentException {
+        if (!validate(summary)) {
+            throw new IllegalArgumentException("Invalid item price summary");
+        }
+        this.name = summary.name();
+        this.currencyCode = summary.currency().getCurrencyCode();
+        this.count = summary.count();
+        this.min = summary.min();
+        this.median = summary.median();
+        this.p90 = summary.p90();
+        this.max = summary.max();
+        this.recentAverage = summary.recentAverage();
+        this.trend = summary.trend();
+        this.percentileRank = summary.percentileRank();
+    }
+
+    /**
+     * Validates the given ItemPriceSummary. It and its currency both have to be not null.
+     *
+     * @param summary The ItemPriceSummary to validate.
+     * @return True, if the ItemPriceSummary is valid. False otherwise.
+     */
+    private boolean validate(ItemPriceSummary summary) {
+        return summary != null && summary.currency() != null;
+    }
+}
@@ -0,0 +1,55 @@
+package com.terfehr.homehub.application.dto;
+
+import com.terfehr.homehub.domain.scheduling.entity.TaskList;
+import com.terfehr.homehub.domain.shopping.entity.ShoppingList;
+import lombok.Getter;
+
+/**
+ * DTO for transporting the attributes of a ShoppingList or TaskList without its entries between application and
+ * controller layer. Contains information about the ID and name of the list.
+ */
+@Getter
+public class ListSummaryDTO {
+
+    private final Long id;
+    private final String name;
+
+    /**
+     * Constructs a ListSummaryDTO from a ShoppingList.
+     *
+     * @param shoppingList The ShoppingList to create the DTO from.
+     * @throws IllegalArgumentException If the given ShoppingList is invalid.
+     */
+    public ListSummaryDTO(ShoppingList shoppingList) throws IllegalArgumentException {
+        if (shoppingList == null || !validate(shoppingList.getId(), shoppingList.getName())) {
+            throw new IllegalArgumentException("Invalid shopping list");
+        }
+        this.id = shoppingList.getId();
+        this.name = shoppingList.getName();
+    }
+
+    /**
+     * Constructs a ListSummaryDTO from a TaskList.
+     *
+     * @param taskList The TaskList to create the DTO from.
+     * @throws IllegalArgumentException If the given TaskList is invalid.
+     */
+    public ListSummaryDTO(TaskList taskList) throws IllegalArgumentException {
+        if (taskList == null || !validate(taskList.getId(), taskList.getName())) {
+            throw new IllegalArgumentException("Invalid task list");
+        }
+        this.id = taskList.getId();
+        this.name = taskList.getName();
+    }
+
+    /**
+     * Validates the given attributes. The list has to be persisted and named.
+     *
+     * @param id The ID to validate.
+     * @param name The name to validate.
+     * @return True, if the attributes are valid. False otherwise.
+     */
+    private boolean validate(Long id, String name) {
+        return id != null && name != null;
+    }
+}
@@ -0,0 +1,55 @@
+package com.terfehr.homehub.application.dto;
+
+import com.terfehr.homehub.domain.scheduling.entity.RecurringTask;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for transporting RecurringTask data between application and controller layer. Contains the definition itself
+ * as well as its progress, i.e. the number of materialized occurrences and the first one that is not materialized yet.
+ */
+@Getter
+public class RecurringTaskDTO {
+
+    private final Long id;
+    private final Long taskListId;
+    private final String action;
+    private final String description;
+    private final String recurrenceRule;
+    private final LocalDateTime startsAt;
+    private final long occurrenceCount;
+    private final LocalDateTime nextOccurrence;
+    private final boolean active;
+
+    /**
+     * Constructs a RecurringTaskDTO from a RecurringTask.
+     *
+     * @param recurringTask The RecurringTask to create the DTO from.
+     * @throws IllegalArgumentException If the given RecurringTask is invalid.
+     */
+    public RecurringTaskDTO(RecurringTask recurringTask) throws IllegalArgumentException {
+        if (!validate(recurringTask)) {
+            throw new IllegalArgumentException("Invalid recurring task");
+        }
+        this.id = recurringTask.getId();
+        this.taskListId = recurringTask.getTaskList().getId();
+        this.action = recurringTask.getAction();
+        this.description = recurringTask.getDescription();
+        this.recurrenceRule = recurringTask.getRecurrenceRule();
+        this.startsAt = recurringTask.getStartsAt();
+        this.occurrenceCount = recurringTask.getOccurrenceCount();
+        this.nextOccurrence = recurringTask.getNextOccurrence();
+        this.active = recurringTask.isActive();
+    }
+
+    /**
+     * Validates the given RecurringTask. It and its ID both have to be not null.
+     *
+     * @param recurringTask The RecurringTask to validate.
+     * @return True, if the RecurringTask is valid. False otherwise.
+     */
+    private boolean validate(RecurringTask recurringTask) {
+        return recurringTask != null && recurringTask.getId() != null;
+    }
+}
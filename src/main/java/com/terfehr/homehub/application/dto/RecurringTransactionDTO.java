@@ -0,0 +1,65 @@
+package com.terfehr.homehub.application.dto;
+
+import com.terfehr.homehub.domain.bookkeeping.entity.RecurringTransaction;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for transporting RecurringTransaction data between application and controller layer. Contains the definition
+ * itself as well as its progress, i.e. the number of booked occurrences and the next due occurrence.
+ */
+@Getter
+public class RecurringTransactionDTO {
+
+    private final Long id;
+    private final Long accountId;
+    private final String type;
+    private final long amount;
+    private final String currencyCode;
+    private final String description;
+    private final String counterparty;
+    private final String frequency;
+    private final int interval;
+    private final LocalDateTime startsAt;
+    private final LocalDateTime endsAt;
+    private final long occurrenceCount;
+    private final LocalDateTime nextOccurrence;
+    private final boolean active;
+
+    /**
+     * Constructs a RecurringTransactionDTO from a RecurringTransaction.
+     *
+     * @param recurringTransaction The RecurringTransaction to create the DTO from.
+     * @throws IllegalArgumentException If the given RecurringTransaction is invalid.
+     */
+    public RecurringTransactionDTO(RecurringTransaction recurringTransaction) throws IllegalArgumentException {
+        if (!validate(recurringTransaction)) {
+            throw new IllegalArgumentException("Invalid recurring transaction");
+        }
+        this.id = recurringTransaction.getId();
+        this.accountId = recurringTransaction.getAccount().getId();
+        this.type = recurringTransaction.getType().name();
+        this.amount = recurringTransaction.getAmount().getAmountInSmallestUnit();
+        this.currencyCode = recurringTransaction.getAmount().getCurrency().getCurrencyCode();
+        this.description = recurringTransaction.getDescription();
+        this.counterparty = recurringTransaction.getCounterparty();
+        this.frequency = recurringTransaction.getFrequency().name();
+        this.interval = recurringTransaction.getInterval();
+        this.startsAt = recurringTransaction.getStartsAt();
+        this.endsAt = recurringTransaction.getEndsAt();
+        this.occurrenceCount = recurringTransaction.getOccurrenceCount();
+        this.nextOccurrence = recurringTransaction.getNextOccurrence();
+        this.active = recurringTransaction.isActive();
+    }
+
+    /**
+     * Validates the given RecurringTransaction. It and its ID both have to be not null.
+     *
+     * @param recurringTransaction The RecurringTransaction to validate.
+     * @return True, if the RecurringTransaction is valid. False otherwise.
+     */
+    private boolean validate(RecurringTransaction recurringTransaction) {
+        return recurringTransaction != null && recurringTransaction.getId() != null;
+    }
+}
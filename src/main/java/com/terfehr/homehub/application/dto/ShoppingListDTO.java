@@ -0,0 +1,45 @@
+package com.terfehr.homehub.application.dto;
+
+import com.terfehr.homehub.domain.shopping.entity.ShoppingList;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * DTO for transporting a ShoppingList between application and controller layer. Contains information about the ID and
+ * name of the list and all of its items ordered by their SortKeys.
+ */
+@Getter
+public class ShoppingListDTO {
+
+    private final Long id;
+    private final String name;
+    private final List<ShoppingListItemDTO> items;
+
+    /**
+     * Constructs a ShoppingListDTO from a ShoppingList.
+     *
+     * @param shoppingList The ShoppingList to create the DTO from.
+     * @throws IllegalArgumentException If the given ShoppingList is invalid.
+     */
+    public ShoppingListDTO(ShoppingList shoppingList) throws IllegalArgumentException {
+        if (!validate(shoppingList)) {
+            throw new IllegalArgumentException("Invalid shopping list");
+        }
+        this.id = shoppingList.getId();
+        this.name = shoppingList.getName();
+        this.items = shoppingList.getShoppingListItems().stream()
+                .map(ShoppingListItemDTO::new)
+                .toList();
+    }
+
+    /**
+     * Validates the given ShoppingList. It has to be not null and persisted.
+     *
+     * @param shoppingList The ShoppingList to validate.
+     * @return True, if the ShoppingList is valid. False otherwise.
+     */
+    private boolean validate(ShoppingList shoppingList) {
+        return shoppingList != null && shoppingList.getId() != null;
+    }
+}
@@ -0,0 +1,48 @@
+package com.terfehr.homehub.application.dto;
+
+import com.terfehr.homehub.domain.shopping.entity.ShoppingListItem;
+import lombok.Getter;
+
+/**
+ * DTO for transporting a ShoppingListItem between application and controller layer. Contains information about the
+ * ID, ShoppingList, name and quantity of the item, whether it is picked and the SortKey ordering it within its
+ * ShoppingList.
+ */
+@Getter
+public class ShoppingListItemDTO {
+
+    private final Long id;
+    private final Long shoppingListId;
+    private final String name;
+    private final int quantity;
+    private final boolean picked;
+    private final String sortKey;
+
+    /**
+     * Constructs a ShoppingListItemDTO from a ShoppingListItem.
+     *
+     * @param item The ShoppingListItem to create the DTO from.
+     * @throws IllegalArgumentException If the given ShoppingListItem is invalid.
+     */
+    public ShoppingListItemDTO(ShoppingListItem item) throws IllegalArgumentException {
+        if (!validate(item)) {
+            throw new IllegalArgumentException("Invalid shopping list item");
+        }
+        this.id = item.getId();
+        this.shoppingListId = item.getShoppingList().getId();
+        this.name = item.getName();
+        this.quantity = item.getQuantity();
+        this.picked = item.isPicked();
+        this.sortKey = item.getSortKey();
+    }
+
+    /**
+     * Validates the given ShoppingListItem. It has to be not null and persisted.
+     *
+     * @param item The ShoppingListItem to validate.
+     * @return True, if the ShoppingListItem is valid. False otherwise.
+     */
+    private boolean validate(ShoppingListItem item) {
+        return item != null && item.getId() != null;
+    }
+}
@@ -0,0 +1,42 @@
+package com.terfehr.homehub.application.dto;
+
+import com.terfehr.homehub.domain.shopping.value.ShoppingListItemUpdateOutcome;
+import com.terfehr.homehub.domain.shopping.value.ShoppingListItemUpdateResult;
+import lombok.Getter;
+
+/**
+ * DTO for transporting the outcome of a single item within a bulk update between application and controller layer.
+ * Contains the ID of the requested item, the outcome and the state of the item afterward, if it exists.
+ */
+@Getter
+public class ShoppingListItemUpdateResultDTO {
+
+    private final Long itemId;
+    private final ShoppingListItemUpdateOutcome outcome;
+    private final ShoppingListItemDTO item;
+
+    /**
+     * Constructs a ShoppingListItemUpdateResultDTO from a ShoppingListItemUpdateResult.
+     *
+     * @param result The ShoppingListItemUpdateResult to create the DTO from.
+     * @throws IllegalArgumentException If the given ShoppingListItemUpdateResult is invalid.
+     */
+    public ShoppingListItemUpdateResultDTO(ShoppingListItemUpdateResult result) throws IllegalArgumentException {
+        if (!validate(result)) {
+            throw new IllegalArgumentException("Invalid shopping list item update result");
+        }
+        this.itemId = result.itemId();
+        this.outcome = result.outcome();
+        this.item = result.item() != null ? new ShoppingListItemDTO(result.item()) : null;
+    }
+
+    /**
+     * Validates the given ShoppingListItemUpdateResult. It has to be not null and have an outcome.
+     *
+     * @param result The ShoppingListItemUpdateResult to validate.
+     * @return True, if the ShoppingListItemUpdateResult is valid. False otherwise.
+     */
+    private boolean validate(ShoppingListItemUpdateResult result) {
+        return result != null && result.outcome() != null;
+    }
+}
@@ -0,0 +1,43 @@
+package com.terfehr.homehub.application.dto;
+
+import com.terfehr.homehub.domain.shopping.entity.ShoppingSpree;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for transporting a ShoppingSpree between application and controller layer. Contains information about the ID
+ * and date of the ShoppingSpree and the ID of the ShoppingExpense it was paid with.
+ */
+@Getter
+public class ShoppingSpreeDTO {
+
+    private final Long id;
+    private final LocalDateTime date;
+    private final Long shoppingExpenseId;
+
+    /**
+     * Constructs a ShoppingSpreeDTO from a ShoppingSpree.
+     *
+     * @param spree The ShoppingSpree to create the DTO from.
+     * @throws IllegalArgumentException If the given ShoppingSpree is invalid.
+     */
+    public ShoppingSpreeDTO(ShoppingSpree spree) throws IllegalArgumentException {
+        if (!validate(spree)) {
+            throw new IllegalArgumentException("Invalid shopping spree");
+        }
+        this.id = spree.getId();
+        this.date = spree.getDate();
+        this.shoppingExpenseId = spree.getShoppingExpense() == null ? null : spree.getShoppingExpense().getId();
+    }
+
+    /**
+     * Validates the given ShoppingSpree. It has to be not null and persisted.
+     *
+     * @param spree The ShoppingSpree to validate.
+     * @return True, if the ShoppingSpree is valid. False otherwise.
+     */
+    private boolean validate(ShoppingSpree spree) {
+        return spree != null && spree.getId() != null;
+    }
+}
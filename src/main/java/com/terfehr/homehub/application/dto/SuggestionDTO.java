@@ -0,0 +1,39 @@
+package com.terfehr.homehub.application.dto;
+
+import com.terfehr.homehub.domain.household.value.TermFrequency;
+import lombok.Getter;
+
+/**
+ * DTO for transporting a single suggestion between application and controller layer. Contains the suggested term and
+ * how often the Household entered it before.
+ */
+@Getter
+public class SuggestionDTO {
+
+    private final String term;
+    private final long frequency;
+
+    /**
+     * Constructs a SuggestionDTO from a TermFrequency.
+     *
+     * @param termFrequency The TermFrequency to create the DTO from.
+     * @throws IllegalArgumentException If the given TermFrequency is invalid.
+     */
+    public SuggestionDTO(TermFrequency termFrequency) throws IllegalArgumentException {
+        if (!validate(termFrequency)) {
+            throw new IllegalArgumentException("Invalid suggestion");
+        }
+        this.term = termFrequency.term();
+        this.frequency = termFrequency.frequency();
+    }
+
+    /**
+     * Validates the given TermFrequency. It and its term both have to be not null.
+     *
+     * @param termFrequency The TermFrequency to validate.
+     * @return True, if the TermFrequency is valid. False otherwise.
+     */
+    private boolean validate(TermFrequency termFrequency) {
+        return termFrequency != null && termFrequency.term() != null;
+    }
+}
@@ -0,0 +1,46 @@
+package com.terfehr.homehub.application.dto;
+
+import com.terfehr.homehub.domain.scheduling.value.TaskClaim;
+import lombok.Getter;
+
+/**
+ * DTO for transporting the outcome of claiming a Task between application and controller layer. Contains the ID of
+ * the Task, the ID of the User it is assigned to, whether the claiming User holds the Task, and whether the Task is
+ * finished.
+ */
+@Getter
+public class TaskClaimDTO {
+
+    private final Long taskId;
+    private final Long assigneeUserId;
+    private final boolean won;
+    private final boolean finished;
+
+    /**
+     * Constructs a TaskClaimDTO from a TaskClaim.
+     *
+     * @param claim The TaskClaim to create the DTO from.
+     * @param userId The ID of the claiming User.
+     * @throws IllegalArgumentException If the given parameters are invalid.
+     */
+    public TaskClaimDTO(TaskClaim claim, Long userId) throws IllegalArgumentException {
+        if (!validate(claim, userId)) {
+            throw new IllegalArgumentException("Invalid task claim");
+        }
+        this.taskId = claim.getTaskId();
+        this.assigneeUserId = claim.getAssigneeUserId();
+        this.won = userId.equals(claim.getAssigneeUserId());
+        this.finished = claim.getFinished();
+    }
+
+    /**
+     * Validates the given parameters. The TaskClaim, its Task ID and the User ID have to be not null.
+     *
+     * @param claim The TaskClaim to validate.
+     * @param userId The User ID to validate.
+     * @return True, if the parameters are valid. False otherwise.
+     */
+    private boolean validate(TaskClaim claim, Long userId) {
+        return claim != null && claim.getTaskId() != null && userId != null;
+    }
+}
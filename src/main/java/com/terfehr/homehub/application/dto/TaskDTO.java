@@ -0,0 +1,59 @@
+package com.terfehr.homehub.application.dto;
+
+import com.terfehr.homehub.domain.scheduling.entity.Task;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for transporting a Task between application and controller layer. Contains information about the ID, TaskList,
+ * action and description of the Task, whether and when it was finished, the ID of the User it is assigned to as well
+ * as its due time, the RecurringTask it is an occurrence of, if any, and the SortKey ordering it within its
+ * TaskList.
+ */
+@Getter
+public class TaskDTO {
+
+    private final Long id;
+    private final Long taskListId;
+    private final String action;
+    private final String description;
+    private final boolean finished;
+    private final LocalDateTime finishedAt;
+    private final Long assigneeUserId;
+    private final LocalDateTime dueAt;
+    private final Long recurringTaskId;
+    private final String sortKey;
+
+    /**
+     * Constructs a TaskDTO from a Task.
+     *
+     * @param task The Task to create the DTO from.
+     * @throws IllegalArgumentException If the given Task is invalid.
+     */
+    public TaskDTO(Task task) throws IllegalArgumentException {
+        if (!validate(task)) {
+            throw new IllegalArgumentException("Invalid task");
+        }
+        this.id = task.getId();
+        this.taskListId = task.getTaskList().getId();
+        this.action = task.getAction();
+        this.description = task.getDescription();
+        this.finished = task.isFinished();
+        this.finishedAt = task.getFinishedAt();
+        this.assigneeUserId = task.getUserId();
+        this.dueAt = task.getDueAt();
+        this.recurringTaskId = task.getRecurringTask() == null ? null : task.getRecurringTask().getId();
+        this.sortKey = task.getSortKey();
+    }
+
+    /**
+     * Validates the given Task. It has to be not null and persisted.
+     *
+     * @param task The Task to validate.
+     * @return True, if the Task is valid. False otherwise.
+     */
+    private boolean validate(Task task) {
+        return task != null && task.getId() != null;
+    }
+}
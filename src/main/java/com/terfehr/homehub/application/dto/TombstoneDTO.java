@@ -0,0 +1,39 @@
+package com.terfehr.homehub.application.dto;
+
+import com.terfehr.homehub.domain.household.entity.ChangeTombstone;
+import lombok.Getter;
+
+/**
+ * DTO for transporting the deletion of a synchronized entity between application and controller layer. Contains
+ * information about the type and ID of the deleted entity.
+ */
+@Getter
+public class TombstoneDTO {
+
+    private final String type;
+    private final Long id;
+
+    /**
+     * Constructs a TombstoneDTO from a ChangeTombstone.
+     *
+     * @param tombstone The ChangeTombstone to create the DTO from.
+     * @throws IllegalArgumentException If the given ChangeTombstone is invalid.
+     */
+    public TombstoneDTO(ChangeTombstone tombstone) throws IllegalArgumentException {
+        if (!validate(tombstone)) {
+            throw new IllegalArgumentException("Invalid tombstone");
+        }
+        this.type = tombstone.getEntityType().name();
+        this.id = tombstone.getEntityId();
+    }
+
+    /**
+     * Validates the given ChangeTombstone. It and its entity type have to be not null.
+     *
+     * @param tombstone The ChangeTombstone to validate.
+     * @return True, if the ChangeTombstone is valid. False otherwise.
+     */
+    private boolean validate(ChangeTombstone tombstone) {
+        return tombstone != null && tombstone.getEntityType() != null;
+    }
+}
@@ -0,0 +1,53 @@
+package com.terfehr.homehub.application.dto;
+
+import com.terfehr.homehub.domain.bookkeeping.value.TransactionSearchResult;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for transporting a single search result between application and controller layer. Contains the matched
+ * Transaction's ID, type, amount, description, counterparty and date as well as the rank it was ordered by.
+ */
+@Getter
+public class TransactionSearchResultDTO {
+
+    private final Long id;
+    private final String type;
+    private final long amount;
+    private final String currencyCode;
+    private final String description;
+    private final String counterparty;
+    private final LocalDateTime date;
+    private final float rank;
+
+    /**
+     * Constructs a TransactionSearchResultDTO from a TransactionSearchResult.
+     *
+     * @param result The TransactionSearchResult to create the DTO from.
+     * @throws IllegalArgumentException If the given TransactionSearchResult is invalid.
+     */
+    public TransactionSearchResultDTO(TransactionSearchResult result) throws IllegalArgumentException {
+        if (!validate(result)) {
+            throw new IllegalArgumentException("Invalid transaction search result");
+        }
+        this.id = result.getId();
+        this.type = result.getType();
+        this.amount = result.getAmount();
+        this.currencyCode = result.getCurrency();
+        this.description = result.getDescription();
+        this.counterparty = result.getCounterparty();
+        this.date = result.getDate();
+        this.rank = result.getRank();
+    }
+
+    /**
+     * Validates the given TransactionSearchResult. It and its ID both have to be not null.
+     *
+     * @param result The TransactionSearchResult to validate.
+     * @return True, if the TransactionSearchResult is valid. False otherwise.
+     */
+    private boolean validate(TransactionSearchResult result) {
+        return result != null && result.getId() != null;
+    }
+}
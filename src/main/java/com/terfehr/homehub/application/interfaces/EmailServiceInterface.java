@@ -1,6 +1,7 @@
 package com.terfehr.homehub.application.interfaces;
 
 import com.terfehr.homehub.domain.household.entity.User;
+import com.terfehr.homehub.domain.scheduling.value.ReminderDigest;
 
 /**
  * Interface for everything Email-related. Enables dependency inversion.
@@ -20,4 +21,11 @@ public interface EmailServiceInterface {
      */
     void sendVerificationMail(User user);
 
+    /**
+     * Mail sent to the user containing all of his reminders of a dispatch batch.
+     *
+     * @param digest The reminders and their recipient.
+     */
+    void sendReminderDigest(ReminderDigest digest);
+
 }
@@ -0,0 +1,19 @@
+package com.terfehr.homehub.application.interfaces;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Interface for running work that spans all Households on every database shard. Enables dependency inversion.
+ */
+public interface ShardsInterface {
+
+    /**
+     * Runs the given action once per shard, one shard after another. Without sharding, the action runs once.
+     * Transactions have to begin within the action, as a transaction cannot span shards.
+     *
+     * @param action The action to run.
+     * @return The results of the action, one per shard.
+     */
+    <T> List<T> onEveryShard(Supplier<T> action);
+}
@@ -0,0 +1,18 @@
+package com.terfehr.homehub.application.interfaces;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Interface for pushing the changes of ShoppingLists to subscribed clients as Server-Sent Events.
+ */
+public interface ShoppingListBroadcastInterface {
+
+    /**
+     * Subscribes a new client to the changes of the given ShoppingList. The subscription ends when the client
+     * disconnects, when it times out or when the client does not keep up with the changes.
+     *
+     * @param shoppingListId The ID of the ShoppingList.
+     * @return The SseEmitter the changes are sent through.
+     */
+    SseEmitter subscribe(Long shoppingListId);
+}
@@ -0,0 +1,23 @@
+package com.terfehr.homehub.application.interfaces;
+
+import com.terfehr.homehub.domain.household.value.SuggestionField;
+import com.terfehr.homehub.domain.household.value.TermFrequency;
+
+import java.util.List;
+
+/**
+ * Interface for suggesting previously entered terms while typing. Enables dependency inversion.
+ */
+public interface SuggestionIndexInterface {
+
+    /**
+     * Suggests the most frequently entered terms of the given Household and field that start with the given prefix.
+     *
+     * @param householdId The ID of the Household.
+     * @param field The field to suggest terms for.
+     * @param prefix The prefix typed so far. It is matched case-insensitively.
+     * @param limit The maximum number of suggestions.
+     * @return The suggestions ordered by descending frequency.
+     */
+    List<TermFrequency> suggest(Long householdId, SuggestionField field, String prefix, int limit);
+}
@@ -0,0 +1,35 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.application.command.AddShoppingListItemCommand;
+import com.terfehr.homehub.application.dto.ShoppingListItemDTO;
+import com.terfehr.homehub.domain.shopping.entity.ShoppingList;
+import com.terfehr.homehub.domain.shopping.exception.ShoppingListNotFoundException;
+import com.terfehr.homehub.domain.shopping.repository.ShoppingListRepositoryInterface;
+import com.terfehr.homehub.domain.shopping.service.ShoppingService;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@AllArgsConstructor
+@Transactional
+public class AddShoppingListItemService {
+
+    private final ShoppingListRepositoryInterface shoppingListRepository;
+    private final ShoppingService shoppingService;
+
+    /**
+     * Executes the AddShoppingListItemCommand by adding a new item to the ShoppingList.
+     *
+     * @param cmd The AddShoppingListItemCommand containing the ShoppingList, the name and the quantity of the item.
+     * @return The ShoppingListItemDTO of the added item.
+     * @throws ShoppingListNotFoundException If the ShoppingList with the given ID does not exist.
+     * @throws IllegalArgumentException If the given name or quantity is invalid.
+     */
+    public ShoppingListItemDTO execute(AddShoppingListItemCommand cmd) throws ShoppingListNotFoundException, IllegalArgumentException {
+        ShoppingList shoppingList = shoppingListRepository.findById(cmd.getShoppingListId())
+                .orElseThrow(() -> new ShoppingListNotFoundException("ShoppingList with ID " + cmd.getShoppingListId() + " not found"));
+
+        return new ShoppingListItemDTO(shoppingService.addItem(shoppingList, cmd.getName(), cmd.getQuantity()));
+    }
+}
@@ -0,0 +1,37 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.application.dto.ChoreAssignmentDTO;
+import com.terfehr.homehub.domain.household.exception.HouseholdNotFoundException;
+import com.terfehr.homehub.domain.household.repository.HouseholdRepositoryInterface;
+import com.terfehr.homehub.domain.scheduling.service.ChoreAssignmentService;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+@Transactional
+public class AssignTasksService {
+
+    private final HouseholdRepositoryInterface householdRepository;
+    private final ChoreAssignmentService choreAssignmentService;
+
+    /**
+     * Spreads all open Tasks of the given Household across its Roommates.
+     *
+     * @param householdId The ID of the Household.
+     * @return A List of ChoreAssignmentDTOs, one per assigned Task.
+     * @throws HouseholdNotFoundException If the Household with the given ID does not exist.
+     */
+    public List<ChoreAssignmentDTO> execute(Long householdId) throws HouseholdNotFoundException {
+        if (!householdRepository.existsById(householdId)) {
+            throw new HouseholdNotFoundException("Household with ID " + householdId + " not found");
+        }
+        return choreAssignmentService.assignOpenTasks(householdId, LocalDateTime.now()).stream()
+                .map(ChoreAssignmentDTO::new)
+                .toList();
+    }
+}
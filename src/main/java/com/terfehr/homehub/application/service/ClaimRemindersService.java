@@ -0,0 +1,31 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.domain.scheduling.service.ReminderService;
+import com.terfehr.homehub.domain.scheduling.value.ReminderDigest;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+@Transactional
+public class ClaimRemindersService {
+
+    private final ReminderService reminderService;
+
+    /**
+     * Claims a batch of pending reminders for the given owner in a single transaction, so the lease is visible to
+     * other instances before any of the reminders is sent.
+     *
+     * @param owner The identifier of the claiming instance.
+     * @param now The current time.
+     * @param batchSize The maximum number of reminders to claim.
+     * @return A List of digests, one per User.
+     */
+    public List<ReminderDigest> execute(String owner, LocalDateTime now, int batchSize) {
+        return reminderService.claim(owner, now, batchSize);
+    }
+}
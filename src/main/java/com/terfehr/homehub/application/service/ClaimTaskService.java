@@ -0,0 +1,30 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.application.dto.TaskClaimDTO;
+import com.terfehr.homehub.domain.scheduling.exception.TaskNotFoundException;
+import com.terfehr.homehub.domain.scheduling.service.ChoreAssignmentService;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@AllArgsConstructor
+@Transactional
+public class ClaimTaskService {
+
+    private final ChoreAssignmentService choreAssignmentService;
+
+    /**
+     * Claims the given Task for the given User, unless somebody else claimed it first or it is finished.
+     *
+     * @param taskId The ID of the Task.
+     * @param userId The ID of the claiming User.
+     * @return The TaskClaimDTO telling who holds the Task.
+     * @throws TaskNotFoundException If the Task does not exist or the User is no Roommate of its Household.
+     */
+    public TaskClaimDTO execute(Long taskId, Long userId) throws TaskNotFoundException {
+        return choreAssignmentService.claimTask(taskId, userId)
+                .map(claim -> new TaskClaimDTO(claim, userId))
+                .orElseThrow(() -> new TaskNotFoundException("Task with ID " + taskId + " not found"));
+    }
+}
@@ -0,0 +1,32 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.application.dto.TaskClaimDTO;
+import com.terfehr.homehub.domain.scheduling.service.ChoreAssignmentService;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+@Transactional
+public class ClaimTasksService {
+
+    private final ChoreAssignmentService choreAssignmentService;
+
+    /**
+     * Claims the given Tasks of the given Household for the given User, each unless somebody else claimed it first or
+     * it is finished.
+     *
+     * @param householdId The ID of the Household.
+     * @param taskIds The IDs of the Tasks.
+     * @param userId The ID of the claiming User.
+     * @return A List of TaskClaimDTOs, one per existing Task of the Household, empty if the User is no Roommate.
+     */
+    public List<TaskClaimDTO> execute(Long householdId, List<Long> taskIds, Long userId) {
+        return choreAssignmentService.claimTasks(householdId, taskIds, userId).stream()
+                .map(claim -> new TaskClaimDTO(claim, userId))
+                .toList();
+    }
+}
@@ -0,0 +1,28 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.domain.scheduling.service.ReminderService;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+@Transactional
+public class CompleteRemindersService {
+
+    private final ReminderService reminderService;
+
+    /**
+     * Marks the given reminders as sent by the given owner.
+     *
+     * @param reminderIds The IDs of the sent reminders.
+     * @param owner The identifier of the instance that sent them.
+     * @return The number of completed reminders.
+     */
+    public int execute(List<Long> reminderIds, String owner) {
+        return reminderService.complete(reminderIds, owner, LocalDateTime.now());
+    }
+}
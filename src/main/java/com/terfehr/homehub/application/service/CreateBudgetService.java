@@ -0,0 +1,63 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.application.command.CreateBudgetCommand;
+import com.terfehr.homehub.application.dto.BudgetUsageDTO;
+import com.terfehr.homehub.domain.bookkeeping.entity.Account;
+import com.terfehr.homehub.domain.bookkeeping.entity.Budget;
+import com.terfehr.homehub.domain.bookkeeping.exception.AccountNotFoundException;
+import com.terfehr.homehub.domain.bookkeeping.exception.BudgetNotFoundException;
+import com.terfehr.homehub.domain.bookkeeping.repository.AccountRepositoryInterface;
+import com.terfehr.homehub.domain.bookkeeping.repository.BudgetRepositoryInterface;
+import com.terfehr.homehub.domain.bookkeeping.service.BudgetService;
+import com.terfehr.homehub.domain.bookkeeping.value.BudgetScope;
+import com.terfehr.homehub.domain.household.entity.Household;
+import com.terfehr.homehub.domain.household.exception.HouseholdNotFoundException;
+import com.terfehr.homehub.domain.household.repository.HouseholdRepositoryInterface;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+
+@Service
+@AllArgsConstructor
+@Transactional
+public class CreateBudgetService {
+
+    private final HouseholdRepositoryInterface householdRepository;
+    private final AccountRepositoryInterface accountRepository;
+    private final BudgetRepositoryInterface budgetRepository;
+
+    private final BudgetService budgetService;
+
+    /**
+     * Executes the CreateBudgetCommand by creating a Budget for the Household and initializing its counters from the
+     * Expenses that were already booked.
+     *
+     * @param cmd The CreateBudgetCommand containing the necessary information for creating a Budget.
+     * @return A BudgetUsageDTO containing the state of the new Budget in the current month.
+     * @throws HouseholdNotFoundException If the Household with the given ID does not exist.
+     * @throws AccountNotFoundException If an Account ID is given but the Account does not exist in the Household.
+     * @throws IllegalArgumentException If the given parameters are invalid for creating a Budget.
+     */
+    public BudgetUsageDTO execute(CreateBudgetCommand cmd) throws HouseholdNotFoundException, AccountNotFoundException, IllegalArgumentException {
+        Household household = householdRepository.findById(cmd.getHouseholdId())
+                .orElseThrow(() -> new HouseholdNotFoundException("Household with ID " + cmd.getHouseholdId() + " not found"));
+
+        Account account = null;
+        if (cmd.getAccountId() != null) {
+            account = accountRepository.findById(cmd.getAccountId())
+                    .filter(a -> a.getHousehold().getId().equals(household.getId()))
+                    .orElseThrow(() -> new AccountNotFoundException("Account with ID " + cmd.getAccountId() + " not found in Household " + household.getId()));
+        }
+
+        Budget budget = new Budget(cmd.getName(), cmd.getMonthlyLimit(), cmd.getCurrencyCode(),
+                BudgetScope.valueOf(cmd.getScope()), cmd.getRecipient(), household, account);
+        budgetRepository.save(budget);
+        budgetService.initializeCounters(budget);
+
+        return budgetService.getBudgetUsage(budget.getId(), YearMonth.now())
+                .map(BudgetUsageDTO::new)
+                .orElseThrow(() -> new BudgetNotFoundException("Budget with ID " + budget.getId() + " not found"));
+    }
+}
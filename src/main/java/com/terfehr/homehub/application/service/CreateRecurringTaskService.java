@@ -0,0 +1,41 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.application.command.CreateRecurringTaskCommand;
+import com.terfehr.homehub.application.dto.RecurringTaskDTO;
+import com.terfehr.homehub.domain.scheduling.entity.RecurringTask;
+import com.terfehr.homehub.domain.scheduling.entity.TaskList;
+import com.terfehr.homehub.domain.scheduling.exception.TaskListNotFoundException;
+import com.terfehr.homehub.domain.scheduling.repository.RecurringTaskRepositoryInterface;
+import com.terfehr.homehub.domain.scheduling.repository.TaskListRepositoryInterface;
+import com.terfehr.homehub.domain.scheduling.value.RecurrenceRule;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@AllArgsConstructor
+@Transactional
+public class CreateRecurringTaskService {
+
+    private final TaskListRepositoryInterface taskListRepository;
+    private final RecurringTaskRepositoryInterface recurringTaskRepository;
+
+    /**
+     * Executes the CreateRecurringTaskCommand by persisting a new RecurringTask. No occurrences are created until
+     * they are asked for.
+     *
+     * @param cmd The command containing the definition of the RecurringTask.
+     * @return A RecurringTaskDTO of the newly created RecurringTask.
+     * @throws TaskListNotFoundException If the TaskList with the given ID does not exist.
+     * @throws IllegalArgumentException If the given parameters are invalid for creating a RecurringTask.
+     */
+    public RecurringTaskDTO execute(CreateRecurringTaskCommand cmd) throws TaskListNotFoundException, IllegalArgumentException {
+        TaskList taskList = taskListRepository.findById(cmd.getTaskListId())
+                .orElseThrow(() -> new TaskListNotFoundException("TaskList with ID " + cmd.getTaskListId() + " not found"));
+
+        RecurringTask recurringTask = new RecurringTask(taskList, cmd.getAction(), cmd.getDescription(),
+                RecurrenceRule.parse(cmd.getRecurrenceRule()), cmd.getStartsAt());
+        recurringTaskRepository.save(recurringTask);
+        return new RecurringTaskDTO(recurringTask);
+    }
+}
@@ -0,0 +1,50 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.application.command.CreateRecurringTransactionCommand;
+import com.terfehr.homehub.application.dto.RecurringTransactionDTO;
+import com.terfehr.homehub.domain.bookkeeping.entity.Account;
+import com.terfehr.homehub.domain.bookkeeping.entity.RecurringTransaction;
+import com.terfehr.homehub.domain.bookkeeping.event.RecurringTransactionScheduledEvent;
+import com.terfehr.homehub.domain.bookkeeping.exception.AccountNotFoundException;
+import com.terfehr.homehub.domain.bookkeeping.repository.AccountRepositoryInterface;
+import com.terfehr.homehub.domain.bookkeeping.repository.RecurringTransactionRepositoryInterface;
+import com.terfehr.homehub.domain.bookkeeping.value.RecurrenceFrequency;
+import com.terfehr.homehub.domain.bookkeeping.value.RecurringSchedule;
+import com.terfehr.homehub.domain.bookkeeping.value.TransactionType;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+@Service
+@AllArgsConstructor
+@Transactional
+public class CreateRecurringTransactionService {
+
+    private final AccountRepositoryInterface accountRepository;
+    private final RecurringTransactionRepositoryInterface recurringTransactionRepository;
+    private final ApplicationEventPublisher publisher;
+
+    /**
+     * Executes the CreateRecurringTransactionCommand by persisting a new RecurringTransaction and publishing an event
+     * that hands its schedule to the scheduler once the transaction has been committed.
+     *
+     * @param cmd The command containing the definition of the RecurringTransaction.
+     * @return A RecurringTransactionDTO of the newly created RecurringTransaction.
+     * @throws AccountNotFoundException If the Account with the given ID does not exist.
+     * @throws IllegalArgumentException If the given parameters are invalid for creating a RecurringTransaction.
+     */
+    public RecurringTransactionDTO execute(CreateRecurringTransactionCommand cmd) throws AccountNotFoundException, IllegalArgumentException {
+        Account account = accountRepository.findById(cmd.getAccountId())
+                .orElseThrow(() -> new AccountNotFoundException("Account with ID " + cmd.getAccountId() + " not found"));
+
+        RecurringTransaction recurringTransaction = new RecurringTransaction(account, TransactionType.valueOf(cmd.getType()),
+                cmd.getAmount(), cmd.getDescription(), cmd.getCounterparty(), RecurrenceFrequency.valueOf(cmd.getFrequency()),
+                cmd.getInterval(), cmd.getStartsAt(), cmd.getEndsAt());
+        recurringTransactionRepository.save(recurringTransaction);
+
+        publisher.publishEvent(new RecurringTransactionScheduledEvent(
+                new RecurringSchedule(recurringTransaction.getId(), recurringTransaction.getNextOccurrence())));
+        return new RecurringTransactionDTO(recurringTransaction);
+    }
+}
@@ -5,31 +5,37 @@ import com.terfehr.homehub.domain.bookkeeping.entity.Account;
 import com.terfehr.homehub.domain.bookkeeping.entity.ShoppingExpense;
 import com.terfehr.homehub.domain.bookkeeping.exception.AccountNotFoundException;
 import com.terfehr.homehub.domain.bookkeeping.repository.AccountRepositoryInterface;
+import com.terfehr.homehub.domain.bookkeeping.service.BookkeepingService;
 import com.terfehr.homehub.domain.household.entity.Household;
 import com.terfehr.homehub.domain.household.exception.HouseholdNotFoundException;
-import com.terfehr.homehub.domain.household.repository.HouseholdRepositoryInterface;
 import com.terfehr.homehub.domain.shopping.entity.ShoppingList;
 import com.terfehr.homehub.domain.shopping.entity.ShoppingSpree;
 import com.terfehr.homehub.domain.shopping.exception.ShoppingListNotFoundException;
 import com.terfehr.homehub.domain.shopping.repository.ShoppingListRepositoryInterface;
+import com.terfehr.homehub.domain.shopping.service.ItemPriceService;
 import com.terfehr.homehub.domain.shopping.service.ShoppingService;
+import com.terfehr.homehub.domain.shopping.value.ItemPriceView;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 @AllArgsConstructor
 @Transactional
 public class CreateShoppingSpreeService {
 
-    private final HouseholdRepositoryInterface householdRepository;
     private final ShoppingListRepositoryInterface shoppingListRepository;
     private final AccountRepositoryInterface accountRepository;
 
     private final ShoppingService shoppingService;
+    private final BookkeepingService bookkeepingService;
+    private final ItemPriceService itemPriceService;
 
     /**
      * Executes the CreateShoppingSpreeCommand by creating a ShoppingSpree and associating it with an Account.
+     * Given unit prices are set on the items of the ShoppingSpree and counted in the price statistics of the Household.
      *
      * @param cmd The CreateShoppingSpreeCommand to execute containing the necessary information for creating a ShoppingSpree.
      * @return The newly created ShoppingSpree.
@@ -47,11 +53,14 @@ public class CreateShoppingSpreeService {
                 .orElseThrow(() -> new AccountNotFoundException("Account  with the ID " + cmd.getAccountId() + " not found"));
 
         ShoppingSpree spree = shoppingService.prepareShoppingSpree(shoppingList, household, cmd.getDate());
-        ShoppingExpense expense = account.addShoppingExpense(cmd.getAmount(), cmd.getDescription(), cmd.getDate(), cmd.getRecipient());
+        ShoppingExpense expense = bookkeepingService.addShoppingExpense(account, cmd.getAmount(), cmd.getDescription(), cmd.getDate(), cmd.getRecipient());
         spree.setShoppingExpense(expense);
         expense.setShoppingSpree(spree);
 
-        householdRepository.save(household);
+        if (cmd.getUnitPrices() != null) {
+            List<ItemPriceView> prices = shoppingService.setUnitPrices(spree, cmd.getUnitPrices());
+            itemPriceService.recordUnitPrices(household.getId(), account.getBalance().getCurrency(), prices, cmd.getDate());
+        }
         return spree;
     }
 }
@@ -0,0 +1,51 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.application.dto.TaskDTO;
+import com.terfehr.homehub.domain.scheduling.entity.Task;
+import com.terfehr.homehub.domain.scheduling.exception.TaskNotFoundException;
+import com.terfehr.homehub.domain.scheduling.repository.TaskRepositoryInterface;
+import com.terfehr.homehub.domain.scheduling.service.ChoreAssignmentService;
+import com.terfehr.homehub.domain.scheduling.service.ChoreStatisticsService;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+@Service
+@AllArgsConstructor
+@Transactional
+public class FinishTaskService {
+
+    private final TaskRepositoryInterface taskRepository;
+    private final ChoreAssignmentService choreAssignmentService;
+    private final ChoreStatisticsService choreStatisticsService;
+
+    /**
+     * Marks the given Task as finished or unfinishes it again and counts it in or out of the chore statistics of its
+     * Roommate. Tasks that already are in the desired state are left untouched, so repeated requests do not count the
+     * Task twice.
+     *
+     * @param taskId The ID of the Task.
+     * @param finished Whether the Task should be finished afterward.
+     * @return The TaskDTO of the changed Task.
+     * @throws TaskNotFoundException If the Task with the given ID does not exist.
+     */
+    public TaskDTO execute(Long taskId, boolean finished) throws TaskNotFoundException {
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new TaskNotFoundException("Task with ID " + taskId + " not found"));
+
+        if (task.isFinished() == finished) {
+            return new TaskDTO(task);
+        }
+        if (finished) {
+            choreAssignmentService.finishTask(task);
+            choreStatisticsService.countFinished(task);
+        } else {
+            LocalDateTime finishedAt = task.getFinishedAt();
+            choreAssignmentService.unfinishTask(task, LocalDateTime.now());
+            choreStatisticsService.countUnfinished(task, finishedAt);
+        }
+        return new TaskDTO(task);
+    }
+}
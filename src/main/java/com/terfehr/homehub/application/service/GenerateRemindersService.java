@@ -0,0 +1,26 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.domain.scheduling.service.ReminderService;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+@Service
+@AllArgsConstructor
+@Transactional
+public class GenerateRemindersService {
+
+    private final ReminderService reminderService;
+
+    /**
+     * Creates the reminders for all Tasks and bills that are due within their lead time in a single transaction.
+     *
+     * @param now The current time.
+     * @return The number of created reminders.
+     */
+    public int execute(LocalDateTime now) {
+        return reminderService.generate(now);
+    }
+}
@@ -0,0 +1,35 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.application.dto.ItemPriceStatisticsDTO;
+import com.terfehr.homehub.application.interfaces.ShardsInterface;
+import com.terfehr.homehub.domain.shopping.entity.ItemPriceStatistics;
+import com.terfehr.homehub.domain.shopping.service.ItemPriceService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+public class GetAggregatedItemPriceStatisticsService {
+
+    private final ItemPriceService itemPriceService;
+    private final ShardsInterface shards;
+
+    /**
+     * Retrieves the price statistics of the given item across all Households, one per currency. No information about
+     * single Households is exposed. The statistics are gathered from every shard and merged afterward.
+     *
+     * @param itemName The name of the item.
+     * @param unitPrice A price to rank against the recorded ones or null.
+     * @return A List of ItemPriceStatisticsDTOs, empty if no Household has prices for the item.
+     */
+    public List<ItemPriceStatisticsDTO> execute(String itemName, Long unitPrice) {
+        List<ItemPriceStatistics> statistics = shards.onEveryShard(() -> itemPriceService.findAllStatistics(itemName)).stream()
+                .flatMap(List::stream)
+                .toList();
+        return itemPriceService.aggregate(statistics, unitPrice).stream()
+                .map(ItemPriceStatisticsDTO::new)
+                .toList();
+    }
+}
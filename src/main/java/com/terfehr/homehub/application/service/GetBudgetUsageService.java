@@ -0,0 +1,37 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.application.dto.BudgetUsageDTO;
+import com.terfehr.homehub.domain.bookkeeping.service.BudgetService;
+import com.terfehr.homehub.domain.household.exception.HouseholdNotFoundException;
+import com.terfehr.homehub.domain.household.repository.HouseholdRepositoryInterface;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+public class GetBudgetUsageService {
+
+    private final HouseholdRepositoryInterface householdRepository;
+    private final BudgetService budgetService;
+
+    /**
+     * Retrieves the usage of all Budgets of the given Household in the given month. The consumption is answered from
+     * the counters, so the cost only depends on the number of Budgets and not on the size of the ledger.
+     *
+     * @param householdId The ID of the Household.
+     * @param month The month to retrieve the usage for.
+     * @return A List of BudgetUsageDTOs, one for each Budget of the Household.
+     * @throws HouseholdNotFoundException If the Household with the given ID does not exist.
+     */
+    public List<BudgetUsageDTO> execute(Long householdId, YearMonth month) throws HouseholdNotFoundException {
+        if (!householdRepository.existsById(householdId)) {
+            throw new HouseholdNotFoundException("Household with ID " + householdId + " not found");
+        }
+        return budgetService.getHouseholdUsage(householdId, month).stream()
+                .map(BudgetUsageDTO::new)
+                .toList();
+    }
+}
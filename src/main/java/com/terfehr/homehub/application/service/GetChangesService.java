@@ -0,0 +1,67 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.application.dto.ChangeSetDTO;
+import com.terfehr.homehub.application.dto.ListSummaryDTO;
+import com.terfehr.homehub.application.dto.ShoppingListItemDTO;
+import com.terfehr.homehub.application.dto.TaskDTO;
+import com.terfehr.homehub.application.dto.TombstoneDTO;
+import com.terfehr.homehub.domain.household.exception.HouseholdNotFoundException;
+import com.terfehr.homehub.domain.household.repository.ChangeTombstoneRepositoryInterface;
+import com.terfehr.homehub.domain.household.repository.HouseholdRepositoryInterface;
+import com.terfehr.homehub.domain.household.value.SyncState;
+import com.terfehr.homehub.domain.scheduling.repository.TaskListRepositoryInterface;
+import com.terfehr.homehub.domain.scheduling.repository.TaskRepositoryInterface;
+import com.terfehr.homehub.domain.shopping.repository.ShoppingListItemRepositoryInterface;
+import com.terfehr.homehub.domain.shopping.repository.ShoppingListRepositoryInterface;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+@Transactional
+public class GetChangesService {
+
+    private final HouseholdRepositoryInterface householdRepository;
+    private final ShoppingListRepositoryInterface shoppingListRepository;
+    private final ShoppingListItemRepositoryInterface shoppingListItemRepository;
+    private final TaskListRepositoryInterface taskListRepository;
+    private final TaskRepositoryInterface taskRepository;
+    private final ChangeTombstoneRepositoryInterface changeTombstoneRepository;
+
+    /**
+     * Retrieves everything that changed in the ShoppingLists and TaskLists of the given Household after the given
+     * change version. The current version is read before the changes, so a change committed in between is either
+     * contained in the result or has a higher version than the one returned and is fetched again next time.
+     * Clients without a version, with a version whose tombstones were pruned already or with a version from the
+     * future get the complete state instead.
+     *
+     * @param householdId The ID of the Household.
+     * @param since The change version the client has already seen or 0 if it has not synchronized yet.
+     * @return The ChangeSetDTO.
+     * @throws HouseholdNotFoundException If the Household with the given ID does not exist.
+     */
+    public ChangeSetDTO execute(Long householdId, long since) throws HouseholdNotFoundException {
+        SyncState state = householdRepository.findSyncStateById(householdId)
+                .orElseThrow(() -> new HouseholdNotFoundException("Household with ID " + householdId + " not found"));
+
+        boolean fullResync = since <= 0 || since < state.syncFloorVersion() || since > state.changeVersion();
+        long from = fullResync ? -1 : since; // Rows that existed before versioning was introduced have version 0
+
+        List<TombstoneDTO> deleted = fullResync ? List.of() : changeTombstoneRepository
+                .findAllByHouseholdIdAndChangeVersionGreaterThanOrderByChangeVersion(householdId, from).stream()
+                .map(TombstoneDTO::new)
+                .toList();
+
+        return new ChangeSetDTO(
+                state.changeVersion(),
+                fullResync,
+                shoppingListRepository.findAllByHouseholdIdAndChangeVersionGreaterThan(householdId, from).stream().map(ListSummaryDTO::new).toList(),
+                shoppingListItemRepository.findAllChangedByHouseholdId(householdId, from).stream().map(ShoppingListItemDTO::new).toList(),
+                taskListRepository.findAllByHouseholdIdAndChangeVersionGreaterThan(householdId, from).stream().map(ListSummaryDTO::new).toList(),
+                taskRepository.findAllChangedByHouseholdId(householdId, from).stream().map(TaskDTO::new).toList(),
+                deleted);
+    }
+}
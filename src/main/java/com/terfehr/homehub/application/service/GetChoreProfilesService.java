@@ -0,0 +1,31 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.application.dto.ChoreProfileDTO;
+import com.terfehr.homehub.domain.scheduling.service.ChoreAssignmentService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+@Transactional(readOnly = true)
+public class GetChoreProfilesService {
+
+    private final ChoreAssignmentService choreAssignmentService;
+
+    /**
+     * Retrieves the ChoreProfiles of all Roommates of the given Household.
+     *
+     * @param householdId The ID of the Household.
+     * @return A List of ChoreProfileDTOs, one per Roommate.
+     */
+    public List<ChoreProfileDTO> execute(Long householdId) {
+        LocalDateTime now = LocalDateTime.now();
+        return choreAssignmentService.getProfiles(householdId, now).stream()
+                .map(profile -> new ChoreProfileDTO(profile, choreAssignmentService.getCompletionLoad(profile, now)))
+                .toList();
+    }
+}
@@ -0,0 +1,52 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.application.dto.ChoreStatisticsDTO;
+import com.terfehr.homehub.domain.scheduling.entity.ChoreStatistics;
+import com.terfehr.homehub.domain.scheduling.service.ChoreStatisticsService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@AllArgsConstructor
+@Transactional(readOnly = true)
+public class GetChoreStatisticsService {
+
+    private final ChoreStatisticsService choreStatisticsService;
+
+    /**
+     * Retrieves the chore statistics of all Roommates of the given Household over the given number of weeks up to and
+     * including the current one, ordered like a leaderboard.
+     *
+     * @param householdId The ID of the Household.
+     * @param weeks The number of weeks.
+     * @return A List of ChoreStatisticsDTOs, one per Roommate, the one with the most finished Tasks first.
+     */
+    public List<ChoreStatisticsDTO> execute(Long householdId, int weeks) {
+        LocalDate today = LocalDate.now();
+        Map<Long, Map<LocalDate, Integer>> weekly = new HashMap<>();
+        for (ChoreStatistics statistics : choreStatisticsService.getWeeklyStatistics(householdId, weeks, today)) {
+            weekly.computeIfAbsent(statistics.getRoommate().getId().getUserId(), userId -> new HashMap<>())
+                    .put(statistics.getWeekStart(), statistics.getFinishedCount());
+        }
+
+        LocalDate currentWeek = ChoreStatisticsService.weekOf(today.atStartOfDay());
+        return choreStatisticsService.getLeaderboard(householdId, weeks, today).stream()
+                .map(statistics -> {
+                    Map<LocalDate, Integer> counts = weekly.getOrDefault(statistics.getUserId(), Map.of());
+                    Map<LocalDate, Integer> finishedPerWeek = new LinkedHashMap<>();
+                    for (int i = weeks - 1; i >= 0; i--) {
+                        LocalDate week = currentWeek.minusWeeks(i);
+                        finishedPerWeek.put(week, counts.getOrDefault(week, 0));
+                    }
+                    return new ChoreStatisticsDTO(statistics, finishedPerWeek);
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,43 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.application.dto.TaskDTO;
+import com.terfehr.homehub.domain.household.exception.HouseholdNotFoundException;
+import com.terfehr.homehub.domain.household.repository.HouseholdRepositoryInterface;
+import com.terfehr.homehub.domain.scheduling.repository.TaskRepositoryInterface;
+import com.terfehr.homehub.domain.scheduling.service.RecurringTaskService;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+@Transactional
+public class GetDueTasksService {
+
+    private final HouseholdRepositoryInterface householdRepository;
+    private final TaskRepositoryInterface taskRepository;
+    private final RecurringTaskService recurringTaskService;
+
+    /**
+     * Retrieves all Tasks of the given Household that are due inside the given window. The occurrences of its
+     * RecurringTasks up to the end of the window are materialized first.
+     *
+     * @param householdId The ID of the Household.
+     * @param from The inclusive start of the window.
+     * @param to The exclusive end of the window.
+     * @return A List of TaskDTOs ordered by their due time.
+     * @throws HouseholdNotFoundException If the Household with the given ID does not exist.
+     */
+    public List<TaskDTO> execute(Long householdId, LocalDateTime from, LocalDateTime to) throws HouseholdNotFoundException {
+        if (!householdRepository.existsById(householdId)) {
+            throw new HouseholdNotFoundException("Household with ID " + householdId + " not found");
+        }
+        recurringTaskService.materializeHousehold(householdId, to);
+        return taskRepository.findAllByHouseholdIdDueBetween(householdId, from, to).stream()
+                .map(TaskDTO::new)
+                .toList();
+    }
+}
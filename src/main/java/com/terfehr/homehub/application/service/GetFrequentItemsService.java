@@ -0,0 +1,31 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.application.dto.FrequentItemDTO;
+import com.terfehr.homehub.domain.shopping.service.FrequentItemService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+@Transactional(readOnly = true)
+public class GetFrequentItemsService {
+
+    private final FrequentItemService frequentItemService;
+
+    /**
+     * Retrieves the items the given Household usually buys, weighted by how often and how recently they were bought.
+     * Read from the sketch of the Household, so the cost does not grow with its ShoppingSpree history.
+     *
+     * @param householdId The ID of the Household.
+     * @param limit The maximum number of items.
+     * @return A List of FrequentItemDTOs ordered by descending weight.
+     */
+    public List<FrequentItemDTO> execute(Long householdId, int limit) {
+        return frequentItemService.getFrequentItems(householdId, limit).stream()
+                .map(FrequentItemDTO::new)
+                .toList();
+    }
+}
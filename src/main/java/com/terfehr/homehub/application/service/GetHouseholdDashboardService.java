@@ -0,0 +1,191 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.application.dto.HouseholdDashboardDTO;
+import com.terfehr.homehub.domain.bookkeeping.repository.AccountRepositoryInterface;
+import com.terfehr.homehub.domain.bookkeeping.value.AccountBalance;
+import com.terfehr.homehub.domain.household.exception.HouseholdNotFoundException;
+import com.terfehr.homehub.domain.household.repository.HouseholdRepositoryInterface;
+import com.terfehr.homehub.domain.household.value.RoommateSummary;
+import com.terfehr.homehub.domain.scheduling.repository.TaskListRepositoryInterface;
+import com.terfehr.homehub.domain.scheduling.value.TaskListSummary;
+import com.terfehr.homehub.domain.shopping.repository.ShoppingListRepositoryInterface;
+import com.terfehr.homehub.domain.shopping.value.ShoppingListSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * <p>Service for the dashboard of a Household. The dashboard consists of independent reads from the household,
+ * bookkeeping, scheduling and shopping domains, which are run concurrently on virtual threads, so the dashboard
+ * takes about as long as its slowest read instead of their sum. Every read is a single projection query that runs
+ * in its own read-only transaction on its own connection, so it can be served by a read replica. The reads are
+ * decorated with the given TaskDecorator, which hands the routing of the request to the virtual threads.</p>
+ *
+ * <p>The reads form a scope that never outlives the request: every read has to finish within the configured timeout
+ * of the fan-out, and reads that are still running when the dashboard is returned are cancelled. If the Household
+ * cannot be read, the other reads are cancelled and the request fails. Any other read that fails or times out is
+ * cancelled on its own and its section is reported as unavailable, so the rest of the dashboard is still shown.</p>
+ */
+@Slf4j
+@Service
+public class GetHouseholdDashboardService {
+
+    public static final String ROOMMATES = "roommates";
+    public static final String ACCOUNTS = "accounts";
+    public static final String TASK_LISTS = "taskLists";
+    public static final String SHOPPING_LISTS = "shoppingLists";
+
+    private final HouseholdRepositoryInterface householdRepository;
+    private final AccountRepositoryInterface accountRepository;
+    private final TaskListRepositoryInterface taskListRepository;
+    private final ShoppingListRepositoryInterface shoppingListRepository;
+    private final ExecutorService readers;
+    private final TaskDecorator taskDecorator;
+    private final long timeoutNanos;
+
+    public GetHouseholdDashboardService(HouseholdRepositoryInterface householdRepository,
+                                        AccountRepositoryInterface accountRepository,
+                                        TaskListRepositoryInterface taskListRepository,
+                                        ShoppingListRepositoryInterface shoppingListRepository,
+                                        TaskDecorator taskDecorator,
+                                        @Value("${dashboard.timeout-millis}") long timeoutMillis) {
+        this.householdRepository = householdRepository;
+        this.accountRepository = accountRepository;
+        this.taskListRepository = taskListRepository;
+        this.shoppingListRepository = shoppingListRepository;
+        this.readers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("dashboard-reader-", 0).factory());
+        this.taskDecorator = taskDecorator;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    /**
+     * Retrieves the dashboard of the given Household. The Household itself is read alongside its sections, so the
+     * dashboard takes the same five queries no matter how many Roommates, Accounts, Tasks or items the Household
+     * has, and no entity is loaded into a persistence context.
+     *
+     * @param householdId The ID of the Household.
+     * @return The HouseholdDashboardDTO, whose unavailable sections are null and listed as such.
+     * @throws HouseholdNotFoundException If the Household with the given ID does not exist.
+     * @throws IllegalStateException If the Household could not be read in time.
+     */
+    public HouseholdDashboardDTO execute(Long householdId) throws HouseholdNotFoundException, IllegalStateException {
+        long deadline = System.nanoTime() + timeoutNanos;
+        Future<Optional<String>> name = submit(() -> householdRepository.findNameById(householdId));
+        List<Future<?>> sections = new ArrayList<>();
+        Future<List<RoommateSummary>> roommates = fork(sections, () -> householdRepository.findAllRoommateSummariesByHouseholdId(householdId));
+        Future<List<AccountBalance>> accounts = fork(sections, () -> accountRepository.findAllBalancesByHouseholdId(householdId));
+        Future<List<TaskListSummary>> taskLists = fork(sections, () -> taskListRepository.findAllSummariesByHouseholdId(householdId));
+        Future<List<ShoppingListSummary>> shoppingLists = fork(sections, () -> shoppingListRepository.findAllSummariesByHouseholdId(householdId));
+
+        try {
+            String householdName = join(name, deadline)
+                    .orElseThrow(() -> new HouseholdNotFoundException("Household with ID " + householdId + " not found"));
+
+            List<String> unavailable = new ArrayList<>();
+            return new HouseholdDashboardDTO(
+                    householdId,
+                    householdName,
+                    joinSection(roommates, ROOMMATES, householdId, deadline, unavailable),
+                    joinSection(accounts, ACCOUNTS, householdId, deadline, unavailable),
+                    joinSection(taskLists, TASK_LISTS, householdId, deadline, unavailable),
+                    joinSection(shoppingLists, SHOPPING_LISTS, householdId, deadline, unavailable),
+                    unavailable
+            );
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Household with ID " + householdId + " could not be read in time", e);
+        } finally {
+            name.cancel(true);
+            sections.forEach(section -> section.cancel(true)); // No effect on reads that already completed
+        }
+    }
+
+    /**
+     * Starts the given read of a section on its own virtual thread.
+     *
+     * @param sections The running reads, to which the new one is added.
+     * @param read The read to start.
+     * @return The Future of the read.
+     */
+    private <T> Future<T> fork(List<Future<?>> sections, Supplier<T> read) {
+        Future<T> section = submit(read::get);
+        sections.add(section);
+        return section;
+    }
+
+    /**
+     * Starts the given read on its own virtual thread, decorated with the TaskDecorator.
+     *
+     * @param read The read to start.
+     * @return The Future of the read, which interrupts the virtual thread when it is cancelled.
+     */
+    private <T> Future<T> submit(Callable<T> read) {
+        FutureTask<T> task = new FutureTask<>(read);
+        readers.execute(taskDecorator.decorate(task));
+        return task;
+    }
+
+    /**
+     * Waits for the given read until the deadline, rethrowing its failure.
+     *
+     * @param read The read to wait for.
+     * @param deadline The deadline in the time of System.nanoTime().
+     * @return The result of the read.
+     * @throws TimeoutException If the read did not finish before the deadline.
+     */
+    private <T> T join(Future<T> read, long deadline) throws TimeoutException {
+        try {
+            return read.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading the dashboard", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Waits for the read of a section until the deadline. A section that fails or does not finish in time is
+     * cancelled and marked as unavailable instead of failing the whole dashboard.
+     *
+     * @param read The read of the section.
+     * @param section The name of the section.
+     * @param householdId The ID of the Household.
+     * @param deadline The deadline in the time of System.nanoTime().
+     * @param unavailable The names of the unavailable sections, to which the section is added if it is unavailable.
+     * @return The result of the read or null if the section is unavailable.
+     */
+    private <T> T joinSection(Future<T> read, String section, Long householdId, long deadline, List<String> unavailable) {
+        try {
+            return join(read, deadline);
+        } catch (TimeoutException | RuntimeException e) {
+            read.cancel(true);
+            log.warn("Dashboard section {} of household {} is unavailable", section, householdId, e);
+            unavailable.add(section);
+            return null;
+        }
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void shutdown() {
+        readers.shutdownNow();
+    }
+}
@@ -0,0 +1,31 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.application.dto.ItemPriceStatisticsDTO;
+import com.terfehr.homehub.domain.shopping.service.ItemPriceService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+@Transactional(readOnly = true)
+public class GetItemPriceStatisticsService {
+
+    private final ItemPriceService itemPriceService;
+
+    /**
+     * Retrieves the price statistics of the given item of the given Household, one per currency.
+     *
+     * @param householdId The ID of the Household.
+     * @param itemName The name of the item.
+     * @param unitPrice A price to rank against the recorded ones or null.
+     * @return A List of ItemPriceStatisticsDTOs, empty if the Household has no prices for the item.
+     */
+    public List<ItemPriceStatisticsDTO> execute(Long householdId, String itemName, Long unitPrice) {
+        return itemPriceService.getStatistics(householdId, itemName, unitPrice).stream()
+                .map(ItemPriceStatisticsDTO::new)
+                .toList();
+    }
+}
@@ -0,0 +1,36 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.application.dto.RecurringTaskDTO;
+import com.terfehr.homehub.domain.scheduling.exception.TaskListNotFoundException;
+import com.terfehr.homehub.domain.scheduling.repository.RecurringTaskRepositoryInterface;
+import com.terfehr.homehub.domain.scheduling.repository.TaskListRepositoryInterface;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+@Transactional(readOnly = true)
+public class GetRecurringTasksService {
+
+    private final TaskListRepositoryInterface taskListRepository;
+    private final RecurringTaskRepositoryInterface recurringTaskRepository;
+
+    /**
+     * Retrieves all RecurringTasks of the given TaskList.
+     *
+     * @param taskListId The ID of the TaskList.
+     * @return A List of RecurringTaskDTOs.
+     * @throws TaskListNotFoundException If the TaskList with the given ID does not exist.
+     */
+    public List<RecurringTaskDTO> execute(Long taskListId) throws TaskListNotFoundException {
+        if (!taskListRepository.existsById(taskListId)) {
+            throw new TaskListNotFoundException("TaskList with ID " + taskListId + " not found");
+        }
+        return recurringTaskRepository.findAllByTaskListIdOrderById(taskListId).stream()
+                .map(RecurringTaskDTO::new)
+                .toList();
+    }
+}
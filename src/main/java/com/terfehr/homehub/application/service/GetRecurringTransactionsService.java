@@ -0,0 +1,36 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.application.dto.RecurringTransactionDTO;
+import com.terfehr.homehub.domain.bookkeeping.exception.AccountNotFoundException;
+import com.terfehr.homehub.domain.bookkeeping.repository.AccountRepositoryInterface;
+import com.terfehr.homehub.domain.bookkeeping.repository.RecurringTransactionRepositoryInterface;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+@Transactional(readOnly = true)
+public class GetRecurringTransactionsService {
+
+    private final AccountRepositoryInterface accountRepository;
+    private final RecurringTransactionRepositoryInterface recurringTransactionRepository;
+
+    /**
+     * Retrieves all RecurringTransactions of the given Account.
+     *
+     * @param accountId The ID of the Account.
+     * @return A List of RecurringTransactionDTOs.
+     * @throws AccountNotFoundException If the Account with the given ID does not exist.
+     */
+    public List<RecurringTransactionDTO> execute(Long accountId) throws AccountNotFoundException {
+        if (!accountRepository.existsById(accountId)) {
+            throw new AccountNotFoundException("Account with ID " + accountId + " not found");
+        }
+        return recurringTransactionRepository.findAllByAccountId(accountId).stream()
+                .map(RecurringTransactionDTO::new)
+                .toList();
+    }
+}
@@ -0,0 +1,29 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.application.dto.ShoppingListDTO;
+import com.terfehr.homehub.domain.shopping.exception.ShoppingListNotFoundException;
+import com.terfehr.homehub.domain.shopping.repository.ShoppingListRepositoryInterface;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@AllArgsConstructor
+@Transactional
+public class GetShoppingListService {
+
+    private final ShoppingListRepositoryInterface shoppingListRepository;
+
+    /**
+     * Retrieves the given ShoppingList together with all of its items.
+     *
+     * @param shoppingListId The ID of the ShoppingList.
+     * @return The ShoppingListDTO.
+     * @throws ShoppingListNotFoundException If the ShoppingList with the given ID does not exist.
+     */
+    public ShoppingListDTO execute(Long shoppingListId) throws ShoppingListNotFoundException {
+        return shoppingListRepository.findById(shoppingListId)
+                .map(ShoppingListDTO::new)
+                .orElseThrow(() -> new ShoppingListNotFoundException("ShoppingList with ID " + shoppingListId + " not found"));
+    }
+}
@@ -0,0 +1,33 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.application.dto.SuggestionDTO;
+import com.terfehr.homehub.application.interfaces.SuggestionIndexInterface;
+import com.terfehr.homehub.domain.household.value.SuggestionField;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+public class GetSuggestionsService {
+
+    private final SuggestionIndexInterface suggestionIndex;
+
+    /**
+     * Retrieves the most frequently entered terms of the given Household and field that start with the given prefix.
+     * Answered from memory, so it is cheap enough to be called on every keystroke. Unknown Households simply get no
+     * suggestions instead of an error, as checking their existence would cost a query per keystroke.
+     *
+     * @param householdId The ID of the Household.
+     * @param field The field to suggest terms for.
+     * @param prefix The prefix typed so far.
+     * @param limit The maximum number of suggestions.
+     * @return A List of SuggestionDTOs ordered by descending frequency.
+     */
+    public List<SuggestionDTO> execute(Long householdId, SuggestionField field, String prefix, int limit) {
+        return suggestionIndex.suggest(householdId, field, prefix, limit).stream()
+                .map(SuggestionDTO::new)
+                .toList();
+    }
+}
@@ -0,0 +1,39 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.application.dto.TaskDTO;
+import com.terfehr.homehub.domain.scheduling.entity.RecurringTask;
+import com.terfehr.homehub.domain.scheduling.exception.RecurringTaskNotFoundException;
+import com.terfehr.homehub.domain.scheduling.repository.RecurringTaskRepositoryInterface;
+import com.terfehr.homehub.domain.scheduling.service.RecurringTaskService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+@Transactional(readOnly = true)
+public class GetUpcomingOccurrencesService {
+
+    private final RecurringTaskRepositoryInterface recurringTaskRepository;
+    private final RecurringTaskService recurringTaskService;
+
+    /**
+     * Retrieves the next occurrences of the given RecurringTask and materializes those that do not exist yet.
+     *
+     * @param recurringTaskId The ID of the RecurringTask.
+     * @param count The number of occurrences.
+     * @return A List of TaskDTOs of the occurrences ordered by their due time.
+     * @throws RecurringTaskNotFoundException If the RecurringTask with the given ID does not exist.
+     */
+    public List<TaskDTO> execute(Long recurringTaskId, int count) throws RecurringTaskNotFoundException {
+        RecurringTask recurringTask = recurringTaskRepository.findByIdForUpdate(recurringTaskId)
+                .orElseThrow(() -> new RecurringTaskNotFoundException("RecurringTask with ID " + recurringTaskId + " not found"));
+
+        return recurringTaskService.getUpcomingOccurrences(recurringTask, LocalDateTime.now(), count).stream()
+                .map(TaskDTO::new)
+                .toList();
+    }
+}
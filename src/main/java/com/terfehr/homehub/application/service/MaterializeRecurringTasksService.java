@@ -0,0 +1,27 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.domain.scheduling.service.RecurringTaskService;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+@Service
+@AllArgsConstructor
+@Transactional
+public class MaterializeRecurringTasksService {
+
+    private final RecurringTaskService recurringTaskService;
+
+    /**
+     * Materializes the occurrences before the given time of one batch of RecurringTasks in a single transaction.
+     *
+     * @param until The exclusive upper bound for the occurrences.
+     * @param batchSize The maximum number of RecurringTasks in the batch.
+     * @return The number of materialized RecurringTasks. Less than the batch size if none are left.
+     */
+    public int execute(LocalDateTime until, int batchSize) {
+        return recurringTaskService.materializeDue(until, batchSize);
+    }
+}
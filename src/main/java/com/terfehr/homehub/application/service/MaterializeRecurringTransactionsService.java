@@ -0,0 +1,58 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.domain.bookkeeping.entity.RecurringTransaction;
+import com.terfehr.homehub.domain.bookkeeping.repository.RecurringTransactionRepositoryInterface;
+import com.terfehr.homehub.domain.bookkeeping.repository.TransactionRepositoryInterface;
+import com.terfehr.homehub.domain.bookkeeping.service.BookkeepingService;
+import com.terfehr.homehub.domain.bookkeeping.value.RecurringSchedule;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Service
+@AllArgsConstructor
+@Transactional
+public class MaterializeRecurringTransactionsService {
+
+    private final RecurringTransactionRepositoryInterface recurringTransactionRepository;
+    private final TransactionRepositoryInterface transactionRepository;
+
+    private final BookkeepingService bookkeepingService;
+
+    /**
+     * Books all due occurrences of the given RecurringTransactions in a single transaction. The definitions are loaded
+     * with one query and the keys of all due occurrences are checked against the ledger with another one, so occurrences
+     * that were already booked, e.g. before a restart or by another instance, are skipped instead of booked twice.
+     *
+     * @param recurringTransactionIds The IDs of the RecurringTransactions the scheduler considers due.
+     * @param now The current time. Occurrences after it are not booked.
+     * @param catchUpLimit The maximum number of occurrences booked per RecurringTransaction in this call.
+     * @return The schedules of the given RecurringTransactions after booking their due occurrences.
+     */
+    public List<RecurringSchedule> execute(Collection<Long> recurringTransactionIds, LocalDateTime now, int catchUpLimit) {
+        List<RecurringTransaction> recurringTransactions = recurringTransactionRepository.findAllWithAccountByIdIn(recurringTransactionIds);
+
+        Map<RecurringTransaction, List<String>> dueKeys = new LinkedHashMap<>();
+        for (RecurringTransaction recurringTransaction : recurringTransactions) {
+            dueKeys.put(recurringTransaction, recurringTransaction.getDueOccurrenceKeys(now, catchUpLimit));
+        }
+        List<String> allKeys = dueKeys.values().stream().flatMap(List::stream).toList();
+        Set<String> bookedKeys = allKeys.isEmpty() ? Set.of() : transactionRepository.findExistingOccurrenceKeys(allKeys);
+
+        List<RecurringSchedule> schedules = new ArrayList<>();
+        dueKeys.forEach((recurringTransaction, keys) -> {
+            for (String key : keys) {
+                if (bookedKeys.contains(key)) {
+                    recurringTransaction.advance();
+                } else {
+                    bookkeepingService.bookNextOccurrence(recurringTransaction);
+                }
+            }
+            schedules.add(new RecurringSchedule(recurringTransaction.getId(), recurringTransaction.getNextOccurrence()));
+        });
+        return schedules;
+    }
+}
@@ -0,0 +1,37 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.application.dto.ShoppingListItemDTO;
+import com.terfehr.homehub.domain.shopping.entity.ShoppingListItem;
+import com.terfehr.homehub.domain.shopping.exception.ShoppingListItemNotFoundException;
+import com.terfehr.homehub.domain.shopping.repository.ShoppingListItemRepositoryInterface;
+import com.terfehr.homehub.domain.shopping.service.ShoppingService;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@AllArgsConstructor
+@Transactional
+public class MoveShoppingListItemService {
+
+    private final ShoppingListItemRepositoryInterface shoppingListItemRepository;
+    private final ShoppingService shoppingService;
+
+    /**
+     * Moves the given item of the ShoppingList behind another item of the list or to its start.
+     *
+     * @param shoppingListId The ID of the ShoppingList.
+     * @param itemId The ID of the ShoppingListItem.
+     * @param afterItemId The ID of the item to move behind or null to move the item to the start of the list.
+     * @return The ShoppingListItemDTO of the moved item.
+     * @throws ShoppingListItemNotFoundException If the ShoppingList does not contain an item with the given ID.
+     * @throws IllegalArgumentException If the item should be moved behind itself or an item of another list.
+     */
+    public ShoppingListItemDTO execute(Long shoppingListId, Long itemId, Long afterItemId) throws ShoppingListItemNotFoundException, IllegalArgumentException {
+        ShoppingListItem item = shoppingListItemRepository.findById(itemId)
+                .filter(i -> i.getShoppingList().getId().equals(shoppingListId))
+                .orElseThrow(() -> new ShoppingListItemNotFoundException("ShoppingListItem with ID " + itemId + " not found in ShoppingList with ID " + shoppingListId));
+
+        return new ShoppingListItemDTO(shoppingService.moveItem(item, afterItemId));
+    }
+}
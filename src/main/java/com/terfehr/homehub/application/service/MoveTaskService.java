@@ -0,0 +1,35 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.application.dto.TaskDTO;
+import com.terfehr.homehub.domain.scheduling.entity.Task;
+import com.terfehr.homehub.domain.scheduling.exception.TaskNotFoundException;
+import com.terfehr.homehub.domain.scheduling.repository.TaskRepositoryInterface;
+import com.terfehr.homehub.domain.scheduling.service.TaskOrderService;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@AllArgsConstructor
+@Transactional
+public class MoveTaskService {
+
+    private final TaskRepositoryInterface taskRepository;
+    private final TaskOrderService taskOrderService;
+
+    /**
+     * Moves the given Task behind another Task of its TaskList or to its start.
+     *
+     * @param taskId The ID of the Task.
+     * @param afterTaskId The ID of the Task to move behind or null to move the Task to the start of its TaskList.
+     * @return The TaskDTO of the moved Task.
+     * @throws TaskNotFoundException If the Task with the given ID does not exist.
+     * @throws IllegalArgumentException If the Task should be moved behind itself or a Task of another TaskList.
+     */
+    public TaskDTO execute(Long taskId, Long afterTaskId) throws TaskNotFoundException, IllegalArgumentException {
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new TaskNotFoundException("Task with ID " + taskId + " not found"));
+        taskOrderService.moveTask(task, afterTaskId);
+        return new TaskDTO(taskRepository.findById(taskId).orElseThrow());
+    }
+}
@@ -0,0 +1,45 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.application.dto.ShoppingListItemDTO;
+import com.terfehr.homehub.domain.shopping.entity.ShoppingListItem;
+import com.terfehr.homehub.domain.shopping.exception.ShoppingListItemNotFoundException;
+import com.terfehr.homehub.domain.shopping.repository.ShoppingListItemRepositoryInterface;
+import com.terfehr.homehub.domain.shopping.service.ShoppingService;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@AllArgsConstructor
+@Transactional
+public class PickShoppingListItemService {
+
+    private final ShoppingListItemRepositoryInterface shoppingListItemRepository;
+    private final ShoppingService shoppingService;
+
+    /**
+     * Marks the given item of the ShoppingList as picked or unmarks it. Items that already are in the desired state are
+     * left untouched, as roommates shopping together may pick the same item at the same time.
+     *
+     * @param shoppingListId The ID of the ShoppingList.
+     * @param itemId The ID of the ShoppingListItem.
+     * @param picked Whether the item should be picked afterward.
+     * @return The ShoppingListItemDTO of the changed item.
+     * @throws ShoppingListItemNotFoundException If the ShoppingList does not contain an item with the given ID.
+     */
+    public ShoppingListItemDTO execute(Long shoppingListId, Long itemId, boolean picked) throws ShoppingListItemNotFoundException {
+        ShoppingListItem item = shoppingListItemRepository.findById(itemId)
+                .filter(i -> i.getShoppingList().getId().equals(shoppingListId))
+                .orElseThrow(() -> new ShoppingListItemNotFoundException("ShoppingListItem with ID " + itemId + " not found in ShoppingList with ID " + shoppingListId));
+
+        if (item.isPicked() == picked) {
+            return new ShoppingListItemDTO(item);
+        }
+        if (picked) {
+            shoppingService.pickItem(item);
+        } else {
+            shoppingService.unpickItem(item);
+        }
+        return new ShoppingListItemDTO(item);
+    }
+}
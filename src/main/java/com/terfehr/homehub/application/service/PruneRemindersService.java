@@ -0,0 +1,26 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.domain.scheduling.service.ReminderService;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+@Service
+@AllArgsConstructor
+@Transactional
+public class PruneRemindersService {
+
+    private final ReminderService reminderService;
+
+    /**
+     * Deletes the reminders that were sent or due before the given time.
+     *
+     * @param before The exclusive upper bound.
+     * @return The number of deleted reminders.
+     */
+    public int execute(LocalDateTime before) {
+        return reminderService.prune(before);
+    }
+}
@@ -0,0 +1,24 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.domain.shopping.service.ShoppingService;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@AllArgsConstructor
+@Transactional
+public class RebalanceShoppingListService {
+
+    private final ShoppingService shoppingService;
+
+    /**
+     * Rebalances the SortKeys of the items of the given ShoppingList in a single transaction.
+     *
+     * @param shoppingListId The ID of the ShoppingList.
+     * @return The number of items whose SortKey changed.
+     */
+    public int execute(Long shoppingListId) {
+        return shoppingService.rebalanceItems(shoppingListId);
+    }
+}
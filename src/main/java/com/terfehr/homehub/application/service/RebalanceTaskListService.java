@@ -0,0 +1,24 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.domain.scheduling.service.TaskOrderService;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@AllArgsConstructor
+@Transactional
+public class RebalanceTaskListService {
+
+    private final TaskOrderService taskOrderService;
+
+    /**
+     * Rebalances the SortKeys of the Tasks of the given TaskList in a single transaction.
+     *
+     * @param taskListId The ID of the TaskList.
+     * @return The number of Tasks whose SortKey changed.
+     */
+    public int execute(Long taskListId) {
+        return taskOrderService.rebalance(taskListId);
+    }
+}
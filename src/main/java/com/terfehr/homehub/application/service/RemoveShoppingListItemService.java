@@ -0,0 +1,33 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.domain.shopping.entity.ShoppingListItem;
+import com.terfehr.homehub.domain.shopping.exception.ShoppingListItemNotFoundException;
+import com.terfehr.homehub.domain.shopping.repository.ShoppingListItemRepositoryInterface;
+import com.terfehr.homehub.domain.shopping.service.ShoppingService;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@AllArgsConstructor
+@Transactional
+public class RemoveShoppingListItemService {
+
+    private final ShoppingListItemRepositoryInterface shoppingListItemRepository;
+    private final ShoppingService shoppingService;
+
+    /**
+     * Removes the given item from the ShoppingList.
+     *
+     * @param shoppingListId The ID of the ShoppingList.
+     * @param itemId The ID of the ShoppingListItem.
+     * @throws ShoppingListItemNotFoundException If the ShoppingList does not contain an item with the given ID.
+     */
+    public void execute(Long shoppingListId, Long itemId) throws ShoppingListItemNotFoundException {
+        ShoppingListItem item = shoppingListItemRepository.findById(itemId)
+                .filter(i -> i.getShoppingList().getId().equals(shoppingListId))
+                .orElseThrow(() -> new ShoppingListItemNotFoundException("ShoppingListItem with ID " + itemId + " not found in ShoppingList with ID " + shoppingListId));
+
+        shoppingService.removeItem(item);
+    }
+}
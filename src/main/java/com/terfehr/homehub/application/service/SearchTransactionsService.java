@@ -0,0 +1,51 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.application.command.SearchTransactionsCommand;
+import com.terfehr.homehub.application.dto.TransactionSearchResultDTO;
+import com.terfehr.homehub.domain.bookkeeping.exception.AccountNotFoundException;
+import com.terfehr.homehub.domain.bookkeeping.repository.AccountRepositoryInterface;
+import com.terfehr.homehub.domain.bookkeeping.repository.TransactionRepositoryInterface;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+@Transactional(readOnly = true)
+public class SearchTransactionsService {
+
+    private final AccountRepositoryInterface accountRepository;
+    private final TransactionRepositoryInterface transactionRepository;
+
+    /**
+     * Executes the SearchTransactionsCommand by searching the descriptions, recipients and sources of all Transactions
+     * of the given Account. Whole words and substrings both match, results are ordered by their rank.
+     *
+     * @param cmd The command containing the Account, the query and the page to retrieve.
+     * @return A List of TransactionSearchResultDTOs of the requested page.
+     * @throws AccountNotFoundException If the Account with the given ID does not exist.
+     */
+    public List<TransactionSearchResultDTO> execute(SearchTransactionsCommand cmd) throws AccountNotFoundException {
+        if (!accountRepository.existsById(cmd.getAccountId())) {
+            throw new AccountNotFoundException("Account with ID " + cmd.getAccountId() + " not found");
+        }
+        String query = cmd.getQuery().trim();
+        return transactionRepository.search(cmd.getAccountId(), query, toContainsPattern(query), cmd.getAfterRank(),
+                        cmd.getAfterId(), cmd.getLimit()).stream()
+                .map(TransactionSearchResultDTO::new)
+                .toList();
+    }
+
+    /**
+     * Builds an ILIKE pattern that matches the given query anywhere in the text. Wildcards in the query are escaped,
+     * so they match literally.
+     *
+     * @param query The query to build the pattern from.
+     * @return The pattern.
+     */
+    private String toContainsPattern(String query) {
+        return "%" + query.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+}
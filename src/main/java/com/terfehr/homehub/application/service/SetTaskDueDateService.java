@@ -0,0 +1,35 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.application.dto.TaskDTO;
+import com.terfehr.homehub.domain.scheduling.entity.Task;
+import com.terfehr.homehub.domain.scheduling.exception.TaskNotFoundException;
+import com.terfehr.homehub.domain.scheduling.repository.TaskRepositoryInterface;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+@Service
+@AllArgsConstructor
+@Transactional
+public class SetTaskDueDateService {
+
+    private final TaskRepositoryInterface taskRepository;
+
+    /**
+     * Sets the due time of the given Task or removes it. Pending reminders of the former due time are no longer sent.
+     *
+     * @param taskId The ID of the Task.
+     * @param dueAt The due time to set or null to remove it.
+     * @return The TaskDTO of the changed Task.
+     * @throws TaskNotFoundException If the Task with the given ID does not exist.
+     * @throws IllegalStateException If the Task is already finished.
+     */
+    public TaskDTO execute(Long taskId, LocalDateTime dueAt) throws TaskNotFoundException, IllegalStateException {
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new TaskNotFoundException("Task with ID " + taskId + " not found"));
+        task.setDueAt(dueAt);
+        return new TaskDTO(task);
+    }
+}
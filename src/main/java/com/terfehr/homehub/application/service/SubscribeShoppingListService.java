@@ -0,0 +1,31 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.application.interfaces.ShoppingListBroadcastInterface;
+import com.terfehr.homehub.domain.shopping.exception.ShoppingListNotFoundException;
+import com.terfehr.homehub.domain.shopping.repository.ShoppingListRepositoryInterface;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Service
+@AllArgsConstructor
+public class SubscribeShoppingListService {
+
+    private final ShoppingListRepositoryInterface shoppingListRepository;
+    private final ShoppingListBroadcastInterface shoppingListBroadcast;
+
+    /**
+     * Subscribes a client to the changes of the given ShoppingList. The client is expected to retrieve the
+     * ShoppingList after the subscription was confirmed, as changes are only pushed from then on.
+     *
+     * @param shoppingListId The ID of the ShoppingList.
+     * @return The SseEmitter the changes are sent through.
+     * @throws ShoppingListNotFoundException If the ShoppingList with the given ID does not exist.
+     */
+    public SseEmitter execute(Long shoppingListId) throws ShoppingListNotFoundException {
+        if (!shoppingListRepository.existsById(shoppingListId)) {
+            throw new ShoppingListNotFoundException("ShoppingList with ID " + shoppingListId + " not found");
+        }
+        return shoppingListBroadcast.subscribe(shoppingListId);
+    }
+}
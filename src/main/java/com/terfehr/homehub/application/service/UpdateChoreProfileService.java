@@ -0,0 +1,40 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.application.command.UpdateChoreProfileCommand;
+import com.terfehr.homehub.application.dto.ChoreProfileDTO;
+import com.terfehr.homehub.domain.household.exception.InvalidRoommateException;
+import com.terfehr.homehub.domain.scheduling.entity.ChoreProfile;
+import com.terfehr.homehub.domain.scheduling.service.ChoreAssignmentService;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+@Service
+@AllArgsConstructor
+@Transactional
+public class UpdateChoreProfileService {
+
+    private final ChoreAssignmentService choreAssignmentService;
+
+    /**
+     * Executes the UpdateChoreProfileCommand by replacing the availability and preferences of the given Roommate.
+     *
+     * @param cmd The UpdateChoreProfileCommand containing the Roommate and its new settings.
+     * @return The ChoreProfileDTO of the updated profile.
+     * @throws InvalidRoommateException If the User is no Roommate of the Household.
+     * @throws IllegalArgumentException If the settings are invalid.
+     */
+    public ChoreProfileDTO execute(UpdateChoreProfileCommand cmd) throws InvalidRoommateException, IllegalArgumentException {
+        LocalDateTime now = LocalDateTime.now();
+        ChoreProfile profile = choreAssignmentService.getProfiles(cmd.getHouseholdId(), now).stream()
+                .filter(p -> p.getId().getUserId().equals(cmd.getUserId()))
+                .findFirst()
+                .orElseThrow(() -> new InvalidRoommateException("User with ID " + cmd.getUserId() + " is no Roommate of Household with ID " + cmd.getHouseholdId()));
+
+        profile.setAvailability(cmd.getAvailability());
+        profile.setPreferences(cmd.getPreferredActions(), cmd.getAvoidedActions());
+        return new ChoreProfileDTO(profile, choreAssignmentService.getCompletionLoad(profile, now));
+    }
+}
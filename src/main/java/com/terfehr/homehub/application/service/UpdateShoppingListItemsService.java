@@ -0,0 +1,38 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.application.command.UpdateShoppingListItemsCommand;
+import com.terfehr.homehub.application.dto.ShoppingListItemUpdateResultDTO;
+import com.terfehr.homehub.domain.shopping.entity.ShoppingList;
+import com.terfehr.homehub.domain.shopping.exception.ShoppingListNotFoundException;
+import com.terfehr.homehub.domain.shopping.repository.ShoppingListRepositoryInterface;
+import com.terfehr.homehub.domain.shopping.service.ShoppingService;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+@Transactional
+public class UpdateShoppingListItemsService {
+
+    private final ShoppingListRepositoryInterface shoppingListRepository;
+    private final ShoppingService shoppingService;
+
+    /**
+     * Executes the UpdateShoppingListItemsCommand by applying all updates to the items of the ShoppingList at once.
+     *
+     * @param cmd The UpdateShoppingListItemsCommand containing the ShoppingList and the desired state of every item.
+     * @return The outcome of every update in the order of the command.
+     * @throws ShoppingListNotFoundException If the ShoppingList with the given ID does not exist.
+     */
+    public List<ShoppingListItemUpdateResultDTO> execute(UpdateShoppingListItemsCommand cmd) throws ShoppingListNotFoundException {
+        ShoppingList shoppingList = shoppingListRepository.findById(cmd.getShoppingListId())
+                .orElseThrow(() -> new ShoppingListNotFoundException("ShoppingList with ID " + cmd.getShoppingListId() + " not found"));
+
+        return shoppingService.updateItems(shoppingList, cmd.getUpdates()).stream()
+                .map(ShoppingListItemUpdateResultDTO::new)
+                .toList();
+    }
+}
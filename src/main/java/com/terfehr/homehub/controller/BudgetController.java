@@ -0,0 +1,56 @@
+package com.terfehr.homehub.controller;
+
+import com.terfehr.homehub.application.command.CreateBudgetCommand;
+import com.terfehr.homehub.application.dto.BudgetUsageDTO;
+import com.terfehr.homehub.application.service.CreateBudgetService;
+import com.terfehr.homehub.application.service.GetBudgetUsageService;
+import com.terfehr.homehub.controller.request.CreateBudgetRequest;
+import com.terfehr.homehub.controller.response.BudgetUsageResponse;
+import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/households/{householdId}/budgets")
+@PreAuthorize("@householdMembershipService.isRoommate(authentication, #householdId)")
+@AllArgsConstructor
+public class BudgetController {
+
+    private final CreateBudgetService createBudgetService;
+    private final GetBudgetUsageService getBudgetUsageService;
+
+    @GetMapping
+    public ResponseEntity<BudgetUsageResponse> usage(@PathVariable Long householdId,
+                                                     @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        YearMonth requestedMonth = month != null ? month : YearMonth.now();
+        List<BudgetUsageDTO> budgets = getBudgetUsageService.execute(householdId, requestedMonth);
+        return ResponseEntity.ok(new BudgetUsageResponse(budgets, requestedMonth));
+    }
+
+    @PostMapping
+    public ResponseEntity<BudgetUsageDTO> create(@PathVariable Long householdId, @RequestBody CreateBudgetRequest request) {
+        if (!request.validate()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid Budget request sent at " + LocalDateTime.now() + ". The reason might be a faulty name, limit, currency or scope.");
+        }
+
+        CreateBudgetCommand command = CreateBudgetCommand.builder()
+                .householdId(householdId)
+                .accountId(request.getAccountId())
+                .name(request.getName())
+                .monthlyLimit(request.getMonthlyLimit())
+                .currencyCode(request.getCurrencyCode())
+                .scope(request.getScope())
+                .recipient(request.getRecipient())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(createBudgetService.execute(command));
+    }
+}
@@ -0,0 +1,84 @@
+package com.terfehr.homehub.controller;
+
+import com.terfehr.homehub.application.command.UpdateChoreProfileCommand;
+import com.terfehr.homehub.application.dto.ChoreAssignmentDTO;
+import com.terfehr.homehub.application.dto.ChoreProfileDTO;
+import com.terfehr.homehub.application.dto.ChoreStatisticsDTO;
+import com.terfehr.homehub.application.dto.TaskClaimDTO;
+import com.terfehr.homehub.application.service.AssignTasksService;
+import com.terfehr.homehub.application.service.ClaimTasksService;
+import com.terfehr.homehub.application.service.GetChoreProfilesService;
+import com.terfehr.homehub.application.service.GetChoreStatisticsService;
+import com.terfehr.homehub.application.service.UpdateChoreProfileService;
+import com.terfehr.homehub.controller.request.ClaimTasksRequest;
+import com.terfehr.homehub.controller.request.UpdateChoreProfileRequest;
+import com.terfehr.homehub.domain.household.entity.User;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/households/{householdId}")
+@PreAuthorize("@householdMembershipService.isRoommate(authentication, #householdId)")
+@AllArgsConstructor
+public class ChoreController {
+
+    private static final int MAX_STATISTICS_WEEKS = 52;
+
+    private final AssignTasksService assignTasksService;
+    private final GetChoreProfilesService getChoreProfilesService;
+    private final UpdateChoreProfileService updateChoreProfileService;
+    private final GetChoreStatisticsService getChoreStatisticsService;
+    private final ClaimTasksService claimTasksService;
+
+    @PostMapping("/task-assignments")
+    public ResponseEntity<List<ChoreAssignmentDTO>> assignTasks(@PathVariable Long householdId) {
+        return ResponseEntity.ok(assignTasksService.execute(householdId));
+    }
+
+    @PostMapping("/task-claims")
+    public ResponseEntity<List<TaskClaimDTO>> claimTasks(@PathVariable Long householdId, @RequestBody ClaimTasksRequest request,
+                                                         @AuthenticationPrincipal User user) {
+        if (!request.validate()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid TaskClaims request sent at " + LocalDateTime.now() + ". The reason might be a missing or too long list of tasks.");
+        }
+        return ResponseEntity.ok(claimTasksService.execute(householdId, request.getTaskIds(), user.getId()));
+    }
+
+    @GetMapping("/chore-profiles")
+    public ResponseEntity<List<ChoreProfileDTO>> getProfiles(@PathVariable Long householdId) {
+        return ResponseEntity.ok(getChoreProfilesService.execute(householdId));
+    }
+
+    @PutMapping("/chore-profiles/{userId}")
+    public ResponseEntity<ChoreProfileDTO> updateProfile(@PathVariable Long householdId, @PathVariable Long userId, @RequestBody UpdateChoreProfileRequest request) {
+        if (!request.validate()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid ChoreProfile request sent at " + LocalDateTime.now() + ". The reason might be a faulty availability or action.");
+        }
+
+        UpdateChoreProfileCommand command = UpdateChoreProfileCommand.builder()
+                .householdId(householdId)
+                .userId(userId)
+                .availability(request.getAvailability())
+                .preferredActions(request.getPreferredActions())
+                .avoidedActions(request.getAvoidedActions())
+                .build();
+
+        return ResponseEntity.ok(updateChoreProfileService.execute(command));
+    }
+
+    @GetMapping("/chore-statistics")
+    public ResponseEntity<List<ChoreStatisticsDTO>> getStatistics(@PathVariable Long householdId, @RequestParam(defaultValue = "4") int weeks) {
+        if (weeks < 1 || weeks > MAX_STATISTICS_WEEKS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid chore statistics request sent at " + LocalDateTime.now() + ". The reason might be a faulty number of weeks.");
+        }
+        return ResponseEntity.ok(getChoreStatisticsService.execute(householdId, weeks));
+    }
+}
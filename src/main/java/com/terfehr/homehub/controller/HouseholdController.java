@@ -0,0 +1,22 @@
+package com.terfehr.homehub.controller;
+
+import com.terfehr.homehub.application.dto.HouseholdDashboardDTO;
+import com.terfehr.homehub.application.service.GetHouseholdDashboardService;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/households/{householdId}")
+@PreAuthorize("@householdMembershipService.isRoommate(authentication, #householdId)")
+@AllArgsConstructor
+public class HouseholdController {
+
+    private final GetHouseholdDashboardService getHouseholdDashboardService;
+
+    @GetMapping("/dashboard")
+    public ResponseEntity<HouseholdDashboardDTO> dashboard(@PathVariable Long householdId) {
+        return ResponseEntity.ok(getHouseholdDashboardService.execute(householdId));
+    }
+}
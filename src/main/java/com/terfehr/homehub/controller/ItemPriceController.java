@@ -0,0 +1,53 @@
+package com.terfehr.homehub.controller;
+
+import com.terfehr.homehub.application.dto.ItemPriceStatisticsDTO;
+import com.terfehr.homehub.application.service.GetAggregatedItemPriceStatisticsService;
+import com.terfehr.homehub.application.service.GetItemPriceStatisticsService;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@AllArgsConstructor
+public class ItemPriceController {
+
+    private static final int MAX_ITEM_LENGTH = 255;
+
+    private final GetItemPriceStatisticsService getItemPriceStatisticsService;
+    private final GetAggregatedItemPriceStatisticsService getAggregatedItemPriceStatisticsService;
+
+    @GetMapping("/households/{householdId}/item-prices")
+    @PreAuthorize("@householdMembershipService.isRoommate(authentication, #householdId)")
+    public ResponseEntity<List<ItemPriceStatisticsDTO>> get(@PathVariable Long householdId, @RequestParam String item,
+                                                            @RequestParam(required = false) Long unitPrice) {
+        validate(item, unitPrice);
+        return ResponseEntity.ok(getItemPriceStatisticsService.execute(householdId, item, unitPrice));
+    }
+
+    @GetMapping("/item-prices")
+    public ResponseEntity<List<ItemPriceStatisticsDTO>> getAggregated(@RequestParam String item,
+                                                                      @RequestParam(required = false) Long unitPrice) {
+        validate(item, unitPrice);
+        return ResponseEntity.ok(getAggregatedItemPriceStatisticsService.execute(item, unitPrice));
+    }
+
+    /**
+     * Validates the parameters of an item price request. The item has to be not blank and not too long and the unit
+     * price, if given, has to be greater than zero.
+     *
+     * @param item The name of the item.
+     * @param unitPrice The unit price to rank or null.
+     * @throws ResponseStatusException If the parameters are invalid.
+     */
+    private void validate(String item, Long unitPrice) throws ResponseStatusException {
+        if (item.isBlank() || item.length() > MAX_ITEM_LENGTH || (unitPrice != null && unitPrice <= 0)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid item price request sent at " + LocalDateTime.now() + ". The reason might be a faulty item or unit price.");
+        }
+    }
+}
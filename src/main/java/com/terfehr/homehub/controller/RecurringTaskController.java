@@ -0,0 +1,78 @@
+package com.terfehr.homehub.controller;
+
+import com.terfehr.homehub.application.command.CreateRecurringTaskCommand;
+import com.terfehr.homehub.application.dto.RecurringTaskDTO;
+import com.terfehr.homehub.application.dto.TaskDTO;
+import com.terfehr.homehub.application.service.CreateRecurringTaskService;
+import com.terfehr.homehub.application.service.GetDueTasksService;
+import com.terfehr.homehub.application.service.GetRecurringTasksService;
+import com.terfehr.homehub.application.service.GetUpcomingOccurrencesService;
+import com.terfehr.homehub.controller.request.CreateRecurringTaskRequest;
+import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@AllArgsConstructor
+public class RecurringTaskController {
+
+    private static final int MAX_OCCURRENCES = 100;
+    private static final int MAX_WINDOW_DAYS = 92;
+
+    private final CreateRecurringTaskService createRecurringTaskService;
+    private final GetRecurringTasksService getRecurringTasksService;
+    private final GetUpcomingOccurrencesService getUpcomingOccurrencesService;
+    private final GetDueTasksService getDueTasksService;
+
+    @GetMapping("/task-lists/{taskListId}/recurring-tasks")
+    @PreAuthorize("@householdMembershipService.canAccessTaskList(authentication, #taskListId)")
+    public ResponseEntity<List<RecurringTaskDTO>> list(@PathVariable Long taskListId) {
+        return ResponseEntity.ok(getRecurringTasksService.execute(taskListId));
+    }
+
+    @PostMapping("/task-lists/{taskListId}/recurring-tasks")
+    @PreAuthorize("@householdMembershipService.canAccessTaskList(authentication, #taskListId)")
+    public ResponseEntity<RecurringTaskDTO> create(@PathVariable Long taskListId, @RequestBody CreateRecurringTaskRequest request) {
+        if (!request.validate()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid RecurringTask request sent at " + LocalDateTime.now() + ". The reason might be a faulty action, description, recurrence rule or start.");
+        }
+
+        CreateRecurringTaskCommand command = CreateRecurringTaskCommand.builder()
+                .taskListId(taskListId)
+                .action(request.getAction())
+                .description(request.getDescription())
+                .recurrenceRule(request.getRecurrenceRule())
+                .startsAt(request.getStartsAt())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(createRecurringTaskService.execute(command));
+    }
+
+    @GetMapping("/recurring-tasks/{recurringTaskId}/occurrences")
+    @PreAuthorize("@householdMembershipService.canAccessRecurringTask(authentication, #recurringTaskId)")
+    public ResponseEntity<List<TaskDTO>> getUpcomingOccurrences(@PathVariable Long recurringTaskId,
+                                                                @RequestParam(defaultValue = "10") int count) {
+        if (count < 1 || count > MAX_OCCURRENCES) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid occurrences request sent at " + LocalDateTime.now() + ". The reason might be a faulty count.");
+        }
+        return ResponseEntity.ok(getUpcomingOccurrencesService.execute(recurringTaskId, count));
+    }
+
+    @GetMapping("/households/{householdId}/due-tasks")
+    @PreAuthorize("@householdMembershipService.isRoommate(authentication, #householdId)")
+    public ResponseEntity<List<TaskDTO>> getDueTasks(@PathVariable Long householdId,
+                                                     @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                     @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (!to.isAfter(from) || to.isAfter(from.plusDays(MAX_WINDOW_DAYS))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid due tasks request sent at " + LocalDateTime.now() + ". The reason might be a faulty or too long window.");
+        }
+        return ResponseEntity.ok(getDueTasksService.execute(householdId, from, to));
+    }
+}
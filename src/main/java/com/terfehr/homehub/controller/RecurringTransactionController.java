@@ -0,0 +1,52 @@
+package com.terfehr.homehub.controller;
+
+import com.terfehr.homehub.application.command.CreateRecurringTransactionCommand;
+import com.terfehr.homehub.application.dto.RecurringTransactionDTO;
+import com.terfehr.homehub.application.service.CreateRecurringTransactionService;
+import com.terfehr.homehub.application.service.GetRecurringTransactionsService;
+import com.terfehr.homehub.controller.request.CreateRecurringTransactionRequest;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/accounts/{accountId}/recurring-transactions")
+@PreAuthorize("@householdMembershipService.canAccessAccount(authentication, #accountId)")
+@AllArgsConstructor
+public class RecurringTransactionController {
+
+    private final CreateRecurringTransactionService createRecurringTransactionService;
+    private final GetRecurringTransactionsService getRecurringTransactionsService;
+
+    @GetMapping
+    public ResponseEntity<List<RecurringTransactionDTO>> list(@PathVariable Long accountId) {
+        return ResponseEntity.ok(getRecurringTransactionsService.execute(accountId));
+    }
+
+    @PostMapping
+    public ResponseEntity<RecurringTransactionDTO> create(@PathVariable Long accountId, @RequestBody CreateRecurringTransactionRequest request) {
+        if (!request.validate()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid RecurringTransaction request sent at " + LocalDateTime.now() + ". The reason might be a faulty type, amount, description, counterparty, frequency, interval or period.");
+        }
+
+        CreateRecurringTransactionCommand command = CreateRecurringTransactionCommand.builder()
+                .accountId(accountId)
+                .type(request.getType())
+                .amount(request.getAmount())
+                .description(request.getDescription())
+                .counterparty(request.getCounterparty())
+                .frequency(request.getFrequency())
+                .interval(request.getInterval())
+                .startsAt(request.getStartsAt())
+                .endsAt(request.getEndsAt())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(createRecurringTransactionService.execute(command));
+    }
+}
@@ -0,0 +1,136 @@
+package com.terfehr.homehub.controller;
+
+import com.terfehr.homehub.application.command.AddShoppingListItemCommand;
+import com.terfehr.homehub.application.command.CreateShoppingSpreeCommand;
+import com.terfehr.homehub.application.command.UpdateShoppingListItemsCommand;
+import com.terfehr.homehub.application.dto.ShoppingListDTO;
+import com.terfehr.homehub.application.dto.ShoppingListItemDTO;
+import com.terfehr.homehub.application.dto.ShoppingListItemUpdateResultDTO;
+import com.terfehr.homehub.application.dto.ShoppingSpreeDTO;
+import com.terfehr.homehub.application.service.AddShoppingListItemService;
+import com.terfehr.homehub.application.service.CreateShoppingSpreeService;
+import com.terfehr.homehub.application.service.GetShoppingListService;
+import com.terfehr.homehub.application.service.MoveShoppingListItemService;
+import com.terfehr.homehub.application.service.PickShoppingListItemService;
+import com.terfehr.homehub.application.service.RemoveShoppingListItemService;
+import com.terfehr.homehub.application.service.SubscribeShoppingListService;
+import com.terfehr.homehub.application.service.UpdateShoppingListItemsService;
+import com.terfehr.homehub.controller.request.AddShoppingListItemRequest;
+import com.terfehr.homehub.controller.request.CreateShoppingSpreeRequest;
+import com.terfehr.homehub.controller.request.MoveShoppingListItemRequest;
+import com.terfehr.homehub.controller.request.UpdateShoppingListItemsRequest;
+import com.terfehr.homehub.domain.shopping.value.ShoppingListItemUpdate;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/shopping-lists/{shoppingListId}")
+@PreAuthorize("@householdMembershipService.canAccessShoppingList(authentication, #shoppingListId)")
+@AllArgsConstructor
+public class ShoppingListController {
+
+    private final GetShoppingListService getShoppingListService;
+    private final SubscribeShoppingListService subscribeShoppingListService;
+    private final AddShoppingListItemService addShoppingListItemService;
+    private final PickShoppingListItemService pickShoppingListItemService;
+    private final UpdateShoppingListItemsService updateShoppingListItemsService;
+    private final RemoveShoppingListItemService removeShoppingListItemService;
+    private final MoveShoppingListItemService moveShoppingListItemService;
+    private final CreateShoppingSpreeService createShoppingSpreeService;
+
+    @GetMapping
+    public ResponseEntity<ShoppingListDTO> get(@PathVariable Long shoppingListId) {
+        return ResponseEntity.ok(getShoppingListService.execute(shoppingListId));
+    }
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@PathVariable Long shoppingListId) {
+        return subscribeShoppingListService.execute(shoppingListId);
+    }
+
+    @PostMapping("/items")
+    public ResponseEntity<ShoppingListItemDTO> addItem(@PathVariable Long shoppingListId, @RequestBody AddShoppingListItemRequest request) {
+        if (!request.validate()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid ShoppingListItem request sent at " + LocalDateTime.now() + ". The reason might be a faulty name or quantity.");
+        }
+
+        AddShoppingListItemCommand command = AddShoppingListItemCommand.builder()
+                .shoppingListId(shoppingListId)
+                .name(request.getName().trim())
+                .quantity(request.getQuantity())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(addShoppingListItemService.execute(command));
+    }
+
+    @PatchMapping("/items")
+    public ResponseEntity<List<ShoppingListItemUpdateResultDTO>> updateItems(@PathVariable Long shoppingListId, @RequestBody UpdateShoppingListItemsRequest request) {
+        if (!request.validate()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid ShoppingListItems update request sent at " + LocalDateTime.now() + ". The reason might be missing, too many or duplicate items.");
+        }
+
+        UpdateShoppingListItemsCommand command = UpdateShoppingListItemsCommand.builder()
+                .shoppingListId(shoppingListId)
+                .updates(request.getItems().stream()
+                        .map(item -> new ShoppingListItemUpdate(item.getId(), item.getPicked(), item.getQuantity(),
+                                item.getName() != null ? item.getName().trim() : null))
+                        .toList())
+                .build();
+
+        return ResponseEntity.ok(updateShoppingListItemsService.execute(command));
+    }
+
+    @PutMapping("/items/{itemId}/picked")
+    public ResponseEntity<ShoppingListItemDTO> pickItem(@PathVariable Long shoppingListId, @PathVariable Long itemId) {
+        return ResponseEntity.ok(pickShoppingListItemService.execute(shoppingListId, itemId, true));
+    }
+
+    @DeleteMapping("/items/{itemId}/picked")
+    public ResponseEntity<ShoppingListItemDTO> unpickItem(@PathVariable Long shoppingListId, @PathVariable Long itemId) {
+        return ResponseEntity.ok(pickShoppingListItemService.execute(shoppingListId, itemId, false));
+    }
+
+    @PutMapping("/items/{itemId}/position")
+    public ResponseEntity<ShoppingListItemDTO> moveItem(@PathVariable Long shoppingListId, @PathVariable Long itemId, @RequestBody MoveShoppingListItemRequest request) {
+        if (!request.validate()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid MoveShoppingListItem request sent at " + LocalDateTime.now() + ". The reason might be a faulty ID of the preceding item.");
+        }
+        return ResponseEntity.ok(moveShoppingListItemService.execute(shoppingListId, itemId, request.getAfterItemId()));
+    }
+
+    @DeleteMapping("/items/{itemId}")
+    public ResponseEntity<Void> removeItem(@PathVariable Long shoppingListId, @PathVariable Long itemId) {
+        removeShoppingListItemService.execute(shoppingListId, itemId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/sprees")
+    @PreAuthorize("@householdMembershipService.canAccessShoppingList(authentication, #shoppingListId)"
+            + " and @householdMembershipService.canAccessAccount(authentication, #request.accountId)")
+    public ResponseEntity<ShoppingSpreeDTO> createSpree(@PathVariable Long shoppingListId, @RequestBody CreateShoppingSpreeRequest request) {
+        if (!request.validate()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid ShoppingSpree request sent at " + LocalDateTime.now() + ". The reason might be a faulty account, amount, description, date, recipient or unit price.");
+        }
+
+        CreateShoppingSpreeCommand command = CreateShoppingSpreeCommand.builder()
+                .shoppingListId(shoppingListId)
+                .accountId(request.getAccountId())
+                .amount(request.getAmount())
+                .description(request.getDescription())
+                .date(request.getDate())
+                .recipient(request.getRecipient())
+                .unitPrices(request.getUnitPrices())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(new ShoppingSpreeDTO(createShoppingSpreeService.execute(command)));
+    }
+}
@@ -0,0 +1,55 @@
+package com.terfehr.homehub.controller;
+
+import com.terfehr.homehub.application.dto.FrequentItemDTO;
+import com.terfehr.homehub.application.dto.SuggestionDTO;
+import com.terfehr.homehub.application.service.GetFrequentItemsService;
+import com.terfehr.homehub.application.service.GetSuggestionsService;
+import com.terfehr.homehub.controller.response.SuggestionResponse;
+import com.terfehr.homehub.domain.household.value.SuggestionField;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/households/{householdId}/suggestions")
+@PreAuthorize("@householdMembershipService.isRoommate(authentication, #householdId)")
+@AllArgsConstructor
+public class SuggestionController {
+
+    private static final int MAX_SUGGESTIONS = 50;
+
+    private final GetSuggestionsService getSuggestionsService;
+    private final GetFrequentItemsService getFrequentItemsService;
+
+    @GetMapping
+    public ResponseEntity<SuggestionResponse> suggest(@PathVariable Long householdId,
+                                                      @RequestParam String field,
+                                                      @RequestParam(defaultValue = "") String prefix,
+                                                      @RequestParam(defaultValue = "10") int limit) {
+        String normalizedField = field.trim().toUpperCase(Locale.ROOT);
+        if (Arrays.stream(SuggestionField.values()).noneMatch(f -> f.name().equals(normalizedField)) || limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid suggestion request sent at " + LocalDateTime.now() + ". The reason might be a faulty field or limit.");
+        }
+
+        List<SuggestionDTO> suggestions = getSuggestionsService.execute(householdId, SuggestionField.valueOf(normalizedField), prefix, limit);
+        return ResponseEntity.ok(new SuggestionResponse(normalizedField, prefix, suggestions));
+    }
+
+    @GetMapping("/frequent-items")
+    public ResponseEntity<List<FrequentItemDTO>> frequentItems(@PathVariable Long householdId,
+                                                               @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid frequent items request sent at " + LocalDateTime.now() + ". The reason might be a faulty limit.");
+        }
+
+        return ResponseEntity.ok(getFrequentItemsService.execute(householdId, limit));
+    }
+}
@@ -0,0 +1,29 @@
+package com.terfehr.homehub.controller;
+
+import com.terfehr.homehub.application.dto.ChangeSetDTO;
+import com.terfehr.homehub.application.service.GetChangesService;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/households/{householdId}/changes")
+@PreAuthorize("@householdMembershipService.isRoommate(authentication, #householdId)")
+@AllArgsConstructor
+public class SyncController {
+
+    private final GetChangesService getChangesService;
+
+    @GetMapping
+    public ResponseEntity<ChangeSetDTO> changes(@PathVariable Long householdId, @RequestParam(defaultValue = "0") long since) {
+        if (since < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid sync request sent at " + LocalDateTime.now() + ". The reason might be a faulty version.");
+        }
+        return ResponseEntity.ok(getChangesService.execute(householdId, since));
+    }
+}
@@ -0,0 +1,69 @@
+package com.terfehr.homehub.controller;
+
+import com.terfehr.homehub.application.dto.TaskClaimDTO;
+import com.terfehr.homehub.application.dto.TaskDTO;
+import com.terfehr.homehub.application.service.ClaimTaskService;
+import com.terfehr.homehub.application.service.FinishTaskService;
+import com.terfehr.homehub.application.service.MoveTaskService;
+import com.terfehr.homehub.application.service.SetTaskDueDateService;
+import com.terfehr.homehub.controller.request.MoveTaskRequest;
+import com.terfehr.homehub.controller.request.SetTaskDueDateRequest;
+import com.terfehr.homehub.domain.household.entity.User;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/tasks/{taskId}")
+@PreAuthorize("@householdMembershipService.canAccessTask(authentication, #taskId)")
+@AllArgsConstructor
+public class TaskController {
+
+    private final FinishTaskService finishTaskService;
+    private final SetTaskDueDateService setTaskDueDateService;
+    private final ClaimTaskService claimTaskService;
+    private final MoveTaskService moveTaskService;
+
+    @PutMapping("/finished")
+    public ResponseEntity<TaskDTO> finish(@PathVariable Long taskId) {
+        return ResponseEntity.ok(finishTaskService.execute(taskId, true));
+    }
+
+    @DeleteMapping("/finished")
+    public ResponseEntity<TaskDTO> unfinish(@PathVariable Long taskId) {
+        return ResponseEntity.ok(finishTaskService.execute(taskId, false));
+    }
+
+    @PutMapping("/due-date")
+    public ResponseEntity<TaskDTO> setDueDate(@PathVariable Long taskId, @RequestBody SetTaskDueDateRequest request) {
+        if (!request.validate()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid SetTaskDueDate request sent at " + LocalDateTime.now() + ". The reason might be a missing due date.");
+        }
+        return ResponseEntity.ok(setTaskDueDateService.execute(taskId, request.getDueAt()));
+    }
+
+    @DeleteMapping("/due-date")
+    public ResponseEntity<TaskDTO> removeDueDate(@PathVariable Long taskId) {
+        return ResponseEntity.ok(setTaskDueDateService.execute(taskId, null));
+    }
+
+    @PutMapping("/position")
+    public ResponseEntity<TaskDTO> move(@PathVariable Long taskId, @RequestBody MoveTaskRequest request) {
+        if (!request.validate()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid MoveTask request sent at " + LocalDateTime.now() + ". The reason might be a faulty ID of the preceding task.");
+        }
+        return ResponseEntity.ok(moveTaskService.execute(taskId, request.getAfterTaskId()));
+    }
+
+    @PutMapping("/claim")
+    public ResponseEntity<TaskClaimDTO> claim(@PathVariable Long taskId, @AuthenticationPrincipal User user) {
+        TaskClaimDTO claim = claimTaskService.execute(taskId, user.getId());
+        return ResponseEntity.status(claim.isWon() ? HttpStatus.OK : HttpStatus.CONFLICT).body(claim);
+    }
+}
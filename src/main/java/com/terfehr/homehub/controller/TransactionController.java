@@ -0,0 +1,48 @@
+package com.terfehr.homehub.controller;
+
+import com.terfehr.homehub.application.command.SearchTransactionsCommand;
+import com.terfehr.homehub.application.dto.TransactionSearchResultDTO;
+import com.terfehr.homehub.application.service.SearchTransactionsService;
+import com.terfehr.homehub.controller.response.TransactionSearchResponse;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/accounts/{accountId}/transactions")
+@PreAuthorize("@householdMembershipService.canAccessAccount(authentication, #accountId)")
+@AllArgsConstructor
+public class TransactionController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final SearchTransactionsService searchTransactionsService;
+
+    @GetMapping("/search")
+    public ResponseEntity<TransactionSearchResponse> search(@PathVariable Long accountId,
+                                                            @RequestParam String q,
+                                                            @RequestParam(required = false) Float afterRank,
+                                                            @RequestParam(required = false) Long afterId,
+                                                            @RequestParam(defaultValue = "20") int limit) {
+        if (q.isBlank() || limit < 1 || limit > MAX_PAGE_SIZE || (afterRank == null) != (afterId == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid search request sent at " + LocalDateTime.now() + ". The reason might be an empty query, a faulty limit or an incomplete cursor.");
+        }
+
+        SearchTransactionsCommand command = SearchTransactionsCommand.builder()
+                .accountId(accountId)
+                .query(q)
+                .afterRank(afterRank)
+                .afterId(afterId)
+                .limit(limit)
+                .build();
+
+        List<TransactionSearchResultDTO> results = searchTransactionsService.execute(command);
+        return ResponseEntity.ok(new TransactionSearchResponse(results, limit));
+    }
+}
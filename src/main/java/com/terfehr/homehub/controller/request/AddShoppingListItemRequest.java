@@ -0,0 +1,41 @@
+package com.terfehr.homehub.controller.request;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@Getter
+public class AddShoppingListItemRequest {
+
+    private String name;
+    private int quantity;
+
+    /**
+     * Validates the given request by orchestrating to the corresponding validation method.
+     *
+     * @return True, if the input is valid. False otherwise.
+     */
+    public boolean validate() {
+        return validateName(name) && validateQuantity(quantity);
+    }
+
+    /**
+     * Validates the given name. It has to be not null and not blank.
+     *
+     * @param name The name to validate.
+     * @return True, if the name is valid. False otherwise.
+     */
+    private boolean validateName(String name) {
+        return name != null && !name.isBlank();
+    }
+
+    /**
+     * Validates the given quantity. It has to be greater than zero.
+     *
+     * @param quantity The quantity to validate.
+     * @return True, if the quantity is valid. False otherwise.
+     */
+    private boolean validateQuantity(int quantity) {
+        return quantity > 0;
+    }
+}
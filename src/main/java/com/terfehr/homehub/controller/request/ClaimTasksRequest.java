@@ -0,0 +1,34 @@
+package com.terfehr.homehub.controller.request;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@NoArgsConstructor
+@Getter
+public class ClaimTasksRequest {
+
+    private static final int MAX_TASKS = 100;
+
+    private List<Long> taskIds;
+
+    /**
+     * Validates the given request by orchestrating to the corresponding validation methods.
+     *
+     * @return True, if the input is valid. False otherwise.
+     */
+    public boolean validate() {
+        return validateTaskIds(taskIds);
+    }
+
+    /**
+     * Validates the given Task IDs. The list has to contain between one and MAX_TASKS IDs that are not null.
+     *
+     * @param taskIds The Task IDs to validate.
+     * @return True, if the Task IDs are valid. False otherwise.
+     */
+    private boolean validateTaskIds(List<Long> taskIds) {
+        return taskIds != null && !taskIds.isEmpty() && taskIds.size() <= MAX_TASKS && taskIds.stream().allMatch(taskId -> taskId != null);
+    }
+}
@@ -0,0 +1,82 @@
+package com.terfehr.homehub.controller.request;
+
+import com.terfehr.homehub.domain.bookkeeping.value.BudgetScope;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+@NoArgsConstructor
+@Getter
+public class CreateBudgetRequest {
+
+    private String name;
+    private long monthlyLimit;
+    private String currencyCode;
+    private String scope;
+    private String recipient;
+    private Long accountId;
+
+    /**
+     * Normalizes the given currency code and scope by converting them to upper case and trimming them of leading and following white spaces.
+     */
+    public void normalize() {
+        currencyCode = currencyCode == null ? null : currencyCode.trim().toUpperCase(Locale.ROOT);
+        scope = scope == null ? null : scope.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Validates the given request after normalizing all its data by orchestrating to the corresponding validation method.
+     *
+     * @return True, if the input is valid. False otherwise.
+     */
+    public boolean validate() {
+        normalize();
+        return validateName(name) && validateMonthlyLimit(monthlyLimit) && validateCurrencyCode(currencyCode)
+                && validateScope(scope, recipient);
+    }
+
+    /**
+     * Validates the given name. It has to be not null and not blank.
+     *
+     * @param name The name to validate.
+     * @return True, if the name is valid. False otherwise.
+     */
+    private boolean validateName(String name) {
+        return name != null && !name.isBlank();
+    }
+
+    /**
+     * Validates the given limit. It has to be greater than zero.
+     *
+     * @param monthlyLimit The limit to validate.
+     * @return True, if the limit is valid. False otherwise.
+     */
+    private boolean validateMonthlyLimit(long monthlyLimit) {
+        return monthlyLimit > 0;
+    }
+
+    /**
+     * Validates the given currency code. It has to consist of exactly three letters.
+     *
+     * @param currencyCode The currency code to validate.
+     * @return True, if the currency code is valid. False otherwise.
+     */
+    private boolean validateCurrencyCode(String currencyCode) {
+        return currencyCode != null && currencyCode.matches("^[A-Z]{3}$");
+    }
+
+    /**
+     * Validates the given scope. It has to name a BudgetScope and the RECIPIENT scope requires a recipient.
+     *
+     * @param scope The scope to validate.
+     * @param recipient The recipient to validate.
+     * @return True, if the scope is valid. False otherwise.
+     */
+    private boolean validateScope(String scope, String recipient) {
+        return scope != null
+                && Arrays.stream(BudgetScope.values()).anyMatch(s -> s.name().equals(scope))
+                && (!scope.equals(BudgetScope.RECIPIENT.name()) || (recipient != null && !recipient.isBlank()));
+    }
+}
@@ -0,0 +1,72 @@
+package com.terfehr.homehub.controller.request;
+
+import com.terfehr.homehub.domain.scheduling.value.RecurrenceRule;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@NoArgsConstructor
+@Getter
+public class CreateRecurringTaskRequest {
+
+    private String action;
+    private String description;
+    private String recurrenceRule;
+    private LocalDateTime startsAt;
+
+    /**
+     * Validates the given request by orchestrating to the corresponding validation method.
+     *
+     * @return True, if the input is valid. False otherwise.
+     */
+    public boolean validate() {
+        return validateAction(action) && validateDescription(description) && validateRecurrenceRule(recurrenceRule)
+                && validateStartsAt(startsAt);
+    }
+
+    /**
+     * Validates the given action. It has to be not null and not blank.
+     *
+     * @param action The action to validate.
+     * @return True, if the action is valid. False otherwise.
+     */
+    private boolean validateAction(String action) {
+        return action != null && !action.isBlank();
+    }
+
+    /**
+     * Validates the given description. It has to be not null.
+     *
+     * @param description The description to validate.
+     * @return True, if the description is valid. False otherwise.
+     */
+    private boolean validateDescription(String description) {
+        return description != null;
+    }
+
+    /**
+     * Validates the given recurrence rule. It has to be a supported RRULE.
+     *
+     * @param recurrenceRule The recurrence rule to validate.
+     * @return True, if the recurrence rule is valid. False otherwise.
+     */
+    private boolean validateRecurrenceRule(String recurrenceRule) {
+        try {
+            RecurrenceRule.parse(recurrenceRule);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Validates the given start. It has to be not null.
+     *
+     * @param startsAt The start to validate.
+     * @return True, if the start is valid. False otherwise.
+     */
+    private boolean validateStartsAt(LocalDateTime startsAt) {
+        return startsAt != null;
+    }
+}
@@ -0,0 +1,104 @@
+package com.terfehr.homehub.controller.request;
+
+import com.terfehr.homehub.domain.bookkeeping.value.RecurrenceFrequency;
+import com.terfehr.homehub.domain.bookkeeping.value.TransactionType;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Locale;
+
+@NoArgsConstructor
+@Getter
+public class CreateRecurringTransactionRequest {
+
+    private String type;
+    private long amount;
+    private String description;
+    private String counterparty;
+    private String frequency;
+    private int interval;
+    private LocalDateTime startsAt;
+    private LocalDateTime endsAt;
+
+    /**
+     * Normalizes the given type and frequency by converting them to upper case and trimming them of leading and following white spaces.
+     */
+    public void normalize() {
+        type = type == null ? null : type.trim().toUpperCase(Locale.ROOT);
+        frequency = frequency == null ? null : frequency.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Validates the given request after normalizing all its data by orchestrating to the corresponding validation method.
+     *
+     * @return True, if the input is valid. False otherwise.
+     */
+    public boolean validate() {
+        normalize();
+        return validateType(type) && validateAmount(amount) && validateText(description) && validateText(counterparty)
+                && validateFrequency(frequency) && validateInterval(interval) && validatePeriod(startsAt, endsAt);
+    }
+
+    /**
+     * Validates the given type. It has to name a TransactionType.
+     *
+     * @param type The type to validate.
+     * @return True, if the type is valid. False otherwise.
+     */
+    private boolean validateType(String type) {
+        return type != null && Arrays.stream(TransactionType.values()).anyMatch(t -> t.name().equals(type));
+    }
+
+    /**
+     * Validates the given amount. It has to be greater than zero.
+     *
+     * @param amount The amount to validate.
+     * @return True, if the amount is valid. False otherwise.
+     */
+    private boolean validateAmount(long amount) {
+        return amount > 0;
+    }
+
+    /**
+     * Validates the given text. It has to be not null and not blank.
+     *
+     * @param text The text to validate.
+     * @return True, if the text is valid. False otherwise.
+     */
+    private boolean validateText(String text) {
+        return text != null && !text.isBlank();
+    }
+
+    /**
+     * Validates the given frequency. It has to name a RecurrenceFrequency.
+     *
+     * @param frequency The frequency to validate.
+     * @return True, if the frequency is valid. False otherwise.
+     */
+    private boolean validateFrequency(String frequency) {
+        return frequency != null && Arrays.stream(RecurrenceFrequency.values()).anyMatch(f -> f.name().equals(frequency));
+    }
+
+    /**
+     * Validates the given interval. It has to be greater than zero.
+     *
+     * @param interval The interval to validate.
+     * @return True, if the interval is valid. False otherwise.
+     */
+    private boolean validateInterval(int interval) {
+        return interval > 0;
+    }
+
+    /**
+     * Validates the given period. The start has to be not null and the end, if given, must not lie before the start.
+     *
+     * @param startsAt The start to validate.
+     * @param endsAt The end to validate.
+     * @return True, if the period is valid. False otherwise.
+     */
+    private boolean validatePeriod(LocalDateTime startsAt, LocalDateTime endsAt) {
+        return startsAt != null && (endsAt == null || !endsAt.isBefore(startsAt));
+    }
+}
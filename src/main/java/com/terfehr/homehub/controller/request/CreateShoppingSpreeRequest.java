@@ -0,0 +1,63 @@
+package com.terfehr.homehub.controller.request;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@NoArgsConstructor
+@Getter
+public class CreateShoppingSpreeRequest {
+
+    private static final int MAX_UNIT_PRICES = 500;
+
+    private Long accountId;
+    private long amount;
+    private String description;
+    private LocalDateTime date;
+    private String recipient;
+    private Map<String, Long> unitPrices; // Optional, by item name in the smallest unit of the Account's currency
+
+    /**
+     * Validates the given request by orchestrating to the corresponding validation methods.
+     *
+     * @return True, if the input is valid. False otherwise.
+     */
+    public boolean validate() {
+        return accountId != null && validateAmount(amount) && validateText(description) && date != null && validateText(recipient)
+                && validateUnitPrices(unitPrices);
+    }
+
+    /**
+     * Validates the given amount. It has to be greater than zero.
+     *
+     * @param amount The amount to validate.
+     * @return True, if the amount is valid. False otherwise.
+     */
+    private boolean validateAmount(long amount) {
+        return amount > 0;
+    }
+
+    /**
+     * Validates the given text. It has to be not null and not blank.
+     *
+     * @param text The text to validate.
+     * @return True, if the text is valid. False otherwise.
+     */
+    private boolean validateText(String text) {
+        return text != null && !text.isBlank();
+    }
+
+    /**
+     * Validates the given unit prices. They are optional, but if given, there must not be more than MAX_UNIT_PRICES
+     * of them and every one needs a name that is not blank and an amount greater than zero.
+     *
+     * @param unitPrices The unit prices to validate.
+     * @return True, if the unit prices are valid. False otherwise.
+     */
+    private boolean validateUnitPrices(Map<String, Long> unitPrices) {
+        return unitPrices == null || (unitPrices.size() <= MAX_UNIT_PRICES && unitPrices.entrySet().stream()
+                .allMatch(entry -> validateText(entry.getKey()) && entry.getValue() != null && validateAmount(entry.getValue())));
+    }
+}
@@ -0,0 +1,30 @@
+package com.terfehr.homehub.controller.request;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@Getter
+public class MoveShoppingListItemRequest {
+
+    private Long afterItemId; // Null to move the item to the start of its list
+
+    /**
+     * Validates the given request by orchestrating to the corresponding validation methods.
+     *
+     * @return True, if the input is valid. False otherwise.
+     */
+    public boolean validate() {
+        return validateAfterItemId(afterItemId);
+    }
+
+    /**
+     * Validates the given ID of the item to move behind. It has to be null or positive.
+     *
+     * @param afterItemId The ID to validate.
+     * @return True, if the ID is valid. False otherwise.
+     */
+    private boolean validateAfterItemId(Long afterItemId) {
+        return afterItemId == null || afterItemId > 0;
+    }
+}
@@ -0,0 +1,30 @@
+package com.terfehr.homehub.controller.request;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@Getter
+public class MoveTaskRequest {
+
+    private Long afterTaskId; // Null to move the Task to the start of its list
+
+    /**
+     * Validates the given request by orchestrating to the corresponding validation methods.
+     *
+     * @return True, if the input is valid. False otherwise.
+     */
+    public boolean validate() {
+        return validateAfterTaskId(afterTaskId);
+    }
+
+    /**
+     * Validates the given ID of the Task to move behind. It has to be null or positive.
+     *
+     * @param afterTaskId The ID to validate.
+     * @return True, if the ID is valid. False otherwise.
+     */
+    private boolean validateAfterTaskId(Long afterTaskId) {
+        return afterTaskId == null || afterTaskId > 0;
+    }
+}
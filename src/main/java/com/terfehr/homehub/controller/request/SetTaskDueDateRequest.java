@@ -0,0 +1,32 @@
+package com.terfehr.homehub.controller.request;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@NoArgsConstructor
+@Getter
+public class SetTaskDueDateRequest {
+
+    private LocalDateTime dueAt;
+
+    /**
+     * Validates the given request by orchestrating to the corresponding validation methods.
+     *
+     * @return True, if the input is valid. False otherwise.
+     */
+    public boolean validate() {
+        return validateDueAt(dueAt);
+    }
+
+    /**
+     * Validates the given due time. It has to be not null.
+     *
+     * @param dueAt The due time to validate.
+     * @return True, if the due time is valid. False otherwise.
+     */
+    private boolean validateDueAt(LocalDateTime dueAt) {
+        return dueAt != null;
+    }
+}
@@ -0,0 +1,46 @@
+package com.terfehr.homehub.controller.request;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@NoArgsConstructor
+@Getter
+public class UpdateChoreProfileRequest {
+
+    private static final int MAX_ACTIONS = 50;
+
+    private Double availability;
+    private List<String> preferredActions;
+    private List<String> avoidedActions;
+
+    /**
+     * Validates the given request by orchestrating to the corresponding validation methods.
+     *
+     * @return True, if the input is valid. False otherwise.
+     */
+    public boolean validate() {
+        return validateAvailability(availability) && validateActions(preferredActions) && validateActions(avoidedActions);
+    }
+
+    /**
+     * Validates the given availability. It has to be not null and lie between 0 and 1.
+     *
+     * @param availability The availability to validate.
+     * @return True, if the availability is valid. False otherwise.
+     */
+    private boolean validateAvailability(Double availability) {
+        return availability != null && availability >= 0 && availability <= 1;
+    }
+
+    /**
+     * Validates the given actions. The list has to be not null and contain at most MAX_ACTIONS actions that are not blank.
+     *
+     * @param actions The actions to validate.
+     * @return True, if the actions are valid. False otherwise.
+     */
+    private boolean validateActions(List<String> actions) {
+        return actions != null && actions.size() <= MAX_ACTIONS && actions.stream().allMatch(action -> action != null && !action.isBlank());
+    }
+}
@@ -0,0 +1,54 @@
+package com.terfehr.homehub.controller.request;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@NoArgsConstructor
+@Getter
+public class UpdateShoppingListItemsRequest {
+
+    private static final int MAX_ITEMS = 500;
+
+    private List<Item> items;
+
+    /**
+     * Validates the given request by orchestrating to the corresponding validation method. The fields of the single
+     * items are validated per item, so one invalid item does not reject the others.
+     *
+     * @return True, if the input is valid. False otherwise.
+     */
+    public boolean validate() {
+        return validateItems(items);
+    }
+
+    /**
+     * Validates the given items. There have to be between 1 and 500 items, each with an ID that occurs only once.
+     *
+     * @param items The items to validate.
+     * @return True, if the items are valid. False otherwise.
+     */
+    private boolean validateItems(List<Item> items) {
+        if (items == null || items.isEmpty() || items.size() > MAX_ITEMS) {
+            return false;
+        }
+        Set<Long> ids = new HashSet<>();
+        return items.stream().allMatch(item -> item != null && item.getId() != null && ids.add(item.getId()));
+    }
+
+    /**
+     * The desired state of a single item. Fields that are null are left untouched.
+     */
+    @NoArgsConstructor
+    @Getter
+    public static class Item {
+
+        private Long id;
+        private Boolean picked;
+        private Integer quantity;
+        private String name;
+    }
+}
@@ -0,0 +1,43 @@
+package com.terfehr.homehub.controller.response;
+
+import com.terfehr.homehub.application.dto.BudgetUsageDTO;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+@Getter
+public class BudgetUsageResponse {
+
+    private final List<BudgetUsageDTO> budgets;
+    private final YearMonth month;
+    private final LocalDateTime retrievedAt;
+
+    /**
+     * Constructor for BudgetUsageResponse.
+     *
+     * @param budgets The BudgetUsageDTOs of the requested Budgets.
+     * @param month The month the usage was retrieved for.
+     * @throws IllegalArgumentException If the given parameters are invalid.
+     */
+    public BudgetUsageResponse(List<BudgetUsageDTO> budgets, YearMonth month) throws IllegalArgumentException {
+        if (!validate(budgets, month)) {
+            throw new IllegalArgumentException("Invalid budget usage");
+        }
+        this.budgets = budgets;
+        this.month = month;
+        this.retrievedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Validates the given parameters. Both have to be not null.
+     *
+     * @param budgets The BudgetUsageDTOs to validate.
+     * @param month The month to validate.
+     * @return True, if the parameters are valid. False otherwise.
+     */
+    private boolean validate(List<BudgetUsageDTO> budgets, YearMonth month) {
+        return budgets != null && month != null;
+    }
+}
@@ -0,0 +1,46 @@
+package com.terfehr.homehub.controller.response;
+
+import com.terfehr.homehub.application.dto.SuggestionDTO;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+public class SuggestionResponse {
+
+    private final String field;
+    private final String prefix;
+    private final List<SuggestionDTO> suggestions;
+    private final LocalDateTime retrievedAt;
+
+    /**
+     * Constructor for SuggestionResponse.
+     *
+     * @param field The field the suggestions were requested for.
+     * @param prefix The prefix the suggestions start with.
+     * @param suggestions The SuggestionDTOs ordered by descending frequency.
+     * @throws IllegalArgumentException If the given parameters are invalid.
+     */
+    public SuggestionResponse(String field, String prefix, List<SuggestionDTO> suggestions) throws IllegalArgumentException {
+        if (!validate(field, prefix, suggestions)) {
+            throw new IllegalArgumentException("Invalid suggestions");
+        }
+        this.field = field;
+        this.prefix = prefix;
+        this.suggestions = suggestions;
+        this.retrievedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Validates the given parameters. All of them have to be not null.
+     *
+     * @param field The field to validate.
+     * @param prefix The prefix to validate.
+     * @param suggestions The suggestions to validate.
+     * @return True, if the parameters are valid. False otherwise.
+     */
+    private boolean validate(String field, String prefix, List<SuggestionDTO> suggestions) {
+        return field != null && prefix != null && suggestions != null;
+    }
+}
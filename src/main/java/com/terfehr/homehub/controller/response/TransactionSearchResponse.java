@@ -0,0 +1,45 @@
+package com.terfehr.homehub.controller.response;
+
+import com.terfehr.homehub.application.dto.TransactionSearchResultDTO;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+public class TransactionSearchResponse {
+
+    private final List<TransactionSearchResultDTO> results;
+    private final Float nextAfterRank;
+    private final Long nextAfterId;
+    private final LocalDateTime searchedAt;
+
+    /**
+     * Constructor for TransactionSearchResponse. The cursor for the next page is taken from the last result and is
+     * null if the page was not full, as there are no further results then.
+     *
+     * @param results The TransactionSearchResultDTOs of the page.
+     * @param limit The requested size of the page.
+     * @throws IllegalArgumentException If the given results are invalid.
+     */
+    public TransactionSearchResponse(List<TransactionSearchResultDTO> results, int limit) throws IllegalArgumentException {
+        if (!validate(results)) {
+            throw new IllegalArgumentException("Invalid transaction search results");
+        }
+        TransactionSearchResultDTO last = results.size() == limit ? results.getLast() : null;
+        this.results = results;
+        this.nextAfterRank = last != null ? last.getRank() : null;
+        this.nextAfterId = last != null ? last.getId() : null;
+        this.searchedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Validates the given results. They have to be not null.
+     *
+     * @param results The results to validate.
+     * @return True, if the results are valid. False otherwise.
+     */
+    private boolean validate(List<TransactionSearchResultDTO> results) {
+        return results != null;
+    }
+}
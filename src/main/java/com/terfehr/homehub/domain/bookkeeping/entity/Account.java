@@ -22,6 +22,10 @@ import java.util.stream.Collectors;
  * This class provides validation mechanisms to ensure the consistency of the
  * account data when modifying its properties or performing operations such as
  * adding or removing transactions.
+ *
+ * Accounts are not kept in the second-level cache. Their balance is changed by
+ * reading and writing it back, which has to start from the committed balance
+ * and not from a cached one that missed the writes of other instances.
  */
 @Entity
 @NoArgsConstructor
@@ -99,18 +103,21 @@ public class Account {
 
     /**
      * Adds an Expense to the Account by constructing an Expense object by the given parameters and updating the account balance afterward.
+     * It returns the created Expense so that dependent bookkeeping like budget counters can be updated in the same unit of work.
      * If the parameters are invalid for creating an Expense, an exception is thrown.
      *
      * @param amount The amount of the Expense in the smallest unit.
      * @param description A brief description of what was paid with this Expense.
      * @param date The timestamp of when this Expense was transferred.
      * @param recipient The recipient who received the money.
+     * @return The created Expense object.
      * @throws IllegalArgumentException If the parameters are invalid for creating an Expense.
      */
-    public void addExpense(long amount, String description, LocalDateTime date, String recipient) throws IllegalArgumentException {
+    public Expense addExpense(long amount, String description, LocalDateTime date, String recipient) throws IllegalArgumentException {
         Expense expense = new Expense(amount, description, date, recipient, this);
         this.transactions.add(expense);
         updateBalance(expense);
+        return expense;
     }
 
     /**
@@ -139,12 +146,14 @@ public class Account {
      * @param description A brief description of what the Income is about.
      * @param date The timestamp of when this Income was transferred.
      * @param source The source who sent the money.
+     * @return The created Income object.
      * @throws IllegalArgumentException If the parameters are invalid for creating an Income.
      */
-    public void addIncome(long amount, String description, LocalDateTime date, String source) throws IllegalArgumentException {
+    public Income addIncome(long amount, String description, LocalDateTime date, String source) throws IllegalArgumentException {
         Income income = new Income(amount, description, date, source, this);
         this.transactions.add(income);
         updateBalance(income);
+        return income;
     }
 
     /**
@@ -0,0 +1,221 @@
+package com.terfehr.homehub.domain.bookkeeping.entity;
+
+import com.terfehr.homehub.domain.bookkeeping.value.BudgetScope;
+import com.terfehr.homehub.domain.bookkeeping.value.Money;
+import com.terfehr.homehub.domain.household.entity.Household;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.Currency;
+
+/**
+ * Represents a monthly spending limit of a Household. A Budget either covers all Accounts of its Household or a
+ * single Account and counts the Expenses that match its scope. The consumption itself is not computed from the
+ * ledger but kept in BudgetConsumption counters that are updated whenever an Expense is booked or removed.
+ */
+@Entity
+@NoArgsConstructor
+@Getter
+@Table(name = "budgets", indexes = @Index(name = "idx_budgets_household", columnList = "household_id"))
+public class Budget {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private Money monthlyLimit;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BudgetScope scope;
+
+    @Column
+    private String recipient;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "household_id", nullable = false)
+    private Household household;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id")
+    private Account account;
+
+    /**
+     * Constructs a new Budget. If an Account is given, the Budget only counts Expenses of this Account. Otherwise,
+     * it counts the Expenses of all Accounts of the Household that share the currency of the Budget.
+     *
+     * @param name The name of the Budget.
+     * @param monthlyLimit The monthly limit in the smallest unit of the currency.
+     * @param currencyCode The ISO 4217 currency code of the limit.
+     * @param scope The scope that defines which Expenses are counted.
+     * @param recipient The recipient to count Expenses for. Required for the RECIPIENT scope, ignored otherwise.
+     * @param household The Household the Budget belongs to.
+     * @param account The Account the Budget is restricted to or null for a Household-wide Budget.
+     * @throws IllegalArgumentException If the given parameters are invalid.
+     */
+    public Budget(String name, long monthlyLimit, String currencyCode, BudgetScope scope, String recipient,
+                  Household household, Account account) throws IllegalArgumentException {
+        if (!validate(name, monthlyLimit, currencyCode, scope, recipient, household, account)) {
+            throw new IllegalArgumentException("Invalid Budget object");
+        }
+        this.name = name;
+        this.monthlyLimit = new Money(Currency.getInstance(currencyCode), monthlyLimit);
+        this.scope = scope;
+        this.recipient = scope == BudgetScope.RECIPIENT ? recipient : null;
+        this.household = household;
+        this.account = account;
+    }
+
+    /**
+     * Sets the name of the Budget. If the name is invalid, an exception is thrown.
+     *
+     * @param name The desired name.
+     * @throws IllegalArgumentException If the given name is invalid.
+     */
+    public void setName(String name) throws IllegalArgumentException {
+        if (!validateName(name)) {
+            throw new IllegalArgumentException("Invalid Budget name");
+        }
+        this.name = name;
+    }
+
+    /**
+     * Sets the monthly limit of the Budget while keeping its currency. If the limit is invalid, an exception is thrown.
+     *
+     * @param monthlyLimit The new limit in the smallest unit of the currency.
+     * @throws IllegalArgumentException If the given limit is invalid.
+     */
+    public void setMonthlyLimit(long monthlyLimit) throws IllegalArgumentException {
+        if (!validateMonthlyLimit(monthlyLimit)) {
+            throw new IllegalArgumentException("Invalid Budget limit");
+        }
+        this.monthlyLimit = new Money(this.monthlyLimit.getCurrency(), monthlyLimit);
+    }
+
+    /**
+     * Decides whether the given Expense is counted against this Budget. It has to be booked on a covered Account,
+     * share the currency of the Budget and match its scope.
+     *
+     * @param expense The Expense to check.
+     * @return True, if the Expense is counted against this Budget. False otherwise.
+     */
+    public boolean appliesTo(Expense expense) {
+        return expense != null
+                && coversAccount(expense.getAccount())
+                && monthlyLimit.getCurrency().equals(expense.getAmount().getCurrency())
+                && matchesScope(expense);
+    }
+
+    /**
+     * Decides whether the given Account is covered by this Budget. Ids are compared so lazy proxies are not initialized.
+     *
+     * @param account The Account to check.
+     * @return True, if the Budget covers all Accounts or exactly the given one. False otherwise.
+     */
+    private boolean coversAccount(Account account) {
+        return this.account == null || (account != null && this.account.getId().equals(account.getId()));
+    }
+
+    /**
+     * Decides whether the given Expense matches the scope of this Budget.
+     *
+     * @param expense The Expense to check.
+     * @return True, if the Expense matches the scope. False otherwise.
+     */
+    private boolean matchesScope(Expense expense) {
+        return switch (scope) {
+            case EXPENSES -> true;
+            case SHOPPING -> expense instanceof ShoppingExpense;
+            case RECIPIENT -> recipient.equals(expense.getRecipient());
+        };
+    }
+
+    /**
+     * Validates the given parameters by orchestrating to the internal validation methods.
+     *
+     * @param name The name to validate.
+     * @param monthlyLimit The limit to validate.
+     * @param currencyCode The currency code to validate.
+     * @param scope The scope to validate.
+     * @param recipient The recipient to validate.
+     * @param household The Household to validate.
+     * @param account The Account to validate.
+     * @return True, if all parameters are valid. False otherwise.
+     */
+    private boolean validate(String name, long monthlyLimit, String currencyCode, BudgetScope scope, String recipient,
+                             Household household, Account account) {
+        return validateName(name) && validateMonthlyLimit(monthlyLimit) && validateCurrencyCode(currencyCode)
+                && validateScope(scope, recipient) && validateHousehold(household) && validateAccount(account, currencyCode);
+    }
+
+    /**
+     * Validates the given name. It has to be not null and not blank.
+     *
+     * @param name The name to validate.
+     * @return True, if the name is valid. False otherwise.
+     */
+    private boolean validateName(String name) {
+        return name != null && !name.isBlank();
+    }
+
+    /**
+     * Validates the given limit. It has to be greater than zero.
+     *
+     * @param monthlyLimit The limit to validate.
+     * @return True, if the limit is valid. False otherwise.
+     */
+    private boolean validateMonthlyLimit(long monthlyLimit) {
+        return monthlyLimit > 0;
+    }
+
+    /**
+     * Validates the given currency code. It has to be a known ISO 4217 currency code.
+     *
+     * @param currencyCode The currency code to validate.
+     * @return True, if the currency code is valid. False otherwise.
+     */
+    private boolean validateCurrencyCode(String currencyCode) {
+        try {
+            return currencyCode != null && Currency.getInstance(currencyCode) != null;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Validates the given scope. It has to be not null and the RECIPIENT scope requires a non-blank recipient.
+     *
+     * @param scope The scope to validate.
+     * @param recipient The recipient to validate.
+     * @return True, if the scope is valid. False otherwise.
+     */
+    private boolean validateScope(BudgetScope scope, String recipient) {
+        return scope != null && (scope != BudgetScope.RECIPIENT || (recipient != null && !recipient.isBlank()));
+    }
+
+    /**
+     * Validates the given Household. It has to be not null.
+     *
+     * @param household The Household to validate.
+     * @return True, if the Household is valid. False otherwise.
+     */
+    private boolean validateHousehold(Household household) {
+        return household != null;
+    }
+
+    /**
+     * Validates the given Account. It may be null, otherwise it has to operate in the currency of the Budget.
+     *
+     * @param account The Account to validate.
+     * @param currencyCode The currency code of the Budget.
+     * @return True, if the Account is valid. False otherwise.
+     */
+    private boolean validateAccount(Account account, String currencyCode) {
+        return account == null || account.getBalance().getCurrency().getCurrencyCode().equals(currencyCode);
+    }
+}
@@ -0,0 +1,34 @@
+package com.terfehr.homehub.domain.bookkeeping.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Counter of the amount consumed from a Budget in a single month. There is at most one counter per Budget and month,
+ * which is enforced by a unique constraint so that the counter can be incremented atomically with an upsert instead of
+ * summing up the Expenses of the month on every read.
+ */
+@Entity
+@NoArgsConstructor
+@Getter
+@Table(name = "budget_consumptions",
+        uniqueConstraints = @UniqueConstraint(name = "uk_budget_consumptions_budget_period", columnNames = {"budget_id", "period_start"}))
+public class BudgetConsumption {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "budget_id", nullable = false)
+    private Budget budget;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(nullable = false)
+    private long consumedInSmallestUnit;
+}
@@ -2,8 +2,11 @@ package com.terfehr.homehub.domain.bookkeeping.entity;
 
 import com.terfehr.homehub.domain.bookkeeping.value.Money;
 import jakarta.persistence.Column;
+import jakarta.persistence.ConstraintMode;
 import jakarta.persistence.Entity;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.PrimaryKeyJoinColumn;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -20,6 +23,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Getter
 @Table(name = "expenses")
+@PrimaryKeyJoinColumn(foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT)) // Transactions are partitioned, see schema.sql
 public class Expense extends Transaction {
 
     @Column(nullable = false)
@@ -59,6 +63,16 @@ public class Expense extends Transaction {
         this.recipient = recipient;
     }
 
+    /**
+     * Returns the recipient as the counterparty of the Expense.
+     *
+     * @return The recipient of the Expense.
+     */
+    @Override
+    public String getCounterparty() {
+        return recipient;
+    }
+
     /**
      * Validates the provided recipient string to ensure it adheres to specific rules.
      *
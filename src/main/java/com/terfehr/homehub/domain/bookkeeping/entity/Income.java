@@ -2,7 +2,10 @@ package com.terfehr.homehub.domain.bookkeeping.entity;
 
 import com.terfehr.homehub.domain.bookkeeping.value.Money;
 import jakarta.persistence.Column;
+import jakarta.persistence.ConstraintMode;
 import jakarta.persistence.Entity;
+import jakarta.persistence.ForeignKey;
+import jakarta.persistence.PrimaryKeyJoinColumn;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -13,6 +16,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Getter
 @Table(name = "incomes")
+@PrimaryKeyJoinColumn(foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT)) // Transactions are partitioned, see schema.sql
 public class Income extends Transaction {
 
     @Column(nullable = false)
@@ -49,6 +53,16 @@ public class Income extends Transaction {
         this.source = source;
     }
 
+    /**
+     * Returns the source as the counterparty of the Income.
+     *
+     * @return The source of the Income.
+     */
+    @Override
+    public String getCounterparty() {
+        return source;
+    }
+
     /**
      * Validates the state of the Income object. This method ensures that both the validation
      * criteria defined in the superclass Transaction and the specific validation for the
@@ -0,0 +1,251 @@
+package com.terfehr.homehub.domain.bookkeeping.entity;
+
+import com.terfehr.homehub.domain.bookkeeping.value.Money;
+import com.terfehr.homehub.domain.bookkeeping.value.RecurrenceFrequency;
+import com.terfehr.homehub.domain.bookkeeping.value.TransactionType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents the definition of a Transaction that repeats in a fixed interval, e.g. rent, utilities or salaries.
+ * Occurrences are calculated from the start date and the number of occurrences booked so far instead of from the
+ * previous occurrence, so monthly definitions starting on the 31st return to the 31st after shorter months.
+ * Every occurrence has a stable key that is stored on the booked Transaction to make booking idempotent.
+ */
+@Entity
+@NoArgsConstructor
+@Getter
+@Table(name = "recurring_transactions",
+        indexes = @Index(name = "idx_recurring_transactions_active_next", columnList = "active, next_occurrence"))
+public class RecurringTransaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false)
+    private Account account;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    @Column(nullable = false)
+    private Money amount;
+
+    @Column(nullable = false)
+    private String description;
+
+    @Column(nullable = false)
+    private String counterparty;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RecurrenceFrequency frequency;
+
+    @Column(name = "recurrence_interval", nullable = false)
+    private int interval;
+
+    @Column(nullable = false)
+    private LocalDateTime startsAt;
+
+    @Column
+    private LocalDateTime endsAt;
+
+    @Column(nullable = false)
+    private long occurrenceCount;
+
+    @Column(name = "next_occurrence")
+    private LocalDateTime nextOccurrence;
+
+    @Column(nullable = false)
+    private boolean active;
+
+    /**
+     * Constructs a new RecurringTransaction. The first occurrence is due at the start date.
+     *
+     * @param account The Account the occurrences are booked on.
+     * @param type Whether the occurrences are Expenses or Incomes.
+     * @param amount The amount of every occurrence in the smallest unit of the Account's currency.
+     * @param description A brief description that is used for every occurrence.
+     * @param counterparty The recipient of an Expense or the source of an Income.
+     * @param frequency The unit of the interval.
+     * @param interval The number of units between two occurrences.
+     * @param startsAt The date of the first occurrence.
+     * @param endsAt The date after which no occurrences are booked anymore or null if it repeats forever.
+     * @throws IllegalArgumentException If the given parameters are invalid.
+     */
+    public RecurringTransaction(Account account, TransactionType type, long amount, String description, String counterparty,
+                                RecurrenceFrequency frequency, int interval, LocalDateTime startsAt, LocalDateTime endsAt) throws IllegalArgumentException {
+        if (!validate(account, type, amount, description, counterparty, frequency, interval, startsAt, endsAt)) {
+            throw new IllegalArgumentException("Invalid RecurringTransaction object");
+        }
+        this.account = account;
+        this.type = type;
+        this.amount = new Money(account.getBalance().getCurrency(), amount);
+        this.description = description;
+        this.counterparty = counterparty;
+        this.frequency = frequency;
+        this.interval = interval;
+        this.startsAt = startsAt;
+        this.endsAt = endsAt;
+        this.occurrenceCount = 0;
+        this.nextOccurrence = startsAt;
+        this.active = true;
+    }
+
+    /**
+     * Decides whether the next occurrence is due at the given time.
+     *
+     * @param now The current time.
+     * @return True, if the RecurringTransaction is active and its next occurrence is not in the future. False otherwise.
+     */
+    public boolean isDue(LocalDateTime now) {
+        return active && nextOccurrence != null && !nextOccurrence.isAfter(now);
+    }
+
+    /**
+     * Calculates the keys of all occurrences that are due at the given time, starting with the next occurrence.
+     *
+     * @param now The current time.
+     * @param limit The maximum number of keys to return.
+     * @return The keys of the due occurrences in chronological order.
+     */
+    public List<String> getDueOccurrenceKeys(LocalDateTime now, int limit) {
+        List<String> keys = new ArrayList<>();
+        for (long index = occurrenceCount; keys.size() < limit; index++) {
+            LocalDateTime occurrence = occurrenceAt(index);
+            if (!active || occurrence.isAfter(now) || isAfterEnd(occurrence)) {
+                break;
+            }
+            keys.add(occurrenceKey(index));
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the key of the next occurrence. It is unique across all RecurringTransactions and stays the same no
+     * matter how often the occurrence is attempted to be booked.
+     *
+     * @return The key of the next occurrence.
+     */
+    public String getNextOccurrenceKey() {
+        return occurrenceKey(occurrenceCount);
+    }
+
+    /**
+     * Marks the next occurrence as booked and moves on to the following one. If the following occurrence lies after
+     * the end date, the RecurringTransaction is deactivated.
+     *
+     * @throws IllegalStateException If the RecurringTransaction is not active anymore.
+     */
+    public void advance() throws IllegalStateException {
+        if (!active) {
+            throw new IllegalStateException("RecurringTransaction is not active");
+        }
+        occurrenceCount++;
+        LocalDateTime following = occurrenceAt(occurrenceCount);
+        if (isAfterEnd(following)) {
+            deactivate();
+        } else {
+            nextOccurrence = following;
+        }
+    }
+
+    /**
+     * Deactivates the RecurringTransaction, so no further occurrences are booked.
+     */
+    public void deactivate() {
+        this.active = false;
+        this.nextOccurrence = null;
+    }
+
+    /**
+     * Calculates the date of the occurrence with the given index relative to the start date.
+     *
+     * @param index The zero-based index of the occurrence.
+     * @return The date of the occurrence.
+     */
+    private LocalDateTime occurrenceAt(long index) {
+        return startsAt.plus(index * interval, frequency.getUnit());
+    }
+
+    /**
+     * Decides whether the given occurrence lies after the end date.
+     *
+     * @param occurrence The date of the occurrence.
+     * @return True, if there is an end date and the occurrence lies after it. False otherwise.
+     */
+    private boolean isAfterEnd(LocalDateTime occurrence) {
+        return endsAt != null && occurrence.isAfter(endsAt);
+    }
+
+    /**
+     * Builds the key of the occurrence with the given index.
+     *
+     * @param index The zero-based index of the occurrence.
+     * @return The key of the occurrence.
+     */
+    private String occurrenceKey(long index) {
+        return "recurring-" + id + "-" + index;
+    }
+
+    /**
+     * Validates the given parameters by orchestrating to the internal validation methods.
+     *
+     * @return True, if all parameters are valid. False otherwise.
+     */
+    private boolean validate(Account account, TransactionType type, long amount, String description, String counterparty,
+                             RecurrenceFrequency frequency, int interval, LocalDateTime startsAt, LocalDateTime endsAt) {
+        return account != null && type != null && frequency != null
+                && validateAmount(amount) && validateText(description) && validateText(counterparty)
+                && validateInterval(interval) && validatePeriod(startsAt, endsAt);
+    }
+
+    /**
+     * Validates the given amount. It has to be greater than zero.
+     *
+     * @param amount The amount to validate.
+     * @return True, if the amount is valid. False otherwise.
+     */
+    private boolean validateAmount(long amount) {
+        return amount > 0;
+    }
+
+    /**
+     * Validates the given text. It has to be not null and not blank.
+     *
+     * @param text The text to validate.
+     * @return True, if the text is valid. False otherwise.
+     */
+    private boolean validateText(String text) {
+        return text != null && !text.isBlank();
+    }
+
+    /**
+     * Validates the given interval. It has to be greater than zero.
+     *
+     * @param interval The interval to validate.
+     * @return True, if the interval is valid. False otherwise.
+     */
+    private boolean validateInterval(int interval) {
+        return interval > 0;
+    }
+
+    /**
+     * Validates the given period. The start has to be not null and the end, if given, must not lie before the start.
+     *
+     * @param startsAt The start to validate.
+     * @param endsAt The end to validate.
+     * @return True, if the period is valid. False otherwise.
+     */
+    private boolean validatePeriod(LocalDateTime startsAt, LocalDateTime endsAt) {
+        return startsAt != null && (endsAt == null || !endsAt.isBefore(startsAt));
+    }
+}
@@ -4,6 +4,7 @@ import com.terfehr.homehub.domain.bookkeeping.value.Money;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.PartitionKey;
 
 import java.time.LocalDateTime;
 
@@ -16,7 +17,8 @@ import java.time.LocalDateTime;
 @Entity
 @NoArgsConstructor
 @Getter
-@Table(name = "transactions")
+@Table(name = "transactions",
+        uniqueConstraints = @UniqueConstraint(name = "uk_transactions_household_occurrence_key", columnNames = {"household_id", "occurrence_key"}))
 @Inheritance(strategy = InheritanceType.JOINED)
 public abstract class Transaction {
 
@@ -37,6 +39,16 @@ public abstract class Transaction {
     @JoinColumn(name = "account")
     private Account account;
 
+    @PartitionKey
+    @Column(name = "household_id", updatable = false)
+    private Long householdId; // Household of the Account, which partitions the table, see schema.sql
+
+    @Column(name = "occurrence_key")
+    private String occurrenceKey; // Unique per Household, as the key of a partitioned table has to include the partition key
+
+    @Column(name = "search_text", length = 511)
+    private String searchText; // Denormalized description and counterparty, indexed for full-text search
+
     /**
      * Creates a new Transaction object with the specified amount, description, date, and account.
      * Ensures that all provided parameters are valid before initializing the Transaction object.
@@ -55,6 +67,7 @@ public abstract class Transaction {
         this.description = description;
         this.date = date;
         this.account = account;
+        this.householdId = account.getHousehold().getId();
     }
 
     /**
@@ -99,6 +112,42 @@ public abstract class Transaction {
         this.date = date;
     }
 
+    /**
+     * Sets the key of the occurrence this Transaction was booked for, e.g. by a RecurringTransaction. The key is unique,
+     * so the same occurrence can never be booked twice. It can only be set once.
+     *
+     * @param occurrenceKey The key of the occurrence.
+     * @throws IllegalArgumentException If the key is invalid.
+     * @throws IllegalStateException If the Transaction already has a key.
+     */
+    public void setOccurrenceKey(String occurrenceKey) throws IllegalArgumentException, IllegalStateException {
+        if (!validateOccurrenceKey(occurrenceKey)) {
+            throw new IllegalArgumentException("Invalid occurrence key");
+        }
+        if (this.occurrenceKey != null) {
+            throw new IllegalStateException("Transaction already belongs to an occurrence");
+        }
+        this.occurrenceKey = occurrenceKey;
+    }
+
+    /**
+     * Returns the counterparty of the Transaction, i.e. the recipient of an Expense or the source of an Income.
+     *
+     * @return The counterparty of the Transaction.
+     */
+    public abstract String getCounterparty();
+
+    /**
+     * Refreshes the search text from the description and the counterparty before the Transaction is written.
+     * The counterparty lives in the table of the subclass, so it is copied here to search all Transactions
+     * with a single index on the transactions table.
+     */
+    @PrePersist
+    @PreUpdate
+    private void refreshSearchText() {
+        this.searchText = description + " " + getCounterparty();
+    }
+
     /**
      * Validates the properties of a transaction to ensure they meet the required criteria.
      *
@@ -143,6 +192,16 @@ public abstract class Transaction {
         return amount > 0;
     }
 
+    /**
+     * Validates the given occurrence key to ensure it is not null or blank.
+     *
+     * @param occurrenceKey The occurrence key to be validated.
+     * @return true if the occurrence key is not null and not blank, false otherwise.
+     */
+    private boolean validateOccurrenceKey(String occurrenceKey) {
+        return occurrenceKey != null && !occurrenceKey.isBlank();
+    }
+
     /**
      * Validates the given account to ensure it is not null.
      *
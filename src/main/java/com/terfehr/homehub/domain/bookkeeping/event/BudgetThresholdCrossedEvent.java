@@ -0,0 +1,29 @@
+package com.terfehr.homehub.domain.bookkeeping.event;
+
+import com.terfehr.homehub.domain.bookkeeping.value.BudgetUsage;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event that informs its listeners about a Budget whose consumption crossed one of the configured thresholds
+ * by booking an Expense. The source is the BudgetUsage after the booking.
+ */
+@Getter
+public class BudgetThresholdCrossedEvent extends ApplicationEvent {
+
+    private final int thresholdPercent;
+
+    public BudgetThresholdCrossedEvent(BudgetUsage usage, int thresholdPercent) {
+        super(usage);
+        this.thresholdPercent = thresholdPercent;
+    }
+
+    /**
+     * Returns the state of the Budget right after the threshold was crossed.
+     *
+     * @return The BudgetUsage the event was published for.
+     */
+    public BudgetUsage getUsage() {
+        return (BudgetUsage) getSource();
+    }
+}
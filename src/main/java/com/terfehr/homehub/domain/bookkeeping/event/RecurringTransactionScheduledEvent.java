@@ -0,0 +1,24 @@
+package com.terfehr.homehub.domain.bookkeeping.event;
+
+import com.terfehr.homehub.domain.bookkeeping.value.RecurringSchedule;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event that informs its listeners about a RecurringTransaction whose schedule was created or changed.
+ * The source is the new RecurringSchedule.
+ */
+public class RecurringTransactionScheduledEvent extends ApplicationEvent {
+
+    public RecurringTransactionScheduledEvent(RecurringSchedule schedule) {
+        super(schedule);
+    }
+
+    /**
+     * Returns the new schedule of the RecurringTransaction.
+     *
+     * @return The RecurringSchedule the event was published for.
+     */
+    public RecurringSchedule getSchedule() {
+        return (RecurringSchedule) getSource();
+    }
+}
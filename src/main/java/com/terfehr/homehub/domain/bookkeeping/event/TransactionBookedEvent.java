@@ -0,0 +1,29 @@
+package com.terfehr.homehub.domain.bookkeeping.event;
+
+import com.terfehr.homehub.domain.bookkeeping.entity.Transaction;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event that informs its listeners about a Transaction that was booked on an Account. The source is the Transaction,
+ * the ID of the Household is captured when publishing, so listeners do not have to touch lazy associations.
+ */
+@Getter
+public class TransactionBookedEvent extends ApplicationEvent {
+
+    private final Long householdId;
+
+    public TransactionBookedEvent(Transaction transaction) {
+        super(transaction);
+        this.householdId = transaction.getAccount().getHousehold().getId();
+    }
+
+    /**
+     * Returns the booked Transaction.
+     *
+     * @return The Transaction the event was published for.
+     */
+    public Transaction getTransaction() {
+        return (Transaction) getSource();
+    }
+}
@@ -0,0 +1,10 @@
+package com.terfehr.homehub.domain.bookkeeping.exception;
+
+/**
+ * Exception thrown when a Budget cannot be found when fetching from the database.
+ */
+public class BudgetNotFoundException extends RuntimeException {
+    public BudgetNotFoundException(String message) {
+        super(message);
+    }
+}
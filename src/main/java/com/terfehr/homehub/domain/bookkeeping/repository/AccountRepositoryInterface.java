@@ -1,9 +1,14 @@
 package com.terfehr.homehub.domain.bookkeeping.repository;
 
 import com.terfehr.homehub.domain.bookkeeping.entity.Account;
+import com.terfehr.homehub.domain.bookkeeping.value.AccountBalance;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface AccountRepositoryInterface extends JpaRepository<Account, Long> {
@@ -16,4 +21,29 @@ public interface AccountRepositoryInterface extends JpaRepository<Account, Long>
      */
     @NonNull
     Optional<Account> findById(@NonNull Long id);
+
+    /**
+     * Retrieves the balances of all Accounts of a Household ordered by their name, without loading the Accounts or
+     * their Transactions.
+     *
+     * @param householdId The ID of the Household.
+     * @return A List of the AccountBalances.
+     */
+    @Query("""
+            select new com.terfehr.homehub.domain.bookkeeping.value.AccountBalance(a.id, a.name, a.balance.amountInSmallestUnit, a.balance.currency)
+            from Account a
+            where a.household.id = :householdId
+            order by a.name, a.id
+            """)
+    @Transactional(readOnly = true)
+    List<AccountBalance> findAllBalancesByHouseholdId(@Param("householdId") Long householdId);
+
+    /**
+     * Retrieves the ID of the Household the given Account belongs to, without loading the Account.
+     *
+     * @param id The ID of the Account.
+     * @return An Optional containing either the ID of the Household or null if the Account does not exist.
+     */
+    @Query("select a.household.id from Account a where a.id = :id")
+    Optional<Long> findHouseholdIdById(@Param("id") Long id);
 }
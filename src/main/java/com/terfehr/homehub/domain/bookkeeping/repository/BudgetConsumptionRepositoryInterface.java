@@ -0,0 +1,79 @@
+package com.terfehr.homehub.domain.bookkeeping.repository;
+
+import com.terfehr.homehub.domain.bookkeeping.entity.BudgetConsumption;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+
+public interface BudgetConsumptionRepositoryInterface extends JpaRepository<BudgetConsumption, Long> {
+
+    /**
+     * Atomically adds the given delta to the counter of the given Budget and month. If there is no counter yet,
+     * it is created with the delta as its initial value. Negative deltas are used to revert removed Expenses.
+     *
+     * @param budgetId The ID of the Budget.
+     * @param periodStart The first day of the month.
+     * @param delta The amount to add in the smallest unit of the currency.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "budget_consumptions"))
+    @Query(value = """
+            insert into budget_consumptions (budget_id, period_start, consumed_in_smallest_unit)
+            values (:budgetId, :periodStart, :delta)
+            on conflict (budget_id, period_start)
+            do update set consumed_in_smallest_unit = budget_consumptions.consumed_in_smallest_unit + excluded.consumed_in_smallest_unit
+            """, nativeQuery = true)
+    void increment(@Param("budgetId") Long budgetId, @Param("periodStart") LocalDate periodStart, @Param("delta") long delta);
+
+    /**
+     * Locks the budget_consumptions table against concurrent bookings until the end of the transaction, so a booking
+     * cannot recreate a counter between deleting and rebuilding the counters. Bookings wait and are applied on top of it.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "budget_consumptions"))
+    @Query(value = "lock table budget_consumptions in exclusive mode", nativeQuery = true)
+    void lockForRebuild();
+
+    /**
+     * Deletes the counters of the given Budget or of all Budgets if no ID is given. Only meant to be used right before
+     * rebuilding them from the ledger.
+     *
+     * @param budgetId The ID of the Budget or null for all Budgets.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "budget_consumptions"))
+    @Query(value = "delete from budget_consumptions where cast(:budgetId as bigint) is null or budget_id = :budgetId", nativeQuery = true)
+    void deleteCounters(@Param("budgetId") Long budgetId);
+
+    /**
+     * Rebuilds the counters of the given Budget or of all Budgets if no ID is given from the ledger with a single
+     * set-based statement. The matching rules mirror Budget.appliesTo: the Account has to be covered, the currency
+     * has to match and the Expense has to fit the scope.
+     *
+     * @param budgetId The ID of the Budget or null for all Budgets.
+     * @return The number of counters created.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "budget_consumptions"))
+    @Query(value = """
+            insert into budget_consumptions (budget_id, period_start, consumed_in_smallest_unit)
+            select b.id, cast(date_trunc('month', t.date) as date), sum(t.amount_in_smallest_unit)
+            from budgets b
+            join accounts a on a.household_id = b.household_id and (b.account_id is null or b.account_id = a.id)
+            join transactions t on t.account = a.id and t.currency = b.currency
+            join expenses e on e.id = t.id
+            left join shopping_expenses s on s.id = t.id
+            where (cast(:budgetId as bigint) is null or b.id = :budgetId)
+              and (b.scope = 'EXPENSES'
+                   or (b.scope = 'SHOPPING' and s.id is not null)
+                   or (b.scope = 'RECIPIENT' and e.recipient = b.recipient))
+            group by b.id, cast(date_trunc('month', t.date) as date)
+            """, nativeQuery = true)
+    int rebuildFromLedger(@Param("budgetId") Long budgetId);
+}
@@ -0,0 +1,70 @@
+package com.terfehr.homehub.domain.bookkeeping.repository;
+
+import com.terfehr.homehub.domain.bookkeeping.entity.Budget;
+import com.terfehr.homehub.domain.bookkeeping.value.BudgetUsage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.lang.NonNull;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface BudgetRepositoryInterface extends JpaRepository<Budget, Long> {
+
+    /**
+     * Retrieves a Budget by its ID.
+     *
+     * @param id The ID of the Budget.
+     * @return An Optional containing either the Budget or null if it does not exist.
+     */
+    @NonNull
+    Optional<Budget> findById(@NonNull Long id);
+
+    /**
+     * Retrieves all Budgets of the given Household. Used to find the Budgets an Expense has to be counted against.
+     *
+     * @param householdId The ID of the Household.
+     * @return A List of all Budgets of the Household.
+     */
+    List<Budget> findAllByHouseholdId(Long householdId);
+
+    /**
+     * Retrieves the usage of all Budgets of the given Household in the month starting at the given date. The consumption
+     * is read from the counters, so the cost of this query only depends on the number of Budgets.
+     *
+     * @param householdId The ID of the Household.
+     * @param periodStart The first day of the month.
+     * @return A List containing the usage of every Budget of the Household.
+     */
+    @Query("""
+            select new com.terfehr.homehub.domain.bookkeeping.value.BudgetUsage(
+                b.id, b.name, b.scope, b.recipient, a.id, b.monthlyLimit.amountInSmallestUnit, b.monthlyLimit.currency,
+                coalesce(c.consumedInSmallestUnit, 0L))
+            from Budget b
+            left join b.account a
+            left join BudgetConsumption c on c.budget = b and c.periodStart = :periodStart
+            where b.household.id = :householdId
+            order by b.id
+            """)
+    List<BudgetUsage> findUsageByHouseholdId(@Param("householdId") Long householdId, @Param("periodStart") LocalDate periodStart);
+
+    /**
+     * Retrieves the usage of a single Budget in the month starting at the given date.
+     *
+     * @param budgetId The ID of the Budget.
+     * @param periodStart The first day of the month.
+     * @return An Optional containing either the usage or null if the Budget does not exist.
+     */
+    @Query("""
+            select new com.terfehr.homehub.domain.bookkeeping.value.BudgetUsage(
+                b.id, b.name, b.scope, b.recipient, a.id, b.monthlyLimit.amountInSmallestUnit, b.monthlyLimit.currency,
+                coalesce(c.consumedInSmallestUnit, 0L))
+            from Budget b
+            left join b.account a
+            left join BudgetConsumption c on c.budget = b and c.periodStart = :periodStart
+            where b.id = :budgetId
+            """)
+    Optional<BudgetUsage> findUsageById(@Param("budgetId") Long budgetId, @Param("periodStart") LocalDate periodStart);
+}
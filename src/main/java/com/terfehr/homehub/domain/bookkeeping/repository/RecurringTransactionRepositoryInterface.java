@@ -0,0 +1,73 @@
+package com.terfehr.homehub.domain.bookkeeping.repository;
+
+import com.terfehr.homehub.domain.bookkeeping.entity.RecurringTransaction;
+import com.terfehr.homehub.domain.bookkeeping.value.RecurringSchedule;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.lang.NonNull;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface RecurringTransactionRepositoryInterface extends JpaRepository<RecurringTransaction, Long> {
+
+    /**
+     * Retrieves a RecurringTransaction by its ID.
+     *
+     * @param id The ID of the RecurringTransaction.
+     * @return An Optional containing either the RecurringTransaction or null if it does not exist.
+     */
+    @NonNull
+    Optional<RecurringTransaction> findById(@NonNull Long id);
+
+    /**
+     * Retrieves all RecurringTransactions with the given IDs together with their Accounts in a single query.
+     *
+     * @param ids The IDs of the RecurringTransactions.
+     * @return A List of the found RecurringTransactions.
+     */
+    @Query("select r from RecurringTransaction r join fetch r.account where r.id in :ids")
+    List<RecurringTransaction> findAllWithAccountByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Retrieves all RecurringTransactions of the given Account.
+     *
+     * @param accountId The ID of the Account.
+     * @return A List of the RecurringTransactions of the Account.
+     */
+    List<RecurringTransaction> findAllByAccountId(Long accountId);
+
+    /**
+     * Retrieves the schedules of active RecurringTransactions page by page ordered by ID. Paging by the last seen ID
+     * keeps every page an index range scan, no matter how many definitions exist.
+     *
+     * @param afterId The last ID of the previous page or 0 for the first page.
+     * @param limit The maximum size of the page.
+     * @return A List containing the schedules of the page.
+     */
+    @Query("""
+            select new com.terfehr.homehub.domain.bookkeeping.value.RecurringSchedule(r.id, r.nextOccurrence)
+            from RecurringTransaction r
+            where r.active = true and r.id > :afterId
+            order by r.id
+            """)
+    List<RecurringSchedule> findActiveSchedulesAfterId(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Retrieves the schedules of active RecurringTransactions whose next occurrence lies before the given time.
+     * Backed by the index on the active flag and the next occurrence.
+     *
+     * @param until The exclusive upper bound for the next occurrence.
+     * @return A List containing the matching schedules.
+     */
+    @Query("""
+            select new com.terfehr.homehub.domain.bookkeeping.value.RecurringSchedule(r.id, r.nextOccurrence)
+            from RecurringTransaction r
+            where r.active = true and r.nextOccurrence < :until
+            """)
+    List<RecurringSchedule> findActiveSchedulesDueBefore(@Param("until") LocalDateTime until);
+}
@@ -2,11 +2,17 @@ package com.terfehr.homehub.domain.bookkeeping.repository;
 
 import com.terfehr.homehub.domain.bookkeeping.entity.Account;
 import com.terfehr.homehub.domain.bookkeeping.entity.Transaction;
+import com.terfehr.homehub.domain.bookkeeping.value.TransactionSearchResult;
+import com.terfehr.homehub.domain.household.value.TermFrequency;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface TransactionRepositoryInterface extends JpaRepository<Transaction, Long> {
 
@@ -26,4 +32,83 @@ public interface TransactionRepositoryInterface extends JpaRepository<Transactio
      * @return An Optional containing either the Transaction or null if it does not exist.
      */
     List<Transaction> findByAccount(@NonNull Account account);
+
+    /**
+     * Retrieves which of the given occurrence keys are already used by a Transaction. Used to skip occurrences
+     * that have already been booked before booking a batch of new ones.
+     *
+     * @param occurrenceKeys The occurrence keys to check.
+     * @return The subset of the given keys that are already booked.
+     */
+    @Query("select t.occurrenceKey from Transaction t where t.occurrenceKey in :occurrenceKeys")
+    Set<String> findExistingOccurrenceKeys(@Param("occurrenceKeys") Collection<String> occurrenceKeys);
+
+    /**
+     * Searches the Transactions of the given Account for the given query in their descriptions and counterparties.
+     * Whole words are matched through the tsvector index, substrings through the trigram index, both of which lead
+     * with the Account, so only the matches of the Account are ever read, and only in the partition of its Household.
+     * Results are ordered by rank and ID and paged by the rank and ID of the last result of the previous page.
+     *
+     * @param accountId The ID of the Account to search.
+     * @param query The search query in web search syntax.
+     * @param pattern The ILIKE pattern for substring matches with escaped wildcards.
+     * @param afterRank The rank of the last result of the previous page or null for the first page.
+     * @param afterId The ID of the last result of the previous page or null for the first page.
+     * @param limit The maximum size of the page.
+     * @return A List containing the results of the page.
+     */
+    @Query(value = """
+            select t.id as id,
+                   case when i.id is null then 'EXPENSE' else 'INCOME' end as type,
+                   t.amount_in_smallest_unit as amount,
+                   t.currency as currency,
+                   t.description as description,
+                   coalesce(e.recipient, i.source) as counterparty,
+                   t.date as date,
+                   t.rank as rank
+            from (select s.id, s.amount_in_smallest_unit, s.currency, s.description, s.date,
+                         cast(ts_rank(s.search_vector, websearch_to_tsquery('simple', :query))
+                              + similarity(s.search_text, :query) as real) as rank
+                  from transactions s
+                  where s.household_id = (select household_id from accounts where id = :accountId)
+                    and s.account = :accountId
+                    and (s.search_vector @@ websearch_to_tsquery('simple', :query) or s.search_text ilike :pattern)) t
+                     left join expenses e on e.id = t.id
+                     left join incomes i on i.id = t.id
+            where cast(:afterRank as real) is null
+               or (t.rank, t.id) < (cast(:afterRank as real), cast(:afterId as bigint))
+            order by t.rank desc, t.id desc
+            limit :limit
+            """, nativeQuery = true)
+    List<TransactionSearchResult> search(@Param("accountId") Long accountId, @Param("query") String query,
+                                         @Param("pattern") String pattern, @Param("afterRank") Float afterRank,
+                                         @Param("afterId") Long afterId, @Param("limit") int limit);
+
+    /**
+     * Retrieves every recipient of the Expenses of the given Household together with how often it was used.
+     *
+     * @param householdId The ID of the Household.
+     * @return A List containing the recipients and their frequencies.
+     */
+    @Query("""
+            select new com.terfehr.homehub.domain.household.value.TermFrequency(e.recipient, count(e))
+            from Expense e
+            where e.householdId = :householdId
+            group by e.recipient
+            """)
+    List<TermFrequency> findRecipientFrequenciesByHouseholdId(@Param("householdId") Long householdId);
+
+    /**
+     * Retrieves every source of the Incomes of the given Household together with how often it was used.
+     *
+     * @param householdId The ID of the Household.
+     * @return A List containing the sources and their frequencies.
+     */
+    @Query("""
+            select new com.terfehr.homehub.domain.household.value.TermFrequency(i.source, count(i))
+            from Income i
+            where i.householdId = :householdId
+            group by i.source
+            """)
+    List<TermFrequency> findSourceFrequenciesByHouseholdId(@Param("householdId") Long householdId);
 }
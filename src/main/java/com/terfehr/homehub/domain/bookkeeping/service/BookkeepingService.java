@@ -1,7 +1,124 @@
 package com.terfehr.homehub.domain.bookkeeping.service;
 
+import com.terfehr.homehub.domain.bookkeeping.entity.Account;
+import com.terfehr.homehub.domain.bookkeeping.entity.Expense;
+import com.terfehr.homehub.domain.bookkeeping.entity.Income;
+import com.terfehr.homehub.domain.bookkeeping.entity.RecurringTransaction;
+import com.terfehr.homehub.domain.bookkeeping.entity.ShoppingExpense;
+import com.terfehr.homehub.domain.bookkeeping.entity.Transaction;
+import com.terfehr.homehub.domain.bookkeeping.event.TransactionBookedEvent;
+import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
+/**
+ * Service for booking Transactions on Accounts. It delegates to the Account as aggregate root and keeps all derived
+ * bookkeeping data like the Budget consumption counters in sync within the same unit of work. Every booked Transaction
+ * is announced with a TransactionBookedEvent.
+ */
 @Service
+@AllArgsConstructor
 public class BookkeepingService {
+
+    private final BudgetService budgetService;
+    private final ApplicationEventPublisher publisher;
+
+    /**
+     * Books an Expense on the given Account and counts it against all matching Budgets.
+     *
+     * @param account The Account to book the Expense on.
+     * @param amount The amount of the Expense in the smallest unit.
+     * @param description A brief description of what was paid with this Expense.
+     * @param date The timestamp of when this Expense was transferred.
+     * @param recipient The recipient who received the money.
+     * @return The booked Expense.
+     * @throws IllegalArgumentException If the parameters are invalid for creating an Expense.
+     */
+    public Expense addExpense(Account account, long amount, String description, LocalDateTime date, String recipient) throws IllegalArgumentException {
+        Expense expense = account.addExpense(amount, description, date, recipient);
+        budgetService.recordExpense(expense);
+        publisher.publishEvent(new TransactionBookedEvent(expense));
+        return expense;
+    }
+
+    /**
+     * Books a ShoppingExpense on the given Account and counts it against all matching Budgets.
+     *
+     * @param account The Account to book the ShoppingExpense on.
+     * @param amount The amount of the ShoppingExpense in the smallest unit.
+     * @param description A brief description of what was paid with this ShoppingExpense.
+     * @param date The timestamp of when this ShoppingExpense was transferred.
+     * @param recipient The recipient who received the money.
+     * @return The booked ShoppingExpense.
+     * @throws IllegalArgumentException If the parameters are invalid for creating a ShoppingExpense.
+     */
+    public ShoppingExpense addShoppingExpense(Account account, long amount, String description, LocalDateTime date, String recipient) throws IllegalArgumentException {
+        ShoppingExpense expense = account.addShoppingExpense(amount, description, date, recipient);
+        budgetService.recordExpense(expense);
+        publisher.publishEvent(new TransactionBookedEvent(expense));
+        return expense;
+    }
+
+    /**
+     * Books an Income on the given Account. Incomes are not counted against Budgets.
+     *
+     * @param account The Account to book the Income on.
+     * @param amount The amount of the Income in the smallest unit.
+     * @param description A brief description of what the Income is about.
+     * @param date The timestamp of when this Income was transferred.
+     * @param source The source who sent the money.
+     * @return The booked Income.
+     * @throws IllegalArgumentException If the parameters are invalid for creating an Income.
+     */
+    public Income addIncome(Account account, long amount, String description, LocalDateTime date, String source) throws IllegalArgumentException {
+        Income income = account.addIncome(amount, description, date, source);
+        publisher.publishEvent(new TransactionBookedEvent(income));
+        return income;
+    }
+
+    /**
+     * Books the next occurrence of the given RecurringTransaction on its Account and advances it to the following
+     * occurrence. The booked Transaction carries the key of the occurrence, which is unique across the ledger.
+     * Expenses are counted against all matching Budgets like manually booked ones.
+     *
+     * @param recurringTransaction The RecurringTransaction whose next occurrence is due.
+     * @return The booked Transaction.
+     * @throws IllegalStateException If the RecurringTransaction is not active anymore.
+     */
+    public Transaction bookNextOccurrence(RecurringTransaction recurringTransaction) throws IllegalStateException {
+        if (!recurringTransaction.isActive()) {
+            throw new IllegalStateException("RecurringTransaction is not active");
+        }
+        Account account = recurringTransaction.getAccount();
+        long amount = recurringTransaction.getAmount().getAmountInSmallestUnit();
+        LocalDateTime date = recurringTransaction.getNextOccurrence();
+
+        Transaction transaction = switch (recurringTransaction.getType()) {
+            case EXPENSE -> account.addExpense(amount, recurringTransaction.getDescription(), date, recurringTransaction.getCounterparty());
+            case INCOME -> account.addIncome(amount, recurringTransaction.getDescription(), date, recurringTransaction.getCounterparty());
+        };
+        transaction.setOccurrenceKey(recurringTransaction.getNextOccurrenceKey());
+        if (transaction instanceof Expense expense) {
+            budgetService.recordExpense(expense);
+        }
+        publisher.publishEvent(new TransactionBookedEvent(transaction));
+        recurringTransaction.advance();
+        return transaction;
+    }
+
+    /**
+     * Removes the given Transaction from the Account. If it is an Expense, it is removed from the Budget counters as well.
+     *
+     * @param account The Account to remove the Transaction from.
+     * @param transaction The Transaction to remove.
+     * @throws IllegalArgumentException If the Transaction is invalid or not contained in the Account.
+     */
+    public void removeTransaction(Account account, Transaction transaction) throws IllegalArgumentException {
+        account.removeTransaction(transaction);
+        if (transaction instanceof Expense expense) {
+            budgetService.revertExpense(expense);
+        }
+    }
 }
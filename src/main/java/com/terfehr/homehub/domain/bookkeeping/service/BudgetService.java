@@ -0,0 +1,153 @@
+package com.terfehr.homehub.domain.bookkeeping.service;
+
+import com.terfehr.homehub.domain.bookkeeping.entity.Budget;
+import com.terfehr.homehub.domain.bookkeeping.entity.Expense;
+import com.terfehr.homehub.domain.bookkeeping.event.BudgetThresholdCrossedEvent;
+import com.terfehr.homehub.domain.bookkeeping.repository.BudgetConsumptionRepositoryInterface;
+import com.terfehr.homehub.domain.bookkeeping.repository.BudgetRepositoryInterface;
+import com.terfehr.homehub.domain.bookkeeping.value.BudgetUsage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service for maintaining the consumption counters of Budgets. Every booked or removed Expense is applied to the
+ * counters of all matching Budgets of its Household in the same unit of work, so reading the state of a Budget
+ * never requires summing up the ledger. Crossing one of the configured thresholds publishes a
+ * BudgetThresholdCrossedEvent.
+ */
+@Service
+public class BudgetService {
+
+    private final BudgetRepositoryInterface budgetRepository;
+    private final BudgetConsumptionRepositoryInterface budgetConsumptionRepository;
+    private final ApplicationEventPublisher publisher;
+    @Value("${budget.thresholds}")
+    private int[] thresholds; // Expressed in percent of the monthly limit
+
+    public BudgetService(BudgetRepositoryInterface budgetRepository,
+                         BudgetConsumptionRepositoryInterface budgetConsumptionRepository,
+                         ApplicationEventPublisher publisher) {
+        this.budgetRepository = budgetRepository;
+        this.budgetConsumptionRepository = budgetConsumptionRepository;
+        this.publisher = publisher;
+    }
+
+    /**
+     * Counts the given Expense against all matching Budgets of its Household and publishes an event for every
+     * threshold that was crossed by it.
+     *
+     * @param expense The Expense that was just booked.
+     * @return The usage of every affected Budget after the Expense was counted.
+     */
+    public List<BudgetUsage> recordExpense(Expense expense) {
+        return apply(expense, expense.getAmount().getAmountInSmallestUnit());
+    }
+
+    /**
+     * Removes the given Expense from the counters of all matching Budgets of its Household.
+     *
+     * @param expense The Expense that was just removed.
+     * @return The usage of every affected Budget after the Expense was removed.
+     */
+    public List<BudgetUsage> revertExpense(Expense expense) {
+        return apply(expense, -expense.getAmount().getAmountInSmallestUnit());
+    }
+
+    /**
+     * Retrieves the usage of all Budgets of the given Household in the given month straight from the counters.
+     *
+     * @param householdId The ID of the Household.
+     * @param month The month to retrieve the usage for.
+     * @return A List containing the usage of every Budget of the Household.
+     */
+    public List<BudgetUsage> getHouseholdUsage(Long householdId, YearMonth month) {
+        return budgetRepository.findUsageByHouseholdId(householdId, month.atDay(1));
+    }
+
+    /**
+     * Retrieves the usage of a single Budget in the given month straight from the counters.
+     *
+     * @param budgetId The ID of the Budget.
+     * @param month The month to retrieve the usage for.
+     * @return An Optional containing either the usage or null if the Budget does not exist.
+     */
+    public Optional<BudgetUsage> getBudgetUsage(Long budgetId, YearMonth month) {
+        return budgetRepository.findUsageById(budgetId, month.atDay(1));
+    }
+
+    /**
+     * Initializes the counters of a newly created Budget from the Expenses that were booked before it existed.
+     *
+     * @param budget The persisted Budget to initialize the counters for.
+     */
+    public void initializeCounters(Budget budget) {
+        budgetConsumptionRepository.deleteCounters(budget.getId());
+        budgetConsumptionRepository.rebuildFromLedger(budget.getId());
+    }
+
+    /**
+     * Drops all counters and rebuilds them from the ledger. Meant to repair counters that drifted, e.g. because
+     * Transactions were changed outside the application. Counting concurrently booked or removed Expenses waits until
+     * the rebuild is committed.
+     *
+     * @return The number of counters that were rebuilt.
+     */
+    public int rebuildCounters() {
+        budgetConsumptionRepository.lockForRebuild();
+        budgetConsumptionRepository.deleteCounters(null);
+        return budgetConsumptionRepository.rebuildFromLedger(null);
+    }
+
+    /**
+     * Adds the given delta to the counters of all Budgets the Expense applies to.
+     *
+     * @param expense The Expense to apply.
+     * @param delta The amount to add to the counters. Negative for reverting the Expense.
+     * @return The usage of every affected Budget afterward.
+     */
+    private List<BudgetUsage> apply(Expense expense, long delta) {
+        Long householdId = expense.getAccount().getHousehold().getId();
+        LocalDate periodStart = YearMonth.from(expense.getDate()).atDay(1);
+        List<BudgetUsage> usages = new ArrayList<>();
+
+        for (Budget budget : budgetRepository.findAllByHouseholdId(householdId)) {
+            if (!budget.appliesTo(expense)) {
+                continue;
+            }
+            budgetConsumptionRepository.increment(budget.getId(), periodStart, delta);
+            budgetRepository.findUsageById(budget.getId(), periodStart).ifPresent(usage -> {
+                usages.add(usage);
+                publishCrossedThresholds(usage, delta);
+            });
+        }
+        return usages;
+    }
+
+    /**
+     * Publishes a BudgetThresholdCrossedEvent for every threshold that lies between the consumption before and after
+     * the given delta was applied. Only increasing consumption can cross a threshold.
+     *
+     * @param usage The usage after the delta was applied.
+     * @param delta The delta that was applied.
+     */
+    private void publishCrossedThresholds(BudgetUsage usage, long delta) {
+        if (delta <= 0) {
+            return;
+        }
+        long after = usage.consumedInSmallestUnit();
+        long before = after - delta;
+        for (int threshold : thresholds) {
+            long boundary = usage.limitInSmallestUnit() * threshold;
+            if (before * 100 < boundary && after * 100 >= boundary) {
+                publisher.publishEvent(new BudgetThresholdCrossedEvent(usage, threshold));
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.terfehr.homehub.domain.bookkeeping.value;
+
+import java.util.Currency;
+
+/**
+ * The current balance of an Account, read without loading the Account or its Transactions.
+ *
+ * @param accountId The ID of the Account.
+ * @param name The name of the Account.
+ * @param amountInSmallestUnit The balance in the smallest unit of the currency.
+ * @param currency The currency of the Account.
+ */
+public record AccountBalance(Long accountId, String name, long amountInSmallestUnit, Currency currency) {
+}
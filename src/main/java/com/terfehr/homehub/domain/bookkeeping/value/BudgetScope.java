@@ -0,0 +1,23 @@
+package com.terfehr.homehub.domain.bookkeeping.value;
+
+/**
+ * Defines which Expenses are counted against a Budget. Since Transactions do not carry a category yet,
+ * the scope either covers all Expenses, only ShoppingExpenses or only Expenses paid to a specific recipient.
+ */
+public enum BudgetScope {
+
+    /**
+     * Every Expense of the covered Account(s) is counted.
+     */
+    EXPENSES,
+
+    /**
+     * Only ShoppingExpenses, i.e. the Expenses created for a ShoppingSpree, are counted.
+     */
+    SHOPPING,
+
+    /**
+     * Only Expenses paid to the recipient stored on the Budget are counted.
+     */
+    RECIPIENT
+}
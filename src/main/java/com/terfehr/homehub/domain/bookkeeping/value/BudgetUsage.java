@@ -0,0 +1,29 @@
+package com.terfehr.homehub.domain.bookkeeping.value;
+
+import java.util.Currency;
+
+/**
+ * Read-only projection of a Budget together with its consumption counter for a single month. It is built directly
+ * by the repository query, so reading the state of all Budgets of a Household never touches the ledger itself.
+ *
+ * @param budgetId The ID of the Budget.
+ * @param name The name of the Budget.
+ * @param scope The scope that defines which Expenses are counted.
+ * @param recipient The recipient the Budget is restricted to. Only set for the RECIPIENT scope.
+ * @param accountId The ID of the Account the Budget is restricted to or null if it covers the whole Household.
+ * @param limitInSmallestUnit The monthly limit in the smallest unit of the currency.
+ * @param currency The currency of the Budget.
+ * @param consumedInSmallestUnit The amount consumed in the month in the smallest unit of the currency.
+ */
+public record BudgetUsage(Long budgetId, String name, BudgetScope scope, String recipient, Long accountId,
+                          long limitInSmallestUnit, Currency currency, long consumedInSmallestUnit) {
+
+    /**
+     * Calculates how much of the monthly limit has been consumed.
+     *
+     * @return The consumed share of the limit in percent. Can exceed 100 if the Budget is overdrawn.
+     */
+    public double percentConsumed() {
+        return limitInSmallestUnit == 0 ? 0 : consumedInSmallestUnit * 100.0 / limitInSmallestUnit;
+    }
+}
@@ -0,0 +1,21 @@
+package com.terfehr.homehub.domain.bookkeeping.value;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Defines the unit in which a RecurringTransaction repeats. The actual interval is a multiple of this unit.
+ */
+@Getter
+@AllArgsConstructor
+public enum RecurrenceFrequency {
+
+    DAILY(ChronoUnit.DAYS),
+    WEEKLY(ChronoUnit.WEEKS),
+    MONTHLY(ChronoUnit.MONTHS),
+    YEARLY(ChronoUnit.YEARS);
+
+    private final ChronoUnit unit;
+}
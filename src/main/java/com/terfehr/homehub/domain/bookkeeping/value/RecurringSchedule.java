@@ -0,0 +1,13 @@
+package com.terfehr.homehub.domain.bookkeeping.value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of the schedule of a RecurringTransaction. It only carries what is needed to keep the
+ * in-memory scheduler in sync, so loading the schedules of all definitions never hydrates full entities.
+ *
+ * @param recurringTransactionId The ID of the RecurringTransaction.
+ * @param nextOccurrence The next due occurrence or null if the RecurringTransaction has ended.
+ */
+public record RecurringSchedule(Long recurringTransactionId, LocalDateTime nextOccurrence) {
+}
@@ -0,0 +1,26 @@
+package com.terfehr.homehub.domain.bookkeeping.value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a Transaction that matched a full-text search together with its rank. Read straight from the
+ * search query, so no Transaction entities have to be loaded for a result page.
+ */
+public interface TransactionSearchResult {
+
+    Long getId();
+
+    String getType();
+
+    long getAmount();
+
+    String getCurrency();
+
+    String getDescription();
+
+    String getCounterparty();
+
+    LocalDateTime getDate();
+
+    float getRank();
+}
@@ -0,0 +1,9 @@
+package com.terfehr.homehub.domain.bookkeeping.value;
+
+/**
+ * Defines whether a Transaction that is booked on behalf of a definition like a RecurringTransaction is an Expense or an Income.
+ */
+public enum TransactionType {
+    EXPENSE,
+    INCOME
+}
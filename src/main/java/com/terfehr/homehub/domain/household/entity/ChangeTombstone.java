@@ -0,0 +1,44 @@
+package com.terfehr.homehub.domain.household.entity;
+
+import com.terfehr.homehub.domain.household.value.SyncEntityType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records the deletion of a synchronized entity of a Household together with the change version it was deleted in,
+ * so clients that synchronize incrementally learn about deletions as well. Tombstones are written by database
+ * triggers on every delete, including set-based ones, and are pruned after a retention period.
+ */
+@Entity
+@NoArgsConstructor
+@Getter
+@Table(name = "change_tombstones",
+        indexes = {
+                @Index(name = "idx_change_tombstones_household_version", columnList = "household_id, change_version"),
+                @Index(name = "idx_change_tombstones_deleted_at", columnList = "deleted_at")
+        })
+public class ChangeTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "household_id", nullable = false)
+    private Long householdId; // No foreign key, as tombstones outlive the deleted Household for the retention period
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false)
+    private SyncEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "change_version", nullable = false)
+    private long changeVersion;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -7,6 +7,8 @@ import com.terfehr.homehub.domain.shopping.entity.ShoppingSpree;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -22,6 +24,8 @@ import java.util.Set;
  * and leverages JPA annotations for managing persistence.</p>
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "households")
 @NoArgsConstructor
 @Getter
 @Table(name = "households")
@@ -34,11 +38,18 @@ public class Household {
     @Column(nullable = false)
     private String name;
 
+    @Column(name = "change_version", insertable = false, updatable = false, columnDefinition = "bigint default 0 not null")
+    private long changeVersion; // Latest version stamped on the lists and items of the Household, see schema.sql. Read via SyncState, as cached Households miss the stamps
+
+    @Column(name = "sync_floor_version", insertable = false, updatable = false, columnDefinition = "bigint default 0 not null")
+    private long syncFloorVersion; // Latest version whose tombstones were pruned already, read via SyncState as well
+
     @OneToMany(mappedBy = "household", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "household-roommates")
     private Set<Roommate> roommates;
 
     @OneToMany(mappedBy = "household", cascade = CascadeType.ALL, orphanRemoval = true)
-    private Set<Account> accounts;
+    private Set<Account> accounts; // Not cached like the Accounts themselves, see Account
 
     @OneToMany(mappedBy = "household", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<TaskList> taskLists;
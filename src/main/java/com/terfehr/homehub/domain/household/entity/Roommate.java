@@ -4,6 +4,8 @@ import com.terfehr.homehub.domain.household.key.RoommateId;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * <p>The Roommate class represents the association between a User and a Household.
@@ -34,6 +36,8 @@ import lombok.NoArgsConstructor;
  * </p>
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "roommates")
 @NoArgsConstructor
 @Getter
 @Table(name = "roommates")
@@ -5,6 +5,8 @@ import com.terfehr.homehub.domain.household.exception.InvalidUserException;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -19,6 +21,8 @@ import java.util.Set;
  * Implements UserDetails interface for integration with Spring Security.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @NoArgsConstructor
 @Getter
 @Table(name = "users")
@@ -47,6 +51,7 @@ public class User implements UserDetails {
     private LocalDateTime verificationCodeExpiration;
 
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-roommates")
     private Set<Roommate> roommates;
 
     /**
@@ -3,6 +3,7 @@ package com.terfehr.homehub.domain.household.key;
 import jakarta.persistence.Embeddable;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.io.Serializable;
@@ -22,12 +23,13 @@ import java.io.Serializable;
  * </ul></p>
  *
  * <p>This class is equipped with a no-argument constructor and an all-argument
- * constructor, provided by the Lombok annotations @NoArgsConstructor and @AllArgsConstructor.</p>
+ * constructor, provided by the Lombok annotations @NoArgsConstructor and @AllArgsConstructor, as well as getters.</p>
  */
 @Embeddable
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode
+@Getter
 public class RoommateId implements Serializable {
 
     private Long userId;
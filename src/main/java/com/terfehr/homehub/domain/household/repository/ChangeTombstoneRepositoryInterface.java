@@ -0,0 +1,51 @@
+package com.terfehr.homehub.domain.household.repository;
+
+import com.terfehr.homehub.domain.household.entity.ChangeTombstone;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ChangeTombstoneRepositoryInterface extends JpaRepository<ChangeTombstone, Long> {
+
+    /**
+     * Retrieves all tombstones of the given Household that were written after the given change version.
+     *
+     * @param householdId The ID of the Household.
+     * @param changeVersion The change version the client has already seen.
+     * @return A List of ChangeTombstones ordered by their change version.
+     */
+    List<ChangeTombstone> findAllByHouseholdIdAndChangeVersionGreaterThanOrderByChangeVersion(Long householdId, long changeVersion);
+
+    /**
+     * Deletes all tombstones that were written before the given time and raises the sync floor of every affected
+     * Household to the latest pruned change version, so clients that synchronized before it are told to resynchronize
+     * fully instead of missing deletions.
+     *
+     * @param deletedBefore The time before which tombstones are pruned.
+     * @return The number of Households whose sync floor was raised.
+     */
+    @Modifying
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "change_tombstones"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "households")
+    })
+    @Query(value = """
+            with pruned as (
+                delete from change_tombstones
+                where deleted_at < :deletedBefore
+                returning household_id, change_version
+            )
+            update households h
+            set sync_floor_version = greatest(h.sync_floor_version, p.change_version)
+            from (select household_id, max(change_version) as change_version from pruned group by household_id) p
+            where h.id = p.household_id
+            """, nativeQuery = true)
+    int pruneBefore(@Param("deletedBefore") LocalDateTime deletedBefore);
+}
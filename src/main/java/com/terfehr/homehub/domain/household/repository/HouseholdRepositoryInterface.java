@@ -1,9 +1,18 @@
 package com.terfehr.homehub.domain.household.repository;
 
 import com.terfehr.homehub.domain.household.entity.Household;
+import com.terfehr.homehub.domain.household.value.RoommateSummary;
+import com.terfehr.homehub.domain.household.value.SyncState;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface HouseholdRepositoryInterface extends JpaRepository<Household, Long> {
@@ -16,4 +25,49 @@ public interface HouseholdRepositoryInterface extends JpaRepository<Household, L
      */
     @NonNull
     Optional<Household> findById(@NonNull Long id);
+
+    /**
+     * Retrieves the synchronization state of a Household without loading the Household itself.
+     *
+     * @param householdId The ID of the Household.
+     * @return An Optional containing either the SyncState or null if the Household does not exist.
+     */
+    @Query("select new com.terfehr.homehub.domain.household.value.SyncState(h.changeVersion, h.syncFloorVersion) from Household h where h.id = :householdId")
+    Optional<SyncState> findSyncStateById(@Param("householdId") Long householdId);
+
+    /**
+     * Retrieves the name of a Household without loading the Household itself.
+     *
+     * @param householdId The ID of the Household.
+     * @return An Optional containing either the name or null if the Household does not exist.
+     */
+    @Query("select h.name from Household h where h.id = :householdId")
+    @Transactional(readOnly = true)
+    Optional<String> findNameById(@Param("householdId") Long householdId);
+
+    /**
+     * Retrieves the Roommates of a Household ordered by their username, without loading them or their Users. The result
+     * is kept in the query cache.
+     *
+     * @param householdId The ID of the Household.
+     * @return A List of the RoommateSummaries.
+     */
+    @Query("""
+            select new com.terfehr.homehub.domain.household.value.RoommateSummary(u.id, u.username)
+            from Roommate r join r.user u
+            where r.household.id = :householdId
+            order by u.username
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Transactional(readOnly = true)
+    List<RoommateSummary> findAllRoommateSummariesByHouseholdId(@Param("householdId") Long householdId);
+
+    /**
+     * Retrieves the IDs of the Households the given User is a Roommate of, without loading the Households.
+     *
+     * @param userId The ID of the User.
+     * @return A List of the Household IDs.
+     */
+    @Query("select r.household.id from Roommate r where r.user.id = :userId")
+    List<Long> findAllIdsByRoommateUserId(@Param("userId") Long userId);
 }
@@ -1,7 +1,10 @@
 package com.terfehr.homehub.domain.household.repository;
 
 import com.terfehr.homehub.domain.household.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
@@ -20,20 +23,23 @@ public interface UserRepositoryInterface extends JpaRepository<User, Long> {
 
     /**
      * Retrieves an Optional containing a User entity based on the provided username.
-     * If no user is found with the given username, returns an empty Optional.
+     * If no user is found with the given username, returns an empty Optional. The result is kept in the query cache,
+     * as every authenticated request looks up its User by username.
      *
      * @param username the username of the User to be retrieved
      * @return an Optional containing the User entity if found, otherwise an empty Optional
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
 
     /**
      * Retrieves an Optional containing a User entity based on the provided email.
-     * If no user is found with the given email, returns an empty Optional.
+     * If no user is found with the given email, returns an empty Optional. The result is kept in the query cache.
      *
      * @param email the email address of the User to be retrieved
      * @return an Optional containing the User entity if found, otherwise an empty Optional
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
 
     /**
@@ -0,0 +1,10 @@
+package com.terfehr.homehub.domain.household.value;
+
+/**
+ * The name of a Roommate as shown on the dashboard of its Household.
+ *
+ * @param userId The ID of the User.
+ * @param username The name of the User.
+ */
+public record RoommateSummary(Long userId, String username) {
+}
@@ -0,0 +1,112 @@
+package com.terfehr.homehub.domain.household.value;
+
+/**
+ * A fractional index that orders the Tasks of a TaskList and the items of a ShoppingList. Keys are strings of
+ * lowercase hexadecimal digits that never end with "0" and are compared byte by byte, like the "C" collation of their
+ * columns. Read as the fraction after "0.", there is always a key between two different keys, so moving one entry
+ * rewrites only its own key instead of the positions of all entries behind it. Keys grow with repeated moves into
+ * the same gap and are rebalanced to short ones in the background, see homehub_sort_key in schema.sql.
+ *
+ * @param value The digits of the key.
+ */
+public record SortKey(String value) {
+
+    private static final String DIGITS = "0123456789abcdef";
+
+    /**
+     * Constructs a SortKey from its digits.
+     *
+     * @param value The digits of the key.
+     * @throws IllegalArgumentException If the digits are not a valid key.
+     */
+    public SortKey {
+        if (!validate(value)) {
+            throw new IllegalArgumentException("Invalid SortKey object");
+        }
+    }
+
+    /**
+     * Calculates a short key between the given keys. Without an upper bound, the key is calculated like
+     * homehub_sort_key_after in schema.sql, which appends new entries to the end of their list.
+     *
+     * @param before The key to sort after or null for the start of the list.
+     * @param after The key to sort before or null for the end of the list.
+     * @return A SortKey that is greater than before and less than after.
+     * @throws IllegalArgumentException If a key is invalid or before is not less than after.
+     */
+    public static SortKey between(String before, String after) throws IllegalArgumentException {
+        if (before != null && !validate(before) || after != null && !validate(after)
+                || before != null && after != null && before.compareTo(after) >= 0) {
+            throw new IllegalArgumentException("Invalid SortKey bounds");
+        }
+        if (after == null) {
+            return new SortKey(before == null ? String.valueOf(DIGITS.charAt(DIGITS.length() / 2)) : increment(before));
+        }
+        return new SortKey(midpoint(before == null ? "" : before, after));
+    }
+
+    /**
+     * Calculates the next key for appending behind the given one. Appended keys consist of n leading highest digits
+     * followed by n + 1 other digits, which are incremented as a number. Once they are exhausted, the next key has
+     * one more leading highest digit, so the keys grow logarithmically with the number of appends.
+     *
+     * @param key The digits of the key.
+     * @return The digits of a greater key.
+     */
+    private static String increment(String key) {
+        char highest = DIGITS.charAt(DIGITS.length() - 1);
+        int leading = 0;
+        while (leading < key.length() && key.charAt(leading) == highest) {
+            leading++;
+        }
+        StringBuilder digits = new StringBuilder(key.substring(leading, Math.min(key.length(), 2 * leading + 1)));
+        while (digits.length() < leading + 1) {
+            digits.append(DIGITS.charAt(0));
+        }
+        String next = Long.toHexString(Long.parseLong(digits.toString(), 16) + 1);
+        String incremented = String.valueOf(highest).repeat(leading) + "0".repeat(leading + 1 - next.length()) + next;
+        return incremented.replaceAll("0+$", "");
+    }
+
+    /**
+     * Calculates the midpoint between the given keys, skipping their common prefix and using as few digits as
+     * possible.
+     *
+     * @param before The digits of the lower key, which may be empty.
+     * @param after The digits of the upper key or null if there is no upper bound.
+     * @return The digits of a key between both keys.
+     */
+    private static String midpoint(String before, String after) {
+        if (after != null) {
+            int common = 0;
+            while ((common < before.length() ? before.charAt(common) : DIGITS.charAt(0)) == after.charAt(common)) {
+                common++;
+            }
+            if (common > 0) {
+                return after.substring(0, common)
+                        + midpoint(before.substring(Math.min(common, before.length())), after.substring(common));
+            }
+        }
+        int lower = before.isEmpty() ? 0 : DIGITS.indexOf(before.charAt(0));
+        int upper = after == null ? DIGITS.length() : DIGITS.indexOf(after.charAt(0));
+        if (upper - lower > 1) {
+            return String.valueOf(DIGITS.charAt((lower + upper + 1) / 2));
+        }
+        if (after != null && after.length() > 1) {
+            return after.substring(0, 1);
+        }
+        return DIGITS.charAt(lower) + midpoint(before.isEmpty() ? "" : before.substring(1), null);
+    }
+
+    /**
+     * Validates the given digits. They have to be not empty, lowercase hexadecimal and must not end with "0", as
+     * there would be no key between "1" and "10".
+     *
+     * @param value The digits to validate.
+     * @return True, if the digits are a valid key. False otherwise.
+     */
+    private static boolean validate(String value) {
+        return value != null && !value.isEmpty() && value.chars().allMatch(c -> DIGITS.indexOf(c) >= 0)
+                && value.charAt(value.length() - 1) != DIGITS.charAt(0);
+    }
+}
@@ -0,0 +1,11 @@
+package com.terfehr.homehub.domain.household.value;
+
+/**
+ * The input fields a Household gets suggestions for. Every field is backed by its own vocabulary, built from the
+ * values the Household entered before.
+ */
+public enum SuggestionField {
+    RECIPIENT, // Recipients of Expenses
+    SOURCE, // Sources of Incomes
+    ITEM // Names of ShoppingListItems and ShoppingSpreeItems
+}
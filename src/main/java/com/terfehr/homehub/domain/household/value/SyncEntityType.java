@@ -0,0 +1,12 @@
+package com.terfehr.homehub.domain.household.value;
+
+/**
+ * The kinds of entities of a Household whose changes are tracked with change versions, so clients can synchronize
+ * them incrementally. The names are stored in the tombstones written by the database triggers in schema.sql.
+ */
+public enum SyncEntityType {
+    SHOPPING_LIST,
+    SHOPPING_LIST_ITEM,
+    TASK_LIST,
+    TASK
+}
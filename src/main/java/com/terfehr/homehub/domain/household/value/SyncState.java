@@ -0,0 +1,11 @@
+package com.terfehr.homehub.domain.household.value;
+
+/**
+ * The synchronization state of a Household.
+ *
+ * @param changeVersion The latest change version stamped on any of the synchronized entities of the Household.
+ * @param syncFloorVersion The latest change version whose tombstones were pruned already. Clients that synchronized
+ *                         before it have to resynchronize fully.
+ */
+public record SyncState(long changeVersion, long syncFloorVersion) {
+}
@@ -0,0 +1,10 @@
+package com.terfehr.homehub.domain.household.value;
+
+/**
+ * A term a Household entered together with how often it was entered.
+ *
+ * @param term The term as entered.
+ * @param frequency The number of times the term was entered.
+ */
+public record TermFrequency(String term, long frequency) {
+}
@@ -0,0 +1,143 @@
+package com.terfehr.homehub.domain.scheduling.entity;
+
+import com.terfehr.homehub.domain.household.key.RoommateId;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * <p>Describes how many chores a Roommate should get when Tasks are assigned automatically. The completion load is
+ * the number of Tasks the Roommate finished, decayed with the configured half-life, so recent work counts more than
+ * work from months ago. It is valid at the time it was last updated and decays lazily when read.</p>
+ *
+ * <p>The availability scales the share of Tasks a Roommate gets, e.g. 0.5 for half as many as the others and 0 for
+ * none at all. Preferred and avoided actions make the Roommate more or less likely to get Tasks with these actions.
+ * Rows are created by a native insert from the Task history of the Roommate.</p>
+ */
+@Entity
+@NoArgsConstructor
+@Getter
+@Table(name = "chore_profiles")
+public class ChoreProfile {
+
+    public static final int PREFERRED = 1;
+    public static final int NEUTRAL = 0;
+    public static final int AVOIDED = -1;
+
+    @EmbeddedId
+    private RoommateId id;
+
+    @Column(name = "completion_load", nullable = false)
+    private double completionLoad;
+
+    @Column(name = "load_updated_at", nullable = false)
+    private LocalDateTime loadUpdatedAt;
+
+    @Column(nullable = false)
+    private double availability;
+
+    @Column(name = "preferred_actions")
+    private String[] preferredActions; // Action keys, see actionKey
+
+    @Column(name = "avoided_actions")
+    private String[] avoidedActions; // Action keys, see actionKey
+
+    /**
+     * Calculates the completion load decayed to the given time.
+     *
+     * @param now The time to decay the load to.
+     * @param halfLife The half-life of a finished Task.
+     * @return The completion load at the given time.
+     */
+    public double getCompletionLoadAt(LocalDateTime now, Duration halfLife) {
+        double elapsed = Math.max(0, Duration.between(loadUpdatedAt, now).toSeconds());
+        return completionLoad * Math.pow(2, -elapsed / halfLife.toSeconds());
+    }
+
+    /**
+     * Sets the availability of the Roommate.
+     *
+     * @param availability The availability between 0 and 1.
+     * @throws IllegalArgumentException If the availability lies outside of 0 and 1.
+     */
+    public void setAvailability(double availability) throws IllegalArgumentException {
+        if (!validateAvailability(availability)) {
+            throw new IllegalArgumentException("Invalid availability");
+        }
+        this.availability = availability;
+    }
+
+    /**
+     * Replaces the preferred and avoided actions of the Roommate.
+     *
+     * @param preferredActions The actions the Roommate likes to do.
+     * @param avoidedActions The actions the Roommate would rather not do.
+     * @throws IllegalArgumentException If an action is blank or both preferred and avoided.
+     */
+    public void setPreferences(List<String> preferredActions, List<String> avoidedActions) throws IllegalArgumentException {
+        String[] preferred = toActionKeys(preferredActions);
+        String[] avoided = toActionKeys(avoidedActions);
+        if (Arrays.stream(preferred).anyMatch(key -> Arrays.asList(avoided).contains(key))) {
+            throw new IllegalArgumentException("Action is both preferred and avoided");
+        }
+        this.preferredActions = preferred;
+        this.avoidedActions = avoided;
+    }
+
+    /**
+     * Returns the preference of the Roommate for the given action.
+     *
+     * @param actionKey The action key of a Task.
+     * @return PREFERRED, AVOIDED or NEUTRAL.
+     */
+    public int getPreference(String actionKey) {
+        if (preferredActions != null && Arrays.asList(preferredActions).contains(actionKey)) {
+            return PREFERRED;
+        }
+        if (avoidedActions != null && Arrays.asList(avoidedActions).contains(actionKey)) {
+            return AVOIDED;
+        }
+        return NEUTRAL;
+    }
+
+    /**
+     * Builds the key preferences are matched by, so actions that only differ in case or surrounding whitespace are
+     * treated the same.
+     *
+     * @param action The action of a Task.
+     * @return The action key.
+     */
+    public static String actionKey(String action) {
+        return action.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Converts the given actions to distinct action keys.
+     *
+     * @param actions The actions to convert.
+     * @return The action keys.
+     * @throws IllegalArgumentException If the list or one of the actions is null or blank.
+     */
+    private String[] toActionKeys(List<String> actions) throws IllegalArgumentException {
+        if (actions == null || actions.stream().anyMatch(action -> action == null || action.isBlank())) {
+            throw new IllegalArgumentException("Invalid actions");
+        }
+        return actions.stream().map(ChoreProfile::actionKey).distinct().toArray(String[]::new);
+    }
+
+    /**
+     * Validates the given availability. It has to lie between 0 and 1.
+     *
+     * @param availability The availability to validate.
+     * @return True, if the availability is valid. False otherwise.
+     */
+    private boolean validateAvailability(double availability) {
+        return availability >= 0 && availability <= 1;
+    }
+}
@@ -0,0 +1,52 @@
+package com.terfehr.homehub.domain.scheduling.entity;
+
+import com.terfehr.homehub.domain.household.entity.Roommate;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * <p>Counts the Tasks a Roommate finished in one week, starting on Monday, together with the time it took to finish
+ * them, so statistics and the leaderboard of a Household are read from a few rows per Roommate instead of the whole
+ * Task history. The counters are updated incrementally whenever a Task is finished or unfinished and can be rebuilt
+ * from the tasks table at any time.</p>
+ *
+ * <p>The streak is the number of consecutive weeks up to and including this one in which the Roommate finished at
+ * least one Task, so the current streak of a Roommate is found in the row of this or the previous week. Rows are
+ * written by native statements only.</p>
+ */
+@Entity
+@NoArgsConstructor
+@Getter
+@Table(name = "chore_statistics",
+        uniqueConstraints = @UniqueConstraint(name = "uk_chore_statistics_roommate_week", columnNames = {"household_id", "week_start", "user_id"}))
+public class ChoreStatistics {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumns({
+            @JoinColumn(name = "household_id", referencedColumnName = "household_id", nullable = false),
+            @JoinColumn(name = "user_id", referencedColumnName = "user_id", nullable = false)
+    })
+    private Roommate roommate;
+
+    @Column(name = "week_start", nullable = false)
+    private LocalDate weekStart; // Monday of the week
+
+    @Column(name = "finished_count", nullable = false)
+    private int finishedCount;
+
+    @Column(name = "timed_count", nullable = false)
+    private int timedCount; // Finished Tasks whose creation time is known
+
+    @Column(name = "finish_seconds", nullable = false)
+    private long finishSeconds; // Total time from creation to finishing of the timed Tasks
+
+    @Column(nullable = false)
+    private int streak; // Consecutive weeks with finished Tasks up to this one, 0 if none were finished
+}
@@ -0,0 +1,128 @@
+package com.terfehr.homehub.domain.scheduling.entity;
+
+import com.terfehr.homehub.domain.scheduling.value.RecurrenceRule;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents the definition of a Task that repeats by a RecurrenceRule, e.g. taking out the trash every Tuesday.
+ * Occurrences are not generated in advance but materialized as regular Tasks on demand, either the next few of them
+ * or those inside a requested window. The definition remembers how far it has been materialized, so every
+ * occurrence is created once and the next one is calculated from the previous one instead of from the start.
+ */
+@Entity
+@NoArgsConstructor
+@Getter
+@Table(name = "recurring_tasks",
+        indexes = {
+                @Index(name = "idx_recurring_tasks_active_next", columnList = "active, next_occurrence"),
+                @Index(name = "idx_recurring_tasks_task_list", columnList = "task_list_id")
+        })
+public class RecurringTask {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "task_list_id", nullable = false)
+    private TaskList taskList;
+
+    @Column(nullable = false)
+    private String action;
+
+    @Column(nullable = false)
+    private String description;
+
+    @Column(name = "recurrence_rule", nullable = false)
+    private String recurrenceRule; // Canonical RRULE, see RecurrenceRule
+
+    @Column(nullable = false)
+    private LocalDateTime startsAt;
+
+    @Column(nullable = false)
+    private long occurrenceCount; // Number of materialized occurrences
+
+    @Column(name = "next_occurrence")
+    private LocalDateTime nextOccurrence; // First occurrence that is not materialized yet
+
+    @Column(nullable = false)
+    private boolean active;
+
+    /**
+     * Constructs a new RecurringTask. The first occurrence is the first date matching the rule at or after the start.
+     *
+     * @param taskList The TaskList the occurrences are added to.
+     * @param action The action of every occurrence.
+     * @param description A brief description of every occurrence.
+     * @param recurrenceRule The rule the Task repeats by.
+     * @param startsAt The start of the recurrence. Its time of day in seconds is the due time of every occurrence.
+     * @throws IllegalArgumentException If the given parameters are invalid.
+     */
+    public RecurringTask(TaskList taskList, String action, String description, RecurrenceRule recurrenceRule,
+                         LocalDateTime startsAt) throws IllegalArgumentException {
+        if (!validate(taskList, action, description, recurrenceRule, startsAt)) {
+            throw new IllegalArgumentException("Invalid RecurringTask object");
+        }
+        this.taskList = taskList;
+        this.action = action;
+        this.description = description;
+        this.recurrenceRule = recurrenceRule.toString();
+        this.startsAt = startsAt.truncatedTo(ChronoUnit.SECONDS); // Occurrences must match the stored precision to stay unique
+        this.occurrenceCount = 0;
+        this.nextOccurrence = recurrenceRule.first(this.startsAt);
+        this.active = nextOccurrence != null;
+    }
+
+    /**
+     * Takes the occurrences from the next one up to the given time and moves on to the following one. If the rule
+     * ends, the RecurringTask is deactivated.
+     *
+     * @param until The exclusive upper bound for the occurrences or null to take the next ones regardless of time.
+     * @param limit The maximum number of occurrences to take.
+     * @return The due times of the taken occurrences in chronological order.
+     */
+    public List<LocalDateTime> takeOccurrences(LocalDateTime until, int limit) {
+        RecurrenceRule rule = RecurrenceRule.parse(recurrenceRule);
+        List<LocalDateTime> occurrences = new ArrayList<>();
+        while (active && occurrences.size() < limit && (until == null || nextOccurrence.isBefore(until))) {
+            occurrences.add(nextOccurrence);
+            occurrenceCount++;
+            LocalDateTime following = rule.getCount() != null && occurrenceCount >= rule.getCount()
+                    ? null
+                    : rule.next(startsAt, nextOccurrence);
+            if (following == null) {
+                deactivate();
+            } else {
+                nextOccurrence = following;
+            }
+        }
+        return occurrences;
+    }
+
+    /**
+     * Deactivates the RecurringTask, so no further occurrences are materialized.
+     */
+    public void deactivate() {
+        this.active = false;
+        this.nextOccurrence = null;
+    }
+
+    /**
+     * Validates the given parameters. The TaskList, rule and start have to be not null, the action not blank and the
+     * description not null.
+     *
+     * @return True, if all parameters are valid. False otherwise.
+     */
+    private boolean validate(TaskList taskList, String action, String description, RecurrenceRule recurrenceRule,
+                             LocalDateTime startsAt) {
+        return taskList != null && action != null && !action.isBlank() && description != null
+                && recurrenceRule != null && startsAt != null;
+    }
+}
@@ -0,0 +1,63 @@
+package com.terfehr.homehub.domain.scheduling.entity;
+
+import com.terfehr.homehub.domain.household.entity.User;
+import com.terfehr.homehub.domain.scheduling.value.ReminderType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * <p>A reminder for a User about a Task or bill that is due soon. Reminders are created shortly before they are sent
+ * from the due Tasks and RecurringTransactions and are unique per subject, due time and User, so every due date is
+ * reminded of once no matter how often they are created.</p>
+ *
+ * <p>Instances that dispatch reminders claim them with a lease instead of a lock, so a claimed reminder is not sent by
+ * another instance until the lease expires. Reminders whose sending failed are retried once their lease expired.
+ * Rows are created and claimed by native statements only.</p>
+ */
+@Entity
+@NoArgsConstructor
+@Getter
+@Table(name = "reminders",
+        uniqueConstraints = @UniqueConstraint(name = "uk_reminders_subject_due_at_user", columnNames = {"type", "subject_id", "due_at", "user_id"}),
+        indexes = @Index(name = "idx_reminders_pending", columnList = "sent_at, remind_at"))
+public class Reminder {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReminderType type;
+
+    @Column(name = "subject_id", nullable = false)
+    private Long subjectId; // ID of the Task or RecurringTransaction
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(name = "due_at", nullable = false)
+    private LocalDateTime dueAt;
+
+    @Column(name = "remind_at", nullable = false)
+    private LocalDateTime remindAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "lease_owner")
+    private String leaseOwner; // Instance that claimed the reminder last
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt; // Null until the reminder was sent
+}
@@ -4,13 +4,22 @@ import com.terfehr.homehub.domain.household.entity.Roommate;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.PartitionKey;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 @Entity
 @NoArgsConstructor
 @Getter
-@Table(name = "tasks")
+@Table(name = "tasks",
+        indexes = {
+                @Index(name = "idx_tasks_task_list_version", columnList = "task_list_id, change_version"),
+                @Index(name = "idx_tasks_roommate_finished", columnList = "household_id, user_id, finished"),
+                @Index(name = "idx_tasks_due_at", columnList = "due_at"),
+                @Index(name = "idx_tasks_task_list_sort_key", columnList = "task_list_id, sort_key, id")
+        },
+        uniqueConstraints = @UniqueConstraint(name = "uk_tasks_household_recurring_task_due_at", columnNames = {"household_id", "recurring_task_id", "due_at"}))
 public class Task {
 
     @Id
@@ -21,6 +30,10 @@ public class Task {
     @JoinColumn(name = "task_list_id")
     private TaskList taskList;
 
+    @PartitionKey
+    @Column(name = "household_id", updatable = false)
+    private Long householdId; // Household of the TaskList, which partitions the table, see schema.sql
+
     @Column(nullable = false)
     private String action;
 
@@ -30,15 +43,34 @@ public class Task {
     @Column(nullable = false)
     private boolean finished;
 
-    @Column(nullable = false)
-    private LocalDateTime finishedAt;
+    @Column
+    private LocalDateTime finishedAt; // Null as long as the Task is not finished
+
+    @Column(name = "created_at", updatable = false, columnDefinition = "timestamp(6) default localtimestamp")
+    private LocalDateTime createdAt; // Defaulted by the database for Tasks inserted natively
+
+    @Column(name = "user_id")
+    private Long userId; // Null as long as the Task is not assigned
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumns({
-                    @JoinColumn(name = "household_id", referencedColumnName = "household_id"),
-                    @JoinColumn(name = "user_id", referencedColumnName = "user_id")
+                    @JoinColumn(name = "household_id", referencedColumnName = "household_id", insertable = false, updatable = false),
+                    @JoinColumn(name = "user_id", referencedColumnName = "user_id", insertable = false, updatable = false)
             })
-    private Roommate roommate;
+    private Roommate roommate; // Written through the user ID, as the Household is the one of the Task
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "recurring_task_id")
+    private RecurringTask recurringTask; // Null unless the Task is an occurrence of a RecurringTask
+
+    @Column(name = "due_at")
+    private LocalDateTime dueAt; // Null if the Task has no due date
+
+    @Column(name = "sort_key", insertable = false, updatable = false, columnDefinition = "varchar(255) collate \"C\"")
+    private String sortKey; // Appended by the database on insert and only rewritten natively, see SortKey and schema.sql
+
+    @Column(name = "change_version", insertable = false, updatable = false, columnDefinition = "bigint default 0 not null")
+    private long changeVersion; // Stamped by the database on every insert and update, see schema.sql
 
     /**
      * Constructor for a Task object. If the parameters do not satisfy the requirements, an exception is thrown.
@@ -55,9 +87,12 @@ public class Task {
         this.action = action;
         this.description = description;
         this.taskList = taskList;
+        this.householdId = taskList.getHousehold().getId();
+        this.userId = null;
         this.roommate = null;
         this.finished = false;
         this.finishedAt = null;
+        this.createdAt = LocalDateTime.now();
     }
 
     /**
@@ -85,6 +120,19 @@ public class Task {
         }
     }
 
+    /**
+     * Sets the due time of the Task or removes it. If the Task is already finished, an exception is thrown.
+     *
+     * @param dueAt The due time to set or null to remove it.
+     * @throws IllegalStateException If the Task is already finished.
+     */
+    public void setDueAt(LocalDateTime dueAt) throws IllegalStateException {
+        if (this.finished) {
+            throw new IllegalStateException("Task is already finished");
+        }
+        this.dueAt = dueAt == null ? null : dueAt.truncatedTo(ChronoUnit.SECONDS);
+    }
+
     /**
      * Finishes the current task and sets the timestamp of the finishing time.
      *
@@ -115,7 +163,7 @@ public class Task {
      * Assigns the Task to the given Roommate. If the given Roommate is invalid or the task is finished already, an exception is thrown.
      *
      * @param roommate The Roommate to assign the Task to.
-     * @throws IllegalArgumentException If the Roommate is invalid.
+     * @throws IllegalArgumentException If the Roommate is invalid or does not belong to the Household of the Task.
      * @throws IllegalStateException If the Task is already finished.
      */
     public void assignToRoommate(Roommate roommate) throws IllegalArgumentException, IllegalStateException {
@@ -125,6 +173,7 @@ public class Task {
         if (this.finished) {
             throw new IllegalStateException("Task is already finished");
         }
+        this.userId = roommate.getId().getUserId();
         this.roommate = roommate;
     }
 
@@ -137,6 +186,7 @@ public class Task {
         if (this.finished) {
             throw new IllegalArgumentException("Task is already finished");
         }
+        this.userId = null;
         this.roommate = null;
     }
 
@@ -183,12 +233,12 @@ public class Task {
     }
 
     /**
-     * Validates the given Roommate. It has to be not null.
+     * Validates the given Roommate. It has to be not null and belong to the Household of the Task.
      *
      * @param roommate The Roommate to validate.
      * @return True, if the Roommate is valid. False otherwise.
      */
     private boolean validateRoommate(Roommate roommate) {
-        return roommate != null;
+        return roommate != null && roommate.getId().getHouseholdId().equals(householdId);
     }
 }
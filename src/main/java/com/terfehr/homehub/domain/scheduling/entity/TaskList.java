@@ -11,7 +11,8 @@ import java.util.Set;
 @Entity
 @NoArgsConstructor
 @Getter
-@Table(name = "task_lists")
+@Table(name = "task_lists",
+        indexes = @Index(name = "idx_task_lists_household_version", columnList = "household_id, change_version"))
 public class TaskList {
 
     @Id
@@ -22,12 +23,16 @@ public class TaskList {
     private String name;
 
     @OneToMany(mappedBy = "taskList", cascade = CascadeType.ALL, orphanRemoval = true)
-    private Set<Task> tasks;
+    @OrderBy("sortKey, id")
+    private Set<Task> tasks; // Ordered by their SortKeys
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name ="household_id")
     private Household household;
 
+    @Column(name = "change_version", insertable = false, updatable = false, columnDefinition = "bigint default 0 not null")
+    private long changeVersion; // Stamped by the database on every insert and update, see schema.sql
+
     /**
      * Constructor for a new TaskList.
      *
@@ -0,0 +1,10 @@
+package com.terfehr.homehub.domain.scheduling.exception;
+
+/**
+ * Exception thrown when a RecurringTask cannot be found when fetching from the database.
+ */
+public class RecurringTaskNotFoundException extends RuntimeException {
+    public RecurringTaskNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.terfehr.homehub.domain.scheduling.exception;
+
+/**
+ * Exception thrown when a TaskList cannot be found when fetching from the database.
+ */
+public class TaskListNotFoundException extends RuntimeException {
+    public TaskListNotFoundException(String message) {
+        super(message);
+    }
+}
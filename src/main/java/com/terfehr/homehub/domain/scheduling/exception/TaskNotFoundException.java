@@ -0,0 +1,10 @@
+package com.terfehr.homehub.domain.scheduling.exception;
+
+/**
+ * Exception thrown when a Task cannot be found when fetching from the database.
+ */
+public class TaskNotFoundException extends RuntimeException {
+    public TaskNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,83 @@
+package com.terfehr.homehub.domain.scheduling.repository;
+
+import com.terfehr.homehub.domain.household.key.RoommateId;
+import com.terfehr.homehub.domain.scheduling.entity.ChoreProfile;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ChoreProfileRepositoryInterface extends JpaRepository<ChoreProfile, RoommateId> {
+
+    /**
+     * Creates a ChoreProfile for every Roommate of the given Household that does not have one yet. The completion
+     * load is initialized from the Tasks the Roommate finished so far, decayed with the given half-life. Roommates
+     * that already have a profile are skipped before their history is read, so repeated calls are cheap.
+     *
+     * @param householdId The ID of the Household.
+     * @param now The time the completion load is valid at.
+     * @param halfLifeSeconds The half-life of a finished Task in seconds.
+     * @return The number of created ChoreProfiles.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "chore_profiles"))
+    @Query(value = """
+            insert into chore_profiles (household_id, user_id, completion_load, load_updated_at, availability)
+            select r.household_id, r.user_id,
+                   coalesce((select sum(power(2, -greatest(0, extract(epoch from (cast(:now as timestamp) - t.finished_at))) / :halfLifeSeconds))
+                             from tasks t
+                             where t.household_id = r.household_id and t.user_id = r.user_id
+                               and t.finished and t.finished_at is not null), 0),
+                   cast(:now as timestamp), 1
+            from roommates r
+            where r.household_id = :householdId
+              and not exists (select 1 from chore_profiles p where p.household_id = r.household_id and p.user_id = r.user_id)
+            on conflict do nothing
+            """, nativeQuery = true)
+    int createMissing(@Param("householdId") Long householdId, @Param("now") LocalDateTime now,
+                      @Param("halfLifeSeconds") double halfLifeSeconds);
+
+    /**
+     * Retrieves the ChoreProfiles of all current Roommates of the given Household. Profiles of former Roommates are
+     * kept for when they return, but not returned.
+     *
+     * @param householdId The ID of the Household.
+     * @return A List containing the ChoreProfiles.
+     */
+    @Query("""
+            select p from ChoreProfile p
+            join Roommate r on r.id.householdId = p.id.householdId and r.id.userId = p.id.userId
+            where p.id.householdId = :householdId
+            order by p.id.userId
+            """)
+    List<ChoreProfile> findAllOfRoommates(@Param("householdId") Long householdId);
+
+    /**
+     * Decays the completion load of the given Roommate to the given time and adds the given delta atomically inside
+     * the database, so Tasks that are finished concurrently do not overwrite each other's updates. The load never
+     * drops below zero.
+     *
+     * @param householdId The ID of the Household.
+     * @param userId The ID of the User of the Roommate.
+     * @param delta The load to add, negative for a Task that was unfinished again.
+     * @param now The time of the change.
+     * @param halfLifeSeconds The half-life of a finished Task in seconds.
+     * @return 1, if the Roommate has a ChoreProfile. 0 otherwise.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "chore_profiles"))
+    @Query(value = """
+            update chore_profiles
+            set completion_load = greatest(0, completion_load * power(2, -greatest(0, extract(epoch from (cast(:now as timestamp) - load_updated_at))) / :halfLifeSeconds) + :delta),
+                load_updated_at = greatest(load_updated_at, cast(:now as timestamp))
+            where household_id = :householdId and user_id = :userId
+            """, nativeQuery = true)
+    int addCompletionLoad(@Param("householdId") Long householdId, @Param("userId") Long userId, @Param("delta") double delta,
+                          @Param("now") LocalDateTime now, @Param("halfLifeSeconds") double halfLifeSeconds);
+}
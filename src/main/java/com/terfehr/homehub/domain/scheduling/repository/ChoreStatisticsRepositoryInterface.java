@@ -0,0 +1,174 @@
+package com.terfehr.homehub.domain.scheduling.repository;
+
+import com.terfehr.homehub.domain.scheduling.entity.ChoreStatistics;
+import com.terfehr.homehub.domain.scheduling.value.RoommateChoreStatistics;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ChoreStatisticsRepositoryInterface extends JpaRepository<ChoreStatistics, Long> {
+
+    /**
+     * Counts a finished Task in the given week of the given Roommate atomically inside the database. If the Roommate
+     * had not finished any Task in that week yet, the streak continues the one of the previous week.
+     *
+     * @param householdId The ID of the Household.
+     * @param userId The ID of the User of the Roommate.
+     * @param weekStart The Monday of the week the Task was finished in.
+     * @param timed 1, if the time to finish the Task is known. 0 otherwise.
+     * @param finishSeconds The time to finish the Task in seconds, 0 if unknown.
+     * @return The number of inserted or updated rows.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "chore_statistics"))
+    @Query(value = """
+            insert into chore_statistics (household_id, user_id, week_start, finished_count, timed_count, finish_seconds, streak)
+            values (:householdId, :userId, :weekStart, 1, :timed, :finishSeconds,
+                    coalesce((select p.streak from chore_statistics p
+                              where p.household_id = :householdId and p.week_start = cast(:weekStart as date) - 7
+                                and p.user_id = :userId), 0) + 1)
+            on conflict (household_id, week_start, user_id) do update
+            set finished_count = chore_statistics.finished_count + 1,
+                timed_count = chore_statistics.timed_count + excluded.timed_count,
+                finish_seconds = chore_statistics.finish_seconds + excluded.finish_seconds,
+                streak = case when chore_statistics.finished_count = 0 then excluded.streak else chore_statistics.streak end
+            """, nativeQuery = true)
+    int countFinished(@Param("householdId") Long householdId, @Param("userId") Long userId,
+                      @Param("weekStart") LocalDate weekStart, @Param("timed") int timed,
+                      @Param("finishSeconds") long finishSeconds);
+
+    /**
+     * Reverts the counting of a finished Task in the given week of the given Roommate atomically inside the database.
+     * If it was the only Task of that week, the streak of the week drops to 0 and the streaks of the following weeks
+     * of the same run are shortened accordingly.
+     *
+     * @param householdId The ID of the Household.
+     * @param userId The ID of the User of the Roommate.
+     * @param weekStart The Monday of the week the Task was finished in.
+     * @param timed 1, if the Task was counted with its time to finish. 0 otherwise.
+     * @param finishSeconds The time to finish the Task in seconds it was counted with.
+     * @return The number of shortened following weeks.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "chore_statistics"))
+    @Query(value = """
+            with week as (
+                select streak, finished_count from chore_statistics
+                where household_id = :householdId and week_start = :weekStart and user_id = :userId and finished_count > 0
+                for update
+            ), reverted as (
+                update chore_statistics s
+                set finished_count = s.finished_count - 1,
+                    timed_count = greatest(0, s.timed_count - :timed),
+                    finish_seconds = greatest(0, s.finish_seconds - :finishSeconds),
+                    streak = case when s.finished_count = 1 then 0 else s.streak end
+                from week
+                where s.household_id = :householdId and s.week_start = :weekStart and s.user_id = :userId
+            )
+            update chore_statistics later
+            set streak = later.streak - week.streak
+            from week
+            where week.finished_count = 1 and later.household_id = :householdId and later.user_id = :userId
+              and later.week_start > :weekStart
+              and later.streak = week.streak + (later.week_start - cast(:weekStart as date)) / 7
+            """, nativeQuery = true)
+    int countUnfinished(@Param("householdId") Long householdId, @Param("userId") Long userId,
+                        @Param("weekStart") LocalDate weekStart, @Param("timed") int timed,
+                        @Param("finishSeconds") long finishSeconds);
+
+    /**
+     * Sums up the ChoreStatistics of every Roommate of the given Household from the given week on. Roommates without
+     * finished Tasks are included with zeros. Reads at most one row per Roommate and week through the unique index. The current streak is the one of this week or, if the Roommate has not
+     * finished a Task this week yet, the one of the previous week.
+     *
+     * @param householdId The ID of the Household.
+     * @param fromWeek The Monday of the first week.
+     * @param currentWeek The Monday of the current week.
+     * @return A List of the statistics per Roommate ordered by the finished Tasks, most first.
+     */
+    @Query(value = """
+            select r.user_id as userId, u.username as username,
+                   coalesce(sum(s.finished_count) filter (where s.week_start >= :fromWeek), 0) as finishedCount,
+                   coalesce(sum(s.finished_count) filter (where s.week_start = :currentWeek), 0) as finishedThisWeek,
+                   coalesce(sum(s.timed_count) filter (where s.week_start >= :fromWeek), 0) as timedCount,
+                   coalesce(sum(s.finish_seconds) filter (where s.week_start >= :fromWeek), 0) as finishSeconds,
+                   coalesce(max(s.streak) filter (where s.week_start >= cast(:currentWeek as date) - 7), 0) as streak
+            from roommates r
+            join users u on u.id = r.user_id
+            left join chore_statistics s on s.household_id = r.household_id and s.user_id = r.user_id
+                                        and s.week_start >= cast(:fromWeek as date) - 7
+            where r.household_id = :householdId
+            group by r.user_id, u.username
+            order by coalesce(sum(s.finished_count) filter (where s.week_start >= :fromWeek), 0) desc, r.user_id
+            """, nativeQuery = true)
+    List<RoommateChoreStatistics> sumByRoommate(@Param("householdId") Long householdId, @Param("fromWeek") LocalDate fromWeek,
+                                                @Param("currentWeek") LocalDate currentWeek);
+
+    /**
+     * Retrieves the weekly ChoreStatistics of all Roommates of the given Household from the given week on.
+     *
+     * @param householdId The ID of the Household.
+     * @param fromWeek The Monday of the first week.
+     * @return A List of the ChoreStatistics ordered by week.
+     */
+    @Query("""
+            select s from ChoreStatistics s
+            where s.roommate.id.householdId = :householdId and s.weekStart >= :fromWeek
+            order by s.weekStart
+            """)
+    List<ChoreStatistics> findAllByHouseholdIdFrom(@Param("householdId") Long householdId, @Param("fromWeek") LocalDate fromWeek);
+
+    /**
+     * Locks the chore_statistics table against concurrent counting until the end of the transaction, so a rebuild
+     * does not miss Tasks that are finished or unfinished while it runs. Counting waits and is applied on top of it.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "chore_statistics"))
+    @Query(value = "lock table chore_statistics in exclusive mode", nativeQuery = true)
+    void lockForRebuild();
+
+    /**
+     * Deletes all ChoreStatistics.
+     *
+     * @return The number of deleted rows.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "chore_statistics"))
+    @Query(value = "delete from chore_statistics", nativeQuery = true)
+    int deleteAllStatistics();
+
+    /**
+     * Reconstructs the ChoreStatistics of all Roommates from the finished Tasks with a single statement. Tasks are
+     * counted in the week they were finished in, and the streaks are derived from the runs of consecutive weeks.
+     *
+     * @return The number of created rows.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "chore_statistics"))
+    @Query(value = """
+            insert into chore_statistics (household_id, user_id, week_start, finished_count, timed_count, finish_seconds, streak)
+            select household_id, user_id, week_start, finished_count, timed_count, finish_seconds,
+                   row_number() over (partition by household_id, user_id, run order by week_start)
+            from (
+                select w.*, w.week_start - cast(7 * row_number() over (partition by w.household_id, w.user_id order by w.week_start) as integer) as run
+                from (
+                    select t.household_id, t.user_id, cast(date_trunc('week', t.finished_at) as date) as week_start,
+                           count(*) as finished_count,
+                           count(*) filter (where t.created_at <= t.finished_at) as timed_count,
+                           coalesce(sum(cast(extract(epoch from date_trunc('second', t.finished_at) - date_trunc('second', t.created_at)) as bigint))
+                                    filter (where t.created_at <= t.finished_at), 0) as finish_seconds
+                    from tasks t
+                    where t.finished and t.finished_at is not null and t.user_id is not null
+                    group by t.household_id, t.user_id, cast(date_trunc('week', t.finished_at) as date)
+                ) w
+            ) r
+            """, nativeQuery = true)
+    int rebuildFromTasks();
+}
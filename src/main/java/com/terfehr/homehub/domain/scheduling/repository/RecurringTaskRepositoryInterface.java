@@ -0,0 +1,112 @@
+package com.terfehr.homehub.domain.scheduling.repository;
+
+import com.terfehr.homehub.domain.scheduling.entity.RecurringTask;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.lang.NonNull;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface RecurringTaskRepositoryInterface extends JpaRepository<RecurringTask, Long> {
+
+    /**
+     * Retrieves a RecurringTask by its ID.
+     *
+     * @param id The ID of the RecurringTask.
+     * @return An Optional containing either the RecurringTask or null if it does not exist.
+     */
+    @NonNull
+    Optional<RecurringTask> findById(@NonNull Long id);
+
+    /**
+     * Retrieves all RecurringTasks of the given TaskList.
+     *
+     * @param taskListId The ID of the TaskList.
+     * @return A List of the RecurringTasks ordered by their ID.
+     */
+    List<RecurringTask> findAllByTaskListIdOrderById(Long taskListId);
+
+    /**
+     * Retrieves a RecurringTask by its ID for materializing its occurrences. The row is locked, so concurrent
+     * requests materialize one after the other, and the entity is read-only, as its progress is written with
+     * {@link #advanceAll}.
+     *
+     * @param id The ID of the RecurringTask.
+     * @return An Optional containing either the RecurringTask or null if it does not exist.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select r from RecurringTask r where r.id = :id")
+    Optional<RecurringTask> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Retrieves the active RecurringTasks whose next occurrence lies before the given time for materializing their
+     * occurrences. Backed by the index on the active flag and the next occurrence. Rows are locked in the order of
+     * their IDs, so concurrent materializations do not deadlock, and the entities are read-only.
+     *
+     * @param until The exclusive upper bound for the next occurrence.
+     * @param limit The maximum number of RecurringTasks.
+     * @return A List of the due RecurringTasks ordered by their ID.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+            select r from RecurringTask r
+            where r.active = true and r.nextOccurrence < :until
+            order by r.id
+            """)
+    List<RecurringTask> findDueForUpdate(@Param("until") LocalDateTime until, Limit limit);
+
+    /**
+     * Retrieves the active RecurringTasks of the given Household whose next occurrence lies before the given time for
+     * materializing their occurrences. Rows are locked in the order of their IDs and the entities are read-only.
+     *
+     * @param householdId The ID of the Household.
+     * @param until The exclusive upper bound for the next occurrence.
+     * @return A List of the due RecurringTasks ordered by their ID.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+            select r from RecurringTask r
+            where r.taskList.household.id = :householdId and r.active = true and r.nextOccurrence < :until
+            order by r.id
+            """)
+    List<RecurringTask> findDueForUpdateByHouseholdId(@Param("householdId") Long householdId, @Param("until") LocalDateTime until);
+
+    /**
+     * Writes the progress of the given RecurringTasks with a single statement.
+     *
+     * @param ids The IDs of the RecurringTasks.
+     * @param occurrenceCounts The number of materialized occurrences in the same order.
+     * @param nextOccurrences The next occurrences in the same order, null for ended RecurringTasks.
+     * @param active Whether the RecurringTasks are still active in the same order.
+     * @return The number of updated RecurringTasks.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "recurring_tasks"))
+    @Query(value = """
+            update recurring_tasks r
+            set occurrence_count = p.occurrence_count, next_occurrence = p.next_occurrence, active = p.active
+            from unnest(cast(:ids as bigint[]), cast(:occurrenceCounts as bigint[]), cast(:nextOccurrences as timestamp[]),
+                        cast(:active as boolean[])) as p(id, occurrence_count, next_occurrence, active)
+            where r.id = p.id
+            """, nativeQuery = true)
+    int advanceAll(@Param("ids") Long[] ids, @Param("occurrenceCounts") Long[] occurrenceCounts,
+                   @Param("nextOccurrences") LocalDateTime[] nextOccurrences, @Param("active") Boolean[] active);
+
+    /**
+     * Retrieves the ID of the Household the given RecurringTask belongs to, without loading the RecurringTask.
+     *
+     * @param id The ID of the RecurringTask.
+     * @return An Optional containing either the ID of the Household or null if the RecurringTask does not exist.
+     */
+    @Query("select r.taskList.household.id from RecurringTask r where r.id = :id")
+    Optional<Long> findHouseholdIdById(@Param("id") Long id);
+}
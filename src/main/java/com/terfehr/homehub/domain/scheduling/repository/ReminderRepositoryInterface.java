@@ -0,0 +1,137 @@
+package com.terfehr.homehub.domain.scheduling.repository;
+
+import com.terfehr.homehub.domain.scheduling.entity.Reminder;
+import com.terfehr.homehub.domain.scheduling.value.ClaimedReminder;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ReminderRepositoryInterface extends JpaRepository<Reminder, Long> {
+
+    /**
+     * Creates a reminder for every unfinished, assigned Task that is due inside the given window with a single
+     * statement. The Tasks are found with a range scan of the index on their due time. Reminders that already exist
+     * for the same due time and User are skipped, so overlapping windows do not remind twice.
+     *
+     * @param from The inclusive lower bound for the due time.
+     * @param to The exclusive upper bound for the due time.
+     * @param leadMinutes The number of minutes before the due time the reminder is sent.
+     * @return The number of created reminders.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reminders"))
+    @Query(value = """
+            insert into reminders (user_id, type, subject_id, title, due_at, remind_at, attempts)
+            select t.user_id, 'TASK', t.id, t.action, t.due_at, t.due_at - make_interval(mins => :leadMinutes), 0
+            from tasks t
+            where t.due_at >= :from and t.due_at < :to and not t.finished and t.user_id is not null
+            on conflict (type, subject_id, due_at, user_id) do nothing
+            """, nativeQuery = true)
+    int createTaskReminders(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                            @Param("leadMinutes") int leadMinutes);
+
+    /**
+     * Creates a reminder for every Roommate of the Household for the next occurrence of every active recurring expense
+     * that is due inside the given window with a single statement. The expenses are found with a range scan of the
+     * index on the active flag and their next occurrence. Existing reminders are skipped.
+     *
+     * @param from The inclusive lower bound for the next occurrence.
+     * @param to The exclusive upper bound for the next occurrence.
+     * @param leadDays The number of days before the next occurrence the reminder is sent.
+     * @return The number of created reminders.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reminders"))
+    @Query(value = """
+            insert into reminders (user_id, type, subject_id, title, due_at, remind_at, attempts)
+            select m.user_id, 'BILL', r.id, r.description || ' to ' || r.counterparty, r.next_occurrence,
+                   r.next_occurrence - make_interval(days => :leadDays), 0
+            from recurring_transactions r
+            join accounts a on a.id = r.account_id
+            join roommates m on m.household_id = a.household_id
+            where r.active and r.next_occurrence >= :from and r.next_occurrence < :to and r.type = 'EXPENSE'
+            on conflict (type, subject_id, due_at, user_id) do nothing
+            """, nativeQuery = true)
+    int createBillReminders(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                            @Param("leadDays") int leadDays);
+
+    /**
+     * <p>Claims a batch of pending reminders for the given owner by leasing them until the given expiry. Pending
+     * reminders are unsent, due to be sent, not leased by anyone or leased by an owner whose lease has expired, and
+     * below the maximum number of attempts. They are found with a range scan of the index on the sent and remind
+     * time. Reminders whose Task was finished or rescheduled, or whose bill was booked or cancelled in the meantime,
+     * are stale and never claimed.</p>
+     *
+     * <p>Rows locked by a concurrent claim are skipped instead of waited for, so several instances claim disjoint
+     * batches at the same time. The statement returns rows, so it is executed as a query.</p>
+     *
+     * @param owner The identifier of the claiming instance.
+     * @param now The current time.
+     * @param leaseExpiresAt The time the lease expires, after which the reminders are claimed again if still unsent.
+     * @param maxAttempts The maximum number of attempts per reminder.
+     * @param limit The maximum number of reminders to claim.
+     * @return The claimed reminders together with the address of their User.
+     */
+    @Query(value = """
+            update reminders r
+            set lease_owner = :owner, lease_expires_at = :leaseExpiresAt, attempts = r.attempts + 1
+            from users u
+            where u.id = r.user_id and r.id in (
+                select p.id from reminders p
+                where p.sent_at is null and p.remind_at <= :now
+                  and (p.lease_expires_at is null or p.lease_expires_at < :now)
+                  and p.attempts < :maxAttempts
+                  and (p.type <> 'TASK' or exists (select 1 from tasks t
+                        where t.id = p.subject_id and t.due_at = p.due_at and not t.finished and t.user_id = p.user_id))
+                  and (p.type <> 'BILL' or exists (select 1 from recurring_transactions b
+                        where b.id = p.subject_id and b.next_occurrence = p.due_at and b.active))
+                order by p.remind_at
+                limit :limit
+                for update of p skip locked)
+            returning r.id as id, r.user_id as userId, u.email as email, u.username as username, r.type as type,
+                      r.title as title, r.due_at as dueAt
+            """, nativeQuery = true)
+    List<ClaimedReminder> claim(@Param("owner") String owner, @Param("now") LocalDateTime now,
+                                @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt,
+                                @Param("maxAttempts") int maxAttempts, @Param("limit") int limit);
+
+    /**
+     * Marks the given reminders as sent and releases their lease with a single statement. Reminders whose lease was
+     * taken over by another owner in the meantime are left untouched.
+     *
+     * @param ids The IDs of the reminders.
+     * @param owner The identifier of the instance that sent them.
+     * @param sentAt The time they were sent.
+     * @return The number of completed reminders.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reminders"))
+    @Query(value = """
+            update reminders
+            set sent_at = :sentAt, lease_owner = null, lease_expires_at = null
+            where id = any(cast(:ids as bigint[])) and lease_owner = :owner and sent_at is null
+            """, nativeQuery = true)
+    int complete(@Param("ids") Long[] ids, @Param("owner") String owner, @Param("sentAt") LocalDateTime sentAt);
+
+    /**
+     * Deletes the reminders that were sent before the given time as well as those that were never sent and were due
+     * before the given time, because they were stale or failed too often.
+     *
+     * @param before The exclusive upper bound.
+     * @return The number of deleted reminders.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reminders"))
+    @Query(value = """
+            delete from reminders
+            where sent_at < :before or (sent_at is null and due_at < :before)
+            """, nativeQuery = true)
+    int prune(@Param("before") LocalDateTime before);
+}
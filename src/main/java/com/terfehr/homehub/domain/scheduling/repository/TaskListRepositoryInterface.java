@@ -1,12 +1,17 @@
 package com.terfehr.homehub.domain.scheduling.repository;
 
 import com.terfehr.homehub.domain.scheduling.entity.TaskList;
+import com.terfehr.homehub.domain.scheduling.value.TaskListSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
-interface TaskListRepositoryInterface extends JpaRepository<TaskList, Long> {
+public interface TaskListRepositoryInterface extends JpaRepository<TaskList, Long> {
 
     /**
      * Retrieves a TaskList by its ID.
@@ -16,4 +21,40 @@ interface TaskListRepositoryInterface extends JpaRepository<TaskList, Long> {
      */
     @NonNull
     Optional<TaskList> findById(@NonNull Long id);
+
+    /**
+     * Retrieves all TaskLists of the given Household that changed after the given change version.
+     *
+     * @param householdId The ID of the Household.
+     * @param changeVersion The change version the client has already seen.
+     * @return A List of the changed TaskLists.
+     */
+    List<TaskList> findAllByHouseholdIdAndChangeVersionGreaterThan(Long householdId, long changeVersion);
+
+    /**
+     * Counts the open and all Tasks of every TaskList of a Household in a single aggregate query, without loading the
+     * TaskLists or their Tasks. TaskLists without Tasks are included with zero counts.
+     *
+     * @param householdId The ID of the Household.
+     * @return A List of the TaskListSummaries ordered by the name of the TaskList.
+     */
+    @Query("""
+            select new com.terfehr.homehub.domain.scheduling.value.TaskListSummary(
+                l.id, l.name, count(t.id) filter (where t.finished = false), count(t.id))
+            from TaskList l left join l.tasks t
+            where l.household.id = :householdId
+            group by l.id, l.name
+            order by l.name, l.id
+            """)
+    @Transactional(readOnly = true)
+    List<TaskListSummary> findAllSummariesByHouseholdId(@Param("householdId") Long householdId);
+
+    /**
+     * Retrieves the ID of the Household the given TaskList belongs to, without loading the TaskList.
+     *
+     * @param id The ID of the TaskList.
+     * @return An Optional containing either the ID of the Household or null if the TaskList does not exist.
+     */
+    @Query("select l.household.id from TaskList l where l.id = :id")
+    Optional<Long> findHouseholdIdById(@Param("id") Long id);
 }
@@ -1,12 +1,26 @@
 package com.terfehr.homehub.domain.scheduling.repository;
 
 import com.terfehr.homehub.domain.scheduling.entity.Task;
+import com.terfehr.homehub.domain.scheduling.value.OpenTask;
+import com.terfehr.homehub.domain.scheduling.value.RoommateOpenTasks;
+import com.terfehr.homehub.domain.scheduling.value.TaskClaim;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
-interface TaskRepositoryInterface extends JpaRepository<Task, Long> {
+public interface TaskRepositoryInterface extends JpaRepository<Task, Long> {
 
     /**
      * Retrieves a Task by its ID.
@@ -16,4 +30,379 @@ interface TaskRepositoryInterface extends JpaRepository<Task, Long> {
      */
     @NonNull
     Optional<Task> findById(@NonNull Long id);
+
+    /**
+     * Retrieves all Tasks of the given Household that changed after the given change version together with their
+     * TaskLists and assigned Roommates.
+     *
+     * @param householdId The ID of the Household.
+     * @param changeVersion The change version the client has already seen.
+     * @return A List of the changed Tasks.
+     */
+    @Query("""
+            select t
+            from Task t
+            join fetch t.taskList l
+            left join fetch t.roommate r
+            left join fetch r.user
+            where t.householdId = :householdId
+              and t.changeVersion > :changeVersion
+            """)
+    List<Task> findAllChangedByHouseholdId(@Param("householdId") Long householdId, @Param("changeVersion") long changeVersion);
+
+    /**
+     * Retrieves all Tasks of the given Household that are neither finished nor assigned to a Roommate. The Tasks are
+     * locked in the order of their IDs before any of them is assigned, see {@link #lockAll}, so the assignment does
+     * not deadlock with concurrent claims.
+     *
+     * @param householdId The ID of the Household.
+     * @return A List of the open Tasks ordered by their ID.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select new com.terfehr.homehub.domain.scheduling.value.OpenTask(t.id, t.action)
+            from Task t
+            where t.householdId = :householdId
+              and t.finished = false
+              and t.userId is null
+            order by t.id
+            """)
+    List<OpenTask> findOpenUnassignedByHouseholdId(@Param("householdId") Long householdId);
+
+    /**
+     * Counts the unfinished Tasks of every Roommate of the given Household that has at least one.
+     *
+     * @param householdId The ID of the Household.
+     * @return A List containing the number of unfinished Tasks per Roommate.
+     */
+    @Query("""
+            select new com.terfehr.homehub.domain.scheduling.value.RoommateOpenTasks(t.userId, count(t))
+            from Task t
+            where t.householdId = :householdId
+              and t.userId is not null
+              and t.finished = false
+            group by t.userId
+            """)
+    List<RoommateOpenTasks> countOpenByRoommate(@Param("householdId") Long householdId);
+
+    /**
+     * Assigns the given Tasks to the given Roommates of the given Household with a single statement. Tasks that were
+     * finished or assigned in the meantime are skipped, so concurrent assignments never overwrite each other. The
+     * statement returns rows, so it is executed as a query.
+     *
+     * @param householdId The ID of the Household of the Roommates.
+     * @param taskIds The IDs of the Tasks.
+     * @param userIds The IDs of the Users of the Roommates in the same order.
+     * @return The IDs of the assigned Tasks.
+     */
+    @Query(value = """
+            update tasks t
+            set user_id = a.user_id
+            from unnest(cast(:taskIds as bigint[]), cast(:userIds as bigint[])) as a(id, user_id)
+            where t.household_id = :householdId and t.id = a.id and t.user_id is null and not t.finished
+            returning t.id
+            """, nativeQuery = true)
+    List<Long> assignAll(@Param("householdId") Long householdId, @Param("taskIds") Long[] taskIds, @Param("userIds") Long[] userIds);
+
+    /**
+     * <p>Claims the given Task for the given User with a single statement. The Task is assigned only if it is neither
+     * assigned nor finished, so of several Users claiming the same Task at once exactly one wins and the others are
+     * told who did. The row is locked for the duration of the statement only, and concurrent claims of the same Task
+     * wait for it and see the winner. The User has to be a Roommate of the Household of the Task.</p>
+     *
+     * <p>The statement returns rows, so it is executed as a query.</p>
+     *
+     * @param taskId The ID of the Task.
+     * @param userId The ID of the claiming User.
+     * @return The outcome of the claim, empty if the Task does not exist or the User is no Roommate of its Household.
+     */
+    @Query(value = """
+            with target as (
+                select t.id, t.user_id, t.finished, t.household_id
+                from tasks t
+                join roommates r on r.household_id = t.household_id and r.user_id = :userId
+                where t.id = :taskId
+                for update of t
+            ), claimed as (
+                update tasks t
+                set user_id = :userId
+                from target
+                where t.household_id = target.household_id and t.id = target.id and target.user_id is null and not target.finished
+                returning t.id
+            )
+            select target.id as taskId, case when claimed.id is null then target.user_id else :userId end as assigneeUserId,
+                   claimed.id is not null as claimed, target.finished as finished
+            from target left join claimed on claimed.id = target.id
+            """, nativeQuery = true)
+    Optional<TaskClaim> claim(@Param("taskId") Long taskId, @Param("userId") Long userId);
+
+    /**
+     * Locks the given Tasks of the given Household in the order of their IDs until the end of the transaction. Writing
+     * a Task also locks its Household to stamp the change version, see schema.sql, so a statement writing several
+     * Tasks has to lock all of them before writing the first one. Otherwise it could hold the Household while waiting
+     * for a Task that is locked by a transaction waiting for the Household.
+     *
+     * @param householdId The ID of the Household.
+     * @param taskIds The IDs of the Tasks.
+     * @return The IDs of the locked Tasks.
+     */
+    @Query(value = """
+            select t.id
+            from tasks t
+            where t.household_id = :householdId and t.id = any(cast(:taskIds as bigint[]))
+            order by t.id
+            for update of t
+            """, nativeQuery = true)
+    List<Long> lockAll(@Param("householdId") Long householdId, @Param("taskIds") Long[] taskIds);
+
+    /**
+     * Claims the given Tasks of the given Household for the given User with a single statement. Every Task is claimed
+     * like with {@link #claim}. The Tasks have to be locked with {@link #lockAll} before, so the statement sees the
+     * latest claims and concurrent bulk claims do not deadlock. Tasks of other Households are ignored.
+     *
+     * @param householdId The ID of the Household.
+     * @param taskIds The IDs of the Tasks.
+     * @param userId The ID of the claiming User.
+     * @return The outcome per Task ordered by the ID of the Task, empty if the User is no Roommate of the Household.
+     */
+    @Query(value = """
+            with target as (
+                select t.id, t.user_id, t.finished
+                from tasks t
+                join roommates r on r.household_id = t.household_id and r.user_id = :userId
+                where t.household_id = :householdId and t.id = any(cast(:taskIds as bigint[]))
+            ), claimed as (
+                update tasks t
+                set user_id = :userId
+                from target
+                where t.household_id = :householdId and t.id = target.id and target.user_id is null and not target.finished
+                returning t.id
+            )
+            select target.id as taskId, case when claimed.id is null then target.user_id else :userId end as assigneeUserId,
+                   claimed.id is not null as claimed, target.finished as finished
+            from target left join claimed on claimed.id = target.id
+            order by target.id
+            """, nativeQuery = true)
+    List<TaskClaim> claimAll(@Param("householdId") Long householdId, @Param("taskIds") Long[] taskIds,
+                             @Param("userId") Long userId);
+
+    /**
+     * Retrieves all Tasks of the given Household that are due inside the given window together with their TaskLists
+     * and assigned Roommates.
+     *
+     * @param householdId The ID of the Household.
+     * @param from The inclusive start of the window.
+     * @param to The exclusive end of the window.
+     * @return A List of the due Tasks ordered by their due time.
+     */
+    @Query("""
+            select t
+            from Task t
+            join fetch t.taskList l
+            left join fetch t.roommate r
+            left join fetch r.user
+            where t.householdId = :householdId
+              and t.dueAt >= :from and t.dueAt < :to
+            order by t.dueAt, t.id
+            """)
+    List<Task> findAllByHouseholdIdDueBetween(@Param("householdId") Long householdId, @Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to);
+
+    /**
+     * Retrieves the unfinished Tasks of all Households that are due inside the given window together with their
+     * TaskLists and assigned Roommates. Backed by the index on the due time, so only the Tasks of the window are read.
+     *
+     * @param from The inclusive start of the window.
+     * @param to The exclusive end of the window.
+     * @return A List of the due Tasks ordered by their due time.
+     */
+    @Query("""
+            select t
+            from Task t
+            join fetch t.taskList l
+            left join fetch t.roommate r
+            left join fetch r.user
+            where t.dueAt >= :from and t.dueAt < :to
+              and t.finished = false
+            order by t.dueAt, t.id
+            """)
+    List<Task> findAllUnfinishedDueBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Retrieves the occurrences of the given RecurringTask that are due at or after the given time.
+     *
+     * @param recurringTaskId The ID of the RecurringTask.
+     * @param from The inclusive lower bound for the due time.
+     * @param limit The maximum number of occurrences.
+     * @return A List of the occurrences ordered by their due time.
+     */
+    @Query("""
+            select t
+            from Task t
+            join fetch t.taskList
+            left join fetch t.roommate r
+            left join fetch r.user
+            where t.recurringTask.id = :recurringTaskId and t.dueAt >= :from
+            order by t.dueAt
+            """)
+    List<Task> findOccurrencesFrom(@Param("recurringTaskId") Long recurringTaskId, @Param("from") LocalDateTime from, Limit limit);
+
+    /**
+     * Counts the occurrences of the given RecurringTask that are due at or after the given time.
+     *
+     * @param recurringTaskId The ID of the RecurringTask.
+     * @param from The inclusive lower bound for the due time.
+     * @return The number of occurrences.
+     */
+    long countByRecurringTaskIdAndDueAtGreaterThanEqual(Long recurringTaskId, LocalDateTime from);
+
+    /**
+     * Creates the given occurrences of RecurringTasks as Tasks with a single statement. Action, description and
+     * TaskList are copied from the RecurringTask, the Household is the one of the TaskList. Occurrences that already
+     * exist are skipped by the unique constraint on the Household, the RecurringTask and the due time, so repeated
+     * materializations never create duplicates.
+     *
+     * @param recurringTaskIds The IDs of the RecurringTasks.
+     * @param dueAts The due times of the occurrences in the same order.
+     * @return The number of created Tasks.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"))
+    @Query(value = """
+            insert into tasks (action, description, finished, task_list_id, household_id, recurring_task_id, due_at)
+            select r.action, r.description, false, r.task_list_id, l.household_id, r.id, o.due_at
+            from unnest(cast(:recurringTaskIds as bigint[]), cast(:dueAts as timestamp[])) as o(recurring_task_id, due_at)
+            join recurring_tasks r on r.id = o.recurring_task_id
+            join task_lists l on l.id = r.task_list_id
+            order by o.recurring_task_id, o.due_at
+            on conflict (household_id, recurring_task_id, due_at) do nothing
+            """, nativeQuery = true)
+    int insertOccurrences(@Param("recurringTaskIds") Long[] recurringTaskIds, @Param("dueAts") LocalDateTime[] dueAts);
+
+    /**
+     * Retrieves the SortKey of the given Task of the given TaskList.
+     *
+     * @param taskListId The ID of the TaskList.
+     * @param taskId The ID of the Task.
+     * @return An Optional containing the SortKey or an empty Optional if the TaskList does not contain the Task.
+     */
+    @Query(value = "select t.sort_key from tasks t where t.household_id = (select household_id from task_lists where id = :taskListId) and t.id = :taskId and t.task_list_id = :taskListId", nativeQuery = true)
+    Optional<String> findSortKey(@Param("taskListId") Long taskListId, @Param("taskId") Long taskId);
+
+    /**
+     * Retrieves the SortKey of the first Task of the given TaskList other than the given one, reading a single entry
+     * of the index on the TaskList and the SortKey.
+     *
+     * @param taskListId The ID of the TaskList.
+     * @param excludedTaskId The ID of the Task to skip, usually the one being moved.
+     * @return An Optional containing the SortKey or an empty Optional if there is no other Task.
+     */
+    @Query(value = """
+            select t.sort_key
+            from tasks t
+            where t.household_id = (select household_id from task_lists where id = :taskListId)
+              and t.task_list_id = :taskListId and t.id <> :excludedTaskId
+            order by t.sort_key, t.id
+            limit 1
+            """, nativeQuery = true)
+    Optional<String> findFirstSortKey(@Param("taskListId") Long taskListId, @Param("excludedTaskId") Long excludedTaskId);
+
+    /**
+     * Retrieves the SortKey of the Task following the given position in the given TaskList, skipping the given Task.
+     * The position is compared as a key set of the SortKey and the ID, so Tasks sharing a SortKey keep their order.
+     *
+     * @param taskListId The ID of the TaskList.
+     * @param sortKey The SortKey of the position.
+     * @param taskId The ID of the Task at the position.
+     * @param excludedTaskId The ID of the Task to skip, usually the one being moved.
+     * @return An Optional containing the SortKey or an empty Optional if no other Task follows.
+     */
+    @Query(value = """
+            select t.sort_key
+            from tasks t
+            where t.household_id = (select household_id from task_lists where id = :taskListId)
+              and t.task_list_id = :taskListId and (t.sort_key, t.id) > (:sortKey, :taskId) and t.id <> :excludedTaskId
+            order by t.sort_key, t.id
+            limit 1
+            """, nativeQuery = true)
+    Optional<String> findNextSortKey(@Param("taskListId") Long taskListId, @Param("sortKey") String sortKey,
+                                     @Param("taskId") Long taskId, @Param("excludedTaskId") Long excludedTaskId);
+
+    /**
+     * Sets the SortKey of the given Task, which moves it within its TaskList without touching any other Task. Loaded
+     * Tasks are cleared, as their SortKeys are no longer up to date.
+     *
+     * @param householdId The ID of the Household of the Task.
+     * @param taskId The ID of the Task.
+     * @param sortKey The new SortKey.
+     * @return The number of updated Tasks.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"))
+    @Query(value = "update tasks set sort_key = :sortKey where household_id = :householdId and id = :taskId", nativeQuery = true)
+    int setSortKey(@Param("householdId") Long householdId, @Param("taskId") Long taskId, @Param("sortKey") String sortKey);
+
+    /**
+     * Locks all Tasks of the given TaskList in the order of their IDs until the end of the transaction, so they can
+     * be rebalanced without deadlocking, see {@link #lockAll}.
+     *
+     * @param taskListId The ID of the TaskList.
+     * @return The IDs of the locked Tasks.
+     */
+    @Query(value = """
+            select t.id
+            from tasks t
+            where t.household_id = (select household_id from task_lists where id = :taskListId) and t.task_list_id = :taskListId
+            order by t.id
+            for update
+            """, nativeQuery = true)
+    List<Long> lockAllByTaskListId(@Param("taskListId") Long taskListId);
+
+    /**
+     * Replaces the SortKeys of all Tasks of the given TaskList by short, evenly spaced ones in their current order.
+     * Tasks sharing a SortKey keep the order of their IDs and get distinct keys. Tasks whose SortKey does not change
+     * are not written. The Tasks have to be locked with {@link #lockAllByTaskListId} before.
+     *
+     * @param taskListId The ID of the TaskList.
+     * @return The number of updated Tasks.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"))
+    @Query(value = """
+            update tasks t
+            set sort_key = r.sort_key
+            from (
+                select id, homehub_sort_key(row_number() over (order by sort_key, id), count(*) over ()) as sort_key
+                from tasks
+                where household_id = (select household_id from task_lists where id = :taskListId) and task_list_id = :taskListId
+            ) r
+            where t.household_id = (select household_id from task_lists where id = :taskListId) and t.id = r.id and t.sort_key <> r.sort_key
+            """, nativeQuery = true)
+    int rebalance(@Param("taskListId") Long taskListId);
+
+    /**
+     * Retrieves the IDs of all TaskLists whose SortKeys have to be rebalanced, as one of them grew longer than the
+     * given length or several Tasks share one.
+     *
+     * @param maxLength The maximum length of a SortKey.
+     * @return A List of the IDs of the TaskLists.
+     */
+    @Query(value = """
+            select t.task_list_id
+            from tasks t
+            where t.task_list_id is not null
+            group by t.task_list_id
+            having max(length(t.sort_key)) > :maxLength or count(distinct t.sort_key) < count(*)
+            order by t.task_list_id
+            """, nativeQuery = true)
+    List<Long> findAllTaskListIdsToRebalance(@Param("maxLength") int maxLength);
+
+    /**
+     * Retrieves the ID of the Household the given Task belongs to, without loading the Task.
+     *
+     * @param id The ID of the Task.
+     * @return An Optional containing either the ID of the Household or null if the Task does not exist.
+     */
+    @Query("select t.householdId from Task t where t.id = :id")
+    Optional<Long> findHouseholdIdById(@Param("id") Long id);
 }
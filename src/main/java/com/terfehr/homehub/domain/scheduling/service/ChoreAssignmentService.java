@@ -0,0 +1,215 @@
+package com.terfehr.homehub.domain.scheduling.service;
+
+import com.terfehr.homehub.domain.scheduling.entity.ChoreProfile;
+import com.terfehr.homehub.domain.scheduling.entity.Task;
+import com.terfehr.homehub.domain.scheduling.repository.ChoreProfileRepositoryInterface;
+import com.terfehr.homehub.domain.scheduling.repository.TaskRepositoryInterface;
+import com.terfehr.homehub.domain.scheduling.value.ChoreAssignment;
+import com.terfehr.homehub.domain.scheduling.value.OpenTask;
+import com.terfehr.homehub.domain.scheduling.value.RoommateOpenTasks;
+import com.terfehr.homehub.domain.scheduling.value.TaskClaim;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * <p>Service for spreading the open Tasks of a Household across its Roommates. Every Roommate is scored by the Tasks
+ * they finished recently plus the unfinished Tasks they already have, divided by their availability. The Roommates
+ * are kept in a priority queue by score, so every Task goes to the Roommate with the lowest score and only that
+ * Roommate's score is updated afterward. Preferences for or against the action of a Task shift the score by the
+ * configured weight, so only the few Roommates whose score lies within that weight of the lowest one are compared.</p>
+ *
+ * <p>All assignments are written with a single statement. Finishing a Task updates the completion load of its
+ * Roommate incrementally, so the history is only read once per Roommate.</p>
+ *
+ * <p>Roommates can also claim Tasks themselves. A claim is a single conditional update that only assigns Tasks that
+ * are neither assigned nor finished, so racing claims never overwrite each other and the losers learn who won.</p>
+ */
+@Service
+public class ChoreAssignmentService {
+
+    private final TaskRepositoryInterface taskRepository;
+    private final ChoreProfileRepositoryInterface choreProfileRepository;
+    private final Duration halfLife;
+    private final double preferenceWeight;
+
+    public ChoreAssignmentService(TaskRepositoryInterface taskRepository,
+                                  ChoreProfileRepositoryInterface choreProfileRepository,
+                                  @Value("${chores.load-half-life-days}") long halfLifeDays,
+                                  @Value("${chores.preference-weight}") double preferenceWeight) {
+        this.taskRepository = taskRepository;
+        this.choreProfileRepository = choreProfileRepository;
+        this.halfLife = Duration.ofDays(halfLifeDays);
+        this.preferenceWeight = preferenceWeight;
+    }
+
+    /**
+     * Assigns all open Tasks of the given Household to its available Roommates. Tasks that are finished or assigned
+     * concurrently are skipped.
+     *
+     * @param householdId The ID of the Household.
+     * @param now The current time.
+     * @return The assignments that were made, empty if there are no open Tasks or no available Roommates.
+     */
+    public List<ChoreAssignment> assignOpenTasks(Long householdId, LocalDateTime now) {
+        List<OpenTask> tasks = taskRepository.findOpenUnassignedByHouseholdId(householdId);
+        if (tasks.isEmpty()) {
+            return List.of();
+        }
+        List<ChoreProfile> profiles = getProfiles(householdId, now);
+        Map<Long, Long> openTasks = taskRepository.countOpenByRoommate(householdId).stream()
+                .collect(Collectors.toMap(RoommateOpenTasks::userId, RoommateOpenTasks::count));
+
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(Comparator.comparingDouble(Candidate::score));
+        for (ChoreProfile profile : profiles) {
+            if (profile.getAvailability() > 0) {
+                double load = profile.getCompletionLoadAt(now, halfLife) + openTasks.getOrDefault(profile.getId().getUserId(), 0L);
+                queue.add(new Candidate(profile, load));
+            }
+        }
+        if (queue.isEmpty()) {
+            return List.of();
+        }
+
+        List<ChoreAssignment> assignments = new ArrayList<>(tasks.size());
+        List<Candidate> compared = new ArrayList<>();
+        for (OpenTask task : tasks) {
+            String actionKey = ChoreProfile.actionKey(task.action());
+            Candidate best = null;
+            double bestCost = Double.MAX_VALUE;
+            while (!queue.isEmpty() && queue.peek().score() - preferenceWeight < bestCost) {
+                Candidate candidate = queue.poll();
+                compared.add(candidate);
+                double cost = candidate.score() - preferenceWeight * candidate.profile().getPreference(actionKey);
+                if (cost < bestCost) {
+                    best = candidate;
+                    bestCost = cost;
+                }
+            }
+            for (Candidate candidate : compared) {
+                queue.add(candidate == best ? candidate.withLoad(candidate.load() + 1) : candidate);
+            }
+            compared.clear();
+            assignments.add(new ChoreAssignment(task.id(), best.profile().getId().getUserId()));
+        }
+
+        Set<Long> assigned = new HashSet<>(taskRepository.assignAll(householdId,
+                assignments.stream().map(ChoreAssignment::taskId).toArray(Long[]::new),
+                assignments.stream().map(ChoreAssignment::userId).toArray(Long[]::new)));
+        return assignments.stream().filter(assignment -> assigned.contains(assignment.taskId())).toList();
+    }
+
+    /**
+     * Retrieves the ChoreProfiles of all Roommates of the given Household and creates the missing ones from the
+     * Task history first.
+     *
+     * @param householdId The ID of the Household.
+     * @param now The current time.
+     * @return A List containing the ChoreProfiles.
+     */
+    public List<ChoreProfile> getProfiles(Long householdId, LocalDateTime now) {
+        choreProfileRepository.createMissing(householdId, now, halfLife.toSeconds());
+        return choreProfileRepository.findAllOfRoommates(householdId);
+    }
+
+    /**
+     * Calculates the completion load of the given ChoreProfile at the given time.
+     *
+     * @param profile The ChoreProfile.
+     * @param now The current time.
+     * @return The decayed completion load.
+     */
+    public double getCompletionLoad(ChoreProfile profile, LocalDateTime now) {
+        return profile.getCompletionLoadAt(now, halfLife);
+    }
+
+    /**
+     * Claims the given Task for the given User if nobody has claimed or finished it yet. Concurrent claims of the same
+     * Task are decided by the database, so exactly one of them wins.
+     *
+     * @param taskId The ID of the Task.
+     * @param userId The ID of the claiming User.
+     * @return The outcome of the claim, empty if the Task does not exist or the User is no Roommate of its Household.
+     */
+    public Optional<TaskClaim> claimTask(Long taskId, Long userId) {
+        return taskRepository.claim(taskId, userId);
+    }
+
+    /**
+     * Claims the given Tasks of the given Household for the given User, each if nobody has claimed or finished it yet.
+     * The Tasks are locked first, so the claims do not deadlock with other claims or assignments.
+     *
+     * @param householdId The ID of the Household.
+     * @param taskIds The IDs of the Tasks.
+     * @param userId The ID of the claiming User.
+     * @return The outcome per Task ordered by the ID of the Task, empty if the User is no Roommate of the Household.
+     */
+    public List<TaskClaim> claimTasks(Long householdId, List<Long> taskIds, Long userId) {
+        Long[] ids = taskIds.toArray(Long[]::new);
+        taskRepository.lockAll(householdId, ids);
+        return taskRepository.claimAll(householdId, ids, userId);
+    }
+
+    /**
+     * Finishes the given Task and counts it in the completion load of its Roommate.
+     *
+     * @param task The Task to finish.
+     * @throws IllegalStateException If the Task is already finished.
+     */
+    public void finishTask(Task task) throws IllegalStateException {
+        task.finishTask();
+        if (task.getUserId() != null) {
+            choreProfileRepository.addCompletionLoad(task.getHouseholdId(),
+                    task.getUserId(), 1, task.getFinishedAt(), halfLife.toSeconds());
+        }
+    }
+
+    /**
+     * Unfinishes the given Task and removes it from the completion load of its Roommate with the weight it had
+     * decayed to since it was finished.
+     *
+     * @param task The Task to unfinish.
+     * @param now The current time.
+     * @throws IllegalStateException If the Task is not finished.
+     */
+    public void unfinishTask(Task task, LocalDateTime now) throws IllegalStateException {
+        LocalDateTime finishedAt = task.getFinishedAt();
+        task.unfinishTask();
+        if (task.getUserId() != null && finishedAt != null) {
+            double elapsed = Math.max(0, Duration.between(finishedAt, now).toSeconds());
+            choreProfileRepository.addCompletionLoad(task.getHouseholdId(),
+                    task.getUserId(), -Math.pow(2, -elapsed / halfLife.toSeconds()), now, halfLife.toSeconds());
+        }
+    }
+
+    /**
+     * A Roommate together with the load it would have after the Tasks assigned so far.
+     *
+     * @param profile The ChoreProfile of the Roommate.
+     * @param load The completion load plus the number of unfinished Tasks.
+     */
+    private record Candidate(ChoreProfile profile, double load) {
+
+        /**
+         * Calculates the load the Roommate would have with one more Task relative to their availability.
+         */
+        private double score() {
+            return (load + 1) / profile.getAvailability();
+        }
+
+        private Candidate withLoad(double load) {
+            return new Candidate(profile, load);
+        }
+    }
+}
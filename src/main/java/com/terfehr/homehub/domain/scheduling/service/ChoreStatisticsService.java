@@ -0,0 +1,123 @@
+package com.terfehr.homehub.domain.scheduling.service;
+
+import com.terfehr.homehub.domain.scheduling.entity.ChoreStatistics;
+import com.terfehr.homehub.domain.scheduling.entity.Task;
+import com.terfehr.homehub.domain.scheduling.repository.ChoreStatisticsRepositoryInterface;
+import com.terfehr.homehub.domain.scheduling.value.RoommateChoreStatistics;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+/**
+ * <p>Service for the chore statistics of Roommates, i.e. the Tasks they finished per week, their streak of weeks
+ * with finished Tasks and the average time it took them to finish a Task. Instead of scanning the Task history on
+ * every read, the statistics are kept as weekly counters per Roommate that are updated with a single statement
+ * whenever a Task is finished or unfinished, so a read only touches a few rows per Roommate.</p>
+ *
+ * <p>The counters can be rebuilt from the tasks table, e.g. after Tasks were changed bypassing this service.</p>
+ */
+@Service
+@AllArgsConstructor
+public class ChoreStatisticsService {
+
+    private final ChoreStatisticsRepositoryInterface choreStatisticsRepository;
+
+    /**
+     * Counts the given finished Task in the statistics of its Roommate. Tasks without a Roommate are not counted.
+     *
+     * @param task The finished Task.
+     */
+    public void countFinished(Task task) {
+        if (task.getUserId() == null || task.getFinishedAt() == null) {
+            return;
+        }
+        Long finishSeconds = getFinishSeconds(task.getCreatedAt(), task.getFinishedAt());
+        choreStatisticsRepository.countFinished(task.getHouseholdId(),
+                task.getUserId(), weekOf(task.getFinishedAt()),
+                finishSeconds == null ? 0 : 1, finishSeconds == null ? 0 : finishSeconds);
+    }
+
+    /**
+     * Reverts the counting of the given unfinished Task in the statistics of its Roommate.
+     *
+     * @param task The unfinished Task.
+     * @param finishedAt The time the Task was finished at before.
+     */
+    public void countUnfinished(Task task, LocalDateTime finishedAt) {
+        if (task.getUserId() == null || finishedAt == null) {
+            return;
+        }
+        Long finishSeconds = getFinishSeconds(task.getCreatedAt(), finishedAt);
+        choreStatisticsRepository.countUnfinished(task.getHouseholdId(),
+                task.getUserId(), weekOf(finishedAt),
+                finishSeconds == null ? 0 : 1, finishSeconds == null ? 0 : finishSeconds);
+    }
+
+    /**
+     * Retrieves the statistics of every Roommate of the given Household summed up over the given number of weeks up to
+     * and including the current one.
+     *
+     * @param householdId The ID of the Household.
+     * @param weeks The number of weeks.
+     * @param today The current date.
+     * @return A List of the statistics per Roommate ordered by the finished Tasks, most first.
+     */
+    public List<RoommateChoreStatistics> getLeaderboard(Long householdId, int weeks, LocalDate today) {
+        LocalDate currentWeek = weekOf(today.atStartOfDay());
+        return choreStatisticsRepository.sumByRoommate(householdId, currentWeek.minusWeeks(weeks - 1L), currentWeek);
+    }
+
+    /**
+     * Retrieves the weekly statistics of all Roommates of the given Household for the given number of weeks up to and
+     * including the current one. Weeks without finished Tasks may be missing.
+     *
+     * @param householdId The ID of the Household.
+     * @param weeks The number of weeks.
+     * @param today The current date.
+     * @return A List of the weekly ChoreStatistics ordered by week.
+     */
+    public List<ChoreStatistics> getWeeklyStatistics(Long householdId, int weeks, LocalDate today) {
+        return choreStatisticsRepository.findAllByHouseholdIdFrom(householdId, weekOf(today.atStartOfDay()).minusWeeks(weeks - 1L));
+    }
+
+    /**
+     * Rebuilds the statistics of all Roommates from the finished Tasks. Counting concurrently finished or unfinished
+     * Tasks waits until the rebuild is committed.
+     *
+     * @return The number of rebuilt weekly rows.
+     */
+    public int rebuild() {
+        choreStatisticsRepository.lockForRebuild();
+        choreStatisticsRepository.deleteAllStatistics();
+        return choreStatisticsRepository.rebuildFromTasks();
+    }
+
+    /**
+     * Returns the Monday of the week of the given time, matching date_trunc('week') of the database.
+     *
+     * @param time The time.
+     * @return The Monday of its week.
+     */
+    public static LocalDate weekOf(LocalDateTime time) {
+        return time.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    /**
+     * Calculates the time it took to finish a Task in whole seconds, if its creation time is known.
+     *
+     * @return The time in seconds or null if unknown.
+     */
+    private Long getFinishSeconds(LocalDateTime createdAt, LocalDateTime finishedAt) {
+        if (createdAt == null || createdAt.isAfter(finishedAt)) {
+            return null;
+        }
+        return Duration.between(createdAt.truncatedTo(ChronoUnit.SECONDS), finishedAt.truncatedTo(ChronoUnit.SECONDS)).toSeconds();
+    }
+}
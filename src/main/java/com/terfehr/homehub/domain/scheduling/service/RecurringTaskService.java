@@ -0,0 +1,113 @@
+package com.terfehr.homehub.domain.scheduling.service;
+
+import com.terfehr.homehub.domain.scheduling.entity.RecurringTask;
+import com.terfehr.homehub.domain.scheduling.entity.Task;
+import com.terfehr.homehub.domain.scheduling.repository.RecurringTaskRepositoryInterface;
+import com.terfehr.homehub.domain.scheduling.repository.TaskRepositoryInterface;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Service for materializing the occurrences of RecurringTasks as Tasks. Occurrences are only created when they are
+ * asked for, i.e. the next few of a single RecurringTask, those inside a window of a Household, or those due soon
+ * across all Households by the nightly job, so the tasks table does not fill up with years of future chores.</p>
+ *
+ * <p>However many RecurringTasks are materialized at once, it takes one statement to lock them, one to insert all
+ * of their occurrences and one to write their progress. The number of occurrences per RecurringTask and call is
+ * capped, so a definition that has not been materialized for a long time catches up over several calls.</p>
+ */
+@Service
+public class RecurringTaskService {
+
+    private final RecurringTaskRepositoryInterface recurringTaskRepository;
+    private final TaskRepositoryInterface taskRepository;
+    private final int materializeLimit;
+
+    public RecurringTaskService(RecurringTaskRepositoryInterface recurringTaskRepository,
+                                TaskRepositoryInterface taskRepository,
+                                @Value("${recurring-tasks.materialize-limit}") int materializeLimit) {
+        this.recurringTaskRepository = recurringTaskRepository;
+        this.taskRepository = taskRepository;
+        this.materializeLimit = materializeLimit;
+    }
+
+    /**
+     * Materializes the occurrences before the given time of a batch of active RecurringTasks across all Households.
+     * RecurringTasks that reached the limit before the given time are due again and picked up by the next batch.
+     *
+     * @param until The exclusive upper bound for the occurrences.
+     * @param batchSize The maximum number of RecurringTasks to materialize.
+     * @return The number of materialized RecurringTasks. Less than the batch size if none are left.
+     */
+    public int materializeDue(LocalDateTime until, int batchSize) {
+        List<RecurringTask> recurringTasks = recurringTaskRepository.findDueForUpdate(until, Limit.of(batchSize));
+        materialize(recurringTasks, until, materializeLimit);
+        return recurringTasks.size();
+    }
+
+    /**
+     * Materializes the occurrences before the given time of all RecurringTasks of the given Household.
+     *
+     * @param householdId The ID of the Household.
+     * @param until The exclusive upper bound for the occurrences.
+     */
+    public void materializeHousehold(Long householdId, LocalDateTime until) {
+        materialize(recurringTaskRepository.findDueForUpdateByHouseholdId(householdId, until), until, materializeLimit);
+    }
+
+    /**
+     * Retrieves the next occurrences of the given RecurringTask that are due at or after the given time. Missed
+     * occurrences before that time are materialized first, then only as many upcoming ones as are missing.
+     *
+     * @param recurringTask The RecurringTask, locked and read-only.
+     * @param now The current time.
+     * @param count The number of occurrences.
+     * @return A List of the occurrences ordered by their due time, shorter than the count if the rule ends before.
+     */
+    public List<Task> getUpcomingOccurrences(RecurringTask recurringTask, LocalDateTime now, int count) {
+        materialize(List.of(recurringTask), now, materializeLimit);
+
+        long upcoming = taskRepository.countByRecurringTaskIdAndDueAtGreaterThanEqual(recurringTask.getId(), now);
+        if (upcoming < count) {
+            materialize(List.of(recurringTask), null, (int) (count - upcoming));
+        }
+        return taskRepository.findOccurrencesFrom(recurringTask.getId(), now, Limit.of(count));
+    }
+
+    /**
+     * Takes the occurrences of the given RecurringTasks and writes them together with the progress of the
+     * RecurringTasks in one statement each.
+     *
+     * @param recurringTasks The locked, read-only RecurringTasks.
+     * @param until The exclusive upper bound for the occurrences or null for no bound.
+     * @param limit The maximum number of occurrences per RecurringTask.
+     */
+    private void materialize(List<RecurringTask> recurringTasks, LocalDateTime until, int limit) {
+        List<Long> recurringTaskIds = new ArrayList<>();
+        List<LocalDateTime> dueAts = new ArrayList<>();
+        List<RecurringTask> advanced = new ArrayList<>();
+        for (RecurringTask recurringTask : recurringTasks) {
+            List<LocalDateTime> occurrences = recurringTask.takeOccurrences(until, limit);
+            if (!occurrences.isEmpty()) {
+                occurrences.forEach(dueAt -> recurringTaskIds.add(recurringTask.getId()));
+                dueAts.addAll(occurrences);
+                advanced.add(recurringTask);
+            }
+        }
+        if (advanced.isEmpty()) {
+            return;
+        }
+
+        taskRepository.insertOccurrences(recurringTaskIds.toArray(Long[]::new), dueAts.toArray(LocalDateTime[]::new));
+        recurringTaskRepository.advanceAll(
+                advanced.stream().map(RecurringTask::getId).toArray(Long[]::new),
+                advanced.stream().map(RecurringTask::getOccurrenceCount).toArray(Long[]::new),
+                advanced.stream().map(RecurringTask::getNextOccurrence).toArray(LocalDateTime[]::new),
+                advanced.stream().map(RecurringTask::isActive).toArray(Boolean[]::new));
+    }
+}
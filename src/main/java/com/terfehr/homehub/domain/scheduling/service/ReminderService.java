@@ -0,0 +1,110 @@
+package com.terfehr.homehub.domain.scheduling.service;
+
+import com.terfehr.homehub.domain.scheduling.repository.ReminderRepositoryInterface;
+import com.terfehr.homehub.domain.scheduling.value.ClaimedReminder;
+import com.terfehr.homehub.domain.scheduling.value.ReminderDigest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Service for reminding Users of their due Tasks and upcoming bills. Reminders are created from the due Tasks and
+ * recurring expenses shortly before they are sent and claimed in batches by leasing them to the claiming instance, so
+ * several instances dispatch reminders at the same time without sending any of them twice. A reminder whose sending
+ * failed keeps its lease until it expires and is then claimed again, up to the maximum number of attempts.</p>
+ *
+ * <p>Claimed reminders are grouped per User, so every User receives a single digest per batch instead of one message
+ * per reminder.</p>
+ */
+@Service
+public class ReminderService {
+
+    private final ReminderRepositoryInterface reminderRepository;
+    private final int taskLeadMinutes;
+    private final int billLeadDays;
+    private final int lookbackHours;
+    private final int leaseSeconds;
+    private final int maxAttempts;
+
+    public ReminderService(ReminderRepositoryInterface reminderRepository,
+                           @Value("${reminders.task-lead-minutes}") int taskLeadMinutes,
+                           @Value("${reminders.bill-lead-days}") int billLeadDays,
+                           @Value("${reminders.lookback-hours}") int lookbackHours,
+                           @Value("${reminders.lease-seconds}") int leaseSeconds,
+                           @Value("${reminders.max-attempts}") int maxAttempts) {
+        this.reminderRepository = reminderRepository;
+        this.taskLeadMinutes = taskLeadMinutes;
+        this.billLeadDays = billLeadDays;
+        this.lookbackHours = lookbackHours;
+        this.leaseSeconds = leaseSeconds;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Creates the reminders for all Tasks and bills that are due within their lead time. Due times up to the lookback
+     * before now are included, so reminders missed while no instance was running are still sent.
+     *
+     * @param now The current time.
+     * @return The number of created reminders.
+     */
+    public int generate(LocalDateTime now) {
+        LocalDateTime from = now.minusHours(lookbackHours);
+        return reminderRepository.createTaskReminders(from, now.plusMinutes(taskLeadMinutes), taskLeadMinutes)
+                + reminderRepository.createBillReminders(from, now.plusDays(billLeadDays), billLeadDays);
+    }
+
+    /**
+     * Claims a batch of pending reminders for the given owner and groups them per User.
+     *
+     * @param owner The identifier of the claiming instance.
+     * @param now The current time.
+     * @param batchSize The maximum number of reminders to claim.
+     * @return A List of digests, one per User, with the reminders ordered by their due time.
+     */
+    public List<ReminderDigest> claim(String owner, LocalDateTime now, int batchSize) {
+        List<ClaimedReminder> claimed = reminderRepository.claim(owner, now, now.plusSeconds(leaseSeconds), maxAttempts, batchSize);
+        Map<Long, List<ClaimedReminder>> byUser = new LinkedHashMap<>();
+        for (ClaimedReminder reminder : claimed) {
+            byUser.computeIfAbsent(reminder.getUserId(), userId -> new ArrayList<>()).add(reminder);
+        }
+
+        List<ReminderDigest> digests = new ArrayList<>(byUser.size());
+        byUser.forEach((userId, reminders) -> {
+            reminders.sort(Comparator.comparing(ClaimedReminder::getDueAt));
+            ClaimedReminder first = reminders.getFirst();
+            digests.add(new ReminderDigest(userId, first.getEmail(), first.getUsername(), List.copyOf(reminders)));
+        });
+        return digests;
+    }
+
+    /**
+     * Marks the given reminders as sent by the given owner.
+     *
+     * @param reminderIds The IDs of the sent reminders.
+     * @param owner The identifier of the instance that sent them.
+     * @param now The current time.
+     * @return The number of completed reminders.
+     */
+    public int complete(List<Long> reminderIds, String owner, LocalDateTime now) {
+        if (reminderIds.isEmpty()) {
+            return 0;
+        }
+        return reminderRepository.complete(reminderIds.toArray(Long[]::new), owner, now);
+    }
+
+    /**
+     * Deletes the reminders that were sent or due before the given time.
+     *
+     * @param before The exclusive upper bound.
+     * @return The number of deleted reminders.
+     */
+    public int prune(LocalDateTime before) {
+        return reminderRepository.prune(before);
+    }
+}
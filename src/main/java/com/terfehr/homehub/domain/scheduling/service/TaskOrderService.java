@@ -0,0 +1,77 @@
+package com.terfehr.homehub.domain.scheduling.service;
+
+import com.terfehr.homehub.domain.household.value.SortKey;
+import com.terfehr.homehub.domain.scheduling.entity.Task;
+import com.terfehr.homehub.domain.scheduling.repository.TaskRepositoryInterface;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * <p>Service for the order of the Tasks of a TaskList. Every Task carries a SortKey, new Tasks are appended to the
+ * end of their list by the database. Moving a Task reads the keys of its new neighbours from the index on the
+ * TaskList and the SortKey and writes a key between them, so only the moved Task is updated.</p>
+ *
+ * <p>Keys grow with repeated moves into the same gap, and concurrent moves may pick the same key. Both is repaired by
+ * rebalancing the TaskList, which happens in the background and whenever a Task is moved between two Tasks sharing a
+ * key.</p>
+ */
+@Service
+@AllArgsConstructor
+public class TaskOrderService {
+
+    private final TaskRepositoryInterface taskRepository;
+
+    /**
+     * Moves the given Task behind another Task of its TaskList or to its start. Loaded Tasks are cleared from the
+     * persistence context afterward, as their SortKeys may no longer be up to date.
+     *
+     * @param task The Task to move.
+     * @param afterTaskId The ID of the Task to move behind or null to move the Task to the start of its TaskList.
+     * @return The new SortKey of the Task.
+     * @throws IllegalArgumentException If the Task should be moved behind itself or a Task that is not contained in
+     * its TaskList.
+     */
+    public String moveTask(Task task, Long afterTaskId) throws IllegalArgumentException {
+        if (task.getId().equals(afterTaskId)) {
+            throw new IllegalArgumentException("Task cannot be moved behind itself");
+        }
+        Long taskListId = task.getTaskList().getId();
+        String before = afterTaskId == null ? null : taskRepository.findSortKey(taskListId, afterTaskId)
+                .orElseThrow(() -> new IllegalArgumentException("TaskList does not contain the Task to move behind"));
+        String after = afterTaskId == null
+                ? taskRepository.findFirstSortKey(taskListId, task.getId()).orElse(null)
+                : taskRepository.findNextSortKey(taskListId, before, afterTaskId, task.getId()).orElse(null);
+        if (before != null && before.equals(after)) {
+            rebalance(taskListId); // Both neighbours share a key, so there is none between them
+            return moveTask(task, afterTaskId);
+        }
+        String sortKey = SortKey.between(before, after).value();
+        taskRepository.setSortKey(task.getHouseholdId(), task.getId(), sortKey);
+        return sortKey;
+    }
+
+    /**
+     * Replaces the SortKeys of all Tasks of the given TaskList by short and distinct ones, keeping their order. The
+     * Tasks are locked first, so concurrent moves wait for the rebalancing.
+     *
+     * @param taskListId The ID of the TaskList.
+     * @return The number of Tasks whose SortKey changed.
+     */
+    public int rebalance(Long taskListId) {
+        taskRepository.lockAllByTaskListId(taskListId);
+        return taskRepository.rebalance(taskListId);
+    }
+
+    /**
+     * Retrieves the IDs of all TaskLists that need to be rebalanced, as a SortKey grew longer than the given length
+     * or several Tasks share one.
+     *
+     * @param maxLength The maximum length of a SortKey.
+     * @return A List of the IDs of the TaskLists.
+     */
+    public List<Long> getTaskListsToRebalance(int maxLength) {
+        return taskRepository.findAllTaskListIdsToRebalance(maxLength);
+    }
+}
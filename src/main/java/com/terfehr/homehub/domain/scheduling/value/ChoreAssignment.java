@@ -0,0 +1,10 @@
+package com.terfehr.homehub.domain.scheduling.value;
+
+/**
+ * The automatic assignment of a Task to a Roommate.
+ *
+ * @param taskId The ID of the assigned Task.
+ * @param userId The ID of the User of the Roommate the Task was assigned to.
+ */
+public record ChoreAssignment(Long taskId, Long userId) {
+}
@@ -0,0 +1,23 @@
+package com.terfehr.homehub.domain.scheduling.value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a Reminder that was claimed for sending together with the address of its User.
+ */
+public interface ClaimedReminder {
+
+    Long getId();
+
+    Long getUserId();
+
+    String getEmail();
+
+    String getUsername();
+
+    String getType();
+
+    String getTitle();
+
+    LocalDateTime getDueAt();
+}
@@ -0,0 +1,10 @@
+package com.terfehr.homehub.domain.scheduling.value;
+
+/**
+ * A Task that is neither finished nor assigned to a Roommate yet, reduced to what the automatic assignment needs.
+ *
+ * @param id The ID of the Task.
+ * @param action The action of the Task.
+ */
+public record OpenTask(Long id, String action) {
+}
@@ -0,0 +1,271 @@
+package com.terfehr.homehub.domain.scheduling.value;
+
+import com.terfehr.homehub.domain.bookkeeping.value.RecurrenceFrequency;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * <p>Recurrence rule in the format of the RRULE property of iCalendar (RFC 5545), e.g.
+ * {@code FREQ=WEEKLY;BYDAY=TU} for every Tuesday or {@code FREQ=MONTHLY;BYMONTHDAY=-1;COUNT=12} for the last day of
+ * the next twelve months. Supported are FREQ, INTERVAL, BYDAY without ordinals for daily and weekly rules,
+ * BYMONTHDAY for monthly rules as well as either COUNT or UNTIL. Weeks start on Monday.</p>
+ *
+ * <p>Occurrences are calculated from the start of the recurrence and the previous occurrence alone, so the next one
+ * is found in constant time no matter how many came before. Like in iCalendar, dates that do not exist in a period,
+ * e.g. the 31st in April, are skipped instead of moved.</p>
+ */
+public final class RecurrenceRule {
+
+    private static final int MAX_INTERVAL = 1000;
+    private static final int MAX_PERIODS = 10_000; // Periods searched for the next occurrence before the rule is considered exhausted
+    private static final DateTimeFormatter UNTIL_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter UNTIL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final Map<String, DayOfWeek> DAYS = Map.of(
+            "MO", DayOfWeek.MONDAY, "TU", DayOfWeek.TUESDAY, "WE", DayOfWeek.WEDNESDAY, "TH", DayOfWeek.THURSDAY,
+            "FR", DayOfWeek.FRIDAY, "SA", DayOfWeek.SATURDAY, "SU", DayOfWeek.SUNDAY);
+
+    private final RecurrenceFrequency frequency;
+    private final int interval;
+    private final SortedSet<DayOfWeek> byDay;
+    private final SortedSet<Integer> byMonthDay;
+    private final Long count;
+    private final LocalDateTime until;
+
+    private RecurrenceRule(RecurrenceFrequency frequency, int interval, SortedSet<DayOfWeek> byDay,
+                           SortedSet<Integer> byMonthDay, Long count, LocalDateTime until) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.byDay = byDay;
+        this.byMonthDay = byMonthDay;
+        this.count = count;
+        this.until = until;
+    }
+
+    /**
+     * Parses the given rule. Parts are separated by semicolons and may appear in any order, a leading "RRULE:" is
+     * ignored.
+     *
+     * @param rule The rule to parse.
+     * @return The parsed RecurrenceRule.
+     * @throws IllegalArgumentException If the rule is malformed or uses unsupported parts.
+     */
+    public static RecurrenceRule parse(String rule) throws IllegalArgumentException {
+        if (rule == null || rule.isBlank()) {
+            throw new IllegalArgumentException("Invalid RecurrenceRule object");
+        }
+        String value = rule.strip().toUpperCase(Locale.ROOT);
+        if (value.startsWith("RRULE:")) {
+            value = value.substring("RRULE:".length());
+        }
+        Map<String, String> parts = new HashMap<>();
+        for (String part : value.split(";")) {
+            String[] keyValue = part.split("=", -1);
+            if (keyValue.length != 2 || keyValue[1].isEmpty() || parts.put(keyValue[0], keyValue[1]) != null) {
+                throw new IllegalArgumentException("Invalid recurrence rule part " + part);
+            }
+        }
+        try {
+            RecurrenceFrequency frequency = RecurrenceFrequency.valueOf(Objects.requireNonNull(parts.remove("FREQ")));
+            int interval = parts.containsKey("INTERVAL") ? Integer.parseInt(parts.remove("INTERVAL")) : 1;
+            SortedSet<DayOfWeek> byDay = parts.containsKey("BYDAY") ? parseDays(parts.remove("BYDAY")) : new TreeSet<>();
+            SortedSet<Integer> byMonthDay = parts.containsKey("BYMONTHDAY") ? parseMonthDays(parts.remove("BYMONTHDAY")) : new TreeSet<>();
+            Long count = parts.containsKey("COUNT") ? Long.parseLong(parts.remove("COUNT")) : null;
+            LocalDateTime until = parts.containsKey("UNTIL") ? parseUntil(parts.remove("UNTIL")) : null;
+            if (!parts.isEmpty() || !validate(frequency, interval, byDay, byMonthDay, count, until)) {
+                throw new IllegalArgumentException("Invalid RecurrenceRule object");
+            }
+            return new RecurrenceRule(frequency, interval, Collections.unmodifiableSortedSet(byDay),
+                    Collections.unmodifiableSortedSet(byMonthDay), count, until);
+        } catch (NullPointerException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid RecurrenceRule object", e);
+        }
+    }
+
+    /**
+     * Calculates the first occurrence at or after the start of the recurrence.
+     *
+     * @param start The start of the recurrence. Its time of day is the time of every occurrence.
+     * @return The first occurrence or null if there is none.
+     */
+    public LocalDateTime first(LocalDateTime start) {
+        return find(start, null);
+    }
+
+    /**
+     * Calculates the occurrence following the given one. The number of occurrences is not tracked here, so a COUNT
+     * has to be enforced by the caller.
+     *
+     * @param start The start of the recurrence.
+     * @param previous The previous occurrence.
+     * @return The next occurrence or null if the rule ends before.
+     */
+    public LocalDateTime next(LocalDateTime start, LocalDateTime previous) {
+        return find(start, previous);
+    }
+
+    /**
+     * Returns the maximum number of occurrences.
+     *
+     * @return The COUNT of the rule or null if it is not limited by a number of occurrences.
+     */
+    public Long getCount() {
+        return count;
+    }
+
+    /**
+     * Formats the rule in a canonical form, so equal rules are stored the same way.
+     *
+     * @return The rule in RRULE format without the "RRULE:" prefix.
+     */
+    @Override
+    public String toString() {
+        StringBuilder rule = new StringBuilder("FREQ=").append(frequency.name());
+        if (interval != 1) {
+            rule.append(";INTERVAL=").append(interval);
+        }
+        if (!byDay.isEmpty()) {
+            rule.append(";BYDAY=").append(byDay.stream().map(day -> day.name().substring(0, 2)).collect(Collectors.joining(",")));
+        }
+        if (!byMonthDay.isEmpty()) {
+            rule.append(";BYMONTHDAY=").append(byMonthDay.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        }
+        if (count != null) {
+            rule.append(";COUNT=").append(count);
+        }
+        if (until != null) {
+            rule.append(";UNTIL=").append(UNTIL_DATE_TIME.format(until));
+        }
+        return rule.toString();
+    }
+
+    /**
+     * Searches the first occurrence at or after the start and after the previous occurrence. The search jumps
+     * straight to the period of the previous occurrence and only walks the periods from there.
+     *
+     * @param start The start of the recurrence.
+     * @param previous The previous occurrence or null for the first one.
+     * @return The found occurrence or null if there is none.
+     */
+    private LocalDateTime find(LocalDateTime start, LocalDateTime previous) {
+        LocalDate anchor = periodStart(start.toLocalDate());
+        LocalDate from = previous == null || previous.isBefore(start) ? start.toLocalDate() : previous.toLocalDate();
+        long period = frequency.getUnit().between(anchor, periodStart(from));
+        period -= period % interval;
+
+        for (int searched = 0; searched < MAX_PERIODS; searched++, period += interval) {
+            for (LocalDate date : candidates(anchor.plus(period, frequency.getUnit()), start.toLocalDate())) {
+                LocalDateTime occurrence = date.atTime(start.toLocalTime());
+                if (occurrence.isBefore(start) || previous != null && !occurrence.isAfter(previous)) {
+                    continue;
+                }
+                return until != null && occurrence.isAfter(until) ? null : occurrence;
+            }
+            if (until != null && anchor.plus(period, frequency.getUnit()).atStartOfDay().isAfter(until)) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Calculates the first day of the period the given date lies in.
+     *
+     * @param date The date.
+     * @return The first day of its day, week, month or year.
+     */
+    private LocalDate periodStart(LocalDate date) {
+        return switch (frequency) {
+            case DAILY -> date;
+            case WEEKLY -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTHLY -> date.withDayOfMonth(1);
+            case YEARLY -> date.withDayOfYear(1);
+        };
+    }
+
+    /**
+     * Lists the dates of the given period that match the rule in chronological order.
+     *
+     * @param periodStart The first day of the period.
+     * @param startDate The date the recurrence starts at, which provides the defaults for the weekday and day of month.
+     * @return The matching dates.
+     */
+    private List<LocalDate> candidates(LocalDate periodStart, LocalDate startDate) {
+        return switch (frequency) {
+            case DAILY -> byDay.isEmpty() || byDay.contains(periodStart.getDayOfWeek()) ? List.of(periodStart) : List.of();
+            case WEEKLY -> (byDay.isEmpty() ? Set.of(startDate.getDayOfWeek()) : byDay).stream()
+                    .sorted()
+                    .map(day -> periodStart.plusDays(day.getValue() - 1))
+                    .toList();
+            case MONTHLY -> (byMonthDay.isEmpty() ? Set.of(startDate.getDayOfMonth()) : byMonthDay).stream()
+                    .map(day -> day > 0 ? day : periodStart.lengthOfMonth() + day + 1)
+                    .filter(day -> day >= 1 && day <= periodStart.lengthOfMonth())
+                    .distinct()
+                    .sorted()
+                    .map(periodStart::withDayOfMonth)
+                    .toList();
+            case YEARLY -> startDate.getMonthValue() == 2 && startDate.getDayOfMonth() == 29 && !periodStart.isLeapYear()
+                    ? List.of()
+                    : List.of(startDate.withYear(periodStart.getYear()));
+        };
+    }
+
+    /**
+     * Parses a comma-separated list of two-letter weekdays without ordinals.
+     */
+    private static SortedSet<DayOfWeek> parseDays(String value) throws IllegalArgumentException {
+        SortedSet<DayOfWeek> days = new TreeSet<>();
+        for (String day : value.split(",")) {
+            if (!DAYS.containsKey(day)) {
+                throw new IllegalArgumentException("Invalid weekday " + day);
+            }
+            days.add(DAYS.get(day));
+        }
+        return days;
+    }
+
+    /**
+     * Parses a comma-separated list of days of the month between 1 and 31 or -31 and -1, counted from the end.
+     */
+    private static SortedSet<Integer> parseMonthDays(String value) throws IllegalArgumentException {
+        SortedSet<Integer> days = new TreeSet<>();
+        for (String day : value.split(",")) {
+            int parsed = Integer.parseInt(day);
+            if (parsed == 0 || Math.abs(parsed) > 31) {
+                throw new IllegalArgumentException("Invalid day of month " + day);
+            }
+            days.add(parsed);
+        }
+        return days;
+    }
+
+    /**
+     * Parses the end of the recurrence given as a date or a local date and time. Dates include the whole day.
+     */
+    private static LocalDateTime parseUntil(String value) throws DateTimeParseException {
+        if (value.length() == 8) {
+            return LocalDate.parse(value, UNTIL_DATE).atTime(23, 59, 59);
+        }
+        return LocalDateTime.parse(value.endsWith("Z") ? value.substring(0, value.length() - 1) : value, UNTIL_DATE_TIME);
+    }
+
+    /**
+     * Validates the combination of the parsed parts. BYDAY is only supported for daily and weekly rules, BYMONTHDAY
+     * only for monthly ones, and COUNT and UNTIL must not be combined.
+     *
+     * @return True, if the parts are valid. False otherwise.
+     */
+    private static boolean validate(RecurrenceFrequency frequency, int interval, Set<DayOfWeek> byDay,
+                                    Set<Integer> byMonthDay, Long count, LocalDateTime until) {
+        boolean validByDay = byDay.isEmpty() || frequency == RecurrenceFrequency.DAILY || frequency == RecurrenceFrequency.WEEKLY;
+        boolean validByMonthDay = byMonthDay.isEmpty() || frequency == RecurrenceFrequency.MONTHLY;
+        boolean validEnd = (count == null || count > 0) && (count == null || until == null);
+        return interval > 0 && interval <= MAX_INTERVAL && validByDay && validByMonthDay && validEnd;
+    }
+}
@@ -0,0 +1,23 @@
+package com.terfehr.homehub.domain.scheduling.value;
+
+import java.util.List;
+
+/**
+ * All claimed reminders of a single User, which are sent as one message.
+ *
+ * @param userId The ID of the User.
+ * @param email The email address of the User.
+ * @param username The username of the User.
+ * @param reminders The reminders ordered by their due time.
+ */
+public record ReminderDigest(Long userId, String email, String username, List<ClaimedReminder> reminders) {
+
+    /**
+     * Returns the IDs of all reminders of the digest.
+     *
+     * @return The IDs of the reminders.
+     */
+    public List<Long> reminderIds() {
+        return reminders.stream().map(ClaimedReminder::getId).toList();
+    }
+}
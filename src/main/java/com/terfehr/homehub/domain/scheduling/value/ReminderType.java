@@ -0,0 +1,9 @@
+package com.terfehr.homehub.domain.scheduling.value;
+
+/**
+ * Defines what a Reminder is about: a Task that is due or a bill, i.e. the next occurrence of a recurring expense.
+ */
+public enum ReminderType {
+    TASK,
+    BILL
+}
@@ -0,0 +1,21 @@
+package com.terfehr.homehub.domain.scheduling.value;
+
+/**
+ * Read-only projection of the ChoreStatistics of a Roommate summed up over a window of weeks.
+ */
+public interface RoommateChoreStatistics {
+
+    Long getUserId();
+
+    String getUsername();
+
+    Long getFinishedCount();
+
+    Long getFinishedThisWeek();
+
+    Long getTimedCount();
+
+    Long getFinishSeconds();
+
+    Integer getStreak();
+}
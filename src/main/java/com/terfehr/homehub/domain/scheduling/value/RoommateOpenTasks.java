@@ -0,0 +1,10 @@
+package com.terfehr.homehub.domain.scheduling.value;
+
+/**
+ * The number of unfinished Tasks that are assigned to a Roommate.
+ *
+ * @param userId The ID of the User of the Roommate.
+ * @param count The number of unfinished Tasks.
+ */
+public record RoommateOpenTasks(Long userId, long count) {
+}
@@ -0,0 +1,16 @@
+package com.terfehr.homehub.domain.scheduling.value;
+
+/**
+ * Read-only projection of the outcome of claiming a Task. Contains the ID of the Task, the ID of the User it is
+ * assigned to afterward, whether the claim assigned it, and whether the Task is finished.
+ */
+public interface TaskClaim {
+
+    Long getTaskId();
+
+    Long getAssigneeUserId();
+
+    Boolean getClaimed();
+
+    Boolean getFinished();
+}
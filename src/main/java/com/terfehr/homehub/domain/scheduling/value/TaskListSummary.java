@@ -0,0 +1,12 @@
+package com.terfehr.homehub.domain.scheduling.value;
+
+/**
+ * The number of Tasks of a TaskList, counted inside the database without loading them.
+ *
+ * @param taskListId The ID of the TaskList.
+ * @param name The name of the TaskList.
+ * @param openTasks The number of Tasks that are not finished.
+ * @param totalTasks The number of all Tasks.
+ */
+public record TaskListSummary(Long taskListId, String name, long openTasks, long totalTasks) {
+}
@@ -0,0 +1,182 @@
+package com.terfehr.homehub.domain.shopping.entity;
+
+import com.terfehr.homehub.domain.shopping.value.CountMinSketch;
+import com.terfehr.homehub.domain.shopping.value.FrequentItem;
+import com.terfehr.homehub.domain.shopping.value.FrequentItemPurchase;
+import com.terfehr.homehub.domain.shopping.value.FrequentItemSettings;
+import com.terfehr.homehub.domain.shopping.value.ItemKey;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * <p>Keeps track of the items a Household buys most frequently without scanning its ShoppingSpree history. Every
+ * purchase is counted in a CountMinSketch under its ItemKey and the items with the highest estimates are kept in a
+ * bounded min-heap, so both updating and reading the top items cost O(k) regardless of the size of the history.</p>
+ *
+ * <p>Purchases decay exponentially with the configured half-life, so items the Household stopped buying drop out over
+ * time. Instead of decaying all counters, new purchases are weighted relative to a landmark (forward decay) and
+ * weights are divided by the decay of the current time when read. Once the weights grow too large, counters and heap
+ * are scaled down and the landmark moves forward. Rows are created by a native insert on the first purchase.</p>
+ */
+@Entity
+@NoArgsConstructor
+@Getter
+@Table(name = "frequent_item_sketches")
+public class FrequentItemSketch {
+
+    private static final double RENORMALIZATION_EXPONENT = 16; // Keeps the float counters far from overflowing
+
+    @Id
+    @Column(name = "household_id")
+    private Long householdId;
+
+    @Column(name = "counters")
+    private byte[] counters; // Null until the first purchase was recorded
+
+    @Column(name = "top_items")
+    private byte[] topItems;
+
+    @Column(name = "landmark", nullable = false)
+    private LocalDateTime landmark;
+
+    /**
+     * Counts the given purchases and updates the top items.
+     *
+     * @param purchases The purchased items with the dates of their ShoppingSprees.
+     * @param settings The configuration of the sketch.
+     */
+    public void record(Collection<FrequentItemPurchase> purchases, FrequentItemSettings settings) {
+        CountMinSketch sketch = counters != null
+                ? CountMinSketch.fromBytes(counters)
+                : new CountMinSketch(settings.sketchWidth(), settings.sketchDepth());
+        Map<String, FrequentItem> items = new HashMap<>();
+        PriorityQueue<FrequentItem> heap = new PriorityQueue<>(Comparator.comparingDouble(FrequentItem::weight));
+        decodeTopItems(topItems).forEach(item -> {
+            items.put(item.itemKey(), item);
+            heap.add(item);
+        });
+
+        for (FrequentItemPurchase purchase : purchases) {
+            String key = ItemKey.of(purchase.name()).value();
+            if (key.isEmpty()) {
+                continue;
+            }
+            double exponent = exponent(landmark, purchase.date(), settings.halfLife());
+            if (exponent > RENORMALIZATION_EXPONENT) {
+                double factor = Math.pow(2, -exponent);
+                sketch.scale(factor);
+                List<FrequentItem> scaled = heap.stream()
+                        .map(item -> new FrequentItem(item.itemKey(), item.name(), item.weight() * factor))
+                        .toList();
+                heap.clear();
+                heap.addAll(scaled);
+                scaled.forEach(item -> items.put(item.itemKey(), item));
+                landmark = purchase.date();
+                exponent = 0;
+            }
+
+            FrequentItem item = new FrequentItem(key, purchase.name(), sketch.add(key, Math.pow(2, exponent)));
+            FrequentItem existing = items.get(key);
+            if (existing != null) {
+                heap.remove(existing);
+            } else if (heap.size() >= settings.capacity()) {
+                if (heap.peek().weight() >= item.weight()) {
+                    continue;
+                }
+                items.remove(heap.poll().itemKey());
+            }
+            items.put(key, item);
+            heap.add(item);
+        }
+
+        counters = sketch.toBytes();
+        topItems = encodeTopItems(heap);
+    }
+
+    /**
+     * Decodes the given top items and decays their weights to the given time.
+     *
+     * @param topItems The encoded top items as stored in the top_items column or null if there are none.
+     * @param landmark The landmark the weights are relative to.
+     * @param now The time to decay the weights to.
+     * @param halfLife The half-life of a purchase.
+     * @param limit The maximum number of items to return.
+     * @return The top items ordered by descending weight.
+     */
+    public static List<FrequentItem> getTopItems(byte[] topItems, LocalDateTime landmark, LocalDateTime now, Duration halfLife, int limit) {
+        double decay = Math.pow(2, exponent(landmark, now, halfLife));
+        return decodeTopItems(topItems).stream()
+                .sorted(Comparator.comparingDouble(FrequentItem::weight).reversed())
+                .limit(limit)
+                .map(item -> new FrequentItem(item.itemKey(), item.name(), item.weight() / decay))
+                .toList();
+    }
+
+    /**
+     * Calculates the number of half-lives between the landmark and the given time.
+     */
+    private static double exponent(LocalDateTime landmark, LocalDateTime at, Duration halfLife) {
+        return (double) Duration.between(landmark, at).toSeconds() / halfLife.toSeconds();
+    }
+
+    /**
+     * Encodes the given items as their count followed by the key, name and weight of every item.
+     */
+    private static byte[] encodeTopItems(Collection<FrequentItem> items) {
+        List<byte[]> strings = new ArrayList<>();
+        int size = Integer.BYTES;
+        for (FrequentItem item : items) {
+            byte[] key = item.itemKey().getBytes(StandardCharsets.UTF_8);
+            byte[] name = item.name().getBytes(StandardCharsets.UTF_8);
+            strings.add(key);
+            strings.add(name);
+            size += 2 * Integer.BYTES + key.length + name.length + Double.BYTES;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size).putInt(items.size());
+        int i = 0;
+        for (FrequentItem item : items) {
+            byte[] key = strings.get(i++);
+            byte[] name = strings.get(i++);
+            buffer.putInt(key.length).put(key).putInt(name.length).put(name).putDouble(item.weight());
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Decodes the output of {@link #encodeTopItems(Collection)}.
+     */
+    private static List<FrequentItem> decodeTopItems(byte[] bytes) {
+        if (bytes == null) {
+            return List.of();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int count = buffer.getInt();
+        List<FrequentItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(new FrequentItem(readString(buffer), readString(buffer), buffer.getDouble()));
+        }
+        return items;
+    }
+
+    /**
+     * Reads a length-prefixed UTF-8 string from the given buffer.
+     */
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
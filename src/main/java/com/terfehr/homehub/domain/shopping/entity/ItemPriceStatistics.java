@@ -0,0 +1,134 @@
+package com.terfehr.homehub.domain.shopping.entity;
+
+import com.terfehr.homehub.domain.shopping.value.ItemPriceSummary;
+import com.terfehr.homehub.domain.shopping.value.KllSketch;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Currency;
+
+/**
+ * <p>Keeps track of the unit prices a Household paid for an item in a single currency. Every price is counted in a
+ * KllSketch, so the minimum, median and 90th percentile are read from a bounded amount of data instead of the
+ * ShoppingSpree history. Besides, an exponentially weighted average with the configured half-life follows the
+ * recent prices, and its deviation from the median is reported as the trend.</p>
+ *
+ * <p>The sketches of different Households can be merged for aggregate views. Rows are created by a native insert on
+ * the first price of an item.</p>
+ */
+@Entity
+@NoArgsConstructor
+@Getter
+@Table(name = "item_price_statistics",
+        uniqueConstraints = @UniqueConstraint(name = "uk_item_price_statistics_household_item_currency", columnNames = {"household_id", "item_key", "currency"}),
+        indexes = @Index(name = "idx_item_price_statistics_item_currency", columnList = "item_key, currency"))
+public class ItemPriceStatistics {
+
+    private static final double MEDIAN = 0.5;
+    private static final double P90 = 0.9;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "household_id", nullable = false)
+    private Long householdId;
+
+    @Column(name = "item_key", nullable = false)
+    private String itemKey;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private Currency currency;
+
+    @Column(name = "sketch")
+    private byte[] sketch; // Null until the first price was recorded
+
+    @Column(name = "recent_average", nullable = false)
+    private double recentAverage;
+
+    @Column(name = "last_purchased_at")
+    private LocalDateTime lastPurchasedAt;
+
+    /**
+     * Counts the given unit price.
+     *
+     * @param name The name the item was bought under.
+     * @param unitPrice The unit price in the smallest unit of the currency.
+     * @param date The date of the ShoppingSpree.
+     * @param sketchK The accuracy parameter for a new KllSketch.
+     * @param trendHalfLife The half-life of the recent average.
+     */
+    public void record(String name, long unitPrice, LocalDateTime date, int sketchK, Duration trendHalfLife) {
+        KllSketch prices = sketch != null ? KllSketch.fromBytes(sketch) : new KllSketch(sketchK);
+        prices.add(unitPrice);
+
+        if (lastPurchasedAt == null) {
+            recentAverage = unitPrice;
+        } else {
+            // Prices of the same day or back-dated ones are averaged in like on a regular moving average
+            double elapsed = Math.max(0, Duration.between(lastPurchasedAt, date).toSeconds());
+            double alpha = Math.max(1 - Math.pow(2, -elapsed / trendHalfLife.toSeconds()), 1.0 / prices.getCount());
+            recentAverage += alpha * (unitPrice - recentAverage);
+        }
+        if (lastPurchasedAt == null || !date.isBefore(lastPurchasedAt)) {
+            this.name = name;
+            this.lastPurchasedAt = date;
+        }
+        this.sketch = prices.toBytes();
+    }
+
+    /**
+     * Summarizes the recorded prices.
+     *
+     * @param unitPrice The price to rank against the recorded ones or null.
+     * @return The summary of the prices.
+     */
+    public ItemPriceSummary summarize(Long unitPrice) {
+        return summarize(name, currency, KllSketch.fromBytes(sketch), recentAverage, unitPrice);
+    }
+
+    /**
+     * Merges the given statistics of different Households for the same item and currency into a single summary. The
+     * recent average is weighted by the number of prices of every Household.
+     *
+     * @param statistics The statistics to merge. Must not be empty and all of them must contain prices.
+     * @param unitPrice The price to rank against the recorded ones or null.
+     * @return The summary of all prices.
+     */
+    public static ItemPriceSummary merge(Collection<ItemPriceStatistics> statistics, Long unitPrice) {
+        ItemPriceStatistics latest = statistics.stream()
+                .max(Comparator.comparing(ItemPriceStatistics::getLastPurchasedAt))
+                .orElseThrow();
+        KllSketch merged = null;
+        double weightedAverage = 0;
+        for (ItemPriceStatistics household : statistics) {
+            KllSketch prices = KllSketch.fromBytes(household.sketch);
+            weightedAverage += household.recentAverage * prices.getCount();
+            if (merged == null) {
+                merged = prices;
+            } else {
+                merged.merge(prices);
+            }
+        }
+        return summarize(latest.name, latest.currency, merged, weightedAverage / merged.getCount(), unitPrice);
+    }
+
+    /**
+     * Builds the summary of the given sketch.
+     */
+    private static ItemPriceSummary summarize(String name, Currency currency, KllSketch prices, double recentAverage, Long unitPrice) {
+        long median = Math.round(prices.quantile(MEDIAN));
+        return new ItemPriceSummary(name, currency, prices.getCount(),
+                Math.round(prices.getMin()), median, Math.round(prices.quantile(P90)), Math.round(prices.getMax()),
+                Math.round(recentAverage), median == 0 ? 0 : recentAverage / median - 1,
+                unitPrice == null ? null : prices.rank(unitPrice));
+    }
+}
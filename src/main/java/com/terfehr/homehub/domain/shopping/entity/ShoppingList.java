@@ -6,13 +6,15 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Entity
 @NoArgsConstructor
 @Getter
-@Table(name = "shopping_lists")
+@Table(name = "shopping_lists",
+        indexes = @Index(name = "idx_shopping_lists_household_version", columnList = "household_id, change_version"))
 public class ShoppingList {
 
     @Id
@@ -23,12 +25,16 @@ public class ShoppingList {
     private String name;
 
     @OneToMany(mappedBy = "shoppingList", cascade = CascadeType.ALL, orphanRemoval = true)
-    Set<ShoppingListItem> shoppingListItems;
+    @OrderBy("sortKey, id")
+    Set<ShoppingListItem> shoppingListItems; // Ordered by their SortKeys
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "household_id")
     private Household household;
 
+    @Column(name = "change_version", insertable = false, updatable = false, columnDefinition = "bigint default 0 not null")
+    private long changeVersion; // Stamped by the database on every insert and update, see schema.sql
+
     /**
      * Constructs a new ShoppingList object with the given name. If the name is invalid, an exception is thrown.
      *
@@ -45,14 +51,25 @@ public class ShoppingList {
     }
 
     /**
-     * Adds a ShoppingListItem to the ShoppingList.
+     * Adds a ShoppingListItem to the ShoppingList. If the ShoppingList already contains an item with the same ItemKey,
+     * its quantity is increased instead.
      *
      * @param name The name of the ShoppingListItem.
      * @param quantity The quantity of the ShoppingListItem.
+     * @return The added or increased ShoppingListItem.
      * @throws IllegalArgumentException If the given parameters are invalid.
      */
-    public void addItem(String name, int quantity) throws IllegalArgumentException {
-        this.shoppingListItems.add(new ShoppingListItem(name, quantity, this));
+    public ShoppingListItem addItem(String name, int quantity) throws IllegalArgumentException {
+        ShoppingListItem item = new ShoppingListItem(name, quantity, this);
+        Optional<ShoppingListItem> existing = this.shoppingListItems.stream()
+                .filter(i -> i.getItemKey().equals(item.getItemKey()))
+                .findFirst();
+        if (existing.isPresent()) {
+            existing.get().increaseQuantity(quantity);
+            return existing.get();
+        }
+        this.shoppingListItems.add(item);
+        return item;
     }
 
     /**
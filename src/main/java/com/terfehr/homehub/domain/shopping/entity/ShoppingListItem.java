@@ -1,13 +1,19 @@
 package com.terfehr.homehub.domain.shopping.entity;
 
+import com.terfehr.homehub.domain.shopping.value.ItemKey;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.PartitionKey;
 
 @Entity
 @NoArgsConstructor
 @Getter
-@Table(name = "shopping_list_items")
+@Table(name = "shopping_list_items",
+        indexes = {
+                @Index(name = "idx_shopping_list_items_list_version", columnList = "shopping_list_id, change_version"),
+                @Index(name = "idx_shopping_list_items_list_sort_key", columnList = "shopping_list_id, sort_key, id")
+        })
 public class ShoppingListItem {
 
     @Id
@@ -17,6 +23,9 @@ public class ShoppingListItem {
     @Column(nullable = false)
     private String name;
 
+    @Column(name = "item_key")
+    private String itemKey; // Canonical form of the name, unique per ShoppingList, see schema.sql
+
     @Column(nullable = false)
     private int quantity;
 
@@ -27,6 +36,16 @@ public class ShoppingListItem {
     @JoinColumn(name = "shopping_list_id")
     private ShoppingList shoppingList;
 
+    @PartitionKey
+    @Column(name = "household_id", updatable = false)
+    private Long householdId; // Household of the ShoppingList, which partitions the table, see schema.sql
+
+    @Column(name = "sort_key", insertable = false, updatable = false, columnDefinition = "varchar(255) collate \"C\"")
+    private String sortKey; // Appended by the database on insert and only rewritten natively, see SortKey and schema.sql
+
+    @Column(name = "change_version", insertable = false, updatable = false, columnDefinition = "bigint default 0 not null")
+    private long changeVersion; // Stamped by the database on every insert and update, see schema.sql
+
     /**
      * Constructs a new ShoppingListItem object with the given parameters.
      *
@@ -40,8 +59,10 @@ public class ShoppingListItem {
             throw new IllegalArgumentException("Invalid ShoppingListItem object");
         }
         this.name = name;
+        this.itemKey = ItemKey.of(name).value();
         this.quantity = quantity;
         this.shoppingList = shoppingList;
+        this.householdId = shoppingList.getHousehold().getId();
         this.picked = false;
     }
 
@@ -56,6 +77,7 @@ public class ShoppingListItem {
             throw new IllegalArgumentException("Invalid ShoppingListItem object");
         }
         this.name = name;
+        this.itemKey = ItemKey.of(name).value();
     }
 
     /**
@@ -71,6 +93,21 @@ public class ShoppingListItem {
         this.quantity = quantity;
     }
 
+    /**
+     * Adds the given quantity to the ShoppingListItem, as the same item was added to the ShoppingList again. The item
+     * is unpicked, as the additional quantity still has to be picked.
+     *
+     * @param quantity The quantity to add.
+     * @throws IllegalArgumentException If the given quantity is invalid.
+     */
+    public void increaseQuantity(int quantity) throws IllegalArgumentException {
+        if (!validateQuantity(quantity)) {
+            throw new IllegalArgumentException("Invalid quantity");
+        }
+        this.quantity += quantity;
+        this.picked = false;
+    }
+
     /**
      * Marks the ShoppingListItem as picked.
      *
@@ -108,22 +145,24 @@ public class ShoppingListItem {
     }
 
     /**
-     * Validates the given name to ensure it is not null or empty.
+     * Validates the given name to ensure it is not null or empty. It is public, so bulk updates that bypass the entity
+     * apply the same rule.
      *
      * @param name The name to be validated.
      * @return true if the name is not null and not empty, false otherwise.
      */
-    private boolean validateName(String name) {
+    public static boolean validateName(String name) {
         return name != null && !name.isBlank();
     }
 
     /**
-     * Validates the given quantity to ensure that it is greater than zero.
+     * Validates the given quantity to ensure that it is greater than zero. It is public, so bulk updates that bypass
+     * the entity apply the same rule.
      *
      * @param quantity The quantity to be validated.
      * @return true if the quantity is greater than zero, false otherwise.
      */
-    private boolean validateQuantity(int quantity) {
+    public static boolean validateQuantity(int quantity) {
         return quantity > 0;
     }
 
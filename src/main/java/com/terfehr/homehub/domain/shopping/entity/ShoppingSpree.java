@@ -65,14 +65,19 @@ public class ShoppingSpree {
     }
 
     /**
-     * Adds a ShoppingSpreeItem to the ShoppingSpree. If the ShoppingSpreeItem is invalid, an exception is thrown.
+     * Adds a ShoppingSpreeItem to the ShoppingSpree. If the ShoppingSpree already contains an item with the same
+     * ItemKey, its quantity is increased instead. If the ShoppingSpreeItem is invalid, an exception is thrown.
      *
      * @param name The name of the ShoppingSpreeItem.
      * @param quantity The quantity of the ShoppingSpreeItem.
      * @throws IllegalArgumentException If the ShoppingSpreeItem is invalid.
      */
     public void addShoppingSpreeItem(String name, int quantity) throws IllegalArgumentException {
-        this.shoppingSpreeItems.add(new ShoppingSpreeItem(name, quantity, this));
+        ShoppingSpreeItem item = new ShoppingSpreeItem(name, quantity, this);
+        this.shoppingSpreeItems.stream()
+                .filter(existing -> existing.getItemKey().equals(item.getItemKey()))
+                .findFirst()
+                .ifPresentOrElse(existing -> existing.increaseQuantity(quantity), () -> this.shoppingSpreeItems.add(item));
     }
 
     /**
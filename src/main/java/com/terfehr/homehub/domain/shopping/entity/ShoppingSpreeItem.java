@@ -1,11 +1,14 @@
 package com.terfehr.homehub.domain.shopping.entity;
 
+import com.terfehr.homehub.domain.shopping.value.ItemKey;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.PartitionKey;
 
 /**
  * Represents a single item in a shopping spree. In comparison to the ShoppingListItem class, it was deprived of its picked state.
+ * Optionally, it knows the price paid per unit of the item.
  */
 @Entity
 @NoArgsConstructor
@@ -20,13 +23,23 @@ public class ShoppingSpreeItem {
     @Column(nullable = false)
     private String name;
 
+    @Column(name = "item_key")
+    private String itemKey; // Canonical form of the name, unique per ShoppingSpree, see schema.sql
+
     @Column(nullable = false)
     private int quantity;
 
+    @Column(name = "unit_price")
+    private Long unitPrice; // In the smallest unit of the currency of the ShoppingExpense, null if unknown
+
     @ManyToOne
     @JoinColumn(name = "shopping_spree_id")
     private ShoppingSpree shoppingSpree;
 
+    @PartitionKey
+    @Column(name = "household_id", updatable = false)
+    private Long householdId; // Household of the ShoppingSpree, which partitions the table, see schema.sql
+
     /**
      * Constructs a ShoppingSpreeItem object representing a single item in a shopping spree.
      * The @Embeddable annotation makes it a value object instead of a persistent entity.
@@ -39,8 +52,23 @@ public class ShoppingSpreeItem {
             throw new IllegalArgumentException("Invalid ShoppingSpreeItem object");
         }
         this.name = name;
+        this.itemKey = ItemKey.of(name).value();
         this.quantity = quantity;
         this.shoppingSpree = shoppingSpree;
+        this.householdId = shoppingSpree.getHousehold().getId();
+    }
+
+    /**
+     * Adds the given quantity to the ShoppingSpreeItem, as the same item was bought again within the ShoppingSpree.
+     *
+     * @param quantity The quantity to add.
+     * @throws IllegalArgumentException If the given quantity is invalid.
+     */
+    public void increaseQuantity(int quantity) throws IllegalArgumentException {
+        if (!validateQuantity(quantity)) {
+            throw new IllegalArgumentException("Invalid quantity");
+        }
+        this.quantity += quantity;
     }
 
     /**
@@ -0,0 +1,23 @@
+package com.terfehr.homehub.domain.shopping.event;
+
+import com.terfehr.homehub.domain.shopping.entity.ShoppingListItem;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event that informs its listeners about a ShoppingListItem that was newly inserted into its ShoppingList, as opposed
+ * to an existing item whose quantity was increased. The ID of the Household and the name are captured when
+ * publishing, so listeners running after the commit do not depend on the persistence context.
+ */
+@Getter
+public class ShoppingListItemAddedEvent extends ApplicationEvent {
+
+    private final Long householdId;
+    private final String name;
+
+    public ShoppingListItemAddedEvent(ShoppingListItem item) {
+        super(item);
+        this.householdId = item.getHouseholdId();
+        this.name = item.getName();
+    }
+}
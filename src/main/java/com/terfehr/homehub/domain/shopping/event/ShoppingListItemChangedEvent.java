@@ -0,0 +1,30 @@
+package com.terfehr.homehub.domain.shopping.event;
+
+import com.terfehr.homehub.domain.shopping.entity.ShoppingListItem;
+import com.terfehr.homehub.domain.shopping.value.ShoppingListItemChange;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event that informs its listeners about a ShoppingListItem that was added to, changed in or removed from its
+ * ShoppingList. The ID of its ShoppingList and its state are captured when publishing, so listeners running after the
+ * commit do not depend on the persistence context.
+ */
+@Getter
+public class ShoppingListItemChangedEvent extends ApplicationEvent {
+
+    private final Long shoppingListId;
+    private final ShoppingListItemChange change;
+
+    public ShoppingListItemChangedEvent(ShoppingListItem item, boolean removed) {
+        super(item);
+        this.shoppingListId = item.getShoppingList().getId();
+        this.change = ShoppingListItemChange.of(item, removed);
+    }
+
+    public ShoppingListItemChangedEvent(Long shoppingListId, ShoppingListItemChange change) {
+        super(change);
+        this.shoppingListId = shoppingListId;
+        this.change = change;
+    }
+}
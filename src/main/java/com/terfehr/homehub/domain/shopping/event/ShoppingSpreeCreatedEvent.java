@@ -0,0 +1,33 @@
+package com.terfehr.homehub.domain.shopping.event;
+
+import com.terfehr.homehub.domain.shopping.entity.ShoppingSpree;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+
+/**
+ * Event that informs its listeners about a ShoppingSpree that was created from the picked items of a ShoppingList.
+ * The source is the ShoppingSpree, the ID of its Household and the names of its items are captured when publishing.
+ */
+@Getter
+public class ShoppingSpreeCreatedEvent extends ApplicationEvent {
+
+    private final Long householdId;
+    private final List<String> itemNames;
+
+    public ShoppingSpreeCreatedEvent(ShoppingSpree spree, List<String> itemNames) {
+        super(spree);
+        this.householdId = spree.getHousehold().getId();
+        this.itemNames = List.copyOf(itemNames);
+    }
+
+    /**
+     * Returns the created ShoppingSpree.
+     *
+     * @return The ShoppingSpree the event was published for.
+     */
+    public ShoppingSpree getShoppingSpree() {
+        return (ShoppingSpree) getSource();
+    }
+}
@@ -0,0 +1,10 @@
+package com.terfehr.homehub.domain.shopping.exception;
+
+/**
+ * Exception thrown when a ShoppingListItem cannot be found in its ShoppingList when fetching from the database.
+ */
+public class ShoppingListItemNotFoundException extends RuntimeException {
+    public ShoppingListItemNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,56 @@
+package com.terfehr.homehub.domain.shopping.repository;
+
+import com.terfehr.homehub.domain.shopping.entity.FrequentItemSketch;
+import com.terfehr.homehub.domain.shopping.value.FrequentItemsView;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface FrequentItemSketchRepositoryInterface extends JpaRepository<FrequentItemSketch, Long> {
+
+    /**
+     * Creates an empty FrequentItemSketch for the given Household unless it already has one. Concurrent calls are
+     * serialized by the primary key, so exactly one of them creates the sketch.
+     *
+     * @param householdId The ID of the Household.
+     * @param landmark The landmark the weights of the sketch are relative to.
+     * @return 1, if the sketch was created. 0 otherwise.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "frequent_item_sketches"))
+    @Query(value = """
+            insert into frequent_item_sketches (household_id, landmark)
+            values (:householdId, :landmark)
+            on conflict (household_id) do nothing
+            """, nativeQuery = true)
+    int createIfAbsent(@Param("householdId") Long householdId, @Param("landmark") LocalDateTime landmark);
+
+    /**
+     * Retrieves the FrequentItemSketch of the given Household and locks it until the end of the transaction, so
+     * concurrent ShoppingSprees of the Household do not overwrite each other's counts.
+     *
+     * @param householdId The ID of the Household.
+     * @return An Optional containing either the FrequentItemSketch or null if the Household has none.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from FrequentItemSketch s where s.householdId = :householdId")
+    Optional<FrequentItemSketch> findByIdForUpdate(@Param("householdId") Long householdId);
+
+    /**
+     * Retrieves the top items of the given Household without loading the counters of its sketch.
+     *
+     * @param householdId The ID of the Household.
+     * @return An Optional containing either the top items or null if the Household has no sketch.
+     */
+    @Query("select s.topItems as topItems, s.landmark as landmark from FrequentItemSketch s where s.householdId = :householdId")
+    Optional<FrequentItemsView> findTopItemsByHouseholdId(@Param("householdId") Long householdId);
+}
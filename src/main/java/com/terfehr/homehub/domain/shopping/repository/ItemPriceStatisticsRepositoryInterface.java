@@ -0,0 +1,78 @@
+package com.terfehr.homehub.domain.shopping.repository;
+
+import com.terfehr.homehub.domain.shopping.entity.ItemPriceStatistics;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Currency;
+import java.util.List;
+
+public interface ItemPriceStatisticsRepositoryInterface extends JpaRepository<ItemPriceStatistics, Long> {
+
+    /**
+     * Creates empty ItemPriceStatistics for all given items of the given Household that do not have any in the given
+     * currency yet. Concurrent calls are serialized by the unique constraint, so every item gets exactly one row. Rows
+     * are inserted in the given order, so the ItemKeys have to be sorted to keep concurrent calls from deadlocking.
+     *
+     * @param householdId The ID of the Household.
+     * @param currency The ISO 4217 code of the currency.
+     * @param itemKeys The ItemKeys of the items in ascending order.
+     * @param names The names of the items in the same order.
+     * @return The number of created rows.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "item_price_statistics"))
+    @Query(value = """
+            insert into item_price_statistics (household_id, item_key, name, currency, recent_average)
+            select :householdId, i.item_key, i.name, :currency, 0
+            from unnest(cast(:itemKeys as text[]), cast(:names as text[])) as i(item_key, name)
+            on conflict (household_id, item_key, currency) do nothing
+            """, nativeQuery = true)
+    int createIfAbsent(@Param("householdId") Long householdId, @Param("currency") String currency,
+                       @Param("itemKeys") String[] itemKeys, @Param("names") String[] names);
+
+    /**
+     * Retrieves the ItemPriceStatistics of the given items of the given Household and locks them until the end of
+     * the transaction. Rows are locked in the order of their ItemKeys, so concurrent ShoppingSprees do not deadlock.
+     *
+     * @param householdId The ID of the Household.
+     * @param currency The currency of the prices.
+     * @param itemKeys The ItemKeys of the items.
+     * @return A List containing the ItemPriceStatistics ordered by ItemKey.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select s from ItemPriceStatistics s
+            where s.householdId = :householdId and s.currency = :currency and s.itemKey in :itemKeys
+            order by s.itemKey
+            """)
+    List<ItemPriceStatistics> findAllForUpdate(@Param("householdId") Long householdId, @Param("currency") Currency currency,
+                                               @Param("itemKeys") Collection<String> itemKeys);
+
+    /**
+     * Retrieves the ItemPriceStatistics of the given item of the given Household in all currencies.
+     *
+     * @param householdId The ID of the Household.
+     * @param itemKey The ItemKey of the item.
+     * @return A List containing the ItemPriceStatistics that contain prices.
+     */
+    @Query("select s from ItemPriceStatistics s where s.householdId = :householdId and s.itemKey = :itemKey and s.sketch is not null")
+    List<ItemPriceStatistics> findAllByHouseholdIdAndItemKey(@Param("householdId") Long householdId, @Param("itemKey") String itemKey);
+
+    /**
+     * Retrieves the ItemPriceStatistics of the given item of all Households in all currencies.
+     *
+     * @param itemKey The ItemKey of the item.
+     * @return A List containing the ItemPriceStatistics that contain prices.
+     */
+    @Query("select s from ItemPriceStatistics s where s.itemKey = :itemKey and s.sketch is not null")
+    List<ItemPriceStatistics> findAllByItemKey(@Param("itemKey") String itemKey);
+}
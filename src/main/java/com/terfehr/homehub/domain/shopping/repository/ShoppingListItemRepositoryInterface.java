@@ -1,9 +1,18 @@
 package com.terfehr.homehub.domain.shopping.repository;
 
+import com.terfehr.homehub.domain.household.value.TermFrequency;
 import com.terfehr.homehub.domain.shopping.entity.ShoppingListItem;
+import com.terfehr.homehub.domain.shopping.value.UpsertedItemView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,4 +34,260 @@ public interface ShoppingListItemRepositoryInterface extends JpaRepository<Shopp
      * @return A List of ShoppingListItems.
      */
     List<ShoppingListItem> findAllByShoppingListId(Long shoppingListId);
+
+    /**
+     * Retrieves every name of the ShoppingListItems of the given Household together with how often it was used.
+     *
+     * @param householdId The ID of the Household.
+     * @return A List containing the names and their frequencies.
+     */
+    @Query("""
+            select new com.terfehr.homehub.domain.household.value.TermFrequency(i.name, count(i))
+            from ShoppingListItem i
+            where i.householdId = :householdId
+            group by i.name
+            """)
+    List<TermFrequency> findNameFrequenciesByHouseholdId(@Param("householdId") Long householdId);
+
+    /**
+     * Retrieves all ShoppingListItems of the given Household that changed after the given change version together
+     * with their ShoppingLists.
+     *
+     * @param householdId The ID of the Household.
+     * @param changeVersion The change version the client has already seen.
+     * @return A List of the changed ShoppingListItems.
+     */
+    @Query("""
+            select i
+            from ShoppingListItem i
+            join fetch i.shoppingList l
+            where i.householdId = :householdId
+              and i.changeVersion > :changeVersion
+            """)
+    List<ShoppingListItem> findAllChangedByHouseholdId(@Param("householdId") Long householdId, @Param("changeVersion") long changeVersion);
+
+    /**
+     * Retrieves all ShoppingListItems of the given ShoppingList with one of the given IDs.
+     *
+     * @param shoppingListId The ID of the ShoppingList.
+     * @param ids The IDs of the ShoppingListItems.
+     * @return A List of the found ShoppingListItems.
+     */
+    List<ShoppingListItem> findAllByShoppingListIdAndIdIn(Long shoppingListId, Collection<Long> ids);
+
+    /**
+     * Sets the picked state of the given ShoppingListItems of the given ShoppingList with a single statement. The
+     * arrays are paired by index, items that already are in the desired state are not touched. The statement returns
+     * rows, so it is executed as a query.
+     *
+     * @param shoppingListId The ID of the ShoppingList.
+     * @param itemIds The IDs of the ShoppingListItems.
+     * @param picked The desired picked state per item.
+     * @return The IDs of the changed items.
+     */
+    @Query(value = """
+            update shopping_list_items i
+            set picked = u.picked
+            from unnest(cast(:itemIds as bigint[]), cast(:picked as boolean[])) as u(id, picked)
+            where i.household_id = (select household_id from shopping_lists where id = :shoppingListId)
+              and i.id = u.id and i.shopping_list_id = :shoppingListId and i.picked <> u.picked
+            returning i.id
+            """, nativeQuery = true)
+    List<Long> updatePicked(@Param("shoppingListId") Long shoppingListId, @Param("itemIds") Long[] itemIds, @Param("picked") Boolean[] picked);
+
+    /**
+     * Sets the quantity of the given ShoppingListItems of the given ShoppingList with a single statement. The arrays
+     * are paired by index, items that already have the desired quantity are not touched. The statement returns rows,
+     * so it is executed as a query.
+     *
+     * @param shoppingListId The ID of the ShoppingList.
+     * @param itemIds The IDs of the ShoppingListItems.
+     * @param quantities The desired quantity per item.
+     * @return The IDs of the changed items.
+     */
+    @Query(value = """
+            update shopping_list_items i
+            set quantity = u.quantity
+            from unnest(cast(:itemIds as bigint[]), cast(:quantities as integer[])) as u(id, quantity)
+            where i.household_id = (select household_id from shopping_lists where id = :shoppingListId)
+              and i.id = u.id and i.shopping_list_id = :shoppingListId and i.quantity <> u.quantity
+            returning i.id
+            """, nativeQuery = true)
+    List<Long> updateQuantities(@Param("shoppingListId") Long shoppingListId, @Param("itemIds") Long[] itemIds, @Param("quantities") Integer[] quantities);
+
+    /**
+     * Sets the name and ItemKey of the given ShoppingListItems of the given ShoppingList with a single statement. The
+     * arrays are paired by index, items that already have the desired name are not touched. Items whose new ItemKey
+     * belongs to another item of the list are skipped, as they would duplicate it. The statement returns rows, so it
+     * is executed as a query.
+     *
+     * @param shoppingListId The ID of the ShoppingList.
+     * @param itemIds The IDs of the ShoppingListItems.
+     * @param names The desired name per item.
+     * @param itemKeys The ItemKey of the desired name per item.
+     * @return The IDs of the changed items.
+     */
+    @Query(value = """
+            update shopping_list_items i
+            set name = u.name, item_key = u.item_key
+            from unnest(cast(:itemIds as bigint[]), cast(:names as varchar[]), cast(:itemKeys as varchar[])) as u(id, name, item_key)
+            where i.household_id = (select household_id from shopping_lists where id = :shoppingListId)
+              and i.id = u.id and i.shopping_list_id = :shoppingListId and i.name <> u.name
+              and not exists (
+                select 1 from shopping_list_items o
+                where o.household_id = i.household_id and o.shopping_list_id = i.shopping_list_id
+                  and o.item_key = u.item_key and o.id <> i.id
+              )
+            returning i.id
+            """, nativeQuery = true)
+    List<Long> updateNames(@Param("shoppingListId") Long shoppingListId, @Param("itemIds") Long[] itemIds,
+                           @Param("names") String[] names, @Param("itemKeys") String[] itemKeys);
+
+    /**
+     * Adds an item to the given ShoppingList or, if the list already contains an item with the same ItemKey,
+     * atomically adds the quantity to it and unpicks it. Concurrent adds of the same item are serialized by the unique
+     * index on the Household, the ShoppingList and the ItemKey, so they never create duplicates. The statement returns rows, so it is
+     * executed as a query. An item inserted by a concurrent add that is not visible yet is reported as inserted.
+     *
+     * @param shoppingListId The ID of the ShoppingList.
+     * @param name The name of the item, which is kept if the item already exists.
+     * @param itemKey The ItemKey of the name.
+     * @param quantity The quantity to add.
+     * @return The ID of the added or increased item and whether it was inserted.
+     */
+    @Query(value = """
+            with existing as (
+                select 1 from shopping_list_items
+                where household_id = (select household_id from shopping_lists where id = :shoppingListId)
+                  and shopping_list_id = :shoppingListId and item_key = :itemKey
+            )
+            insert into shopping_list_items (name, item_key, quantity, picked, shopping_list_id, household_id)
+            values (:name, :itemKey, :quantity, false, :shoppingListId,
+                    (select household_id from shopping_lists where id = :shoppingListId))
+            on conflict (household_id, shopping_list_id, item_key) do update
+            set quantity = shopping_list_items.quantity + excluded.quantity, picked = false
+            returning id as id, not exists (select 1 from existing) as inserted
+            """, nativeQuery = true)
+    UpsertedItemView upsertItem(@Param("shoppingListId") Long shoppingListId, @Param("name") String name,
+                    @Param("itemKey") String itemKey, @Param("quantity") int quantity);
+
+    /**
+     * Retrieves the SortKey of the given item of the given ShoppingList.
+     *
+     * @param shoppingListId The ID of the ShoppingList.
+     * @param itemId The ID of the ShoppingListItem.
+     * @return An Optional containing the SortKey or an empty Optional if the ShoppingList does not contain the item.
+     */
+    @Query(value = "select i.sort_key from shopping_list_items i where i.household_id = (select household_id from shopping_lists where id = :shoppingListId) and i.id = :itemId and i.shopping_list_id = :shoppingListId", nativeQuery = true)
+    Optional<String> findSortKey(@Param("shoppingListId") Long shoppingListId, @Param("itemId") Long itemId);
+
+    /**
+     * Retrieves the SortKey of the first item of the given ShoppingList other than the given one, reading a single
+     * entry of the index on the ShoppingList and the SortKey.
+     *
+     * @param shoppingListId The ID of the ShoppingList.
+     * @param excludedItemId The ID of the item to skip, usually the one being moved.
+     * @return An Optional containing the SortKey or an empty Optional if there is no other item.
+     */
+    @Query(value = """
+            select i.sort_key
+            from shopping_list_items i
+            where i.household_id = (select household_id from shopping_lists where id = :shoppingListId)
+              and i.shopping_list_id = :shoppingListId and i.id <> :excludedItemId
+            order by i.sort_key, i.id
+            limit 1
+            """, nativeQuery = true)
+    Optional<String> findFirstSortKey(@Param("shoppingListId") Long shoppingListId, @Param("excludedItemId") Long excludedItemId);
+
+    /**
+     * Retrieves the SortKey of the item following the given position in the given ShoppingList, skipping the given
+     * item. The position is compared as a key set of the SortKey and the ID, so items sharing a SortKey keep their
+     * order.
+     *
+     * @param shoppingListId The ID of the ShoppingList.
+     * @param sortKey The SortKey of the position.
+     * @param itemId The ID of the item at the position.
+     * @param excludedItemId The ID of the item to skip, usually the one being moved.
+     * @return An Optional containing the SortKey or an empty Optional if no other item follows.
+     */
+    @Query(value = """
+            select i.sort_key
+            from shopping_list_items i
+            where i.household_id = (select household_id from shopping_lists where id = :shoppingListId)
+              and i.shopping_list_id = :shoppingListId and (i.sort_key, i.id) > (:sortKey, :itemId) and i.id <> :excludedItemId
+            order by i.sort_key, i.id
+            limit 1
+            """, nativeQuery = true)
+    Optional<String> findNextSortKey(@Param("shoppingListId") Long shoppingListId, @Param("sortKey") String sortKey,
+                                     @Param("itemId") Long itemId, @Param("excludedItemId") Long excludedItemId);
+
+    /**
+     * Sets the SortKey of the given item, which moves it within its ShoppingList without touching any other item.
+     * Loaded items are cleared, as their SortKeys are no longer up to date.
+     *
+     * @param householdId The ID of the Household of the ShoppingListItem.
+     * @param itemId The ID of the ShoppingListItem.
+     * @param sortKey The new SortKey.
+     * @return The number of updated items.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "shopping_list_items"))
+    @Query(value = "update shopping_list_items set sort_key = :sortKey where household_id = :householdId and id = :itemId", nativeQuery = true)
+    int setSortKey(@Param("householdId") Long householdId, @Param("itemId") Long itemId, @Param("sortKey") String sortKey);
+
+    /**
+     * Locks all items of the given ShoppingList in the order of their IDs until the end of the transaction. Writing
+     * an item also locks its Household to stamp the change version, see schema.sql, so the items have to be locked
+     * before rebalancing them or the statement could deadlock with a concurrent one.
+     *
+     * @param shoppingListId The ID of the ShoppingList.
+     * @return The IDs of the locked items.
+     */
+    @Query(value = """
+            select i.id
+            from shopping_list_items i
+            where i.household_id = (select household_id from shopping_lists where id = :shoppingListId) and i.shopping_list_id = :shoppingListId
+            order by i.id
+            for update
+            """, nativeQuery = true)
+    List<Long> lockAllByShoppingListId(@Param("shoppingListId") Long shoppingListId);
+
+    /**
+     * Replaces the SortKeys of all items of the given ShoppingList by short, evenly spaced ones in their current
+     * order. Items sharing a SortKey keep the order of their IDs and get distinct keys. Items whose SortKey does not
+     * change are not written. The items have to be locked with {@link #lockAllByShoppingListId} before.
+     *
+     * @param shoppingListId The ID of the ShoppingList.
+     * @return The number of updated items.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "shopping_list_items"))
+    @Query(value = """
+            update shopping_list_items i
+            set sort_key = r.sort_key
+            from (
+                select id, homehub_sort_key(row_number() over (order by sort_key, id), count(*) over ()) as sort_key
+                from shopping_list_items
+                where household_id = (select household_id from shopping_lists where id = :shoppingListId) and shopping_list_id = :shoppingListId
+            ) r
+            where i.household_id = (select household_id from shopping_lists where id = :shoppingListId) and i.id = r.id and i.sort_key <> r.sort_key
+            """, nativeQuery = true)
+    int rebalance(@Param("shoppingListId") Long shoppingListId);
+
+    /**
+     * Retrieves the IDs of all ShoppingLists whose SortKeys have to be rebalanced, as one of them grew longer than the
+     * given length or several items share one.
+     *
+     * @param maxLength The maximum length of a SortKey.
+     * @return A List of the IDs of the ShoppingLists.
+     */
+    @Query(value = """
+            select i.shopping_list_id
+            from shopping_list_items i
+            where i.shopping_list_id is not null
+            group by i.shopping_list_id
+            having max(length(i.sort_key)) > :maxLength or count(distinct i.sort_key) < count(*)
+            order by i.shopping_list_id
+            """, nativeQuery = true)
+    List<Long> findAllShoppingListIdsToRebalance(@Param("maxLength") int maxLength);
 }
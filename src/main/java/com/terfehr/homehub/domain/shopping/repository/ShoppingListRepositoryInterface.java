@@ -1,9 +1,14 @@
 package com.terfehr.homehub.domain.shopping.repository;
 
 import com.terfehr.homehub.domain.shopping.entity.ShoppingList;
+import com.terfehr.homehub.domain.shopping.value.ShoppingListSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface ShoppingListRepositoryInterface extends JpaRepository<ShoppingList, Long> {
@@ -25,4 +30,40 @@ public interface ShoppingListRepositoryInterface extends JpaRepository<ShoppingL
      */
     @NonNull
     Optional<ShoppingList> findByName(String name);
+
+    /**
+     * Retrieves all ShoppingLists of the given Household that changed after the given change version.
+     *
+     * @param householdId The ID of the Household.
+     * @param changeVersion The change version the client has already seen.
+     * @return A List of the changed ShoppingLists.
+     */
+    List<ShoppingList> findAllByHouseholdIdAndChangeVersionGreaterThan(Long householdId, long changeVersion);
+
+    /**
+     * Counts the unpicked and all items of every ShoppingList of a Household in a single aggregate query, without
+     * loading the ShoppingLists or their items. ShoppingLists without items are included with zero counts.
+     *
+     * @param householdId The ID of the Household.
+     * @return A List of the ShoppingListSummaries ordered by the name of the ShoppingList.
+     */
+    @Query("""
+            select new com.terfehr.homehub.domain.shopping.value.ShoppingListSummary(
+                l.id, l.name, count(i.id) filter (where i.picked = false), count(i.id))
+            from ShoppingList l left join l.shoppingListItems i
+            where l.household.id = :householdId
+            group by l.id, l.name
+            order by l.name, l.id
+            """)
+    @Transactional(readOnly = true)
+    List<ShoppingListSummary> findAllSummariesByHouseholdId(@Param("householdId") Long householdId);
+
+    /**
+     * Retrieves the ID of the Household the given ShoppingList belongs to, without loading the ShoppingList.
+     *
+     * @param id The ID of the ShoppingList.
+     * @return An Optional containing either the ID of the Household or null if the ShoppingList does not exist.
+     */
+    @Query("select s.household.id from ShoppingList s where s.id = :id")
+    Optional<Long> findHouseholdIdById(@Param("id") Long id);
 }
@@ -1,7 +1,13 @@
 package com.terfehr.homehub.domain.shopping.repository;
 
+import com.terfehr.homehub.domain.household.value.TermFrequency;
 import com.terfehr.homehub.domain.shopping.entity.ShoppingSpreeItem;
+import com.terfehr.homehub.domain.shopping.value.FrequentItemPurchase;
+import com.terfehr.homehub.domain.shopping.value.ItemPriceView;
+import com.terfehr.homehub.domain.shopping.value.MovedItemView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 
 import java.util.List;
@@ -25,4 +31,79 @@ public interface ShoppingSpreeItemRepositoryInterface extends JpaRepository<Shop
      * @return A List of ShoppingSpreeItems.
      */
     List<ShoppingSpreeItem> findAllByShoppingSpreeId(@NonNull Long shoppingSpreeId);
+
+    /**
+     * Retrieves every name of the ShoppingSpreeItems of the given Household together with how often it was used.
+     *
+     * @param householdId The ID of the Household.
+     * @return A List containing the names and their frequencies.
+     */
+    @Query("""
+            select new com.terfehr.homehub.domain.household.value.TermFrequency(i.name, count(i))
+            from ShoppingSpreeItem i
+            where i.householdId = :householdId
+            group by i.name
+            """)
+    List<TermFrequency> findNameFrequenciesByHouseholdId(@Param("householdId") Long householdId);
+
+    /**
+     * Retrieves the name of every ShoppingSpreeItem of the given Household together with the date of its ShoppingSpree.
+     *
+     * @param householdId The ID of the Household.
+     * @return A List of all purchases of the Household.
+     */
+    @Query("""
+            select new com.terfehr.homehub.domain.shopping.value.FrequentItemPurchase(i.name, s.date)
+            from ShoppingSpreeItem i
+            join i.shoppingSpree s
+            where i.householdId = :householdId
+            """)
+    List<FrequentItemPurchase> findPurchasesByHouseholdId(@Param("householdId") Long householdId);
+
+    /**
+     * Moves all picked ShoppingListItems of the given ShoppingList into the given ShoppingSpree with a single statement.
+     * The items are deleted from the list and inserted into the spree set-based inside the database, so the cost does
+     * not grow with one round trip per item. Items with the same ItemKey are aggregated into a single spree item. The
+     * statement returns rows, so it is executed as a query. Pending changes have to be flushed before and collections
+     * that are already loaded are not updated.
+     *
+     * @param shoppingListId The ID of the ShoppingList to move the picked items from.
+     * @param shoppingSpreeId The ID of the persisted ShoppingSpree to move the items to.
+     * @return The moved items with their state in the ShoppingList.
+     */
+    @Query(value = """
+            with moved as (
+                delete from shopping_list_items
+                where household_id = (select household_id from shopping_lists where id = :shoppingListId) and shopping_list_id = :shoppingListId and picked
+                returning id, name, item_key, quantity, sort_key
+            ), inserted as (
+                insert into shopping_spree_items (id, name, item_key, quantity, shopping_spree_id, household_id)
+                select nextval('shopping_spree_items_seq'), min(moved.name), moved.item_key, sum(moved.quantity), :shoppingSpreeId,
+                       (select household_id from shopping_sprees where id = :shoppingSpreeId)
+                from moved
+                group by moved.item_key
+            )
+            select id as id, name as name, quantity as quantity, sort_key as sortKey from moved
+            """, nativeQuery = true)
+    List<MovedItemView> movePickedItems(@Param("shoppingListId") Long shoppingListId, @Param("shoppingSpreeId") Long shoppingSpreeId);
+
+    /**
+     * Sets the unit prices of the items of the given ShoppingSpree with a single statement. Items are matched by their
+     * ItemKey and keys without a matching item are ignored. The statement returns rows, so it is executed as a query.
+     *
+     * @param shoppingSpreeId The ID of the ShoppingSpree.
+     * @param itemKeys The ItemKeys of the items.
+     * @param unitPrices The unit prices in the same order, in the smallest unit of the currency of the ShoppingExpense.
+     * @return The items whose unit price was set.
+     */
+    @Query(value = """
+            update shopping_spree_items i
+            set unit_price = p.unit_price
+            from unnest(cast(:itemKeys as text[]), cast(:unitPrices as bigint[])) as p(item_key, unit_price)
+            where i.household_id = (select household_id from shopping_sprees where id = :shoppingSpreeId)
+              and i.shopping_spree_id = :shoppingSpreeId and i.item_key = p.item_key
+            returning i.item_key as itemKey, i.name as name, i.unit_price as unitPrice
+            """, nativeQuery = true)
+    List<ItemPriceView> setUnitPrices(@Param("shoppingSpreeId") Long shoppingSpreeId, @Param("itemKeys") String[] itemKeys,
+                                      @Param("unitPrices") Long[] unitPrices);
 }
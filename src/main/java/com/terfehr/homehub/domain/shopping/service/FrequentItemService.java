@@ -0,0 +1,70 @@
+package com.terfehr.homehub.domain.shopping.service;
+
+import com.terfehr.homehub.domain.shopping.entity.FrequentItemSketch;
+import com.terfehr.homehub.domain.shopping.repository.FrequentItemSketchRepositoryInterface;
+import com.terfehr.homehub.domain.shopping.repository.ShoppingSpreeItemRepositoryInterface;
+import com.terfehr.homehub.domain.shopping.value.FrequentItem;
+import com.terfehr.homehub.domain.shopping.value.FrequentItemPurchase;
+import com.terfehr.homehub.domain.shopping.value.FrequentItemSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Service for maintaining the FrequentItemSketches of Households. Purchases are counted incrementally in the same unit
+ * of work that creates their ShoppingSpree, so the frequent items of a Household are read from a single row instead
+ * of grouping its whole ShoppingSpree history. The sketch of a Household is built from its history once, when its
+ * first purchase is recorded.
+ */
+@Service
+public class FrequentItemService {
+
+    private final FrequentItemSketchRepositoryInterface frequentItemSketchRepository;
+    private final ShoppingSpreeItemRepositoryInterface shoppingSpreeItemRepository;
+    private final FrequentItemSettings settings;
+
+    public FrequentItemService(FrequentItemSketchRepositoryInterface frequentItemSketchRepository,
+                               ShoppingSpreeItemRepositoryInterface shoppingSpreeItemRepository,
+                               @Value("${frequent-items.half-life-days}") long halfLifeDays,
+                               @Value("${frequent-items.capacity}") int capacity,
+                               @Value("${frequent-items.sketch-width}") int sketchWidth,
+                               @Value("${frequent-items.sketch-depth}") int sketchDepth) {
+        this.frequentItemSketchRepository = frequentItemSketchRepository;
+        this.shoppingSpreeItemRepository = shoppingSpreeItemRepository;
+        this.settings = new FrequentItemSettings(Duration.ofDays(halfLifeDays), capacity, sketchWidth, sketchDepth);
+    }
+
+    /**
+     * Counts the items of a ShoppingSpree that was just created. If the Household has no sketch yet, it is built from
+     * its whole ShoppingSpree history instead, which already contains the given items.
+     *
+     * @param householdId The ID of the Household.
+     * @param itemNames The names of the items of the ShoppingSpree.
+     * @param date The date of the ShoppingSpree.
+     */
+    public void recordShoppingSpree(Long householdId, Collection<String> itemNames, LocalDateTime date) {
+        boolean created = frequentItemSketchRepository.createIfAbsent(householdId, date) == 1;
+        FrequentItemSketch sketch = frequentItemSketchRepository.findByIdForUpdate(householdId).orElseThrow();
+        List<FrequentItemPurchase> purchases = created
+                ? shoppingSpreeItemRepository.findPurchasesByHouseholdId(householdId)
+                : itemNames.stream().map(name -> new FrequentItemPurchase(name, date)).toList();
+        sketch.record(purchases, settings);
+    }
+
+    /**
+     * Retrieves the items the given Household buys most frequently, weighted by how recently they were bought.
+     *
+     * @param householdId The ID of the Household.
+     * @param limit The maximum number of items.
+     * @return A List of FrequentItems ordered by descending weight. Empty, if the Household has not bought anything.
+     */
+    public List<FrequentItem> getFrequentItems(Long householdId, int limit) {
+        return frequentItemSketchRepository.findTopItemsByHouseholdId(householdId)
+                .map(view -> FrequentItemSketch.getTopItems(view.getTopItems(), view.getLandmark(), LocalDateTime.now(), settings.halfLife(), limit))
+                .orElse(List.of());
+    }
+}
@@ -0,0 +1,106 @@
+package com.terfehr.homehub.domain.shopping.service;
+
+import com.terfehr.homehub.domain.shopping.entity.ItemPriceStatistics;
+import com.terfehr.homehub.domain.shopping.repository.ItemPriceStatisticsRepositoryInterface;
+import com.terfehr.homehub.domain.shopping.value.ItemKey;
+import com.terfehr.homehub.domain.shopping.value.ItemPriceSummary;
+import com.terfehr.homehub.domain.shopping.value.ItemPriceView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for maintaining the ItemPriceStatistics of Households. Unit prices are counted incrementally in the same
+ * unit of work that sets them on the ShoppingSpreeItems, so answering whether a price is a good one only reads a
+ * single row per currency instead of the ShoppingSpree history.
+ */
+@Service
+public class ItemPriceService {
+
+    private final ItemPriceStatisticsRepositoryInterface itemPriceStatisticsRepository;
+    private final int sketchK;
+    private final Duration trendHalfLife;
+
+    public ItemPriceService(ItemPriceStatisticsRepositoryInterface itemPriceStatisticsRepository,
+                            @Value("${item-prices.sketch-k}") int sketchK,
+                            @Value("${item-prices.trend-half-life-days}") long trendHalfLifeDays) {
+        this.itemPriceStatisticsRepository = itemPriceStatisticsRepository;
+        this.sketchK = sketchK;
+        this.trendHalfLife = Duration.ofDays(trendHalfLifeDays);
+    }
+
+    /**
+     * Counts the given unit prices in the ItemPriceStatistics of the given Household. Missing statistics are created in
+     * the order of their ItemKeys, so concurrent ShoppingSprees do not deadlock on the unique index.
+     *
+     * @param householdId The ID of the Household.
+     * @param currency The currency the prices were paid in.
+     * @param prices The items whose unit price was set.
+     * @param date The date of the ShoppingSpree.
+     */
+    public void recordUnitPrices(Long householdId, Currency currency, Collection<ItemPriceView> prices, LocalDateTime date) {
+        if (prices.isEmpty()) {
+            return;
+        }
+        List<ItemPriceView> sorted = prices.stream().sorted(Comparator.comparing(ItemPriceView::getItemKey)).toList();
+        itemPriceStatisticsRepository.createIfAbsent(householdId, currency.getCurrencyCode(),
+                sorted.stream().map(ItemPriceView::getItemKey).toArray(String[]::new),
+                sorted.stream().map(ItemPriceView::getName).toArray(String[]::new));
+        Map<String, ItemPriceStatistics> statistics = itemPriceStatisticsRepository
+                .findAllForUpdate(householdId, currency, prices.stream().map(ItemPriceView::getItemKey).toList()).stream()
+                .collect(Collectors.toMap(ItemPriceStatistics::getItemKey, Function.identity()));
+        for (ItemPriceView price : prices) {
+            statistics.get(price.getItemKey()).record(price.getName(), price.getUnitPrice(), date, sketchK, trendHalfLife);
+        }
+    }
+
+    /**
+     * Retrieves the price statistics of the given item of the given Household, one per currency it was bought in.
+     *
+     * @param householdId The ID of the Household.
+     * @param itemName The name of the item.
+     * @param unitPrice A price to rank against the recorded ones or null.
+     * @return A List of ItemPriceSummaries ordered by the number of prices, most frequently used currency first.
+     */
+    public List<ItemPriceSummary> getStatistics(Long householdId, String itemName, Long unitPrice) {
+        return itemPriceStatisticsRepository.findAllByHouseholdIdAndItemKey(householdId, ItemKey.of(itemName).value()).stream()
+                .map(statistics -> statistics.summarize(unitPrice))
+                .sorted(Comparator.comparingLong(ItemPriceSummary::count).reversed())
+                .toList();
+    }
+
+    /**
+     * Retrieves the ItemPriceStatistics of the given item of all Households.
+     *
+     * @param itemName The name of the item.
+     * @return A List of the ItemPriceStatistics of all Households and currencies.
+     */
+    public List<ItemPriceStatistics> findAllStatistics(String itemName) {
+        return itemPriceStatisticsRepository.findAllByItemKey(ItemKey.of(itemName).value());
+    }
+
+    /**
+     * Merges the given ItemPriceStatistics of an item into one summary per currency.
+     *
+     * @param statistics The ItemPriceStatistics to merge.
+     * @param unitPrice A price to rank against the recorded ones or null.
+     * @return A List of ItemPriceSummaries ordered by the number of prices, most frequently used currency first.
+     */
+    public List<ItemPriceSummary> aggregate(List<ItemPriceStatistics> statistics, Long unitPrice) {
+        return statistics.stream()
+                .collect(Collectors.groupingBy(ItemPriceStatistics::getCurrency))
+                .values().stream()
+                .map(currencyStatistics -> ItemPriceStatistics.merge(currencyStatistics, unitPrice))
+                .sorted(Comparator.comparingLong(ItemPriceSummary::count).reversed())
+                .toList();
+    }
+}
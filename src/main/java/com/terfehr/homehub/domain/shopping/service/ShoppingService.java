@@ -2,47 +2,289 @@ package com.terfehr.homehub.domain.shopping.service;
 
 import com.terfehr.homehub.domain.bookkeeping.entity.Account;
 import com.terfehr.homehub.domain.household.entity.Household;
+import com.terfehr.homehub.domain.household.value.SortKey;
 import com.terfehr.homehub.domain.shopping.entity.ShoppingList;
 import com.terfehr.homehub.domain.shopping.entity.ShoppingListItem;
 import com.terfehr.homehub.domain.shopping.entity.ShoppingSpree;
+import com.terfehr.homehub.domain.shopping.event.ShoppingListItemAddedEvent;
+import com.terfehr.homehub.domain.shopping.event.ShoppingListItemChangedEvent;
+import com.terfehr.homehub.domain.shopping.event.ShoppingSpreeCreatedEvent;
+import com.terfehr.homehub.domain.shopping.repository.ShoppingListItemRepositoryInterface;
+import com.terfehr.homehub.domain.shopping.repository.ShoppingSpreeItemRepositoryInterface;
+import com.terfehr.homehub.domain.shopping.repository.ShoppingSpreeRepositoryInterface;
+import com.terfehr.homehub.domain.shopping.value.ItemKey;
+import com.terfehr.homehub.domain.shopping.value.ItemPriceView;
+import com.terfehr.homehub.domain.shopping.value.MovedItemView;
+import com.terfehr.homehub.domain.shopping.value.ShoppingListItemChange;
+import com.terfehr.homehub.domain.shopping.value.ShoppingListItemUpdate;
+import com.terfehr.homehub.domain.shopping.value.ShoppingListItemUpdateOutcome;
+import com.terfehr.homehub.domain.shopping.value.ShoppingListItemUpdateResult;
+import com.terfehr.homehub.domain.shopping.value.UpsertedItemView;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
 public class ShoppingService {
 
+    private final ShoppingListItemRepositoryInterface shoppingListItemRepository;
+    private final ShoppingSpreeRepositoryInterface shoppingSpreeRepository;
+    private final ShoppingSpreeItemRepositoryInterface shoppingSpreeItemRepository;
+    private final FrequentItemService frequentItemService;
+    private final ApplicationEventPublisher publisher;
+
     /**
-     * Clears the shopping list of all picked items and creates a new ShoppingSpree based on the items that were picked.
-     * This ShoppingSpree is then returned.
+     * Moves all picked items of the shopping list into a new ShoppingSpree, which is then returned and announced with a
+     * ShoppingSpreeCreatedEvent. The items are moved set-based inside the database instead of being loaded and copied
+     * one by one, and the ShoppingSpree is persisted on its own, so neither the items of the list nor the collections
+     * of the Household are initialized. The item collections of the list and the spree are not updated in memory. The
+     * moved items are counted in the frequent items of the Household, and their removal from the list is announced with
+     * a ShoppingListItemChangedEvent per item.
      *
      * @param shoppingList The shopping list to be finished.
      * @param household The household to add the new ShoppingSpree to.
      * @param date The date when the ShoppingSpree happened.
-     * @return The items that were picked and then deleted from the shopping list.
+     * @return The persisted ShoppingSpree.
      */
     public ShoppingSpree prepareShoppingSpree(ShoppingList shoppingList, Household household, LocalDateTime date) {
-        Set<ShoppingListItem> pickedItems = shoppingList.getPickedItems();
-        shoppingList.deletePickedItems();
-
-        ShoppingSpree spree = household.addShoppingSpree(date);
-        populateShoppingSpree(spree, pickedItems);
+        ShoppingSpree spree = shoppingSpreeRepository.saveAndFlush(new ShoppingSpree(date, household));
+        List<MovedItemView> movedItems = shoppingSpreeItemRepository.movePickedItems(shoppingList.getId(), spree.getId());
+        List<String> itemNames = movedItems.stream().map(MovedItemView::getName).toList(); // Item keys are unique per list
+        frequentItemService.recordShoppingSpree(household.getId(), itemNames, date);
+        for (MovedItemView item : movedItems) {
+            publisher.publishEvent(new ShoppingListItemChangedEvent(shoppingList.getId(), new ShoppingListItemChange(
+                    item.getId(), item.getName(), item.getQuantity(), true, item.getSortKey(), true)));
+        }
+        publisher.publishEvent(new ShoppingSpreeCreatedEvent(spree, itemNames));
         return spree;
     }
 
     /**
-     * Populates the ShoppingSpree with the given ShoppingListItems. The ShoppingListItems are added to the given ShoppingSpree
-     * by converting their name and quantity to ShoppingSpreeItems.
+     * Sets the unit prices of the items of the given ShoppingSpree with a single statement. Prices are matched to the
+     * items by the ItemKey of the given names, so they do not have to be spelled exactly like on the list. Names
+     * without a matching item are ignored. The items of the spree are not updated in memory.
+     *
+     * @param spree The persisted ShoppingSpree.
+     * @param unitPrices The unit prices by item name, in the smallest unit of the currency of the ShoppingExpense.
+     * @return The items whose unit price was set.
+     * @throws IllegalArgumentException If a unit price is not positive.
+     */
+    public List<ItemPriceView> setUnitPrices(ShoppingSpree spree, Map<String, Long> unitPrices) throws IllegalArgumentException {
+        Map<String, Long> pricesByKey = new LinkedHashMap<>();
+        unitPrices.forEach((name, unitPrice) -> {
+            if (unitPrice == null || unitPrice <= 0) {
+                throw new IllegalArgumentException("Invalid unit price");
+            }
+            pricesByKey.put(ItemKey.of(name).value(), unitPrice);
+        });
+        if (pricesByKey.isEmpty()) {
+            return List.of();
+        }
+        return shoppingSpreeItemRepository.setUnitPrices(spree.getId(),
+                pricesByKey.keySet().toArray(String[]::new), pricesByKey.values().toArray(Long[]::new));
+    }
+
+    /**
+     * Adds a ShoppingListItem to the given ShoppingList and announces it with a ShoppingListItemChangedEvent. If the
+     * list already contains an item with the same ItemKey, its quantity is increased atomically inside the database
+     * instead of creating a duplicate. Newly inserted items are also announced with a ShoppingListItemAddedEvent.
+     * ShoppingListItems that are already loaded are not updated in memory.
+     *
+     * @param shoppingList The ShoppingList to add the item to.
+     * @param name The name of the item.
+     * @param quantity The quantity of the item.
+     * @return The persisted ShoppingListItem.
+     * @throws IllegalArgumentException If the given parameters are invalid for creating a ShoppingListItem.
+     */
+    public ShoppingListItem addItem(ShoppingList shoppingList, String name, int quantity) throws IllegalArgumentException {
+        if (!ShoppingListItem.validateName(name) || !ShoppingListItem.validateQuantity(quantity)) {
+            throw new IllegalArgumentException("Invalid ShoppingListItem object");
+        }
+        UpsertedItemView upserted = shoppingListItemRepository.upsertItem(shoppingList.getId(), name, ItemKey.of(name).value(), quantity);
+        ShoppingListItem item = shoppingListItemRepository.findById(upserted.getId()).orElseThrow();
+        publisher.publishEvent(new ShoppingListItemChangedEvent(item, false));
+        if (upserted.isInserted()) {
+            publisher.publishEvent(new ShoppingListItemAddedEvent(item));
+        }
+        return item;
+    }
+
+    /**
+     * Marks the given ShoppingListItem as picked and announces it with a ShoppingListItemChangedEvent.
+     *
+     * @param item The ShoppingListItem to pick.
+     * @throws IllegalStateException If the ShoppingListItem is already picked.
+     */
+    public void pickItem(ShoppingListItem item) throws IllegalStateException {
+        item.pick();
+        publisher.publishEvent(new ShoppingListItemChangedEvent(item, false));
+    }
+
+    /**
+     * Unmarks the given ShoppingListItem as picked and announces it with a ShoppingListItemChangedEvent.
+     *
+     * @param item The ShoppingListItem to unpick.
+     * @throws IllegalStateException If the ShoppingListItem is not picked.
+     */
+    public void unpickItem(ShoppingListItem item) throws IllegalStateException {
+        item.unpick();
+        publisher.publishEvent(new ShoppingListItemChangedEvent(item, false));
+    }
+
+    /**
+     * Removes the given ShoppingListItem from its ShoppingList and announces it with a ShoppingListItemChangedEvent.
+     *
+     * @param item The ShoppingListItem to remove.
+     */
+    public void removeItem(ShoppingListItem item) {
+        item.getShoppingList().removeItem(item);
+        publisher.publishEvent(new ShoppingListItemChangedEvent(item, true));
+    }
+
+    /**
+     * Moves the given ShoppingListItem behind another item of its ShoppingList or to its start and announces it with
+     * a ShoppingListItemChangedEvent. Only the SortKey of the moved item is written, which lies between the keys of
+     * its new neighbours read from the index on the ShoppingList and the SortKey. If the neighbours share a key, the
+     * ShoppingList is rebalanced first. Loaded ShoppingListItems are cleared from the persistence context afterward,
+     * as their SortKeys may no longer be up to date.
+     *
+     * @param item The ShoppingListItem to move.
+     * @param afterItemId The ID of the item to move behind or null to move the item to the start of its ShoppingList.
+     * @return The moved ShoppingListItem.
+     * @throws IllegalArgumentException If the item should be moved behind itself or an item that is not contained in
+     * its ShoppingList.
+     */
+    public ShoppingListItem moveItem(ShoppingListItem item, Long afterItemId) throws IllegalArgumentException {
+        if (item.getId().equals(afterItemId)) {
+            throw new IllegalArgumentException("ShoppingListItem cannot be moved behind itself");
+        }
+        Long shoppingListId = item.getShoppingList().getId();
+        String before = afterItemId == null ? null : shoppingListItemRepository.findSortKey(shoppingListId, afterItemId)
+                .orElseThrow(() -> new IllegalArgumentException("ShoppingList does not contain the item to move behind"));
+        String after = afterItemId == null
+                ? shoppingListItemRepository.findFirstSortKey(shoppingListId, item.getId()).orElse(null)
+                : shoppingListItemRepository.findNextSortKey(shoppingListId, before, afterItemId, item.getId()).orElse(null);
+        if (before != null && before.equals(after)) {
+            rebalanceItems(shoppingListId); // Both neighbours share a key, so there is none between them
+            return moveItem(item, afterItemId);
+        }
+        shoppingListItemRepository.setSortKey(item.getHouseholdId(), item.getId(), SortKey.between(before, after).value());
+        ShoppingListItem moved = shoppingListItemRepository.findById(item.getId()).orElseThrow();
+        publisher.publishEvent(new ShoppingListItemChangedEvent(moved, false));
+        return moved;
+    }
+
+    /**
+     * Replaces the SortKeys of all items of the given ShoppingList by short and distinct ones, keeping their order.
+     * The items are locked first, so concurrent moves wait for the rebalancing. Clients learn the new keys through
+     * their next synchronization.
+     *
+     * @param shoppingListId The ID of the ShoppingList.
+     * @return The number of items whose SortKey changed.
+     */
+    public int rebalanceItems(Long shoppingListId) {
+        shoppingListItemRepository.lockAllByShoppingListId(shoppingListId);
+        return shoppingListItemRepository.rebalance(shoppingListId);
+    }
+
+    /**
+     * Retrieves the IDs of all ShoppingLists that need to be rebalanced, as a SortKey grew longer than the given
+     * length or several items share one.
+     *
+     * @param maxLength The maximum length of a SortKey.
+     * @return A List of the IDs of the ShoppingLists.
+     */
+    public List<Long> getShoppingListsToRebalance(int maxLength) {
+        return shoppingListItemRepository.findAllShoppingListIdsToRebalance(maxLength);
+    }
+
+    /**
+     * Applies the given updates to the ShoppingListItems of the given ShoppingList with one set-based statement per
+     * changed field instead of one statement per item, followed by a single query for the resulting states. Invalid
+     * updates are skipped. Renames to the ItemKey of another item of the list or of an earlier rename in the same call
+     * are rejected as a conflict, while the other fields of the update still apply. Every changed item is announced
+     * with a ShoppingListItemChangedEvent. Pending changes are flushed before and ShoppingListItems that are already
+     * loaded are not updated in memory.
+     *
+     * @param shoppingList The ShoppingList whose items are updated.
+     * @param updates The updates to apply. Every item may occur only once.
+     * @return The outcome of every update in the order of the given updates.
+     */
+    public List<ShoppingListItemUpdateResult> updateItems(ShoppingList shoppingList, List<ShoppingListItemUpdate> updates) {
+        Long shoppingListId = shoppingList.getId();
+        List<ShoppingListItemUpdate> validUpdates = updates.stream().filter(ShoppingListItemUpdate::isValid).toList();
+
+        Set<Long> changedIds = new HashSet<>();
+        changedIds.addAll(updateField(validUpdates, ShoppingListItemUpdate::picked, Boolean[]::new,
+                (ids, values) -> shoppingListItemRepository.updatePicked(shoppingListId, ids, values)));
+        changedIds.addAll(updateField(validUpdates, ShoppingListItemUpdate::quantity, Integer[]::new,
+                (ids, values) -> shoppingListItemRepository.updateQuantities(shoppingListId, ids, values)));
+        Set<String> renamedKeys = new HashSet<>();
+        List<ShoppingListItemUpdate> renames = validUpdates.stream()
+                .filter(update -> update.name() != null && renamedKeys.add(ItemKey.of(update.name()).value()))
+                .toList();
+        changedIds.addAll(updateField(renames, ShoppingListItemUpdate::name, String[]::new,
+                (ids, values) -> shoppingListItemRepository.updateNames(shoppingListId, ids, values,
+                        Arrays.stream(values).map(name -> ItemKey.of(name).value()).toArray(String[]::new))));
+
+        Map<Long, ShoppingListItem> items = validUpdates.isEmpty() ? Map.of() : shoppingListItemRepository
+                .findAllByShoppingListIdAndIdIn(shoppingListId, validUpdates.stream().map(ShoppingListItemUpdate::itemId).toList())
+                .stream()
+                .collect(Collectors.toMap(ShoppingListItem::getId, Function.identity()));
+
+        List<ShoppingListItemUpdateResult> results = new ArrayList<>(updates.size());
+        for (ShoppingListItemUpdate update : updates) {
+            ShoppingListItem item = items.get(update.itemId());
+            if (!update.isValid()) {
+                results.add(new ShoppingListItemUpdateResult(update.itemId(), ShoppingListItemUpdateOutcome.INVALID, null));
+            } else if (item == null) {
+                results.add(new ShoppingListItemUpdateResult(update.itemId(), ShoppingListItemUpdateOutcome.NOT_FOUND, null));
+            } else {
+                boolean changed = changedIds.contains(item.getId());
+                if (changed) {
+                    publisher.publishEvent(new ShoppingListItemChangedEvent(shoppingListId, ShoppingListItemChange.of(item, false)));
+                }
+                ShoppingListItemUpdateOutcome outcome = update.name() != null && !update.name().equals(item.getName())
+                        ? ShoppingListItemUpdateOutcome.CONFLICT
+                        : changed ? ShoppingListItemUpdateOutcome.UPDATED : ShoppingListItemUpdateOutcome.UNCHANGED;
+                results.add(new ShoppingListItemUpdateResult(update.itemId(), outcome, item));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Collects the IDs and values of all updates that change the given field and applies them with a single statement.
+     * No statement is executed if no update changes the field.
      *
-     * @param spree The ShoppingSpree to populate.
-     * @param finishedItems The ShoppingListItems to populate the ShoppingSpree with.
+     * @param updates The valid updates.
+     * @param field The accessor of the field, returning null if the update does not change it.
+     * @param newArray Creates the array for the values.
+     * @param statement Executes the set-based update and returns the IDs of the changed items.
+     * @return The IDs of the changed items.
      */
-    private void populateShoppingSpree(ShoppingSpree spree, Set<ShoppingListItem> finishedItems) {
-        for (ShoppingListItem item : finishedItems) {
-            spree.addShoppingSpreeItem(item.getName(), item.getQuantity());
+    private <T> List<Long> updateField(List<ShoppingListItemUpdate> updates, Function<ShoppingListItemUpdate, T> field,
+                                       IntFunction<T[]> newArray, BiFunction<Long[], T[], List<Long>> statement) {
+        List<ShoppingListItemUpdate> changing = updates.stream().filter(update -> field.apply(update) != null).toList();
+        if (changing.isEmpty()) {
+            return List.of();
         }
+        Long[] ids = changing.stream().map(ShoppingListItemUpdate::itemId).toArray(Long[]::new);
+        T[] values = changing.stream().map(field).toArray(newArray);
+        return statement.apply(ids, values);
     }
 }
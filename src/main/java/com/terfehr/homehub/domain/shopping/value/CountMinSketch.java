@@ -0,0 +1,140 @@
+package com.terfehr.homehub.domain.shopping.value;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <p>Count-min sketch that estimates the weight of arbitrarily many keys in a fixed amount of memory. Every key is
+ * hashed into one counter per row and its estimate is the minimum of these counters, so estimates never undercount
+ * and overcount by at most a small fraction of the total weight.</p>
+ *
+ * <p>Counters are stored as floats, so a sketch of 512 by 4 counters takes 8 KiB regardless of how many keys were
+ * added. The sketch is serialized with its dimensions, so it can be restored without knowing the configuration it
+ * was created with.</p>
+ */
+public class CountMinSketch {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int width;
+    private final int depth;
+    private final float[] counters;
+
+    /**
+     * Constructs a new, empty CountMinSketch.
+     *
+     * @param width The number of counters per row.
+     * @param depth The number of rows.
+     * @throws IllegalArgumentException If the width or depth is not positive.
+     */
+    public CountMinSketch(int width, int depth) throws IllegalArgumentException {
+        if (width <= 0 || depth <= 0) {
+            throw new IllegalArgumentException("Invalid CountMinSketch object");
+        }
+        this.width = width;
+        this.depth = depth;
+        this.counters = new float[width * depth];
+    }
+
+    /**
+     * Restores a CountMinSketch from the output of {@link #toBytes()}.
+     *
+     * @param bytes The serialized sketch.
+     * @return The restored CountMinSketch.
+     * @throws IllegalArgumentException If the bytes do not contain a valid sketch.
+     */
+    public static CountMinSketch fromBytes(byte[] bytes) throws IllegalArgumentException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (buffer.remaining() < 2 * Integer.BYTES) {
+            throw new IllegalArgumentException("Invalid CountMinSketch object");
+        }
+        CountMinSketch sketch = new CountMinSketch(buffer.getInt(), buffer.getInt());
+        if (buffer.remaining() != sketch.counters.length * Float.BYTES) {
+            throw new IllegalArgumentException("Invalid CountMinSketch object");
+        }
+        buffer.asFloatBuffer().get(sketch.counters);
+        return sketch;
+    }
+
+    /**
+     * Serializes the sketch with its dimensions.
+     *
+     * @return The serialized sketch.
+     */
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(2 * Integer.BYTES + counters.length * Float.BYTES);
+        buffer.putInt(width).putInt(depth);
+        buffer.asFloatBuffer().put(counters);
+        return buffer.array();
+    }
+
+    /**
+     * Adds the given weight to the given key.
+     *
+     * @param key The key to add the weight to.
+     * @param weight The weight to add.
+     * @return The estimated weight of the key afterward.
+     */
+    public double add(String key, double weight) {
+        long hash = hash(key);
+        long step = mix(hash) | 1;
+        double estimate = Double.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int index = row * width + (int) Math.floorMod(hash + row * step, (long) width);
+            counters[index] += (float) weight;
+            estimate = Math.min(estimate, counters[index]);
+        }
+        return estimate;
+    }
+
+    /**
+     * Estimates the weight of the given key.
+     *
+     * @param key The key to estimate.
+     * @return The estimated weight, which is never less than the actual weight.
+     */
+    public double estimate(String key) {
+        long hash = hash(key);
+        long step = mix(hash) | 1;
+        double estimate = Double.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[row * width + (int) Math.floorMod(hash + row * step, (long) width)]);
+        }
+        return estimate;
+    }
+
+    /**
+     * Multiplies all counters with the given factor.
+     *
+     * @param factor The factor to scale the counters with.
+     */
+    public void scale(double factor) {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] *= (float) factor;
+        }
+    }
+
+    /**
+     * Calculates the 64-bit FNV-1a hash of the UTF-8 bytes of the given key.
+     */
+    private static long hash(String key) {
+        long hash = FNV_OFFSET;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Derives a second, independent hash for double hashing with the finalizer of MurmurHash3.
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,11 @@
+package com.terfehr.homehub.domain.shopping.value;
+
+/**
+ * An item a Household buys frequently together with its decayed weight.
+ *
+ * @param itemKey The ItemKey of the item.
+ * @param name The name the item was bought under most recently.
+ * @param weight How often the item was bought, where every purchase loses half of its weight per half-life.
+ */
+public record FrequentItem(String itemKey, String name, double weight) {
+}
@@ -0,0 +1,12 @@
+package com.terfehr.homehub.domain.shopping.value;
+
+import java.time.LocalDateTime;
+
+/**
+ * An item that was bought in a ShoppingSpree, used for building the frequent items of a Household from its history.
+ *
+ * @param name The name of the item.
+ * @param date The date of the ShoppingSpree.
+ */
+public record FrequentItemPurchase(String name, LocalDateTime date) {
+}
@@ -0,0 +1,14 @@
+package com.terfehr.homehub.domain.shopping.value;
+
+import java.time.Duration;
+
+/**
+ * The configuration of the frequent item sketches of all Households.
+ *
+ * @param halfLife The time after which a purchase counts only half as much.
+ * @param capacity The number of top items kept per Household.
+ * @param sketchWidth The number of counters per row of the CountMinSketch.
+ * @param sketchDepth The number of rows of the CountMinSketch.
+ */
+public record FrequentItemSettings(Duration halfLife, int capacity, int sketchWidth, int sketchDepth) {
+}
@@ -0,0 +1,14 @@
+package com.terfehr.homehub.domain.shopping.value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a FrequentItemSketch on the columns needed for serving its top items, so the counters of the sketch
+ * are not loaded.
+ */
+public interface FrequentItemsView {
+
+    byte[] getTopItems();
+
+    LocalDateTime getLandmark();
+}
@@ -0,0 +1,34 @@
+package com.terfehr.homehub.domain.shopping.value;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * The canonical key of an item name. Names that only differ in their unicode representation, case or surrounding and
+ * repeated whitespace share the same key, so "Milk", "milk " and "MILK" are treated as the same item. The key is
+ * stored next to the name and is unique per ShoppingList and ShoppingSpree.
+ *
+ * @param value The canonical form of the name.
+ */
+public record ItemKey(String value) {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * Canonicalizes the given name. It is normalized to NFKC, trimmed, its whitespace runs are collapsed to a single
+     * space and it is case-folded, so e.g. "Straße" and "STRASSE" share a key.
+     *
+     * @param name The name to canonicalize.
+     * @return The ItemKey of the name.
+     * @throws IllegalArgumentException If the name is null.
+     */
+    public static ItemKey of(String name) throws IllegalArgumentException {
+        if (name == null) {
+            throw new IllegalArgumentException("Invalid ItemKey object");
+        }
+        String normalized = Normalizer.normalize(name, Normalizer.Form.NFKC).strip();
+        String collapsed = WHITESPACE.matcher(normalized).replaceAll(" ");
+        return new ItemKey(collapsed.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT));
+    }
+}
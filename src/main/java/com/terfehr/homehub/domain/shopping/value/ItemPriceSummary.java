@@ -0,0 +1,22 @@
+package com.terfehr.homehub.domain.shopping.value;
+
+import java.util.Currency;
+
+/**
+ * Summary of the unit prices an item was bought for, read from its ItemPriceStatistics. All prices are given in the
+ * smallest unit of the currency.
+ *
+ * @param name The most recently used name of the item.
+ * @param currency The currency of the prices.
+ * @param count The number of recorded prices.
+ * @param min The lowest recorded price.
+ * @param median The estimated median price.
+ * @param p90 The estimated 90th percentile of the prices.
+ * @param max The highest recorded price.
+ * @param recentAverage The average price, weighted towards recent purchases.
+ * @param trend The deviation of the recent average from the median, e.g. 0.1 if prices are 10 % above usual.
+ * @param percentileRank The estimated fraction of recorded prices at or below a given price or null if no price was given.
+ */
+public record ItemPriceSummary(String name, Currency currency, long count, long min, long median, long p90, long max,
+                               long recentAverage, double trend, Double percentileRank) {
+}
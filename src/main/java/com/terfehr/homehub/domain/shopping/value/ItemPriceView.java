@@ -0,0 +1,14 @@
+package com.terfehr.homehub.domain.shopping.value;
+
+/**
+ * Projection of a ShoppingSpreeItem whose unit price was just set, containing everything needed for counting the
+ * price in the ItemPriceStatistics of its Household.
+ */
+public interface ItemPriceView {
+
+    String getItemKey();
+
+    String getName();
+
+    Long getUnitPrice();
+}
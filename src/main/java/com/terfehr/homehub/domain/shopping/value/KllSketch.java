@@ -0,0 +1,332 @@
+package com.terfehr.homehub.domain.shopping.value;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <p>KLL quantile sketch that answers rank and quantile queries over a stream of values in a bounded amount of memory.
+ * Values are kept in a stack of compactors, where every value on level h stands for 2^h values of the stream. Once
+ * the sketch exceeds its capacity, the lowest full compactor is sorted and every other value is promoted to the next
+ * level, so the sketch holds O(k) values no matter how many were added and ranks are off by about 1.7 / k.</p>
+ *
+ * <p>Sketches are mergeable: merging two sketches yields the same guarantees as if all values had been added to a
+ * single one, so sketches of different Households can be combined for aggregate views. Minimum, maximum and count
+ * are tracked exactly. Values are stored as floats, which is exact for prices below 16,777,216 in the smallest
+ * unit.</p>
+ */
+public class KllSketch {
+
+    private static final double CAPACITY_DECAY = 2.0 / 3;
+    private static final int MIN_CAPACITY = 2;
+
+    private final int k;
+    private final List<Compactor> levels;
+    private long count;
+    private float min;
+    private float max;
+
+    /**
+     * Constructs a new, empty KllSketch.
+     *
+     * @param k The capacity of the top level, which determines the accuracy of the sketch.
+     * @throws IllegalArgumentException If k is smaller than the minimum capacity of a level.
+     */
+    public KllSketch(int k) throws IllegalArgumentException {
+        if (k < MIN_CAPACITY) {
+            throw new IllegalArgumentException("Invalid KllSketch object");
+        }
+        this.k = k;
+        this.levels = new ArrayList<>();
+        this.levels.add(new Compactor());
+        this.min = Float.NaN;
+        this.max = Float.NaN;
+    }
+
+    /**
+     * Restores a KllSketch from the output of {@link #toBytes()}.
+     *
+     * @param bytes The serialized sketch.
+     * @return The restored KllSketch.
+     * @throws IllegalArgumentException If the bytes do not contain a valid sketch.
+     */
+    public static KllSketch fromBytes(byte[] bytes) throws IllegalArgumentException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        KllSketch sketch;
+        try {
+            sketch = new KllSketch(buffer.getInt());
+            sketch.count = buffer.getLong();
+            sketch.min = buffer.getFloat();
+            sketch.max = buffer.getFloat();
+            int levelCount = buffer.getInt();
+            sketch.levels.clear();
+            for (int level = 0; level < levelCount; level++) {
+                Compactor compactor = new Compactor();
+                int size = buffer.getInt();
+                for (int i = 0; i < size; i++) {
+                    compactor.add(buffer.getFloat());
+                }
+                sketch.levels.add(compactor);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Invalid KllSketch object", e);
+        }
+        if (buffer.hasRemaining() || sketch.levels.isEmpty()) {
+            throw new IllegalArgumentException("Invalid KllSketch object");
+        }
+        return sketch;
+    }
+
+    /**
+     * Serializes the sketch with its accuracy parameter.
+     *
+     * @return The serialized sketch.
+     */
+    public byte[] toBytes() {
+        int size = 2 * Integer.BYTES + Long.BYTES + 2 * Float.BYTES;
+        for (Compactor compactor : levels) {
+            size += Integer.BYTES + compactor.size * Float.BYTES;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(k).putLong(count).putFloat(min).putFloat(max).putInt(levels.size());
+        for (Compactor compactor : levels) {
+            buffer.putInt(compactor.size);
+            for (int i = 0; i < compactor.size; i++) {
+                buffer.putFloat(compactor.items[i]);
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Adds the given value to the sketch.
+     *
+     * @param value The value to add.
+     */
+    public void add(float value) {
+        levels.getFirst().add(value);
+        count++;
+        min = Float.isNaN(min) ? value : Math.min(min, value);
+        max = Float.isNaN(max) ? value : Math.max(max, value);
+        compress();
+    }
+
+    /**
+     * Adds all values of the given sketch to this one. The given sketch is not changed.
+     *
+     * @param other The sketch to merge into this one.
+     */
+    public void merge(KllSketch other) {
+        if (other.count == 0) {
+            return;
+        }
+        while (levels.size() < other.levels.size()) {
+            levels.add(new Compactor());
+        }
+        for (int level = 0; level < other.levels.size(); level++) {
+            Compactor compactor = other.levels.get(level);
+            for (int i = 0; i < compactor.size; i++) {
+                levels.get(level).add(compactor.items[i]);
+            }
+        }
+        count += other.count;
+        min = Float.isNaN(min) ? other.min : Math.min(min, other.min);
+        max = Float.isNaN(max) ? other.max : Math.max(max, other.max);
+        compress();
+    }
+
+    /**
+     * Returns the number of values that were added to the sketch.
+     *
+     * @return The number of values.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the smallest value that was added to the sketch.
+     *
+     * @return The minimum or NaN if the sketch is empty.
+     */
+    public float getMin() {
+        return min;
+    }
+
+    /**
+     * Returns the largest value that was added to the sketch.
+     *
+     * @return The maximum or NaN if the sketch is empty.
+     */
+    public float getMax() {
+        return max;
+    }
+
+    /**
+     * Estimates the fraction of added values that are smaller than or equal to the given value.
+     *
+     * @param value The value to rank.
+     * @return The estimated rank between 0 and 1 or NaN if the sketch is empty.
+     */
+    public double rank(float value) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long below = 0;
+        long total = 0;
+        for (int level = 0; level < levels.size(); level++) {
+            Compactor compactor = levels.get(level);
+            for (int i = 0; i < compactor.size; i++) {
+                if (compactor.items[i] <= value) {
+                    below += 1L << level;
+                }
+            }
+            total += (long) compactor.size << level;
+        }
+        return (double) below / total;
+    }
+
+    /**
+     * Estimates the value at the given rank. The ranks 0 and 1 return the exact minimum and maximum.
+     *
+     * @param rank The rank between 0 and 1, e.g. 0.5 for the median.
+     * @return The estimated value or NaN if the sketch is empty.
+     * @throws IllegalArgumentException If the rank lies outside of 0 and 1.
+     */
+    public float quantile(double rank) throws IllegalArgumentException {
+        if (rank < 0 || rank > 1) {
+            throw new IllegalArgumentException("Invalid rank");
+        }
+        if (count == 0) {
+            return Float.NaN;
+        }
+        if (rank == 0) {
+            return min;
+        }
+        if (rank == 1) {
+            return max;
+        }
+        List<WeightedValue> values = new ArrayList<>(size());
+        long total = 0;
+        for (int level = 0; level < levels.size(); level++) {
+            Compactor compactor = levels.get(level);
+            for (int i = 0; i < compactor.size; i++) {
+                values.add(new WeightedValue(compactor.items[i], 1L << level));
+            }
+            total += (long) compactor.size << level;
+        }
+        values.sort(Comparator.comparingDouble(WeightedValue::value));
+
+        double target = rank * total;
+        long cumulative = 0;
+        for (WeightedValue value : values) {
+            cumulative += value.weight();
+            if (cumulative >= target) {
+                return Math.clamp(value.value(), min, max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Compacts the lowest full level until the sketch fits into its capacity again.
+     */
+    private void compress() {
+        while (size() > capacity()) {
+            for (int level = 0; level < levels.size(); level++) {
+                if (levels.get(level).size >= capacity(level)) {
+                    compact(level);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Sorts the given level and promotes every other value to the next level, starting at a random offset so the
+     * error cancels out in expectation. With an odd number of values, the smallest one stays on the level.
+     *
+     * @param level The level to compact.
+     */
+    private void compact(int level) {
+        if (level + 1 == levels.size()) {
+            levels.add(new Compactor());
+        }
+        Compactor compactor = levels.get(level);
+        Compactor next = levels.get(level + 1);
+        Arrays.sort(compactor.items, 0, compactor.size);
+        int start = compactor.size % 2;
+        int offset = ThreadLocalRandom.current().nextInt(2);
+        for (int i = start + offset; i < compactor.size; i += 2) {
+            next.add(compactor.items[i]);
+        }
+        compactor.size = start;
+    }
+
+    /**
+     * Calculates the number of values the given level may hold before it is compacted. Lower levels hold
+     * geometrically fewer values than the top level.
+     *
+     * @param level The level.
+     * @return The capacity of the level.
+     */
+    private int capacity(int level) {
+        int depth = levels.size() - 1 - level;
+        return Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    /**
+     * Calculates the number of values the whole sketch may hold.
+     *
+     * @return The sum of the capacities of all levels.
+     */
+    private int capacity() {
+        int capacity = 0;
+        for (int level = 0; level < levels.size(); level++) {
+            capacity += capacity(level);
+        }
+        return capacity;
+    }
+
+    /**
+     * Calculates the number of values the sketch currently holds.
+     *
+     * @return The sum of the sizes of all levels.
+     */
+    private int size() {
+        int size = 0;
+        for (Compactor compactor : levels) {
+            size += compactor.size;
+        }
+        return size;
+    }
+
+    /**
+     * A growable array of the values of a single level.
+     */
+    private static class Compactor {
+
+        private float[] items = new float[8];
+        private int size;
+
+        private void add(float value) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = value;
+        }
+    }
+
+    /**
+     * A value of the sketch together with the number of stream values it stands for.
+     *
+     * @param value The value.
+     * @param weight The number of stream values.
+     */
+    private record WeightedValue(float value, long weight) {
+    }
+}
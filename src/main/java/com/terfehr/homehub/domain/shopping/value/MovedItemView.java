@@ -0,0 +1,16 @@
+package com.terfehr.homehub.domain.shopping.value;
+
+/**
+ * Projection of a ShoppingListItem that was just moved into a ShoppingSpree, containing its state right before it
+ * was removed from its ShoppingList.
+ */
+public interface MovedItemView {
+
+    Long getId();
+
+    String getName();
+
+    int getQuantity();
+
+    String getSortKey();
+}
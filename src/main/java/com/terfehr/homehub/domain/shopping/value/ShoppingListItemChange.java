@@ -0,0 +1,30 @@
+package com.terfehr.homehub.domain.shopping.value;
+
+import com.terfehr.homehub.domain.shopping.entity.ShoppingListItem;
+
+/**
+ * The state of a ShoppingListItem right after it was changed. As it carries the full state instead of the operation,
+ * applying the same change twice or only the latest of several changes to the same item yields the same result.
+ *
+ * @param itemId The ID of the ShoppingListItem.
+ * @param name The name of the ShoppingListItem.
+ * @param quantity The quantity of the ShoppingListItem.
+ * @param picked Whether the ShoppingListItem is picked.
+ * @param sortKey The SortKey ordering the ShoppingListItem within its ShoppingList.
+ * @param removed Whether the ShoppingListItem was removed from its ShoppingList.
+ */
+public record ShoppingListItemChange(Long itemId, String name, int quantity, boolean picked, String sortKey,
+                                     boolean removed) {
+
+    /**
+     * Captures the current state of the given ShoppingListItem.
+     *
+     * @param item The changed ShoppingListItem.
+     * @param removed Whether the ShoppingListItem was removed from its ShoppingList.
+     * @return The ShoppingListItemChange.
+     */
+    public static ShoppingListItemChange of(ShoppingListItem item, boolean removed) {
+        return new ShoppingListItemChange(item.getId(), item.getName(), item.getQuantity(), item.isPicked(),
+                item.getSortKey(), removed);
+    }
+}
@@ -0,0 +1,26 @@
+package com.terfehr.homehub.domain.shopping.value;
+
+import com.terfehr.homehub.domain.shopping.entity.ShoppingListItem;
+
+/**
+ * The desired state of a ShoppingListItem within a bulk update. Fields that are null are left untouched.
+ *
+ * @param itemId The ID of the ShoppingListItem.
+ * @param picked Whether the ShoppingListItem should be picked or null to keep it.
+ * @param quantity The new quantity or null to keep it.
+ * @param name The new name or null to keep it.
+ */
+public record ShoppingListItemUpdate(Long itemId, Boolean picked, Integer quantity, String name) {
+
+    /**
+     * Validates the update with the same rules the ShoppingListItem applies. At least one field has to be changed.
+     *
+     * @return True, if the update is valid. False otherwise.
+     */
+    public boolean isValid() {
+        return itemId != null
+                && (picked != null || quantity != null || name != null)
+                && (quantity == null || ShoppingListItem.validateQuantity(quantity))
+                && (name == null || ShoppingListItem.validateName(name));
+    }
+}
@@ -0,0 +1,12 @@
+package com.terfehr.homehub.domain.shopping.value;
+
+/**
+ * The outcome of a single item within a bulk update of ShoppingListItems.
+ */
+public enum ShoppingListItemUpdateOutcome {
+    UPDATED,
+    UNCHANGED, // The item already was in the desired state
+    NOT_FOUND,
+    INVALID,
+    CONFLICT // The new name belongs to another item of the list
+}
@@ -0,0 +1,13 @@
+package com.terfehr.homehub.domain.shopping.value;
+
+import com.terfehr.homehub.domain.shopping.entity.ShoppingListItem;
+
+/**
+ * The outcome of a single item within a bulk update of ShoppingListItems.
+ *
+ * @param itemId The ID of the requested ShoppingListItem.
+ * @param outcome What happened to the ShoppingListItem.
+ * @param item The ShoppingListItem after the update or null if it was not found or the update was invalid.
+ */
+public record ShoppingListItemUpdateResult(Long itemId, ShoppingListItemUpdateOutcome outcome, ShoppingListItem item) {
+}
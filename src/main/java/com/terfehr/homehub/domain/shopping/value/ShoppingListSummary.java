@@ -0,0 +1,12 @@
+package com.terfehr.homehub.domain.shopping.value;
+
+/**
+ * The number of items of a ShoppingList, counted inside the database without loading them.
+ *
+ * @param shoppingListId The ID of the ShoppingList.
+ * @param name The name of the ShoppingList.
+ * @param unpickedItems The number of items that are not picked.
+ * @param totalItems The number of all items.
+ */
+public record ShoppingListSummary(Long shoppingListId, String name, long unpickedItems, long totalItems) {
+}
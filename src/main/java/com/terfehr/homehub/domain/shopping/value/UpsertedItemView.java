@@ -0,0 +1,12 @@
+package com.terfehr.homehub.domain.shopping.value;
+
+/**
+ * Projection of a ShoppingListItem that was just added to its ShoppingList, telling whether it was inserted or an
+ * existing item with the same ItemKey was increased.
+ */
+public interface UpsertedItemView {
+
+    Long getId();
+
+    boolean isInserted();
+}
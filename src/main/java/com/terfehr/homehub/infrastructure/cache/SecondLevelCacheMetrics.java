@@ -0,0 +1,55 @@
+package com.terfehr.homehub.infrastructure.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.NonNull;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the hit ratio of every region of the second-level cache and of the query cache. The counts of hits,
+ * misses and puts the ratios are calculated from are published by Hibernate itself as hibernate.second.level.cache.*
+ * and hibernate.cache.query.* metrics.
+ */
+@Component
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+    private final SecondLevelCacheProperties properties;
+
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory, SecondLevelCacheProperties properties) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.properties = properties;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        for (String region : properties.getRegions().keySet()) {
+            Gauge.builder("hibernate.second.level.cache.hit.ratio", statistics, statistics -> hitRatio(statistics.getCacheRegionStatistics(region)))
+                    .tag("region", region)
+                    .description("The share of lookups in the region that were answered by the cache")
+                    .register(registry);
+        }
+        Gauge.builder("hibernate.cache.query.hit.ratio", statistics, statistics -> hitRatio(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount()))
+                .description("The share of cacheable queries that were answered by the cache")
+                .register(registry);
+    }
+
+    /**
+     * Calculates the hit ratio of a region.
+     *
+     * @param region The statistics of the region or null if it holds neither entities, collections nor queries.
+     * @return The hit ratio or NaN if nothing was looked up in the region yet.
+     */
+    private static double hitRatio(CacheRegionStatistics region) {
+        return region == null ? Double.NaN : hitRatio(region.getHitCount(), region.getMissCount());
+    }
+
+    private static double hitRatio(long hits, long misses) {
+        return hits + misses == 0 ? Double.NaN : (double) hits / (hits + misses);
+    }
+}
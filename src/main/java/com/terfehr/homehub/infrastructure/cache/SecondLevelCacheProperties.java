@@ -0,0 +1,31 @@
+package com.terfehr.homehub.infrastructure.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings of the second-level cache of Hibernate. Every region the entities, collections and queries are cached in
+ * has to be configured here with the number of entries it keeps and the time after which an entry expires.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "second-level-cache")
+public class SecondLevelCacheProperties {
+
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    /**
+     * Limits of a single region.
+     */
+    @Getter
+    @Setter
+    public static class Region {
+
+        private long maxEntries;
+        private long ttlSeconds; // Entries of regions without a TTL are only evicted to stay within the maximum
+    }
+}
@@ -0,0 +1,97 @@
+package com.terfehr.homehub.infrastructure.config;
+
+import org.hibernate.boot.model.relational.Namespace;
+import org.hibernate.boot.model.relational.Sequence;
+import org.hibernate.cfg.SchemaToolingSettings;
+import org.hibernate.mapping.Table;
+import org.hibernate.tool.schema.spi.SchemaFilter;
+import org.hibernate.tool.schema.spi.SchemaFilterProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps Hibernate from updating the tables that schema.sql has partitioned by household. Hibernate does not see the
+ * indexes and foreign keys of partitioned tables and would try to recreate them on every startup, so schema.sql
+ * maintains these tables once they are partitioned. Tables that do not exist yet or are not partitioned yet are
+ * still created and updated by Hibernate, as are all tables when the schema is created from scratch.
+ */
+@Component
+public class PartitionedTableSchemaFilterProvider implements SchemaFilterProvider, HibernatePropertiesCustomizer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PartitionedTableSchemaFilterProvider(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(SchemaToolingSettings.HBM2DDL_FILTER_PROVIDER, this);
+    }
+
+    @Override
+    public SchemaFilter getCreateFilter() {
+        return SchemaFilter.ALL;
+    }
+
+    @Override
+    public SchemaFilter getDropFilter() {
+        return SchemaFilter.ALL;
+    }
+
+    @Override
+    public SchemaFilter getTruncatorFilter() {
+        return SchemaFilter.ALL;
+    }
+
+    @Override
+    public SchemaFilter getMigrateFilter() {
+        return excluding(findPartitionedTables());
+    }
+
+    @Override
+    public SchemaFilter getValidateFilter() {
+        return excluding(findPartitionedTables());
+    }
+
+    /**
+     * Finds the partitioned tables in the current schema of the database.
+     *
+     * @return The names of the partitioned tables.
+     */
+    private Set<String> findPartitionedTables() {
+        return Set.copyOf(jdbcTemplate.queryForList(
+                "select relname from pg_class where relkind = 'p' and relnamespace = current_schema()::regnamespace", String.class));
+    }
+
+    /**
+     * Creates a SchemaFilter that includes everything but the given tables.
+     *
+     * @param tables The names of the tables to exclude.
+     * @return The SchemaFilter.
+     */
+    private SchemaFilter excluding(Set<String> tables) {
+        return new SchemaFilter() {
+
+            @Override
+            public boolean includeNamespace(Namespace namespace) {
+                return true;
+            }
+
+            @Override
+            public boolean includeTable(Table table) {
+                return !tables.contains(table.getName());
+            }
+
+            @Override
+            public boolean includeSequence(Sequence sequence) {
+                return true;
+            }
+        };
+    }
+}
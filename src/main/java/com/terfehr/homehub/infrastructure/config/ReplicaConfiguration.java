@@ -0,0 +1,95 @@
+package com.terfehr.homehub.infrastructure.config;
+
+import com.terfehr.homehub.infrastructure.replica.ReplicaPool;
+import com.terfehr.homehub.infrastructure.replica.ReplicaProperties;
+import com.terfehr.homehub.infrastructure.replica.ReplicaRoutingDataSource;
+import com.terfehr.homehub.infrastructure.replica.ReplicaRoutingInterceptor;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.NonNull;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration class for the read replicas. With replicas enabled, the single datasource is replaced by a
+ * ReplicaRoutingDataSource over the configured primary and its replicas, and requests are kept on the primary by the
+ * ReplicaRoutingInterceptor when they have to read their own writes. With sharding, the ShardingConfiguration applies
+ * the replicas of every shard instead.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaConfiguration implements WebMvcConfigurer {
+
+    private static final long REPLICA_CONNECTION_TIMEOUT_MILLIS = 1_000; // Fails fast, as the primary can step in
+
+    private final ReplicaRoutingInterceptor replicaRoutingInterceptor;
+
+    public ReplicaConfiguration(ReplicaRoutingInterceptor replicaRoutingInterceptor) {
+        this.replicaRoutingInterceptor = replicaRoutingInterceptor;
+    }
+
+    /**
+     * Creates the ReplicaRoutingDataSource over the configured datasource and its replicas.
+     *
+     * @param dataSourceProperties The settings of the primary.
+     * @param properties The settings of the replicas.
+     * @return The ReplicaRoutingDataSource.
+     * @throws IllegalStateException If no replica is configured.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "replicas.enabled", havingValue = "true")
+    @ConditionalOnProperty(name = "sharding.enabled", havingValue = "false", matchIfMissing = true)
+    static DataSource dataSource(DataSourceProperties dataSourceProperties, ReplicaProperties properties) throws IllegalStateException {
+        if (properties.getSources().isEmpty()) {
+            throw new IllegalStateException("Replicas are enabled, but no replicas are configured");
+        }
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return withReplicas(primary, "primary", properties.getSources(), properties);
+    }
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        registry.addInterceptor(replicaRoutingInterceptor);
+    }
+
+    /**
+     * Serves the read-only transactions of the given primary from the given replicas, if replicas are enabled.
+     *
+     * @param primary The DataSource of the primary.
+     * @param name The name of the primary, which the connection pools of its replicas are named after.
+     * @param replicas The settings of the replicas.
+     * @param properties The settings of all replicas.
+     * @return The ReplicaRoutingDataSource or the primary itself if replicas are disabled or there are none.
+     */
+    public static DataSource withReplicas(DataSource primary, String name, List<ReplicaProperties.Replica> replicas, ReplicaProperties properties) {
+        if (!properties.isEnabled() || replicas.isEmpty()) {
+            return primary;
+        }
+        Map<String, DataSource> pools = new LinkedHashMap<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            ReplicaProperties.Replica replica = replicas.get(i);
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword())
+                    .build();
+            pool.setPoolName(name + "-replica-" + i);
+            pool.setReadOnly(true);
+            pool.setConnectionTimeout(REPLICA_CONNECTION_TIMEOUT_MILLIS);
+            pools.put(pool.getPoolName(), pool);
+        }
+        return new ReplicaRoutingDataSource(primary, new ReplicaPool(primary, pools, properties.getSelection(), properties.getMaxLagMillis()));
+    }
+}
@@ -0,0 +1,13 @@
+package com.terfehr.homehub.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class that enables Spring's scheduled task execution. The jobs themselves live in the
+ * infrastructure job package and are configured via cron expressions in the application properties.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
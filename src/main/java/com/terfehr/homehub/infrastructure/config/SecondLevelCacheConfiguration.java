@@ -0,0 +1,77 @@
+package com.terfehr.homehub.infrastructure.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.terfehr.homehub.infrastructure.cache.SecondLevelCacheProperties;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cfg.CacheSettings;
+import org.hibernate.cfg.SessionEventSettings;
+import org.hibernate.cfg.StatisticsSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Configuration class for the second-level and query cache of Hibernate. The entities and collections marked as
+ * cacheable and the results of queries marked as cacheable are kept by Caffeine in the heap of this instance, each
+ * region bounded by the number of entries and the TTL configured for it. Hibernate refuses to start with a region that
+ * is not configured, so no region grows without bounds. Statistics are collected for the SecondLevelCacheMetrics.</p>
+ *
+ * <p>Changes made through Hibernate update the cache of this instance right away. Changes made by other instances or
+ * directly in the database show up once the cached entries expired, which the TTLs of the regions bound.</p>
+ */
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfiguration {
+
+    /**
+     * Creates the cache manager holding the configured regions. Every application context gets its own cache manager,
+     * so contexts sharing a JVM, e.g. in tests, do not see each other's entries.
+     *
+     * @param properties The settings of the regions.
+     * @return The CacheManager.
+     */
+    @Bean(destroyMethod = "close")
+    static CacheManager secondLevelCacheManager(SecondLevelCacheProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("homehub:second-level-cache:" + UUID.randomUUID()), SecondLevelCacheConfiguration.class.getClassLoader());
+        properties.getRegions().forEach((name, region) -> {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(region.getMaxEntries()));
+            if (region.getTtlSeconds() > 0) {
+                configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(region.getTtlSeconds())));
+            }
+            cacheManager.createCache(name, configuration);
+        });
+        return cacheManager;
+    }
+
+    /**
+     * Enables the caches of Hibernate on top of the cache manager.
+     *
+     * @param secondLevelCacheManager The CacheManager holding the configured regions.
+     * @return The HibernatePropertiesCustomizer.
+     */
+    @Bean
+    static HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(CacheSettings.CACHE_REGION_FACTORY, "jcache");
+            hibernateProperties.put(CacheSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(CacheSettings.USE_QUERY_CACHE, true);
+            hibernateProperties.put(CacheSettings.AUTO_EVICT_COLLECTION_CACHE, true); // Collections of the other side of a changed association
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+            hibernateProperties.put(StatisticsSettings.GENERATE_STATISTICS, true);
+            hibernateProperties.put(SessionEventSettings.LOG_SESSION_METRICS, false);
+        };
+    }
+}
@@ -1,5 +1,7 @@
 package com.terfehr.homehub.infrastructure.config;
 
+import com.terfehr.homehub.infrastructure.idempotency.IdempotencyKeyFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.AllArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,6 +13,7 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -26,12 +29,16 @@ public class SecurityConfiguration {
 
     private final AuthenticationProvider authenticationProvider;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final IdempotencyKeyFilter idempotencyKeyFilter;
 
     /**
      * Configures a {@link SecurityFilterChain} bean for the application's security settings.
      * This method defines the HTTP security configuration including disabling CSRF protection,
      * specifying request authorization for endpoints, enabling stateless session management,
-     * and adding a JWT authentication filter before the standard UsernamePasswordAuthenticationFilter.
+     * permitting the async dispatches that complete already authorized streaming responses like Server-Sent Events,
+     * permitting the error dispatches that render the status of an already authorized request instead of denying them,
+     * adding a JWT authentication filter before the standard UsernamePasswordAuthenticationFilter
+     * and adding the Idempotency-Key filter after the authorization, so only authorized requests claim keys.
      *
      * @param http the {@link HttpSecurity} instance used to configure the security features of the application
      * @return a fully built {@link SecurityFilterChain} instance
@@ -43,13 +50,15 @@ public class SecurityConfiguration {
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(authorize -> authorize
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         .requestMatchers("/auth/**", "/auth/", "/auth").permitAll()
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authenticationProvider(authenticationProvider)
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(idempotencyKeyFilter, AuthorizationFilter.class);
         return http.build();
     }
 
@@ -64,8 +73,9 @@ public class SecurityConfiguration {
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(List.of("https://backend.com", "http://localhost:8081"));
-        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE"));
-        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE"));
+        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", IdempotencyKeyFilter.IDEMPOTENCY_KEY_HEADER));
+        configuration.setExposedHeaders(List.of(IdempotencyKeyFilter.REPLAYED_HEADER));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
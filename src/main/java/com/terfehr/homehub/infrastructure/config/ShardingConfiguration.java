@@ -0,0 +1,77 @@
+package com.terfehr.homehub.infrastructure.config;
+
+import com.terfehr.homehub.infrastructure.replica.ReplicaProperties;
+import com.terfehr.homehub.infrastructure.sharding.ShardRoutingDataSource;
+import com.terfehr.homehub.infrastructure.sharding.ShardRoutingInterceptor;
+import com.terfehr.homehub.infrastructure.sharding.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.NonNull;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+
+/**
+ * Configuration class for the household shards. With sharding enabled, the single datasource is replaced by a
+ * ShardRoutingDataSource over the global shard and the household shards, and every request is routed to the shard of
+ * the Household it addresses by the ShardRoutingInterceptor.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfiguration implements WebMvcConfigurer {
+
+    private final ShardRoutingInterceptor shardRoutingInterceptor;
+
+    public ShardingConfiguration(ShardRoutingInterceptor shardRoutingInterceptor) {
+        this.shardRoutingInterceptor = shardRoutingInterceptor;
+    }
+
+    /**
+     * Creates the ShardRoutingDataSource with one connection pool per shard and one per replica of a shard. The method
+     * is static, as the routing of requests depends on the DataSource.
+     *
+     * @param properties The settings of the shards.
+     * @param replicaProperties The settings of the replicas.
+     * @return The ShardRoutingDataSource.
+     * @throws IllegalStateException If no household shard is configured.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+    static DataSource dataSource(ShardingProperties properties, ReplicaProperties replicaProperties) throws IllegalStateException {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("Sharding is enabled, but no household shards are configured");
+        }
+        LinkedHashMap<String, DataSource> shards = new LinkedHashMap<>();
+        properties.getShards().forEach(shard -> shards.put(shard.getName(), createDataSource(shard, replicaProperties)));
+        return new ShardRoutingDataSource(createDataSource(properties.getGlobal(), replicaProperties), shards);
+    }
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        registry.addInterceptor(shardRoutingInterceptor);
+    }
+
+    /**
+     * Creates the connection pool of the given shard, serving read-only transactions from its replicas.
+     *
+     * @param shard The settings of the shard.
+     * @param replicaProperties The settings of the replicas.
+     * @return The connection pool.
+     */
+    private static DataSource createDataSource(ShardingProperties.Shard shard, ReplicaProperties replicaProperties) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(shard.getUrl())
+                .username(shard.getUsername())
+                .password(shard.getPassword())
+                .build();
+        dataSource.setPoolName("shard-" + (shard.getName() == null ? ShardRoutingDataSource.GLOBAL : shard.getName()));
+        return ReplicaConfiguration.withReplicas(dataSource, dataSource.getPoolName(), shard.getReplicas(), replicaProperties);
+    }
+}
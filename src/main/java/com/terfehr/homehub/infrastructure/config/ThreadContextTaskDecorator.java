@@ -0,0 +1,21 @@
+package com.terfehr.homehub.infrastructure.config;
+
+import com.terfehr.homehub.infrastructure.replica.ReplicaContext;
+import com.terfehr.homehub.infrastructure.sharding.ShardContext;
+import lombok.NonNull;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carries the routing of the submitting thread over to the thread that executes a task, so work a request hands to
+ * an executor runs on the shard of the request and reads from the primary if the request has to. Applies to executors
+ * that are given this decorator, as the routing is no longer inherited by new threads.
+ */
+@Component
+public class ThreadContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(@NonNull Runnable runnable) {
+        return ReplicaContext.wrap(ShardContext.wrap(runnable));
+    }
+}
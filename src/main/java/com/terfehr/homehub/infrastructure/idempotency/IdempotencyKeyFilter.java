@@ -0,0 +1,312 @@
+package com.terfehr.homehub.infrastructure.idempotency;
+
+import com.terfehr.homehub.infrastructure.idempotency.IdempotencyStore.StoredResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * <p>Filter that makes mutating requests safe to retry. A POST, PUT, PATCH or DELETE request carrying an
+ * Idempotency-Key header is executed at most once per key and user. The response of a successful execution is stored
+ * and replayed for every retry with the same key until it expires, marked by the Idempotent-Replayed header.
+ * Failed executions are not stored, so they can be retried with the same key.</p>
+ *
+ * <p>Duplicates that arrive while the first execution is still running wait for its response instead of executing
+ * the request again. Within one instance they wait on the execution itself, across instances they poll the claim in
+ * the database. Reusing a key for a different request is rejected with 422 and a duplicate that waited too long
+ * with 409.</p>
+ */
+@Component
+public class IdempotencyKeyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final Set<String> MUTATING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long POLL_MILLIS = 50;
+
+    private final IdempotencyStore idempotencyStore;
+    private final ConcurrentHashMap<String, CompletableFuture<Optional<StoredResponse>>> inFlight;
+    private final long waitMillis;
+
+    public IdempotencyKeyFilter(IdempotencyStore idempotencyStore, @Value("${idempotency.wait-millis}") long waitMillis) {
+        this.idempotencyStore = idempotencyStore;
+        this.inFlight = new ConcurrentHashMap<>();
+        this.waitMillis = waitMillis;
+    }
+
+    /**
+     * Executes the request once per key or replays the stored response of a previous execution.
+     *
+     * @param request the incoming {@link HttpServletRequest} object containing client request data
+     * @param response the {@link HttpServletResponse} object used to send responses back to the client
+     * @param filterChain the {@link FilterChain} responsible for delegating further request processing
+     * @throws ServletException if an error occurs in servlet operations
+     * @throws IOException if an I/O error occurs during processing
+     */
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpStatus.BAD_REQUEST, "The Idempotency-Key header must contain between 1 and " + MAX_KEY_LENGTH + " characters.");
+            return;
+        }
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String keyHash = hash(principal(), "\n", key);
+        String requestHash = hash(request.getMethod(), " ", request.getRequestURI(), "?", String.valueOf(request.getQueryString()),
+                "\n", new String(cachedRequest.body, StandardCharsets.UTF_8));
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+
+        while (true) {
+            Optional<StoredResponse> stored = idempotencyStore.findCompleted(keyHash);
+            if (stored.isPresent()) {
+                replay(response, stored.get(), requestHash);
+                return;
+            }
+
+            CompletableFuture<Optional<StoredResponse>> execution = new CompletableFuture<>();
+            CompletableFuture<Optional<StoredResponse>> running = inFlight.putIfAbsent(keyHash, execution);
+            if (running != null) {
+                stored = awaitLocal(running, deadline);
+            } else if (idempotencyStore.claim(keyHash, requestHash)) {
+                try {
+                    execution.complete(execute(cachedRequest, response, filterChain, keyHash, requestHash));
+                } finally {
+                    execution.complete(Optional.empty());
+                    inFlight.remove(keyHash, execution);
+                }
+                return;
+            } else {
+                inFlight.remove(keyHash, execution);
+                execution.complete(Optional.empty());
+                stored = awaitRemote(keyHash, deadline);
+            }
+
+            if (stored.isPresent()) {
+                replay(response, stored.get(), requestHash);
+                return;
+            }
+            if (System.nanoTime() >= deadline) {
+                reject(response, HttpStatus.CONFLICT, "A request with the same Idempotency-Key is still being processed.");
+                return;
+            }
+            // The first execution failed and released the key, so this request may execute it instead
+        }
+    }
+
+    /**
+     * Only mutating requests that carry an Idempotency-Key header are filtered.
+     *
+     * @param request The Request to check
+     * @return True, if it should not be filtered. False otherwise.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !MUTATING_METHODS.contains(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null;
+    }
+
+    /**
+     * Executes the claimed request and stores its response if it succeeded. Otherwise, the claim is released.
+     *
+     * @return An Optional containing the stored response or an empty Optional if the request failed.
+     */
+    private Optional<StoredResponse> execute(CachedBodyRequest request, HttpServletResponse response, FilterChain filterChain,
+                                             String keyHash, String requestHash) throws ServletException, IOException {
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(request, cachingResponse);
+            if (cachingResponse.getStatus() < 400) {
+                StoredResponse storedResponse = idempotencyStore.complete(keyHash, requestHash, cachingResponse.getStatus(),
+                        cachingResponse.getContentType(), cachingResponse.getContentAsByteArray());
+                stored = true;
+                return Optional.of(storedResponse);
+            }
+            return Optional.empty();
+        } finally {
+            if (!stored) {
+                idempotencyStore.release(keyHash, requestHash);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Waits for the execution of the same key within this instance.
+     *
+     * @return An Optional containing the response of the execution or an empty Optional if it failed or took too long.
+     */
+    private Optional<StoredResponse> awaitLocal(CompletableFuture<Optional<StoredResponse>> running, long deadline) throws IOException {
+        try {
+            return running.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a request with the same Idempotency-Key", e);
+        }
+    }
+
+    /**
+     * Polls the claim of another instance until it completed, was released or the deadline passed.
+     *
+     * @return An Optional containing the response of the execution or an empty Optional if it failed or took too long.
+     */
+    private Optional<StoredResponse> awaitRemote(String keyHash, long deadline) throws IOException {
+        while (System.nanoTime() < deadline) {
+            Optional<StoredResponse> stored = idempotencyStore.findCompleted(keyHash);
+            if (stored.isPresent() || !idempotencyStore.isPending(keyHash)) {
+                return stored;
+            }
+            try {
+                Thread.sleep(POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for a request with the same Idempotency-Key", e);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Sends the stored response again, unless the key was used for a different request.
+     */
+    private void replay(HttpServletResponse response, StoredResponse stored, String requestHash) throws IOException {
+        if (!stored.requestHash().equals(requestHash)) {
+            reject(response, HttpStatus.UNPROCESSABLE_ENTITY, "The Idempotency-Key was already used for a different request.");
+            return;
+        }
+        response.setStatus(stored.statusCode());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    /**
+     * Answers the request with the given status and message without executing it.
+     */
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write(message);
+    }
+
+    /**
+     * Returns the name of the authenticated user, which scopes the keys, so users cannot see each other's responses.
+     */
+    private String principal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "";
+    }
+
+    /**
+     * Calculates the hex encoded SHA-256 hash of the concatenated parts.
+     */
+    private static String hash(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update(part.getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Reads the body of the request up front, so it can be part of the fingerprint and still be read by the controller.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * The body is already in memory, so the listener is notified right away instead of by the container.
+                 */
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            readListener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.terfehr.homehub.infrastructure.idempotency;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records the execution of a mutating request that carried an Idempotency-Key header. The key is stored as a hash
+ * scoped to the authenticated user, together with a fingerprint of the request and the response that was sent for it.
+ * A record without a status code belongs to a request that is still executing. Records are written by native queries
+ * only and are removed once they expired.
+ */
+@Entity
+@NoArgsConstructor
+@Getter
+@Table(name = "idempotency_records",
+        indexes = @Index(name = "idx_idempotency_records_expires_at", columnList = "expires_at"))
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "key_hash", length = 64)
+    private String keyHash;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "status_code")
+    private Integer statusCode; // Null while the request is still executing
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "body")
+    private byte[] body;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,77 @@
+package com.terfehr.homehub.infrastructure.idempotency;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyRecordRepositoryInterface extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Claims the given key for executing a request. The claim succeeds if the key is unknown or its record expired,
+     * which includes requests that were abandoned while executing. Concurrent claims of the same key are serialized by
+     * the primary key, so exactly one of them succeeds.
+     *
+     * @param keyHash The scoped hash of the Idempotency-Key.
+     * @param requestHash The fingerprint of the request.
+     * @param now The current time.
+     * @param leaseExpiresAt The time after which the claim is considered abandoned if the request did not complete.
+     * @return 1, if the key was claimed. 0 otherwise.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_records"))
+    @Query(value = """
+            insert into idempotency_records (key_hash, request_hash, created_at, expires_at)
+            values (:keyHash, :requestHash, :now, :leaseExpiresAt)
+            on conflict (key_hash) do update
+            set request_hash = excluded.request_hash, status_code = null, content_type = null, body = null,
+                created_at = excluded.created_at, expires_at = excluded.expires_at
+            where idempotency_records.expires_at < :now
+            """, nativeQuery = true)
+    int claim(@Param("keyHash") String keyHash, @Param("requestHash") String requestHash,
+              @Param("now") LocalDateTime now, @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    /**
+     * Stores the response of a claimed request and extends the record to the full time to live.
+     *
+     * @return 1, if the claim was still held and the response was stored. 0 otherwise.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_records"))
+    @Query(value = """
+            update idempotency_records
+            set status_code = :statusCode, content_type = :contentType, body = :body, expires_at = :expiresAt
+            where key_hash = :keyHash and request_hash = :requestHash and status_code is null
+            """, nativeQuery = true)
+    int complete(@Param("keyHash") String keyHash, @Param("requestHash") String requestHash, @Param("statusCode") int statusCode,
+                 @Param("contentType") String contentType, @Param("body") byte[] body, @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Releases the claim of a request that failed, so it can be retried with the same key.
+     *
+     * @return 1, if the claim was released. 0 otherwise.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_records"))
+    @Query(value = """
+            delete from idempotency_records
+            where key_hash = :keyHash and request_hash = :requestHash and status_code is null
+            """, nativeQuery = true)
+    int release(@Param("keyHash") String keyHash, @Param("requestHash") String requestHash);
+
+    /**
+     * Deletes all records that expired before the given time.
+     *
+     * @param now The current time.
+     * @return The number of deleted records.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_records"))
+    @Query(value = "delete from idempotency_records where expires_at < :now", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
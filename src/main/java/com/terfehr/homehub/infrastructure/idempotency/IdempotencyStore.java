@@ -0,0 +1,151 @@
+package com.terfehr.homehub.infrastructure.idempotency;
+
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Persists the claims and responses of idempotent requests in the idempotency_records table and keeps the most
+ * recently completed responses in memory, so replaying a retried request usually does not touch the database.
+ * Completed responses never change until they expire, so the cache needs no invalidation across instances.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final IdempotencyRecordRepositoryInterface idempotencyRecordRepository;
+    private final LinkedHashMap<String, StoredResponse> recent; // Access order for LRU eviction
+    private final long ttlHours;
+    private final long leaseSeconds;
+
+    public IdempotencyStore(IdempotencyRecordRepositoryInterface idempotencyRecordRepository,
+                            @Value("${idempotency.ttl-hours}") long ttlHours,
+                            @Value("${idempotency.lease-seconds}") long leaseSeconds,
+                            @Value("${idempotency.cache.max-entries}") int maxEntries) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.ttlHours = ttlHours;
+        this.leaseSeconds = leaseSeconds;
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Looks up the completed response for the given key, first in memory and then in the database.
+     *
+     * @param keyHash The scoped hash of the Idempotency-Key.
+     * @return An Optional containing the completed response or an empty Optional if there is none.
+     */
+    public Optional<StoredResponse> findCompleted(String keyHash) {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (recent) {
+            StoredResponse response = recent.get(keyHash);
+            if (response != null && response.expiresAt().isAfter(now)) {
+                return Optional.of(response);
+            }
+            recent.remove(keyHash);
+        }
+        return idempotencyRecordRepository.findById(keyHash)
+                .filter(record -> record.getStatusCode() != null && record.getExpiresAt().isAfter(now))
+                .map(record -> remember(keyHash, new StoredResponse(record.getRequestHash(), record.getStatusCode(),
+                        record.getContentType(), record.getBody(), record.getExpiresAt())));
+    }
+
+    /**
+     * Decides whether the given key is still claimed by a request that has not completed yet.
+     *
+     * @param keyHash The scoped hash of the Idempotency-Key.
+     * @return True, if an unexpired claim without a response exists. False otherwise.
+     */
+    public boolean isPending(String keyHash) {
+        return idempotencyRecordRepository.findById(keyHash)
+                .filter(record -> record.getStatusCode() == null && record.getExpiresAt().isAfter(LocalDateTime.now()))
+                .isPresent();
+    }
+
+    /**
+     * Claims the given key for executing the request with the given fingerprint.
+     *
+     * @param keyHash The scoped hash of the Idempotency-Key.
+     * @param requestHash The fingerprint of the request.
+     * @return True, if the key was claimed and the request may be executed. False otherwise.
+     */
+    @Transactional
+    public boolean claim(String keyHash, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        return idempotencyRecordRepository.claim(keyHash, requestHash, now, now.plusSeconds(leaseSeconds)) == 1;
+    }
+
+    /**
+     * Stores the response of a claimed request and remembers it in memory.
+     *
+     * @param keyHash The scoped hash of the Idempotency-Key.
+     * @param requestHash The fingerprint of the request.
+     * @param statusCode The status code of the response.
+     * @param contentType The content type of the response or null if it has no body.
+     * @param body The body of the response.
+     * @return The stored response.
+     */
+    @Transactional
+    public StoredResponse complete(String keyHash, String requestHash, int statusCode, String contentType, byte[] body) {
+        StoredResponse response = new StoredResponse(requestHash, statusCode, contentType, body, LocalDateTime.now().plusHours(ttlHours));
+        if (idempotencyRecordRepository.complete(keyHash, requestHash, statusCode, contentType, body, response.expiresAt()) == 1) {
+            remember(keyHash, response);
+        }
+        return response;
+    }
+
+    /**
+     * Releases the claim of a request that failed, so it can be retried with the same key.
+     *
+     * @param keyHash The scoped hash of the Idempotency-Key.
+     * @param requestHash The fingerprint of the request.
+     */
+    @Transactional
+    public void release(String keyHash, String requestHash) {
+        idempotencyRecordRepository.release(keyHash, requestHash);
+    }
+
+    /**
+     * Deletes all expired records.
+     *
+     * @return The number of deleted records.
+     */
+    @Transactional
+    public int deleteExpired() {
+        return idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    /**
+     * Puts the given response into the in-memory cache.
+     *
+     * @param keyHash The scoped hash of the Idempotency-Key.
+     * @param response The completed response.
+     * @return The given response.
+     */
+    private StoredResponse remember(String keyHash, StoredResponse response) {
+        synchronized (recent) {
+            recent.put(keyHash, response);
+        }
+        return response;
+    }
+
+    /**
+     * The response of a completed idempotent request.
+     *
+     * @param requestHash The fingerprint of the request the response was sent for.
+     * @param statusCode The status code of the response.
+     * @param contentType The content type of the response or null if it has no body.
+     * @param body The body of the response.
+     * @param expiresAt The time after which the response is not replayed anymore.
+     */
+    public record StoredResponse(String requestHash, int statusCode, String contentType, byte[] body, LocalDateTime expiresAt) {
+    }
+}
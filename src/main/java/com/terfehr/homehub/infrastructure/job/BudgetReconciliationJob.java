@@ -0,0 +1,33 @@
+package com.terfehr.homehub.infrastructure.job;
+
+import com.terfehr.homehub.domain.bookkeeping.service.BudgetService;
+import com.terfehr.homehub.infrastructure.sharding.ShardRouter;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Job that periodically rebuilds all Budget consumption counters from the ledger. The counters are maintained
+ * incrementally on every booking, so this job only repairs drift, e.g. from Transactions edited outside the application.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class BudgetReconciliationJob {
+
+    private final BudgetService budgetService;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Rebuilds all counters of a shard in a single transaction, so readers either see the old or the rebuilt counters.
+     */
+    @Scheduled(cron = "${budget.reconciliation.cron}")
+    public void reconcile() {
+        int counters = shardRouter.onEveryShard(() -> transactionTemplate.execute(status -> budgetService.rebuildCounters()))
+                .stream().mapToInt(Integer::intValue).sum();
+        log.info("Rebuilt {} budget consumption counters from the ledger", counters);
+    }
+}
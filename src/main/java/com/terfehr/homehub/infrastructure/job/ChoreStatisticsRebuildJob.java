@@ -0,0 +1,35 @@
+package com.terfehr.homehub.infrastructure.job;
+
+import com.terfehr.homehub.domain.scheduling.service.ChoreStatisticsService;
+import com.terfehr.homehub.infrastructure.sharding.ShardRouter;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Job that periodically rebuilds the weekly chore statistics of all Roommates from the tasks table. The statistics
+ * are maintained incrementally whenever a Task is finished or unfinished, so this job only repairs drift, e.g. from
+ * Tasks edited outside the application.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class ChoreStatisticsRebuildJob {
+
+    private final ChoreStatisticsService choreStatisticsService;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Rebuilds all statistics of a shard in a single transaction, so readers either see the old or the rebuilt
+     * statistics.
+     */
+    @Scheduled(cron = "${chore-statistics.rebuild-cron}")
+    public void rebuild() {
+        int rows = shardRouter.onEveryShard(() -> transactionTemplate.execute(status -> choreStatisticsService.rebuild()))
+                .stream().mapToInt(Integer::intValue).sum();
+        log.info("Rebuilt {} weekly chore statistics from the tasks", rows);
+    }
+}
@@ -0,0 +1,28 @@
+package com.terfehr.homehub.infrastructure.job;
+
+import com.terfehr.homehub.infrastructure.idempotency.IdempotencyStore;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job that periodically deletes the records of idempotent requests whose time to live has passed, including claims
+ * of requests that were abandoned while executing.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class IdempotencyRecordCleanupJob {
+
+    private final IdempotencyStore idempotencyStore;
+
+    /**
+     * Deletes the expired records.
+     */
+    @Scheduled(cron = "${idempotency.cleanup-cron}")
+    public void cleanUp() {
+        int records = idempotencyStore.deleteExpired();
+        log.info("Deleted {} expired idempotency records", records);
+    }
+}
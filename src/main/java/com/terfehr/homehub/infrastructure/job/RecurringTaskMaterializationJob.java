@@ -0,0 +1,67 @@
+package com.terfehr.homehub.infrastructure.job;
+
+import com.terfehr.homehub.application.service.MaterializeRecurringTasksService;
+import com.terfehr.homehub.infrastructure.sharding.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Job that materializes the occurrences of all RecurringTasks across all Households that are due before the end of
+ * the configured horizon, so the Tasks due today can be read with a range scan of the index on their due time. It
+ * runs nightly and once on startup to catch up on nights the application was down. RecurringTasks are materialized
+ * in batches of the configured size, one transaction per batch, and occurrences are unique per RecurringTask and due
+ * time, so a failed or repeated batch never creates duplicates.
+ */
+@Slf4j
+@Component
+public class RecurringTaskMaterializationJob {
+
+    private final MaterializeRecurringTasksService materializeRecurringTasksService;
+    private final ShardRouter shardRouter;
+    private final int batchSize;
+    private final int horizonDays;
+
+    public RecurringTaskMaterializationJob(MaterializeRecurringTasksService materializeRecurringTasksService, ShardRouter shardRouter,
+                                           @Value("${recurring-tasks.batch-size}") int batchSize,
+                                           @Value("${recurring-tasks.horizon-days}") int horizonDays) {
+        this.materializeRecurringTasksService = materializeRecurringTasksService;
+        this.shardRouter = shardRouter;
+        this.batchSize = batchSize;
+        this.horizonDays = horizonDays;
+    }
+
+    /**
+     * Materializes the occurrences up to the end of the horizon batch by batch until no due RecurringTasks are left,
+     * one shard after another.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${recurring-tasks.materialization-cron}")
+    public void materialize() {
+        LocalDateTime until = LocalDate.now().plusDays(horizonDays + 1L).atStartOfDay();
+        int materialized = shardRouter.onEveryShard(() -> materialize(until)).stream().mapToInt(Integer::intValue).sum();
+        log.info("Materialized the occurrences of {} recurring tasks until {}", materialized, until);
+    }
+
+    /**
+     * Materializes the occurrences of the current shard up to the given time batch by batch.
+     *
+     * @param until The end of the horizon.
+     * @return The number of RecurringTasks whose occurrences were materialized.
+     */
+    private int materialize(LocalDateTime until) {
+        int materialized = 0;
+        int batch;
+        do {
+            batch = materializeRecurringTasksService.execute(until, batchSize);
+            materialized += batch;
+        } while (batch == batchSize);
+        return materialized;
+    }
+}
@@ -0,0 +1,168 @@
+package com.terfehr.homehub.infrastructure.job;
+
+import com.terfehr.homehub.application.service.MaterializeRecurringTransactionsService;
+import com.terfehr.homehub.domain.bookkeeping.event.RecurringTransactionScheduledEvent;
+import com.terfehr.homehub.domain.bookkeeping.repository.RecurringTransactionRepositoryInterface;
+import com.terfehr.homehub.domain.bookkeeping.value.RecurringSchedule;
+import com.terfehr.homehub.infrastructure.scheduling.HierarchicalTimingWheel;
+import com.terfehr.homehub.infrastructure.sharding.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * <p>Job that books the occurrences of RecurringTransactions when they become due. Instead of scanning all definitions
+ * on every run, the next occurrence of every active definition is kept in a HierarchicalTimingWheel, so a tick only
+ * touches the definitions that are actually due.</p>
+ *
+ * <p>The wheel is filled from the database on startup, which also catches up on occurrences missed while the
+ * application was down. Due definitions are materialized in chunks, one transaction per chunk, and booking is
+ * idempotent through the occurrence keys, so a failed or repeated chunk never books an occurrence twice. An hourly
+ * resync schedules definitions again that were created or changed without passing through this instance.</p>
+ *
+ * <p>With sharding, the wheel holds the definitions of all shards, which works as IDs are unique across shards. The
+ * wheel is filled from every shard and due chunks are materialized on every shard, where each shard books the
+ * definitions it holds and ignores the others.</p>
+ */
+@Slf4j
+@Component
+public class RecurringTransactionScheduler {
+
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    private final RecurringTransactionRepositoryInterface recurringTransactionRepository;
+    private final MaterializeRecurringTransactionsService materializeRecurringTransactionsService;
+    private final ShardRouter shardRouter;
+    private final HierarchicalTimingWheel<Long> wheel;
+    private final long tickMillis;
+    private final int batchSize;
+    private final int catchUpLimit;
+    private final long resyncHorizonMinutes;
+
+    public RecurringTransactionScheduler(RecurringTransactionRepositoryInterface recurringTransactionRepository,
+                                         MaterializeRecurringTransactionsService materializeRecurringTransactionsService,
+                                         ShardRouter shardRouter,
+                                         @Value("${recurring.tick-millis}") long tickMillis,
+                                         @Value("${recurring.wheel-size}") int wheelSize,
+                                         @Value("${recurring.batch-size}") int batchSize,
+                                         @Value("${recurring.catch-up-limit}") int catchUpLimit,
+                                         @Value("${recurring.resync-horizon-minutes}") long resyncHorizonMinutes) {
+        this.recurringTransactionRepository = recurringTransactionRepository;
+        this.materializeRecurringTransactionsService = materializeRecurringTransactionsService;
+        this.shardRouter = shardRouter;
+        this.wheel = new HierarchicalTimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+        this.tickMillis = tickMillis;
+        this.batchSize = batchSize;
+        this.catchUpLimit = catchUpLimit;
+        this.resyncHorizonMinutes = resyncHorizonMinutes;
+    }
+
+    /**
+     * Loads the schedules of all active RecurringTransactions page by page into the wheel once the application is ready.
+     * Occurrences that became due while the application was down expire on the next tick.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        int loaded = shardRouter.onEveryShard(this::loadShard).stream().mapToInt(Integer::intValue).sum();
+        log.info("Scheduled {} recurring transactions", loaded);
+    }
+
+    /**
+     * Loads the schedules of all active RecurringTransactions of the current shard page by page into the wheel.
+     *
+     * @return The number of loaded schedules.
+     */
+    private int loadShard() {
+        long afterId = 0;
+        int loaded = 0;
+        List<RecurringSchedule> page;
+        do {
+            page = recurringTransactionRepository.findActiveSchedulesAfterId(afterId, Limit.of(LOAD_PAGE_SIZE));
+            page.forEach(this::schedule);
+            loaded += page.size();
+            if (!page.isEmpty()) {
+                afterId = page.getLast().recurringTransactionId();
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+        return loaded;
+    }
+
+    /**
+     * Advances the wheel and materializes all RecurringTransactions that became due, one transaction per chunk of
+     * the configured batch size. Chunks that fail are retried on the next tick.
+     */
+    @Scheduled(fixedDelayString = "${recurring.tick-millis}")
+    public void tick() {
+        long nowMillis = System.currentTimeMillis();
+        List<Long> due = wheel.advance(nowMillis);
+        if (due.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = toLocalDateTime(nowMillis);
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<Long> chunk = due.subList(from, Math.min(from + batchSize, due.size()));
+            try {
+                shardRouter.onEveryShard(() -> materializeRecurringTransactionsService.execute(chunk, now, catchUpLimit))
+                        .forEach(schedules -> schedules.forEach(this::schedule));
+            } catch (RuntimeException e) {
+                log.warn("Materializing {} recurring transactions failed, retrying on the next tick", chunk.size(), e);
+                chunk.forEach(id -> wheel.schedule(id, nowMillis + tickMillis));
+            }
+        }
+        log.debug("Materialized {} due recurring transactions", due.size());
+    }
+
+    /**
+     * Schedules all active RecurringTransactions again whose next occurrence lies within the configured horizon.
+     */
+    @Scheduled(cron = "${recurring.resync-cron}")
+    public void resync() {
+        LocalDateTime until = LocalDateTime.now().plusMinutes(resyncHorizonMinutes);
+        shardRouter.onEveryShard(() -> recurringTransactionRepository.findActiveSchedulesDueBefore(until))
+                .forEach(schedules -> schedules.forEach(this::schedule));
+    }
+
+    /**
+     * Schedules a created or changed RecurringTransaction once the transaction that changed it has been committed.
+     *
+     * @param event The event containing the new schedule.
+     */
+    @TransactionalEventListener
+    public void onScheduled(RecurringTransactionScheduledEvent event) {
+        schedule(event.getSchedule());
+    }
+
+    /**
+     * Schedules the given RecurringSchedule in the wheel or removes it if there is no next occurrence.
+     *
+     * @param schedule The schedule to apply.
+     */
+    private void schedule(RecurringSchedule schedule) {
+        if (schedule.nextOccurrence() == null) {
+            wheel.cancel(schedule.recurringTransactionId());
+            return;
+        }
+        long deadline = schedule.nextOccurrence().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        wheel.schedule(schedule.recurringTransactionId(), deadline);
+    }
+
+    /**
+     * Converts the given epoch milliseconds to a LocalDateTime in the system time zone.
+     *
+     * @param epochMillis The epoch milliseconds to convert.
+     * @return The corresponding LocalDateTime.
+     */
+    private LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,158 @@
+package com.terfehr.homehub.infrastructure.job;
+
+import com.terfehr.homehub.application.interfaces.EmailServiceInterface;
+import com.terfehr.homehub.application.service.ClaimRemindersService;
+import com.terfehr.homehub.application.service.CompleteRemindersService;
+import com.terfehr.homehub.application.service.GenerateRemindersService;
+import com.terfehr.homehub.application.service.PruneRemindersService;
+import com.terfehr.homehub.domain.scheduling.value.ReminderDigest;
+import com.terfehr.homehub.infrastructure.sharding.ShardContext;
+import com.terfehr.homehub.infrastructure.sharding.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * <p>Job that dispatches the reminders of due Tasks and bills. Every run creates the reminders that became due, then
+ * claims them batch by batch and sends one digest per User and batch. Every instance claims under its own identifier
+ * and reminders are leased to it while they are sent, so any number of instances can run the job at the same time
+ * without sending a reminder twice. The lease has to outlast the sending of a batch.</p>
+ *
+ * <p>The digests of a batch are sent concurrently on virtual threads, at most the configured number at a time, so a
+ * slow mail server does not hold up the whole batch while still not being flooded. Reminders whose digest could not
+ * be sent are not completed and claimed again once their lease expired. The sends are bound to the shard that is
+ * dispatched, as the pooled threads do not carry a shard of their own.</p>
+ */
+@Slf4j
+@Component
+public class ReminderDispatchJob {
+
+    private final GenerateRemindersService generateRemindersService;
+    private final ClaimRemindersService claimRemindersService;
+    private final CompleteRemindersService completeRemindersService;
+    private final PruneRemindersService pruneRemindersService;
+    private final EmailServiceInterface emailService;
+    private final ShardRouter shardRouter;
+    private final ExecutorService senders;
+    private final String owner;
+    private final int batchSize;
+    private final int maxBatches;
+    private final int retentionDays;
+
+    public ReminderDispatchJob(GenerateRemindersService generateRemindersService,
+                               ClaimRemindersService claimRemindersService,
+                               CompleteRemindersService completeRemindersService,
+                               PruneRemindersService pruneRemindersService,
+                               EmailServiceInterface emailService,
+                               ShardRouter shardRouter,
+                               @Value("${reminders.batch-size}") int batchSize,
+                               @Value("${reminders.max-batches}") int maxBatches,
+                               @Value("${reminders.parallelism}") int parallelism,
+                               @Value("${reminders.retention-days}") int retentionDays) {
+        this.generateRemindersService = generateRemindersService;
+        this.claimRemindersService = claimRemindersService;
+        this.completeRemindersService = completeRemindersService;
+        this.pruneRemindersService = pruneRemindersService;
+        this.emailService = emailService;
+        this.shardRouter = shardRouter;
+        this.senders = Executors.newFixedThreadPool(parallelism, Thread.ofVirtual().name("reminder-sender-", 0).factory());
+        this.owner = UUID.randomUUID().toString();
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * Creates the due reminders and dispatches them until no full batch is left or the maximum number of batches per
+     * run is reached, one shard after another. The rest follows on the next run.
+     */
+    @Scheduled(fixedDelayString = "${reminders.dispatch-millis}")
+    public void dispatch() {
+        shardRouter.forEachShard(this::dispatchShard);
+    }
+
+    /**
+     * Deletes the reminders whose retention period has passed.
+     */
+    @Scheduled(cron = "${reminders.pruning-cron}")
+    public void prune() {
+        LocalDateTime before = LocalDateTime.now().minusDays(retentionDays);
+        int pruned = shardRouter.onEveryShard(() -> pruneRemindersService.execute(before)).stream().mapToInt(Integer::intValue).sum();
+        log.info("Pruned {} reminders", pruned);
+    }
+
+    /**
+     * Creates the due reminders of the current shard and dispatches them batch by batch.
+     */
+    private void dispatchShard() {
+        generateRemindersService.execute(LocalDateTime.now());
+        int sent = 0;
+        int failed = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<ReminderDigest> digests = claimRemindersService.execute(owner, LocalDateTime.now(), batchSize);
+            if (digests.isEmpty()) {
+                break;
+            }
+            List<Long> sentIds = send(digests);
+            completeRemindersService.execute(sentIds, owner);
+
+            int claimed = digests.stream().mapToInt(digest -> digest.reminders().size()).sum();
+            sent += sentIds.size();
+            failed += claimed - sentIds.size();
+            if (claimed < batchSize) {
+                break;
+            }
+        }
+        if (sent > 0 || failed > 0) {
+            log.info("Dispatched {} reminders, {} failed and are retried after their lease expired", sent, failed);
+        }
+    }
+
+    /**
+     * Sends the given digests concurrently and waits for all of them.
+     *
+     * @param digests The digests to send.
+     * @return The IDs of the reminders whose digest was sent.
+     */
+    private List<Long> send(List<ReminderDigest> digests) {
+        List<Callable<List<Long>>> sends = digests.stream().<Callable<List<Long>>>map(digest -> () -> {
+            try {
+                emailService.sendReminderDigest(digest);
+                return digest.reminderIds();
+            } catch (RuntimeException e) {
+                log.warn("Could not send {} reminders to user {}", digest.reminders().size(), digest.userId(), e);
+                return List.of();
+            }
+        }).map(ShardContext::wrap).toList();
+
+        List<Long> sentIds = new ArrayList<>();
+        try {
+            for (Future<List<Long>> result : senders.invokeAll(sends)) {
+                sentIds.addAll(result.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("Sending reminders failed", e.getCause());
+        }
+        return sentIds;
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void shutdown() {
+        senders.shutdownNow();
+    }
+}
@@ -0,0 +1,43 @@
+package com.terfehr.homehub.infrastructure.job;
+
+import com.terfehr.homehub.infrastructure.replica.ReadYourWrites;
+import com.terfehr.homehub.infrastructure.replica.ReplicaRoutingDataSource;
+import com.terfehr.homehub.infrastructure.sharding.ShardRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Job that periodically checks how far every read replica lags behind its primary and how fast it answers, so
+ * read-only transactions are only served by replicas that are available and recent enough. Also forgets the Users
+ * whose read-your-writes window has passed.
+ */
+@Component
+public class ReplicaLagCheckJob {
+
+    private final List<ReplicaRoutingDataSource> dataSources;
+    private final ReadYourWrites readYourWrites;
+
+    public ReplicaLagCheckJob(DataSource dataSource, ReadYourWrites readYourWrites) {
+        Collection<DataSource> shards = dataSource instanceof ShardRoutingDataSource sharded
+                ? sharded.getShards().values()
+                : List.of(dataSource);
+        this.dataSources = shards.stream()
+                .filter(ReplicaRoutingDataSource.class::isInstance)
+                .map(ReplicaRoutingDataSource.class::cast)
+                .toList();
+        this.readYourWrites = readYourWrites;
+    }
+
+    /**
+     * Checks the replicas of every primary.
+     */
+    @Scheduled(fixedDelayString = "${replicas.lag-check-millis}")
+    public void check() {
+        dataSources.forEach(dataSource -> dataSource.getReplicaPool().refresh());
+        readYourWrites.prune();
+    }
+}
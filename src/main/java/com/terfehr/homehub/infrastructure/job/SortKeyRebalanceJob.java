@@ -0,0 +1,61 @@
+package com.terfehr.homehub.infrastructure.job;
+
+import com.terfehr.homehub.application.service.RebalanceShoppingListService;
+import com.terfehr.homehub.application.service.RebalanceTaskListService;
+import com.terfehr.homehub.domain.scheduling.service.TaskOrderService;
+import com.terfehr.homehub.domain.shopping.service.ShoppingService;
+import com.terfehr.homehub.infrastructure.sharding.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Job that periodically rebalances the SortKeys of TaskLists and ShoppingLists. Keys grow with repeated moves into
+ * the same gap and concurrent moves may pick the same key, so lists with a key longer than the configured length or
+ * with shared keys get short and distinct keys again. Every list is rebalanced in its own transaction, so only the
+ * moves within that list wait for it.
+ */
+@Slf4j
+@Component
+public class SortKeyRebalanceJob {
+
+    private final TaskOrderService taskOrderService;
+    private final ShoppingService shoppingService;
+    private final RebalanceTaskListService rebalanceTaskListService;
+    private final RebalanceShoppingListService rebalanceShoppingListService;
+    private final ShardRouter shardRouter;
+    private final int maxLength;
+
+    public SortKeyRebalanceJob(TaskOrderService taskOrderService, ShoppingService shoppingService,
+                               RebalanceTaskListService rebalanceTaskListService,
+                               RebalanceShoppingListService rebalanceShoppingListService, ShardRouter shardRouter,
+                               @Value("${sort-keys.max-length}") int maxLength) {
+        this.taskOrderService = taskOrderService;
+        this.shoppingService = shoppingService;
+        this.rebalanceTaskListService = rebalanceTaskListService;
+        this.rebalanceShoppingListService = rebalanceShoppingListService;
+        this.shardRouter = shardRouter;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Rebalances all TaskLists and ShoppingLists whose SortKeys grew too long or are shared, one shard after another.
+     */
+    @Scheduled(cron = "${sort-keys.rebalance-cron}")
+    public void rebalance() {
+        AtomicInteger tasks = new AtomicInteger();
+        AtomicInteger items = new AtomicInteger();
+        shardRouter.forEachShard(() -> {
+            for (Long taskListId : taskOrderService.getTaskListsToRebalance(maxLength)) {
+                tasks.addAndGet(rebalanceTaskListService.execute(taskListId));
+            }
+            for (Long shoppingListId : shoppingService.getShoppingListsToRebalance(maxLength)) {
+                items.addAndGet(rebalanceShoppingListService.execute(shoppingListId));
+            }
+        });
+        log.info("Rebalanced the sort keys of {} tasks and {} shopping list items", tasks.get(), items.get());
+    }
+}
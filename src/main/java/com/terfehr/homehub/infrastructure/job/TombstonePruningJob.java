@@ -0,0 +1,45 @@
+package com.terfehr.homehub.infrastructure.job;
+
+import com.terfehr.homehub.domain.household.repository.ChangeTombstoneRepositoryInterface;
+import com.terfehr.homehub.infrastructure.sharding.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Job that periodically prunes the tombstones of deleted shopping and task entities once their retention period has
+ * passed. Households whose tombstones were pruned tell clients that synchronized before to resynchronize fully.
+ */
+@Slf4j
+@Component
+public class TombstonePruningJob {
+
+    private final ChangeTombstoneRepositoryInterface changeTombstoneRepository;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final long retentionDays;
+
+    public TombstonePruningJob(ChangeTombstoneRepositoryInterface changeTombstoneRepository, ShardRouter shardRouter,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${sync.tombstone.retention-days}") long retentionDays) {
+        this.changeTombstoneRepository = changeTombstoneRepository;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = transactionTemplate;
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * Prunes the expired tombstones and raises the sync floors of a shard in a single transaction.
+     */
+    @Scheduled(cron = "${sync.tombstone.pruning-cron}")
+    public void prune() {
+        LocalDateTime before = LocalDateTime.now().minusDays(retentionDays);
+        int households = shardRouter.onEveryShard(() -> transactionTemplate.execute(status -> changeTombstoneRepository.pruneBefore(before)))
+                .stream().mapToInt(Integer::intValue).sum();
+        log.info("Pruned expired tombstones of {} households", households);
+    }
+}
@@ -0,0 +1,182 @@
+package com.terfehr.homehub.infrastructure.notification;
+
+import com.terfehr.homehub.infrastructure.sharding.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * <p>Receives the notifications Postgres sends with {@code pg_notify} and hands them to the subscribers of their
+ * channel. Notifications are only sent once the transaction that sent them committed, so every instance learns about
+ * a change right after it became visible, no matter which instance made it. Every shard is listened to on a dedicated
+ * connection to its primary, which is taken from the pool of the shard for as long as the application runs.</p>
+ *
+ * <p>Notifications sent while a connection is broken are lost. The listener reconnects after the configured delay
+ * and then calls the gap handler of every subscriber, which has to assume that it missed anything.</p>
+ */
+@Slf4j
+@Component
+public class DatabaseNotificationListener {
+
+    private final DataSource dataSource;
+    private final ShardRouter shardRouter;
+    private final Map<String, Subscription> subscriptions;
+    private final long pollMillis;
+    private final long retryMillis;
+    private volatile boolean running;
+    private Thread thread;
+
+    public DatabaseNotificationListener(DataSource dataSource, ShardRouter shardRouter,
+                                        @Value("${notifications.poll-millis}") long pollMillis,
+                                        @Value("${notifications.retry-millis}") long retryMillis) {
+        this.dataSource = dataSource;
+        this.shardRouter = shardRouter;
+        this.subscriptions = new ConcurrentHashMap<>();
+        this.pollMillis = pollMillis;
+        this.retryMillis = retryMillis;
+    }
+
+    /**
+     * Subscribes to the given channel. Must be called before the application is ready, as the channels are listened
+     * to from then on.
+     *
+     * @param channel The name of the channel.
+     * @param handler Receives the payload of every notification on the channel.
+     * @param gapHandler Called whenever notifications on the channel might have been missed.
+     * @throws IllegalStateException If the channel already has a subscriber.
+     */
+    public void subscribe(String channel, Consumer<String> handler, Runnable gapHandler) throws IllegalStateException {
+        if (subscriptions.putIfAbsent(channel, new Subscription(handler, gapHandler)) != null) {
+            throw new IllegalStateException("Channel " + channel + " already has a subscriber");
+        }
+    }
+
+    /**
+     * Starts listening once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        running = true;
+        thread = Thread.ofPlatform().name("database-notifications").daemon().start(this::run);
+    }
+
+    /**
+     * Stops listening and closes the connections when the application shuts down.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void shutdown() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Listens to every shard until the application shuts down, reconnecting whenever a connection breaks. The shards
+     * are polled in turn, sharing the poll interval, so a notification waits at most one interval on any shard.
+     */
+    private void run() {
+        while (running) {
+            List<Connection> connections = new ArrayList<>();
+            try {
+                shardRouter.forEachShard(() -> connections.add(listen()));
+                subscriptions.values().forEach(subscription -> subscription.gapHandler().run());
+                int timeoutMillis = (int) Math.max(1, pollMillis / connections.size());
+                while (running) {
+                    for (Connection connection : connections) {
+                        receive(connection, timeoutMillis);
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Listening for database notifications failed, reconnecting in {} ms", retryMillis, e);
+                    sleep();
+                }
+            } finally {
+                connections.forEach(this::close);
+            }
+        }
+    }
+
+    /**
+     * Takes a connection from the DataSource of the current shard and listens to every subscribed channel on it.
+     *
+     * @return The listening connection.
+     */
+    private Connection listen() {
+        try {
+            Connection connection = dataSource.getConnection();
+            try (Statement statement = connection.createStatement()) {
+                for (String channel : subscriptions.keySet()) {
+                    statement.execute("listen " + channel);
+                }
+            } catch (SQLException e) {
+                close(connection);
+                throw e;
+            }
+            return connection;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not listen for database notifications", e);
+        }
+    }
+
+    /**
+     * Waits up to the given time for notifications on the given connection and hands them to their subscribers. A
+     * subscriber that fails does not keep the others from receiving their notifications.
+     */
+    private void receive(Connection connection, int timeoutMillis) throws SQLException {
+        PGNotification[] notifications = connection.unwrap(PGConnection.class).getNotifications(timeoutMillis);
+        if (notifications == null) {
+            return;
+        }
+        for (PGNotification notification : notifications) {
+            Subscription subscription = subscriptions.get(notification.getName());
+            if (subscription == null) {
+                continue;
+            }
+            try {
+                subscription.handler().accept(notification.getParameter());
+            } catch (RuntimeException e) {
+                log.warn("Handling a notification on channel {} failed", notification.getName(), e);
+            }
+        }
+    }
+
+    private void close(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Closing a listening connection failed", e);
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(retryMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private record Subscription(Consumer<String> handler, Runnable gapHandler) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.terfehr.homehub.infrastructure.replica;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which Users changed data recently, so their reads go to the primary until the replicas have caught up
+ * with their own changes. The changes are remembered by this instance only, so Users have to stick to an instance for
+ * the configured window to read their own writes.
+ */
+@Component
+public class ReadYourWrites {
+
+    private final Map<String, Long> writes = new ConcurrentHashMap<>(); // Until when a User reads from the primary
+    private final long windowMillis;
+
+    public ReadYourWrites(@Value("${replicas.read-your-writes-millis}") long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * Records that the given User changed data just now.
+     *
+     * @param username The name of the User.
+     */
+    public void recordWrite(String username) {
+        writes.put(username, System.currentTimeMillis() + windowMillis);
+    }
+
+    /**
+     * Checks whether the given User changed data within the window.
+     *
+     * @param username The name of the User.
+     * @return True, if the User has to read from the primary. False otherwise.
+     */
+    public boolean wroteRecently(String username) {
+        Long until = writes.get(username);
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    /**
+     * Forgets the Users whose window has passed.
+     */
+    public void prune() {
+        long now = System.currentTimeMillis();
+        writes.values().removeIf(until -> until <= now);
+    }
+}
@@ -0,0 +1,71 @@
+package com.terfehr.homehub.infrastructure.replica;
+
+/**
+ * Holds whether the current thread has to read from the primary, because it works for a User whose own changes may
+ * not have reached the replicas yet. It is not inherited by threads started while it is set, as pooled threads would
+ * keep reading from the primary for all later work. Work handed to another thread has to take it along explicitly,
+ * see wrap and the ThreadContextTaskDecorator, so the concurrent reads of a request see the same data.
+ */
+public final class ReplicaContext {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private ReplicaContext() {
+    }
+
+    /**
+     * Checks whether the current thread has to read from the primary.
+     *
+     * @return True, if the primary is required. False otherwise.
+     */
+    public static boolean isPrimaryRequired() {
+        return Boolean.TRUE.equals(PRIMARY_REQUIRED.get());
+    }
+
+    /**
+     * Makes the current thread read from the primary until it is cleared.
+     */
+    public static void requirePrimary() {
+        PRIMARY_REQUIRED.set(true);
+    }
+
+    /**
+     * Lets the current thread read from the replicas again.
+     */
+    public static void clear() {
+        PRIMARY_REQUIRED.remove();
+    }
+
+    /**
+     * Binds the given task to the current thread's need for the primary, so it reads from the primary in whichever
+     * thread executes it if the current thread has to. The thread gets back its previous state afterward.
+     *
+     * @param task The task to bind.
+     * @return The bound task.
+     */
+    public static Runnable wrap(Runnable task) {
+        Boolean primaryRequired = PRIMARY_REQUIRED.get();
+        return () -> {
+            Boolean previous = PRIMARY_REQUIRED.get();
+            set(primaryRequired);
+            try {
+                task.run();
+            } finally {
+                set(previous);
+            }
+        };
+    }
+
+    /**
+     * Sets or clears the need for the primary of the current thread.
+     *
+     * @param primaryRequired True, if the primary is required, or null to clear it.
+     */
+    private static void set(Boolean primaryRequired) {
+        if (primaryRequired == null) {
+            PRIMARY_REQUIRED.remove();
+        } else {
+            PRIMARY_REQUIRED.set(primaryRequired);
+        }
+    }
+}
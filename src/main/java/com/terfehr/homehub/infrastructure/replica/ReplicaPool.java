@@ -0,0 +1,149 @@
+package com.terfehr.homehub.infrastructure.replica;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>DataSource that hands out connections to the replicas of a primary. Only replicas whose last check succeeded and
+ * found them at most the configured lag behind the primary are used, selected round-robin or by the lowest latency of
+ * their checks. Until the first check, when no replica qualifies or when the current thread requires the primary, see
+ * ReplicaContext, connections to the primary are handed out instead.</p>
+ *
+ * <p>A replica that cannot be connected to is skipped until its next successful check. Connections requested with
+ * explicit credentials are always taken from the primary, as the connection pools of the replicas are bound to the
+ * credentials they were configured with.</p>
+ */
+@Slf4j
+public class ReplicaPool extends AbstractDataSource {
+
+    private static final String LAG_QUERY = """
+            select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+            else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000, 0) end
+            """;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReplicaProperties.Selection selection;
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Constructs a ReplicaPool.
+     *
+     * @param primary The DataSource of the primary.
+     * @param replicas The DataSources of the replicas by name.
+     * @param selection How a replica is selected.
+     * @param maxLagMillis The lag up to which a replica is used.
+     */
+    public ReplicaPool(DataSource primary, Map<String, DataSource> replicas, ReplicaProperties.Selection selection, long maxLagMillis) {
+        this.primary = primary;
+        this.replicas = new LinkedHashMap<>(replicas).entrySet().stream()
+                .map(replica -> new Replica(replica.getKey(), replica.getValue()))
+                .toList();
+        this.selection = selection;
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (ReplicaContext.isPrimaryRequired()) {
+            return primary.getConnection();
+        }
+        Replica replica = select();
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.dataSource.getConnection();
+        } catch (SQLException e) {
+            replica.available = false;
+            log.warn("Replica {} is not available, reading from the primary until its next check", replica.name, e);
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Checks the lag and latency of every replica.
+     */
+    public void refresh() {
+        for (Replica replica : replicas) {
+            long start = System.nanoTime();
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery(LAG_QUERY)) {
+                result.next();
+                long latencyNanos = System.nanoTime() - start;
+                replica.lagMillis = result.getLong(1);
+                replica.latencyNanos = replica.latencyNanos == 0 ? latencyNanos : (replica.latencyNanos * 7 + latencyNanos) / 8;
+                replica.available = true;
+            } catch (SQLException e) {
+                if (replica.available) {
+                    log.warn("Replica {} is not available, reading from the primary until its next check", replica.name, e);
+                }
+                replica.available = false;
+            }
+        }
+    }
+
+    /**
+     * Returns the replicas that are available and not lagging behind too far.
+     *
+     * @return The names of the replicas.
+     */
+    public List<String> getUsableReplicas() {
+        return replicas.stream().filter(this::isUsable).map(replica -> replica.name).toList();
+    }
+
+    /**
+     * Selects the replica to read from.
+     *
+     * @return The selected replica or null if no replica can be used.
+     */
+    private Replica select() {
+        List<Replica> usable = replicas.stream().filter(this::isUsable).toList();
+        if (usable.isEmpty()) {
+            return null;
+        }
+        return switch (selection) {
+            case ROUND_ROBIN -> usable.get(Math.floorMod(next.getAndIncrement(), usable.size()));
+            case LEAST_LATENCY -> usable.stream().min(Comparator.comparingLong(replica -> replica.latencyNanos)).orElseThrow();
+        };
+    }
+
+    private boolean isUsable(Replica replica) {
+        return replica.available && replica.lagMillis <= maxLagMillis;
+    }
+
+    /**
+     * A replica with the results of its last check.
+     */
+    private static class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean available; // False until the first successful check
+        private volatile long lagMillis;
+        private volatile long latencyNanos;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.terfehr.homehub.infrastructure.replica;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings of the read replicas. Read-only transactions are served by a replica of the database they would otherwise
+ * use, while all other work stays on the primary. Without sharding, the replicas of the single datasource are
+ * configured here. With sharding, every shard configures its own replicas and only the selection settings apply.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "replicas")
+public class ReplicaProperties {
+
+    private boolean enabled;
+    private Selection selection;
+    private long maxLagMillis;
+    private long readYourWritesMillis;
+    private List<Replica> sources = new ArrayList<>();
+
+    /**
+     * How a replica is selected among the ones that are available and not lagging behind too far.
+     */
+    public enum Selection {
+        ROUND_ROBIN,
+        LEAST_LATENCY
+    }
+
+    /**
+     * Connection settings of a single replica.
+     */
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,35 @@
+package com.terfehr.homehub.infrastructure.replica;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * DataSource that serves read-only transactions from a ReplicaPool and everything else from the primary. Connections
+ * are only taken once the first statement runs, when the transaction has already been marked as read-only or not.
+ */
+public final class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy {
+
+    private final ReplicaPool replicaPool;
+
+    /**
+     * Constructs a ReplicaRoutingDataSource.
+     *
+     * @param primary The DataSource of the primary.
+     * @param replicaPool The ReplicaPool serving the read-only transactions.
+     */
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaPool replicaPool) {
+        super(primary);
+        this.replicaPool = replicaPool;
+        setReadOnlyDataSource(replicaPool);
+    }
+
+    /**
+     * Returns the ReplicaPool serving the read-only transactions.
+     *
+     * @return The ReplicaPool.
+     */
+    public ReplicaPool getReplicaPool() {
+        return replicaPool;
+    }
+}
@@ -0,0 +1,49 @@
+package com.terfehr.homehub.infrastructure.replica;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.security.Principal;
+import java.util.Set;
+
+/**
+ * Lets the read-only transactions of a request read from the replicas, unless the request changes data or comes from
+ * a User who changed data within the read-your-writes window. Requests that change data successfully open that window
+ * for their User.
+ */
+@Component
+@AllArgsConstructor
+public class ReplicaRoutingInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Set<String> READING_METHODS = Set.of(HttpMethod.GET.name(), HttpMethod.HEAD.name(), HttpMethod.OPTIONS.name());
+
+    private final ReadYourWrites readYourWrites;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+        Principal user = request.getUserPrincipal();
+        if (!READING_METHODS.contains(request.getMethod()) || (user != null && readYourWrites.wroteRecently(user.getName()))) {
+            ReplicaContext.requirePrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+        ReplicaContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler, Exception ex) {
+        ReplicaContext.clear();
+        Principal user = request.getUserPrincipal();
+        if (user != null && !READING_METHODS.contains(request.getMethod()) && ex == null && response.getStatus() < 400) {
+            readYourWrites.recordWrite(user.getName());
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.terfehr.homehub.infrastructure.scheduling;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>In-memory hierarchical timing wheel that schedules keys for a deadline and hands them out once the deadline has
+ * passed. Level 0 has {@code wheelSize} buckets of one tick each, every further level has buckets that span a full
+ * revolution of the level below. Levels are added lazily when a deadline lies beyond the horizon of the top level,
+ * so scheduling and expiring a key costs O(1) per level regardless of how many keys are scheduled.</p>
+ *
+ * <p>Deadlines are rounded up to the next tick, so a key never expires before its deadline and at most one tick
+ * after it. Scheduling a key again replaces its previous deadline and cancelled or replaced entries are dropped
+ * lazily when their bucket expires. All methods are synchronized, as the wheel is fed by request threads and
+ * advanced by a scheduler thread.</p>
+ *
+ * @param <K> The type of the scheduled keys.
+ */
+public class HierarchicalTimingWheel<K> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<List<List<Entry<K>>>> levels;
+    private final Map<K, Long> deadlines;
+    private final Set<K> expired;
+    private long currentTime;
+
+    /**
+     * Constructs a new HierarchicalTimingWheel starting at the given time.
+     *
+     * @param tickMillis The duration of a single tick of the lowest level in milliseconds.
+     * @param wheelSize The number of buckets per level.
+     * @param startMillis The epoch milliseconds to start the wheel at.
+     * @throws IllegalArgumentException If the tick duration or the wheel size is not positive.
+     */
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) throws IllegalArgumentException {
+        if (tickMillis <= 0 || wheelSize <= 1) {
+            throw new IllegalArgumentException("Invalid timing wheel configuration");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.levels = new ArrayList<>();
+        this.deadlines = new HashMap<>();
+        this.expired = new LinkedHashSet<>();
+        this.currentTime = startMillis - Math.floorMod(startMillis, tickMillis);
+        addLevel();
+    }
+
+    /**
+     * Schedules the given key for the given deadline. If the key is already scheduled, its deadline is replaced.
+     * Keys with a deadline in the past expire on the next call of {@link #advance(long)}.
+     *
+     * @param key The key to schedule.
+     * @param deadlineMillis The epoch milliseconds at which the key expires.
+     */
+    public synchronized void schedule(K key, long deadlineMillis) {
+        long roundedDeadline = Math.ceilDiv(deadlineMillis, tickMillis) * tickMillis;
+        deadlines.put(key, roundedDeadline);
+        expired.remove(key);
+        place(new Entry<>(key, roundedDeadline));
+    }
+
+    /**
+     * Cancels the given key. Nothing happens if the key is not scheduled.
+     *
+     * @param key The key to cancel.
+     */
+    public synchronized void cancel(K key) {
+        deadlines.remove(key);
+        expired.remove(key);
+    }
+
+    /**
+     * Decides whether the given key is currently scheduled.
+     *
+     * @param key The key to check.
+     * @return True, if the key is scheduled and has not been handed out by advance yet. False otherwise.
+     */
+    public synchronized boolean isScheduled(K key) {
+        return deadlines.containsKey(key) || expired.contains(key);
+    }
+
+    /**
+     * Returns the number of currently scheduled keys.
+     *
+     * @return The number of scheduled keys.
+     */
+    public synchronized int size() {
+        return deadlines.size() + expired.size();
+    }
+
+    /**
+     * Advances the wheel tick by tick up to the given time and returns all keys whose deadline has passed since the
+     * last call. Every tick drains at most one bucket per level, higher levels cascade their entries into the lower ones.
+     *
+     * @param nowMillis The current epoch milliseconds.
+     * @return The expired keys. They are no longer scheduled afterward.
+     */
+    public synchronized List<K> advance(long nowMillis) {
+        while (currentTime + tickMillis <= nowMillis) {
+            currentTime += tickMillis;
+            for (int level = levels.size() - 1; level >= 0; level--) {
+                long levelTick = levelTick(level);
+                if (currentTime % levelTick == 0) {
+                    drain(level, (int) ((currentTime / levelTick) % wheelSize));
+                }
+            }
+        }
+        List<K> result = new ArrayList<>(expired);
+        expired.clear();
+        return result;
+    }
+
+    /**
+     * Places the given entry in the lowest level whose horizon covers its deadline or marks it as expired if the
+     * deadline has already passed. Adds levels on demand.
+     *
+     * @param entry The entry to place.
+     */
+    private void place(Entry<K> entry) {
+        if (entry.deadline() <= currentTime) {
+            expire(entry);
+            return;
+        }
+        int level = 0;
+        while (true) {
+            long levelTick = levelTick(level);
+            long levelStart = currentTime - Math.floorMod(currentTime, levelTick);
+            if (entry.deadline() < levelStart + levelTick * wheelSize) {
+                int bucket = (int) ((entry.deadline() / levelTick) % wheelSize);
+                levels.get(level).get(bucket).add(entry);
+                return;
+            }
+            level++;
+            if (level >= levels.size()) {
+                addLevel();
+            }
+        }
+    }
+
+    /**
+     * Empties the given bucket and places its entries again. Entries of level 0 expire, entries of higher levels
+     * cascade into the lower levels.
+     *
+     * @param level The level of the bucket.
+     * @param bucket The index of the bucket.
+     */
+    private void drain(int level, int bucket) {
+        List<Entry<K>> entries = levels.get(level).get(bucket);
+        if (entries.isEmpty()) {
+            return;
+        }
+        levels.get(level).set(bucket, new ArrayList<>());
+        for (Entry<K> entry : entries) {
+            if (isCurrent(entry)) {
+                place(entry);
+            }
+        }
+    }
+
+    /**
+     * Marks the given entry as expired if it still reflects the current deadline of its key.
+     *
+     * @param entry The entry to expire.
+     */
+    private void expire(Entry<K> entry) {
+        if (isCurrent(entry)) {
+            deadlines.remove(entry.key());
+            expired.add(entry.key());
+        }
+    }
+
+    /**
+     * Decides whether the given entry has neither been cancelled nor replaced by a later call of schedule.
+     *
+     * @param entry The entry to check.
+     * @return True, if the entry is current. False otherwise.
+     */
+    private boolean isCurrent(Entry<K> entry) {
+        Long deadline = deadlines.get(entry.key());
+        return deadline != null && deadline == entry.deadline();
+    }
+
+    /**
+     * Calculates the duration of a single bucket of the given level.
+     *
+     * @param level The level.
+     * @return The duration of a bucket in milliseconds.
+     */
+    private long levelTick(int level) {
+        long levelTick = tickMillis;
+        for (int i = 0; i < level; i++) {
+            levelTick = Math.multiplyExact(levelTick, wheelSize);
+        }
+        return levelTick;
+    }
+
+    /**
+     * Adds an empty level on top of the existing ones.
+     */
+    private void addLevel() {
+        List<List<Entry<K>>> buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        levels.add(buckets);
+    }
+
+    /**
+     * A scheduled key together with its rounded deadline.
+     *
+     * @param key The scheduled key.
+     * @param deadline The deadline rounded up to the next tick.
+     */
+    private record Entry<K>(K key, long deadline) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.terfehr.homehub.infrastructure.service;
+
+import com.terfehr.homehub.application.interfaces.EmailServiceInterface;
+import com.terfehr.homehub.domain.household.entity.User;
+import com.terfehr.homehub.domain.scheduling.value.ClaimedReminder;
+import com.terfehr.homehub.domain.scheduling.value.ReminderDigest;
+import com.terfehr.homehub.domain.scheduling.value.ReminderType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Service;
+
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Sends plain text mails through the configured {@link JavaMailSender}.
+ */
+@Service
+public class EmailService implements EmailServiceInterface {
+
+    private static final DateTimeFormatter DUE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final JavaMailSender mailSender;
+    private final String sender;
+
+    public EmailService(JavaMailSender mailSender, @Value("${spring.mail.username}") String sender) {
+        this.mailSender = mailSender;
+        this.sender = sender;
+    }
+
+    @Override
+    public void sendRegistrationMail(User user) {
+        send(user.getEmail(), "Verify your HomeHub account", "Hi " + user.getUsername()
+                + ",\n\nwelcome to HomeHub! Your verification code is " + user.getVerificationCode()
+                + ". It expires at " + user.getVerificationCodeExpiration().format(DUE_FORMAT) + ".");
+    }
+
+    @Override
+    public void sendVerificationMail(User user) {
+        send(user.getEmail(), "Your HomeHub account is verified", "Hi " + user.getUsername()
+                + ",\n\nyour account has been verified. Have fun using HomeHub!");
+    }
+
+    @Override
+    public void sendReminderDigest(ReminderDigest digest) {
+        StringBuilder text = new StringBuilder("Hi ").append(digest.username()).append(",\n\nthe following is due soon:\n");
+        for (ClaimedReminder reminder : digest.reminders()) {
+            text.append("\n- ").append(reminder.getTitle())
+                    .append(" (").append(ReminderType.BILL.name().equals(reminder.getType()) ? "bill" : "task")
+                    .append(", due ").append(reminder.getDueAt().format(DUE_FORMAT)).append(")");
+        }
+        int count = digest.reminders().size();
+        send(digest.email(), count == 1 ? "1 reminder from HomeHub" : count + " reminders from HomeHub", text.toString());
+    }
+
+    private void send(String to, String subject, String text) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(sender);
+        message.setTo(to);
+        message.setSubject(subject);
+        message.setText(text);
+        mailSender.send(message);
+    }
+}
@@ -0,0 +1,262 @@
+package com.terfehr.homehub.infrastructure.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.terfehr.homehub.application.interfaces.ShardsInterface;
+import com.terfehr.homehub.domain.bookkeeping.repository.AccountRepositoryInterface;
+import com.terfehr.homehub.domain.household.entity.Roommate;
+import com.terfehr.homehub.domain.household.entity.User;
+import com.terfehr.homehub.domain.household.repository.HouseholdRepositoryInterface;
+import com.terfehr.homehub.domain.scheduling.repository.RecurringTaskRepositoryInterface;
+import com.terfehr.homehub.domain.scheduling.repository.TaskListRepositoryInterface;
+import com.terfehr.homehub.domain.scheduling.repository.TaskRepositoryInterface;
+import com.terfehr.homehub.domain.shopping.repository.ShoppingListRepositoryInterface;
+import com.terfehr.homehub.infrastructure.notification.DatabaseNotificationListener;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * <p>Decides whether the authenticated User is a Roommate of a Household, for checks like
+ * {@code @PreAuthorize("@householdMembershipService.isRoommate(authentication, #householdId)")}. The IDs of the
+ * Households of every User are loaded from all shards once and kept as a sorted array, so the check itself does not
+ * touch the database.</p>
+ *
+ * <p>Requests that only name a ShoppingList, Task, TaskList, Account or RecurringTask are checked against the
+ * Household the entity belongs to, e.g. with
+ * {@code @householdMembershipService.canAccessShoppingList(authentication, #shoppingListId)}. Entities never change
+ * their Household, so it is looked up once per entity and kept as well. Entities that do not exist are denied.</p>
+ *
+ * <p>The Households of a User are forgotten as soon as a Roommate of the User is added or removed through Hibernate
+ * and the change is committed. A check that loaded them before is discarded, so the old Households cannot be kept.
+ * Every other change of a Roommate, made by another instance or directly in the database, is announced by the
+ * roommates trigger once it committed (see schema.sql) and forgotten when this instance receives the notification,
+ * usually within the poll interval of the DatabaseNotificationListener. Notifications missed while the listener
+ * reconnects make it forget the Households of all Users. Until then, and for a change that commits while a listening
+ * connection is broken but has not been noticed yet, a removed Roommate keeps access for at most the TTL of the
+ * Households, which also bounds the Households of the entities.</p>
+ */
+@Service
+public class HouseholdMembershipService implements PostCommitInsertEventListener, PostCommitDeleteEventListener {
+
+    private static final String MEMBERSHIP_CHANNEL = "household_membership";
+
+    private final HouseholdRepositoryInterface householdRepository;
+    private final ShoppingListRepositoryInterface shoppingListRepository;
+    private final TaskRepositoryInterface taskRepository;
+    private final TaskListRepositoryInterface taskListRepository;
+    private final AccountRepositoryInterface accountRepository;
+    private final RecurringTaskRepositoryInterface recurringTaskRepository;
+    private final ShardsInterface shards;
+    private final EntityManagerFactory entityManagerFactory;
+    private final DatabaseNotificationListener notificationListener;
+    private final Cache<Long, long[]> households; // Sorted IDs of the Households by the ID of their User
+    private final Cache<EntityKey, Long> owners; // IDs of the Households by the entities belonging to them
+
+    public HouseholdMembershipService(HouseholdRepositoryInterface householdRepository,
+                                      ShoppingListRepositoryInterface shoppingListRepository,
+                                      TaskRepositoryInterface taskRepository,
+                                      TaskListRepositoryInterface taskListRepository,
+                                      AccountRepositoryInterface accountRepository,
+                                      RecurringTaskRepositoryInterface recurringTaskRepository,
+                                      ShardsInterface shards, EntityManagerFactory entityManagerFactory,
+                                      DatabaseNotificationListener notificationListener,
+                                      @Value("${membership.max-users}") long maxUsers,
+                                      @Value("${membership.ttl-seconds}") long ttlSeconds,
+                                      @Value("${membership.max-entities}") long maxEntities) {
+        this.householdRepository = householdRepository;
+        this.shoppingListRepository = shoppingListRepository;
+        this.taskRepository = taskRepository;
+        this.taskListRepository = taskListRepository;
+        this.accountRepository = accountRepository;
+        this.recurringTaskRepository = recurringTaskRepository;
+        this.shards = shards;
+        this.entityManagerFactory = entityManagerFactory;
+        this.notificationListener = notificationListener;
+        this.households = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        this.owners = Caffeine.newBuilder()
+                .maximumSize(maxEntities)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Registers this service with Hibernate and the DatabaseNotificationListener, so it is notified when Roommates are
+     * added or removed by this or any other instance. Runs once the service is fully constructed, so neither sees it
+     * half-initialized.
+     */
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().requireService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        listeners.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        notificationListener.subscribe(MEMBERSHIP_CHANNEL, userId -> invalidate(Long.valueOf(userId)), this::invalidateAll);
+    }
+
+    /**
+     * Checks whether the authenticated User is a Roommate of the given Household.
+     *
+     * @param authentication The authentication of the current request.
+     * @param householdId The ID of the Household.
+     * @return True, if the User is a Roommate of the Household. False otherwise.
+     */
+    public boolean isRoommate(Authentication authentication, Long householdId) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof User user) || householdId == null) {
+            return false;
+        }
+        return Arrays.binarySearch(households.get(user.getId(), this::load), householdId) >= 0;
+    }
+
+    /**
+     * Checks whether the authenticated User is a Roommate of the Household the given ShoppingList belongs to.
+     *
+     * @param authentication The authentication of the current request.
+     * @param shoppingListId The ID of the ShoppingList.
+     * @return True, if the User is a Roommate of the Household. False otherwise or if the ShoppingList does not exist.
+     */
+    public boolean canAccessShoppingList(Authentication authentication, Long shoppingListId) {
+        return isRoommate(authentication, findOwner("ShoppingList", shoppingListId, shoppingListRepository::findHouseholdIdById));
+    }
+
+    /**
+     * Checks whether the authenticated User is a Roommate of the Household the given Task belongs to.
+     *
+     * @param authentication The authentication of the current request.
+     * @param taskId The ID of the Task.
+     * @return True, if the User is a Roommate of the Household. False otherwise or if the Task does not exist.
+     */
+    public boolean canAccessTask(Authentication authentication, Long taskId) {
+        return isRoommate(authentication, findOwner("Task", taskId, taskRepository::findHouseholdIdById));
+    }
+
+    /**
+     * Checks whether the authenticated User is a Roommate of the Household the given TaskList belongs to.
+     *
+     * @param authentication The authentication of the current request.
+     * @param taskListId The ID of the TaskList.
+     * @return True, if the User is a Roommate of the Household. False otherwise or if the TaskList does not exist.
+     */
+    public boolean canAccessTaskList(Authentication authentication, Long taskListId) {
+        return isRoommate(authentication, findOwner("TaskList", taskListId, taskListRepository::findHouseholdIdById));
+    }
+
+    /**
+     * Checks whether the authenticated User is a Roommate of the Household the given Account belongs to.
+     *
+     * @param authentication The authentication of the current request.
+     * @param accountId The ID of the Account.
+     * @return True, if the User is a Roommate of the Household. False otherwise or if the Account does not exist.
+     */
+    public boolean canAccessAccount(Authentication authentication, Long accountId) {
+        return isRoommate(authentication, findOwner("Account", accountId, accountRepository::findHouseholdIdById));
+    }
+
+    /**
+     * Checks whether the authenticated User is a Roommate of the Household the given RecurringTask belongs to.
+     *
+     * @param authentication The authentication of the current request.
+     * @param recurringTaskId The ID of the RecurringTask.
+     * @return True, if the User is a Roommate of the Household. False otherwise or if the RecurringTask does not exist.
+     */
+    public boolean canAccessRecurringTask(Authentication authentication, Long recurringTaskId) {
+        return isRoommate(authentication, findOwner("RecurringTask", recurringTaskId, recurringTaskRepository::findHouseholdIdById));
+    }
+
+    /**
+     * Forgets the Households of the given User.
+     *
+     * @param userId The ID of the User.
+     */
+    public void invalidate(Long userId) {
+        households.invalidate(userId);
+    }
+
+    /**
+     * Forgets the Households of all Users.
+     */
+    public void invalidateAll() {
+        households.invalidateAll();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Roommate roommate) {
+            invalidate(roommate.getId().getUserId());
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Roommate roommate) {
+            invalidate(roommate.getId().getUserId());
+        }
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.getMappedClass() == Roommate.class;
+    }
+
+    /**
+     * Finds the Household an entity belongs to. Runs on the shard the request was routed to, which is the shard of the
+     * entity. Entities that do not exist are not kept, so they are found once they were created.
+     *
+     * @param type The name of the entity type.
+     * @param id The ID of the entity.
+     * @param query The query for the ID of the Household of an entity of the type.
+     * @return The ID of the Household or null if the entity does not exist.
+     */
+    private Long findOwner(String type, Long id, Function<Long, Optional<Long>> query) {
+        if (id == null) {
+            return null;
+        }
+        return owners.get(new EntityKey(type, id), key -> query.apply(key.id()).orElse(null));
+    }
+
+    /**
+     * Loads the IDs of the Households of the given User from every shard. Runs outside read-only transactions, so
+     * they are read from the primary and not from a replica that might not have seen a new Roommate yet.
+     *
+     * @param userId The ID of the User.
+     * @return The sorted IDs of the Households.
+     */
+    private long[] load(Long userId) {
+        return shards.onEveryShard(() -> householdRepository.findAllIdsByRoommateUserId(userId)).stream()
+                .flatMap(List::stream)
+                .mapToLong(Long::longValue)
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+
+    private record EntityKey(String type, Long id) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.terfehr.homehub.infrastructure.sharding;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Consistent hash ring that maps keys to nodes. Every node is placed on the ring at a number of virtual positions and
+ * a key belongs to the node at the next position clockwise, so the keys spread evenly and adding a node only moves
+ * the keys that the new node takes over, about one in the number of nodes.
+ */
+public class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> ring;
+
+    /**
+     * Constructs a ConsistentHashRing of the given nodes.
+     *
+     * @param nodes The names of the nodes.
+     * @param virtualNodes The number of positions per node.
+     * @throws IllegalArgumentException If there are no nodes or no positions per node.
+     */
+    public ConsistentHashRing(Collection<String> nodes, int virtualNodes) throws IllegalArgumentException {
+        if (nodes.isEmpty() || virtualNodes < 1) {
+            throw new IllegalArgumentException("Invalid ConsistentHashRing object");
+        }
+        this.ring = new TreeMap<>();
+        for (String node : nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(node + "#" + i), node);
+            }
+        }
+    }
+
+    /**
+     * Returns the node the given key belongs to.
+     *
+     * @param key The key.
+     * @return The name of the node.
+     */
+    public String getNode(long key) {
+        Map.Entry<Long, String> position = ring.ceilingEntry(hash(Long.toString(key)));
+        return (position != null ? position : ring.firstEntry()).getValue();
+    }
+
+    /**
+     * Hashes the given value to a position on the ring. MD5 is not used for security here, but because it spreads
+     * similar values like consecutive IDs evenly and is the same on every instance.
+     *
+     * @param value The value to hash.
+     * @return The position on the ring.
+     */
+    private static long hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(value.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.terfehr.homehub.infrastructure.sharding;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Command line tool that moves a single Household to another shard and exits, while the instances serving requests
+ * keep running. Started like the application with the Household and the target shard, e.g.
+ * {@code --spring.main.web-application-type=none --sharding.move.household-id=42 --sharding.move.target=shard-2}.
+ */
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(name = "sharding.move.household-id")
+public class HouseholdMoveRunner implements ApplicationRunner {
+
+    private final HouseholdShardMover householdShardMover;
+    private final Environment environment;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Long householdId = environment.getRequiredProperty("sharding.move.household-id", Long.class);
+        String target = environment.getRequiredProperty("sharding.move.target");
+        householdShardMover.move(householdId, target);
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+}
@@ -0,0 +1,12 @@
+package com.terfehr.homehub.infrastructure.sharding;
+
+/**
+ * The shard a Household lives in. While a Household is moving, it is still read from its current shard, but writes
+ * are rejected until it arrived at its new shard.
+ *
+ * @param householdId The ID of the Household.
+ * @param shard The name of the shard.
+ * @param moving True, if the Household is being moved to another shard. False otherwise.
+ */
+public record HouseholdPlacement(Long householdId, String shard, boolean moving) {
+}
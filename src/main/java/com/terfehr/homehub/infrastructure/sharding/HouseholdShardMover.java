@@ -0,0 +1,121 @@
+package com.terfehr.homehub.infrastructure.sharding;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>Moves a single Household with all its data to another shard while the application keeps running. The Household
+ * is marked as moving first, so new requests changing it are rejected while it can still be read from its current
+ * shard. It is then fenced in its current shard, which waits for the transactions that already changed it and rejects
+ * every later change to its rows, including those of scheduled jobs, see shard-schema.sql. The Household is copied
+ * from a single snapshot of its current shard to the new shard in a single transaction, and the rows in both shards
+ * are counted before it is pinned to the new shard and deleted from its previous shard. If the copy fails, the
+ * Household stays on its current shard and accepts changes again.</p>
+ *
+ * <p>Rows keep their IDs, which stay unique as every shard generates IDs from its own range. The Users of the
+ * Roommates are copied along, as every shard keeps the Users it references.</p>
+ *
+ * <p>The second-level cache is cleared afterward, as it would otherwise keep the deleted rows of the previous shard.</p>
+ */
+@Slf4j
+@Component
+public class HouseholdShardMover {
+
+    private static final LinkedHashMap<String, String> TABLES = new LinkedHashMap<>(); // In the order of their foreign keys
+
+    static {
+        String transactions = "id in (select id from transactions where household_id = :householdId)";
+        TABLES.put("users", "id in (select user_id from roommates where household_id = :householdId)");
+        TABLES.put("households", "id = :householdId");
+        TABLES.put("roommates", "household_id = :householdId");
+        TABLES.put("chore_profiles", "household_id = :householdId");
+        TABLES.put("accounts", "household_id = :householdId");
+        TABLES.put("transactions", "household_id = :householdId");
+        TABLES.put("expenses", transactions);
+        TABLES.put("incomes", transactions);
+        TABLES.put("shopping_expenses", transactions);
+        TABLES.put("budgets", "household_id = :householdId");
+        TABLES.put("budget_consumptions", "budget_id in (select id from budgets where household_id = :householdId)");
+        TABLES.put("recurring_transactions", "account_id in (select id from accounts where household_id = :householdId)");
+        TABLES.put("shopping_lists", "household_id = :householdId");
+        TABLES.put("shopping_list_items", "household_id = :householdId");
+        TABLES.put("shopping_sprees", "household_id = :householdId");
+        TABLES.put("shopping_spree_items", "household_id = :householdId");
+        TABLES.put("task_lists", "household_id = :householdId");
+        TABLES.put("recurring_tasks", "task_list_id in (select id from task_lists where household_id = :householdId)");
+        TABLES.put("tasks", "household_id = :householdId");
+        TABLES.put("reminders", """
+                (type = 'TASK' and subject_id in (select id from tasks where household_id = :householdId))
+                or (type = 'BILL' and subject_id in (select r.id from recurring_transactions r join accounts a on a.id = r.account_id where a.household_id = :householdId))
+                """);
+        TABLES.put("chore_statistics", "household_id = :householdId");
+        TABLES.put("change_tombstones", "household_id = :householdId");
+        TABLES.put("frequent_item_sketches", "household_id = :householdId");
+        TABLES.put("item_price_statistics", "household_id = :householdId");
+    }
+
+    private final ShardRouter shardRouter;
+    private final ShardRowCopier shardRowCopier;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public HouseholdShardMover(ShardRouter shardRouter, ShardRowCopier shardRowCopier, EntityManagerFactory entityManagerFactory) {
+        this.shardRouter = shardRouter;
+        this.shardRowCopier = shardRowCopier;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Moves the given Household to the given shard.
+     *
+     * @param householdId The ID of the Household.
+     * @param target The name of the shard to move the Household to.
+     * @throws IllegalArgumentException If the shard does not exist or the Household already lives in it.
+     * @throws IllegalStateException If the Household is already being moved or could not be copied.
+     */
+    public void move(Long householdId, String target) throws IllegalArgumentException, IllegalStateException {
+        HouseholdPlacement placement = shardRouter.getPlacement(householdId);
+        shardRouter.getDataSource(target);
+        if (placement.shard().equals(target)) {
+            throw new IllegalArgumentException("Household with ID " + householdId + " already lives in shard " + target);
+        }
+        if (placement.moving()) {
+            throw new IllegalStateException("Household with ID " + householdId + " is already being moved");
+        }
+        String source = placement.shard();
+        Map<String, Long> parameters = Map.of("householdId", householdId);
+
+        Map<String, String> owned = new LinkedHashMap<>(TABLES.reversed());
+        owned.remove("users"); // Kept for the other Households of the Users
+        DataSource sourceDataSource = shardRouter.getDataSource(source);
+        DataSource targetDataSource = shardRouter.getDataSource(target);
+
+        shardRouter.savePlacement(new HouseholdPlacement(householdId, source, true));
+        int copied;
+        try {
+            shardRowCopier.fence(sourceDataSource, householdId);
+            Map<String, String> rows = shardRowCopier.read(sourceDataSource, TABLES, parameters);
+            copied = shardRowCopier.write(targetDataSource, rows);
+            Map<String, Integer> expected = shardRowCopier.count(sourceDataSource, TABLES, parameters);
+            Map<String, Integer> actual = shardRowCopier.count(targetDataSource, TABLES, parameters);
+            if (!expected.equals(actual)) {
+                shardRowCopier.delete(targetDataSource, owned, parameters);
+                throw new IllegalStateException("Rows changed while copying, expected " + expected + " but copied " + actual);
+            }
+        } catch (RuntimeException e) {
+            shardRowCopier.unfence(sourceDataSource, householdId);
+            shardRouter.savePlacement(placement);
+            throw new IllegalStateException("Could not copy household with ID " + householdId + " to shard " + target, e);
+        }
+        shardRouter.savePlacement(new HouseholdPlacement(householdId, target, false));
+
+        int deleted = shardRowCopier.delete(sourceDataSource, owned, parameters);
+        shardRowCopier.unfence(sourceDataSource, householdId);
+        entityManagerFactory.getCache().evictAll();
+        log.info("Moved household {} from shard {} to shard {}, copied {} and deleted {} rows", householdId, source, target, copied, deleted);
+    }
+}
@@ -0,0 +1,108 @@
+package com.terfehr.homehub.infrastructure.sharding;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Holds the shard the current thread works on. Without a shard, the global shard is used. The shard is not inherited
+ * by threads started while it is set, as pooled threads would keep it for all later work. Work handed to another
+ * thread has to take the shard along explicitly, see wrap and the ThreadContextTaskDecorator.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * Returns the shard of the current thread.
+     *
+     * @return The name of the shard or null for the global shard.
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Sets the shard of the current thread until it is cleared.
+     *
+     * @param shard The name of the shard or null for the global shard.
+     */
+    public static void set(String shard) {
+        if (shard == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(shard);
+        }
+    }
+
+    /**
+     * Resets the current thread to the global shard.
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Runs the given action on the given shard and restores the previous shard afterward.
+     *
+     * @param shard The name of the shard.
+     * @param action The action to run.
+     * @return The result of the action.
+     */
+    public static <T> T callIn(String shard, Supplier<T> action) {
+        String previous = CURRENT.get();
+        set(shard);
+        try {
+            return action.get();
+        } finally {
+            set(previous);
+        }
+    }
+
+    /**
+     * Runs the given action on the given shard and restores the previous shard afterward.
+     *
+     * @param shard The name of the shard.
+     * @param action The action to run.
+     */
+    public static void runIn(String shard, Runnable action) {
+        callIn(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Binds the given task to the shard of the current thread, so it runs on that shard in whichever thread executes
+     * it. The thread gets back its previous shard afterward.
+     *
+     * @param task The task to bind.
+     * @return The bound task.
+     */
+    public static Runnable wrap(Runnable task) {
+        String shard = CURRENT.get();
+        return () -> runIn(shard, task);
+    }
+
+    /**
+     * Binds the given task to the shard of the current thread, so it runs on that shard in whichever thread executes
+     * it. The thread gets back its previous shard afterward.
+     *
+     * @param task The task to bind.
+     * @return The bound task.
+     */
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        String shard = CURRENT.get();
+        return () -> {
+            String previous = CURRENT.get();
+            set(shard);
+            try {
+                return task.call();
+            } finally {
+                set(previous);
+            }
+        };
+    }
+}
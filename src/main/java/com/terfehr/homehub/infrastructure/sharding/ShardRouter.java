@@ -0,0 +1,162 @@
+package com.terfehr.homehub.infrastructure.sharding;
+
+import com.terfehr.homehub.application.interfaces.ShardsInterface;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * <p>Decides which shard a Household lives in. Households are spread over the household shards by consistent hashing
+ * of their IDs, so adding a shard only moves a fraction of them. Households that were moved by the
+ * HouseholdShardMover are pinned to their shard by a placement in the global shard, which takes precedence.</p>
+ *
+ * <p>Every shard generates IDs from its own range, so IDs stay unique across shards and rows keep their IDs when
+ * their Household is moved. The range an ID comes from names the shard it was created in, which is where an entity
+ * is looked up first when a request only names the entity and not its Household.</p>
+ */
+@Component
+public class ShardRouter implements ShardsInterface {
+
+    private final Map<String, DataSource> dataSources; // Global shard first, then the household shards by ID range
+    private final Map<String, JdbcTemplate> shards;
+    private final ConsistentHashRing ring;
+    private final int idRangeBits;
+
+    public ShardRouter(DataSource dataSource, ShardingProperties properties) {
+        this.dataSources = dataSource instanceof ShardRoutingDataSource routing ? routing.getShards() : Map.of();
+        this.shards = new LinkedHashMap<>();
+        dataSources.forEach((name, shard) -> shards.put(name, new JdbcTemplate(shard)));
+        List<String> householdShards = shards.keySet().stream()
+                .filter(name -> !ShardRoutingDataSource.GLOBAL.equals(name))
+                .toList();
+        this.ring = householdShards.isEmpty() ? null : new ConsistentHashRing(householdShards, properties.getVirtualNodes());
+        this.idRangeBits = properties.getIdRangeBits();
+    }
+
+    /**
+     * Checks whether the application is sharded.
+     *
+     * @return True, if the application is sharded. False otherwise.
+     */
+    public boolean isEnabled() {
+        return ring != null;
+    }
+
+    /**
+     * Returns the names of all shards, starting with the global shard.
+     *
+     * @return The names of the shards.
+     */
+    public List<String> getShardNames() {
+        return List.copyOf(shards.keySet());
+    }
+
+    /**
+     * Returns the DataSource of the given shard.
+     *
+     * @param shard The name of the shard.
+     * @return The DataSource of the shard.
+     * @throws IllegalArgumentException If there is no shard with the given name.
+     */
+    public DataSource getDataSource(String shard) throws IllegalArgumentException {
+        DataSource dataSource = dataSources.get(shard);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Shard " + shard + " does not exist");
+        }
+        return dataSource;
+    }
+
+    /**
+     * Returns the first ID of the range the given shard generates IDs from.
+     *
+     * @param shard The name of the shard.
+     * @return The first ID of the range.
+     */
+    public long getIdRangeStart(String shard) {
+        return (long) getShardNames().indexOf(shard) << idRangeBits;
+    }
+
+    /**
+     * Finds the shard the given Household lives in.
+     *
+     * @param householdId The ID of the Household.
+     * @return The placement of the Household.
+     */
+    public HouseholdPlacement getPlacement(Long householdId) {
+        return shards.get(ShardRoutingDataSource.GLOBAL).query(
+                        "select shard, moving from household_placements where household_id = ?",
+                        (rs, row) -> new HouseholdPlacement(householdId, rs.getString("shard"), rs.getBoolean("moving")),
+                        householdId)
+                .stream()
+                .findFirst()
+                .orElseGet(() -> new HouseholdPlacement(householdId, ring.getNode(householdId), false));
+    }
+
+    /**
+     * Pins the given Household to a shard.
+     *
+     * @param placement The new placement of the Household.
+     */
+    public void savePlacement(HouseholdPlacement placement) {
+        shards.get(ShardRoutingDataSource.GLOBAL).update("""
+                insert into household_placements (household_id, shard, moving) values (?, ?, ?)
+                on conflict (household_id) do update set shard = excluded.shard, moving = excluded.moving
+                """, placement.householdId(), placement.shard(), placement.moving());
+    }
+
+    /**
+     * Finds the Household of an entity, starting with the shard whose range the ID of the entity comes from and
+     * falling back to the other shards for entities whose Household was moved.
+     *
+     * @param query The query selecting the household_id of the entity with the ID as its only parameter.
+     * @param id The ID of the entity.
+     * @return An Optional containing the ID of the Household or an empty Optional if the entity does not exist.
+     */
+    public Optional<Long> findHouseholdId(String query, Long id) {
+        List<String> candidates = new ArrayList<>(getShardNames());
+        int origin = (int) (id >>> idRangeBits);
+        if (origin > 0 && origin < candidates.size()) {
+            candidates.addFirst(candidates.remove(origin));
+        }
+        for (String shard : candidates) {
+            List<Long> householdIds = shards.get(shard).queryForList(query, Long.class, id);
+            if (!householdIds.isEmpty()) {
+                return Optional.of(householdIds.getFirst());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Runs the given action once per shard, starting with the global shard. Without sharding, the action runs once
+     * on the single database.
+     *
+     * @param action The action to run.
+     */
+    public void forEachShard(Runnable action) {
+        onEveryShard(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    @Override
+    public <T> List<T> onEveryShard(Supplier<T> action) {
+        if (!isEnabled()) {
+            return Collections.singletonList(action.get());
+        }
+        List<T> results = new ArrayList<>();
+        for (String shard : getShardNames()) {
+            results.add(ShardContext.callIn(shard, action));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,53 @@
+package com.terfehr.homehub.infrastructure.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * DataSource that routes every connection to the shard of the current thread, see ShardContext. Connections are
+ * taken when a transaction begins, so the shard has to be set before and cannot change within a transaction.
+ * Threads without a shard use the global shard.
+ */
+public final class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String GLOBAL = "global";
+
+    private final Map<String, DataSource> shards;
+
+    /**
+     * Constructs a ShardRoutingDataSource.
+     *
+     * @param global The DataSource of the global shard.
+     * @param shards The DataSources of the household shards by name, in the order of their ID ranges.
+     */
+    public ShardRoutingDataSource(DataSource global, LinkedHashMap<String, DataSource> shards) {
+        LinkedHashMap<String, DataSource> all = new LinkedHashMap<>();
+        all.put(GLOBAL, global);
+        all.putAll(shards);
+        this.shards = Collections.unmodifiableMap(all);
+        setTargetDataSources(new HashMap<>(all));
+        setDefaultTargetDataSource(global);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Returns the DataSources of all shards, starting with the global shard followed by the household shards in the
+     * order of their ID ranges.
+     *
+     * @return The DataSources by name.
+     */
+    public Map<String, DataSource> getShards() {
+        return shards;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+}
@@ -0,0 +1,96 @@
+package com.terfehr.homehub.infrastructure.sharding;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Routes every request to the shard of the Household it addresses, before any transaction of the request begins.
+ * The Household is taken from the path or looked up from the entity the path names. Requests that address no
+ * Household, like the authentication, stay on the global shard. Changes to a Household that is being moved to another
+ * shard are answered with 503 Service Unavailable right away, so clients retry them once it arrived.
+ */
+@Component
+@AllArgsConstructor
+public class ShardRoutingInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Map<String, String> HOUSEHOLD_QUERIES = new LinkedHashMap<>();
+
+    static {
+        HOUSEHOLD_QUERIES.put("accountId", "select household_id from accounts where id = ?");
+        HOUSEHOLD_QUERIES.put("shoppingListId", "select household_id from shopping_lists where id = ?");
+        HOUSEHOLD_QUERIES.put("taskListId", "select household_id from task_lists where id = ?");
+        HOUSEHOLD_QUERIES.put("taskId", "select household_id from tasks where id = ?");
+        HOUSEHOLD_QUERIES.put("recurringTaskId", """
+                select l.household_id from recurring_tasks r join task_lists l on l.id = r.task_list_id where r.id = ?
+                """);
+    }
+
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    private final ShardRouter shardRouter;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+        if (!shardRouter.isEnabled()) {
+            return true;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        Optional<Long> householdId = variables == null ? Optional.empty() : findHouseholdId(variables);
+        if (householdId.isEmpty()) {
+            return true;
+        }
+        HouseholdPlacement placement = shardRouter.getPlacement(householdId.get());
+        if (placement.moving() && !HttpMethod.GET.matches(request.getMethod())) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            return false;
+        }
+        ShardContext.set(placement.shard());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+        ShardContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler, Exception ex) {
+        ShardContext.clear();
+    }
+
+    /**
+     * Finds the Household the given path variables address. IDs that are no numbers are left to the controllers.
+     *
+     * @param variables The path variables of the request.
+     * @return An Optional containing the ID of the Household or an empty Optional if the request addresses none.
+     */
+    private Optional<Long> findHouseholdId(Map<String, String> variables) {
+        try {
+            if (variables.containsKey("householdId")) {
+                return Optional.of(Long.valueOf(variables.get("householdId")));
+            }
+            for (Map.Entry<String, String> query : HOUSEHOLD_QUERIES.entrySet()) {
+                if (variables.containsKey(query.getKey())) {
+                    return shardRouter.findHouseholdId(query.getValue(), Long.valueOf(variables.get(query.getKey())));
+                }
+            }
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+        return Optional.empty();
+    }
+}
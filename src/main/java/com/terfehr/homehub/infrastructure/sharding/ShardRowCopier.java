@@ -0,0 +1,144 @@
+package com.terfehr.homehub.infrastructure.sharding;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Copies rows between shards. The rows of a table are read as a single JSON array and written with their IDs and all
+ * other columns unchanged, except for generated columns, which the target computes itself. Triggers and foreign keys
+ * are not applied while writing, as the rows are already consistent and the triggers would otherwise bump their
+ * versions and sort keys or write tombstones. The same goes for the fences that keep changes from reaching the rows of
+ * a Household while they are copied, see shard-schema.sql.
+ */
+@Component
+class ShardRowCopier {
+
+    /**
+     * Fences the given Household in a shard, so every later change to its rows is rejected. Waits for all transactions
+     * that already changed the Household to complete.
+     *
+     * @param dataSource The DataSource of the shard.
+     * @param householdId The ID of the Household.
+     */
+    void fence(DataSource dataSource, Long householdId) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource)).executeWithoutResult(status -> {
+            jdbcTemplate.queryForList("select pg_advisory_xact_lock(?)", Object.class, householdId);
+            jdbcTemplate.update("insert into household_fences (household_id) values (?) on conflict do nothing", householdId);
+        });
+    }
+
+    /**
+     * Removes the fence of the given Household in a shard, so its rows can be changed again.
+     *
+     * @param dataSource The DataSource of the shard.
+     * @param householdId The ID of the Household.
+     */
+    void unfence(DataSource dataSource, Long householdId) {
+        new JdbcTemplate(dataSource).update("delete from household_fences where household_id = ?", householdId);
+    }
+
+    /**
+     * Reads the matching rows of the given tables in a single snapshot of the source shard.
+     *
+     * @param source The DataSource of the source shard.
+     * @param conditions The conditions of the rows to read by table, in the order to read them.
+     * @param parameters The parameters of the conditions.
+     * @return The rows by table as JSON arrays, in the order of the conditions.
+     */
+    Map<String, String> read(DataSource source, Map<String, String> conditions, Map<String, ?> parameters) {
+        TransactionTemplate snapshot = new TransactionTemplate(new DataSourceTransactionManager(source));
+        snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ); // Not read-only, which would read from a lagging replica
+        NamedParameterJdbcTemplate jdbcTemplate = new NamedParameterJdbcTemplate(source);
+        return snapshot.execute(status -> {
+            Map<String, String> rows = new LinkedHashMap<>();
+            conditions.forEach((table, condition) -> rows.put(table, jdbcTemplate.queryForObject(
+                    "select coalesce(jsonb_agg(to_jsonb(t)), '[]')::text from " + table + " t where " + condition,
+                    parameters, String.class)));
+            return rows;
+        });
+    }
+
+    /**
+     * Writes the given rows to the target shard in a single transaction. Rows whose primary key already exists are
+     * skipped, so a failed write can be repeated.
+     *
+     * @param target The DataSource of the target shard.
+     * @param rows The rows by table as JSON arrays, in the order to write them.
+     * @return The number of written rows.
+     */
+    int write(DataSource target, Map<String, String> rows) {
+        NamedParameterJdbcTemplate jdbcTemplate = new NamedParameterJdbcTemplate(target);
+        return new TransactionTemplate(new DataSourceTransactionManager(target)).execute(status -> {
+            jdbcTemplate.getJdbcTemplate().execute("set local session_replication_role = replica");
+            int written = 0;
+            for (Map.Entry<String, String> table : rows.entrySet()) {
+                String columns = String.join(", ", findInsertableColumns(jdbcTemplate, table.getKey()));
+                written += jdbcTemplate.update("insert into " + table.getKey() + " (" + columns + ") overriding system value"
+                        + " select " + columns + " from jsonb_populate_recordset(null::" + table.getKey() + ", cast(:rows as jsonb))"
+                        + " on conflict do nothing", Map.of("rows", table.getValue()));
+            }
+            return written;
+        });
+    }
+
+    /**
+     * Deletes the matching rows of the given tables from a shard in a single transaction.
+     *
+     * @param dataSource The DataSource of the shard.
+     * @param conditions The conditions of the rows to delete by table, in the order to delete them.
+     * @param parameters The parameters of the conditions.
+     * @return The number of deleted rows.
+     */
+    int delete(DataSource dataSource, Map<String, String> conditions, Map<String, ?> parameters) {
+        NamedParameterJdbcTemplate jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        return new TransactionTemplate(new DataSourceTransactionManager(dataSource)).execute(status -> {
+            jdbcTemplate.getJdbcTemplate().execute("set local session_replication_role = replica");
+            int deleted = 0;
+            for (Map.Entry<String, String> table : conditions.entrySet()) {
+                deleted += jdbcTemplate.update("delete from " + table.getKey() + " t where " + table.getValue(), parameters);
+            }
+            return deleted;
+        });
+    }
+
+    /**
+     * Counts the matching rows of the given tables in a shard.
+     *
+     * @param dataSource The DataSource of the shard.
+     * @param conditions The conditions of the rows to count by table.
+     * @param parameters The parameters of the conditions.
+     * @return The number of rows by table, in the order of the conditions.
+     */
+    Map<String, Integer> count(DataSource dataSource, Map<String, String> conditions, Map<String, ?> parameters) {
+        NamedParameterJdbcTemplate jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        conditions.forEach((table, condition) -> counts.put(table, jdbcTemplate.queryForObject(
+                "select count(*) from " + table + " t where " + condition, parameters, Integer.class)));
+        return counts;
+    }
+
+    /**
+     * Finds the columns of the given table that can be written.
+     *
+     * @param jdbcTemplate The NamedParameterJdbcTemplate of the shard.
+     * @param table The name of the table.
+     * @return The quoted names of the columns.
+     */
+    private List<String> findInsertableColumns(NamedParameterJdbcTemplate jdbcTemplate, String table) {
+        return jdbcTemplate.queryForList("""
+                select quote_ident(attname) from pg_attribute
+                where attrelid = cast(:table as regclass) and attnum > 0 and not attisdropped and attgenerated = ''
+                order by attnum
+                """, Map.of("table", table), String.class);
+    }
+}
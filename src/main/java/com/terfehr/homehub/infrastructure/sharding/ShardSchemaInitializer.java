@@ -0,0 +1,118 @@
+package com.terfehr.homehub.infrastructure.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Brings the schema of every household shard up to date on startup. Hibernate and schema.sql only run against the
+ * global shard, so this applies the same schema management as configured for Hibernate and runs schema.sql on every
+ * household shard afterward, followed by shard-schema.sql for the parts only household shards need. The mapping is captured from Hibernate while the persistence unit is built.</p>
+ *
+ * <p>Every shard then moves its sequences to the start of its own ID range, see ShardRouter.</p>
+ */
+@Slf4j
+@Component
+public class ShardSchemaInitializer implements HibernatePropertiesCustomizer, Integrator, SmartInitializingSingleton {
+
+    private final ShardRouter shardRouter;
+    private final String separator;
+    private Metadata metadata;
+    private SessionFactoryImplementor sessionFactory;
+
+    public ShardSchemaInitializer(ShardRouter shardRouter, @Value("${spring.sql.init.separator}") String separator) {
+        this.shardRouter = shardRouter;
+        this.separator = separator;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(JpaSettings.INTEGRATOR_PROVIDER, (IntegratorProvider) () -> List.of(this));
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        this.metadata = metadata;
+        this.sessionFactory = sessionFactory;
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!shardRouter.isEnabled()) {
+            return;
+        }
+        for (String shard : shardRouter.getShardNames()) {
+            if (!ShardRoutingDataSource.GLOBAL.equals(shard)) {
+                ShardContext.runIn(shard, () -> migrate(shard));
+            }
+            long sequences = claimIdRange(shard);
+            log.info("Initialized the schema of shard {}, moved {} sequences to its ID range", shard, sequences);
+        }
+    }
+
+    /**
+     * Applies the schema management of Hibernate, schema.sql and shard-schema.sql to the given shard. Runs on the shard, so the schema
+     * filter of Hibernate inspects the shard itself.
+     *
+     * @param shard The name of the shard.
+     */
+    private void migrate(String shard) {
+        DataSource dataSource = shardRouter.getDataSource(shard);
+        Map<String, Object> settings = new HashMap<>(sessionFactory.getProperties());
+        try (Connection connection = dataSource.getConnection()) {
+            settings.put(AvailableSettings.JAKARTA_HBM2DDL_CONNECTION, connection);
+            SchemaManagementToolCoordinator.process(metadata, sessionFactory.getServiceRegistry(), settings, action -> {
+            });
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not migrate the schema of shard " + shard, e);
+        }
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource("schema.sql"),
+                new ClassPathResource("shard-schema.sql"));
+        populator.setSeparator(separator);
+        DatabasePopulatorUtils.execute(populator, dataSource);
+    }
+
+    /**
+     * Moves all sequences of the given shard that are behind the start of its ID range to the start.
+     *
+     * @param shard The name of the shard.
+     * @return The number of moved sequences.
+     */
+    private long claimIdRange(String shard) {
+        long start = shardRouter.getIdRangeStart(shard);
+        if (start == 0) {
+            return 0;
+        }
+        return new JdbcTemplate(shardRouter.getDataSource(shard)).queryForList("""
+                select setval(format('%I.%I', schemaname, sequencename)::regclass, ?)
+                from pg_sequences
+                where schemaname = current_schema() and coalesce(last_value, 0) < ?
+                """, Long.class, start, start).size();
+    }
+}
@@ -0,0 +1,39 @@
+package com.terfehr.homehub.infrastructure.sharding;
+
+import lombok.AllArgsConstructor;
+import org.hibernate.cfg.MultiTenancySettings;
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Tells Hibernate which shard a session works on, so the second-level cache keeps the entities of every shard apart.
+ * IDs are unique across shards except for the Users, which every household shard keeps a copy of without credentials
+ * under their ID in the global shard. Without sharding, Hibernate is left without a tenant.
+ */
+@Component
+@AllArgsConstructor
+public class ShardTenantIdentifierResolver implements CurrentTenantIdentifierResolver<String>, HibernatePropertiesCustomizer {
+
+    private final ShardRouter shardRouter;
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        if (shardRouter.isEnabled()) {
+            hibernateProperties.put(MultiTenancySettings.MULTI_TENANT_IDENTIFIER_RESOLVER, this);
+        }
+    }
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        String shard = ShardContext.current();
+        return shard == null ? ShardRoutingDataSource.GLOBAL : shard;
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+}
@@ -0,0 +1,40 @@
+package com.terfehr.homehub.infrastructure.sharding;
+
+import com.terfehr.homehub.infrastructure.replica.ReplicaProperties;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings of the household shards. Without sharding, the application uses the single configured datasource. With
+ * sharding, Users and everything else that is not owned by a Household live in the global shard, while every Household
+ * lives with all its data in one of the household shards.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+    private int virtualNodes;
+    private int idRangeBits;
+    private Shard global = new Shard();
+    private List<Shard> shards = new ArrayList<>(); // Append only, the position determines the ID range of a shard
+
+    /**
+     * Connection settings of a single shard.
+     */
+    @Getter
+    @Setter
+    public static class Shard {
+
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private List<ReplicaProperties.Replica> replicas = new ArrayList<>();
+    }
+}
@@ -0,0 +1,42 @@
+package com.terfehr.homehub.infrastructure.sharding;
+
+import com.terfehr.homehub.application.dto.UserDTO;
+import com.terfehr.homehub.domain.household.event.UserRegisteredEvent;
+import lombok.AllArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Copies every registered User from the global shard to the household shards, so Roommates, reminders and
+ * dashboards can reference and show the User in the shard of their Household. The copies carry no credentials, as
+ * Users are only ever authenticated against the global shard.
+ */
+@Component
+@AllArgsConstructor
+public class UserReplicator {
+
+    private final ShardRouter shardRouter;
+    private final ShardRowCopier shardRowCopier;
+
+    /**
+     * Copies the registered User to every household shard.
+     *
+     * @param event The event containing the registered User.
+     */
+    @EventListener
+    public void onUserRegistered(UserRegisteredEvent event) {
+        if (!shardRouter.isEnabled()) {
+            return;
+        }
+        String rows = new JdbcTemplate(shardRouter.getDataSource(ShardRoutingDataSource.GLOBAL)).queryForObject("""
+                select coalesce(jsonb_agg(to_jsonb(u) || '{"password": "", "verification_code": null}'), '[]')::text
+                from users u where id = ?
+                """, String.class, ((UserDTO) event.getSource()).getId());
+        shardRouter.getShardNames().stream()
+                .filter(shard -> !ShardRoutingDataSource.GLOBAL.equals(shard))
+                .forEach(shard -> shardRowCopier.write(shardRouter.getDataSource(shard), Map.of("users", rows)));
+    }
+}
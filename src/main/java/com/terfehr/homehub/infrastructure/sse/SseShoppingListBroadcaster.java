@@ -0,0 +1,361 @@
+package com.terfehr.homehub.infrastructure.sse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.terfehr.homehub.application.interfaces.ShoppingListBroadcastInterface;
+import com.terfehr.homehub.domain.shopping.event.ShoppingListItemChangedEvent;
+import com.terfehr.homehub.domain.shopping.value.ShoppingListItemChange;
+import com.terfehr.homehub.infrastructure.notification.DatabaseNotificationListener;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>Pushes the committed changes of ShoppingLists to their subscribers as Server-Sent Events. Changes of a list are
+ * collected for a short window and coalesced per item, so a burst of changes to the same list results in a single
+ * {@code changes} event that only carries the latest state of every changed item. The event is serialized once per
+ * list and window and the same payload is handed to every subscriber.</p>
+ *
+ * <p>Changes reach every instance, no matter which one made them. Each change is sent with {@code pg_notify} from
+ * the transaction that made it, so Postgres only delivers it once the change committed, and the
+ * DatabaseNotificationListener of every instance, including the one that made it, hands it to the local subscribers
+ * of the list. Clients may therefore subscribe to any instance without sticky routing. If notifications might have
+ * been missed because a listening connection broke, all subscribers are disconnected.</p>
+ *
+ * <p>Every subscriber owns a bounded queue of pending events. Handing out an event only enqueues it, the queue is
+ * drained on a virtual thread that is started on demand and ends once the queue is empty, so a slow client only
+ * blocks its own virtual thread and idle subscribers hold no thread at all. Subscribers whose queue overflows are
+ * disconnected, as they have missed changes and have to retrieve the list again after reconnecting.</p>
+ */
+@Slf4j
+@Component
+public class SseShoppingListBroadcaster implements ShoppingListBroadcastInterface {
+
+    private static final String READY_EVENT = "ready";
+    private static final String CHANGES_EVENT = "changes";
+    private static final String CHANGES_CHANNEL = "shopping_list_changes";
+
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseNotificationListener notificationListener;
+    private final Map<Long, Channel> channels;
+    private final ScheduledExecutorService timer;
+    private final ExecutorService senders;
+    private final long coalesceMillis;
+    private final long timeoutMillis;
+    private final int queueCapacity;
+    private final Set<DataWithMediaType> heartbeat;
+
+    public SseShoppingListBroadcaster(ObjectMapper objectMapper, JdbcTemplate jdbcTemplate,
+                                      DatabaseNotificationListener notificationListener,
+                                      @Value("${shopping.live.coalesce-millis}") long coalesceMillis,
+                                      @Value("${shopping.live.timeout-millis}") long timeoutMillis,
+                                      @Value("${shopping.live.heartbeat-seconds}") long heartbeatSeconds,
+                                      @Value("${shopping.live.queue-capacity}") int queueCapacity) {
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.notificationListener = notificationListener;
+        this.channels = new ConcurrentHashMap<>();
+        this.timer = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("shopping-list-sse-timer").daemon().factory());
+        this.senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("shopping-list-sse-", 0).factory());
+        this.coalesceMillis = coalesceMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.queueCapacity = queueCapacity;
+        this.heartbeat = SseEmitter.event().comment("heartbeat").build();
+        timer.scheduleAtFixedRate(this::sendHeartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Subscribes to the changes of all instances. Runs once the broadcaster is fully constructed, so the
+     * DatabaseNotificationListener never sees it half-initialized.
+     */
+    @PostConstruct
+    void registerListener() {
+        notificationListener.subscribe(CHANGES_CHANNEL, this::onNotification, this::disconnectAll);
+    }
+
+    @Override
+    public SseEmitter subscribe(Long shoppingListId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(shoppingListId, emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        Channel channel = channels.compute(shoppingListId, (id, existing) -> {
+            Channel result = existing == null ? new Channel() : existing;
+            result.subscribers.add(subscriber);
+            return result;
+        });
+        subscriber.offer(SseEmitter.event().name(READY_EVENT).id(Long.toString(channel.sequence())).data(Long.toString(shoppingListId)).build());
+        return emitter;
+    }
+
+    /**
+     * Announces a change to all instances from the transaction that made it. The notification is only delivered once
+     * the transaction committed and is discarded if it rolls back.
+     *
+     * @param event The event containing the changed ShoppingListItem.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onShoppingListItemChanged(ShoppingListItemChangedEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(new Relay(event.getShoppingListId(), event.getChange()));
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize a change of ShoppingList {}", event.getShoppingListId(), e);
+            return;
+        }
+        jdbcTemplate.queryForList("select pg_notify(?, ?)", Object.class, CHANGES_CHANNEL, payload);
+    }
+
+    /**
+     * Collects a committed change of any instance for the next event of its ShoppingList. Changes of lists without
+     * subscribers on this instance are dropped right away.
+     *
+     * @param payload The serialized change.
+     */
+    private void onNotification(String payload) {
+        Relay relay;
+        try {
+            relay = objectMapper.readValue(payload, Relay.class);
+        } catch (JsonProcessingException e) {
+            log.error("Could not read a relayed change of a ShoppingList", e);
+            return;
+        }
+        Channel channel = channels.get(relay.shoppingListId());
+        if (channel != null && channel.collect(relay.change())) {
+            timer.schedule(() -> flush(relay.shoppingListId(), channel), coalesceMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Completes all open subscriptions, so clients reconnect to another node, and stops the threads. Runs before the
+     * web server shuts down gracefully, which would otherwise wait for the open streams.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void shutdown() {
+        timer.shutdownNow();
+        channels.values().forEach(channel -> channel.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        channels.clear();
+        senders.shutdownNow();
+    }
+
+    /**
+     * Disconnects all subscribers, as they might have missed changes and have to retrieve their lists again after
+     * reconnecting.
+     */
+    private void disconnectAll() {
+        channels.values().forEach(channel -> channel.subscribers.forEach(subscriber -> {
+            subscriber.close();
+            subscriber.emitter.complete();
+        }));
+    }
+
+    /**
+     * Sends the changes collected within the last window to all subscribers of the given ShoppingList.
+     *
+     * @param shoppingListId The ID of the ShoppingList.
+     * @param channel The channel of the ShoppingList.
+     */
+    private void flush(Long shoppingListId, Channel channel) {
+        Batch batch = channel.drain();
+        if (batch.changes().isEmpty() || channel.subscribers.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> payload;
+        try {
+            payload = SseEmitter.event()
+                    .name(CHANGES_EVENT)
+                    .id(Long.toString(batch.sequence()))
+                    .data(objectMapper.writeValueAsString(new Delta(shoppingListId, batch.sequence(), batch.changes())), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize the changes of ShoppingList {}", shoppingListId, e);
+            return;
+        }
+        channel.subscribers.forEach(subscriber -> subscriber.offer(payload));
+    }
+
+    /**
+     * Sends a comment to all subscribers, so connections that were closed by the client are detected and released.
+     */
+    private void sendHeartbeat() {
+        channels.values().forEach(channel -> channel.subscribers.forEach(subscriber -> subscriber.offer(heartbeat)));
+    }
+
+    /**
+     * Removes the given subscriber from its channel and drops the channel once it has no subscribers anymore.
+     *
+     * @param subscriber The subscriber to remove.
+     */
+    private void unsubscribe(Subscriber subscriber) {
+        channels.computeIfPresent(subscriber.shoppingListId, (id, channel) -> {
+            channel.subscribers.remove(subscriber);
+            return channel.subscribers.isEmpty() ? null : channel;
+        });
+    }
+
+    /**
+     * The subscribers of a single ShoppingList and the changes collected for its next event.
+     */
+    private static class Channel {
+
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final Map<Long, ShoppingListItemChange> pending = new LinkedHashMap<>(); // Latest change per item
+        private long sequence;
+
+        /**
+         * Collects the given change, replacing an earlier change of the same item within the window.
+         *
+         * @param change The change to collect.
+         * @return True, if it is the first change of the window and a flush has to be scheduled. False otherwise.
+         */
+        private synchronized boolean collect(ShoppingListItemChange change) {
+            boolean first = pending.isEmpty();
+            pending.put(change.itemId(), change);
+            return first;
+        }
+
+        /**
+         * Takes all collected changes and assigns them the next sequence number.
+         *
+         * @return The collected changes together with their sequence number.
+         */
+        private synchronized Batch drain() {
+            List<ShoppingListItemChange> changes = new ArrayList<>(pending.values());
+            pending.clear();
+            return new Batch(changes.isEmpty() ? sequence : ++sequence, changes);
+        }
+
+        /**
+         * Returns the sequence number of the last event.
+         *
+         * @return The sequence number.
+         */
+        private synchronized long sequence() {
+            return sequence;
+        }
+    }
+
+    /**
+     * A single client subscribed to a ShoppingList together with the events that still have to be sent to it.
+     */
+    private class Subscriber {
+
+        private final Long shoppingListId;
+        private final SseEmitter emitter;
+        private final Queue<Set<DataWithMediaType>> queue;
+        private final AtomicBoolean draining;
+        private final AtomicBoolean closed;
+
+        private Subscriber(Long shoppingListId, SseEmitter emitter) {
+            this.shoppingListId = shoppingListId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.draining = new AtomicBoolean();
+            this.closed = new AtomicBoolean();
+        }
+
+        /**
+         * Enqueues the given event without blocking and starts draining the queue if nobody does yet. Disconnects
+         * the subscriber if its queue is full.
+         *
+         * @param event The event to send.
+         */
+        private void offer(Set<DataWithMediaType> event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                log.debug("Disconnecting a subscriber of ShoppingList {} that does not keep up", shoppingListId);
+                close();
+                emitter.complete();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        /**
+         * Sends all queued events. Checks the queue again after releasing the draining flag, as an event might have
+         * been enqueued in between.
+         */
+        private void drain() {
+            do {
+                Set<DataWithMediaType> event;
+                while ((event = queue.poll()) != null && !closed.get()) {
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        close(); // The container completes the emitter once it notices the broken connection
+                    }
+                }
+                draining.set(false);
+            } while (!queue.isEmpty() && !closed.get() && draining.compareAndSet(false, true));
+        }
+
+        /**
+         * Stops sending events and removes the subscriber from its channel.
+         */
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                queue.clear();
+                unsubscribe(this);
+            }
+        }
+    }
+
+    /**
+     * The changes of a single window together with their sequence number.
+     *
+     * @param sequence The sequence number of the event.
+     * @param changes The coalesced changes.
+     */
+    private record Batch(long sequence, List<ShoppingListItemChange> changes) {
+    }
+
+    /**
+     * A change as it is relayed between the instances.
+     *
+     * @param shoppingListId The ID of the changed ShoppingList.
+     * @param change The latest state of the changed item.
+     */
+    private record Relay(Long shoppingListId, ShoppingListItemChange change) {
+    }
+
+    /**
+     * The payload of a {@code changes} event.
+     *
+     * @param shoppingListId The ID of the changed ShoppingList.
+     * @param sequence The sequence number of the event. It increases by one with every event of the list.
+     * @param changes The latest state of every item that changed since the previous event.
+     */
+    private record Delta(Long shoppingListId, long sequence, List<ShoppingListItemChange> changes) {
+    }
+}
@@ -0,0 +1,206 @@
+package com.terfehr.homehub.infrastructure.suggestion;
+
+import com.terfehr.homehub.application.interfaces.SuggestionIndexInterface;
+import com.terfehr.homehub.domain.bookkeeping.entity.Income;
+import com.terfehr.homehub.domain.bookkeeping.event.TransactionBookedEvent;
+import com.terfehr.homehub.domain.bookkeeping.repository.TransactionRepositoryInterface;
+import com.terfehr.homehub.domain.household.value.SuggestionField;
+import com.terfehr.homehub.domain.household.value.TermFrequency;
+import com.terfehr.homehub.domain.shopping.event.ShoppingListItemAddedEvent;
+import com.terfehr.homehub.domain.shopping.repository.ShoppingListItemRepositoryInterface;
+import com.terfehr.homehub.domain.shopping.repository.ShoppingSpreeItemRepositoryInterface;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Keeps a PrefixIndex per Household and SuggestionField in memory, so suggestions while typing never touch the
+ * database. The indexes of a Household are built lazily with one grouped query per vocabulary on its first request
+ * and are updated from the booking and shopping events once their transactions have been committed. Events committed
+ * while the indexes of a Household are being built are buffered and applied once they are installed, so a term may be
+ * counted twice but is never missed.</p>
+ *
+ * <p>The memory is bounded by the total number of indexed terms. Once it is exceeded, the Households that have not
+ * requested suggestions for the longest time are evicted and rebuilt on their next request.</p>
+ */
+@Slf4j
+@Component
+public class InMemorySuggestionIndex implements SuggestionIndexInterface {
+
+    private final TransactionRepositoryInterface transactionRepository;
+    private final ShoppingListItemRepositoryInterface shoppingListItemRepository;
+    private final ShoppingSpreeItemRepositoryInterface shoppingSpreeItemRepository;
+    private final LinkedHashMap<Long, Map<SuggestionField, PrefixIndex>> households; // Access order for LRU eviction
+    private final Map<Long, List<Term>> pending; // Terms recorded while a Household is being loaded, guarded by households
+    private final long maxTerms;
+
+    public InMemorySuggestionIndex(TransactionRepositoryInterface transactionRepository,
+                                   ShoppingListItemRepositoryInterface shoppingListItemRepository,
+                                   ShoppingSpreeItemRepositoryInterface shoppingSpreeItemRepository,
+                                   @Value("${suggestion.cache.max-terms}") long maxTerms) {
+        this.transactionRepository = transactionRepository;
+        this.shoppingListItemRepository = shoppingListItemRepository;
+        this.shoppingSpreeItemRepository = shoppingSpreeItemRepository;
+        this.households = new LinkedHashMap<>(16, 0.75f, true);
+        this.pending = new HashMap<>();
+        this.maxTerms = maxTerms;
+    }
+
+    @Override
+    public List<TermFrequency> suggest(Long householdId, SuggestionField field, String prefix, int limit) {
+        Map<SuggestionField, PrefixIndex> indexes;
+        synchronized (households) {
+            indexes = households.get(householdId);
+        }
+        if (indexes == null) {
+            indexes = load(householdId);
+        }
+        return indexes.get(field).suggest(prefix, limit);
+    }
+
+    /**
+     * Counts the counterparty of a committed Transaction, if the indexes of its Household are loaded.
+     *
+     * @param event The event containing the booked Transaction.
+     */
+    @TransactionalEventListener
+    public void onTransactionBooked(TransactionBookedEvent event) {
+        SuggestionField field = event.getTransaction() instanceof Income ? SuggestionField.SOURCE : SuggestionField.RECIPIENT;
+        record(event.getHouseholdId(), field, List.of(event.getTransaction().getCounterparty()));
+    }
+
+    /**
+     * Counts the name of a committed ShoppingListItem, if the indexes of its Household are loaded. Items moved into a
+     * ShoppingSpree are not counted again, as they keep being counted once in the database.
+     *
+     * @param event The event containing the added ShoppingListItem.
+     */
+    @TransactionalEventListener
+    public void onShoppingListItemAdded(ShoppingListItemAddedEvent event) {
+        record(event.getHouseholdId(), SuggestionField.ITEM, List.of(event.getName()));
+    }
+
+    /**
+     * Adds the given terms to the index of the given Household and field. Terms of Households that are being loaded are
+     * buffered, as the queries may have missed them. Households whose indexes are not loaded at all are skipped, as
+     * their indexes will contain the terms once they are built from the database.
+     *
+     * @param householdId The ID of the Household.
+     * @param field The field the terms were entered in.
+     * @param terms The entered terms.
+     */
+    private void record(Long householdId, SuggestionField field, List<String> terms) {
+        PrefixIndex index;
+        synchronized (households) {
+            Map<SuggestionField, PrefixIndex> indexes = households.get(householdId);
+            if (indexes == null) {
+                List<Term> buffer = pending.get(householdId);
+                if (buffer != null) {
+                    terms.forEach(term -> buffer.add(new Term(field, term)));
+                }
+                return;
+            }
+            index = indexes.get(field);
+        }
+        terms.forEach(term -> index.add(term, 1));
+    }
+
+    /**
+     * Builds the indexes of the given Household from the database and caches them. The queries run outside the lock,
+     * so a slow build does not block suggestions for other Households. The terms recorded in the meantime are buffered
+     * from before the first query and added to the indexes when they are cached.
+     *
+     * @param householdId The ID of the Household.
+     * @return The indexes of the Household by field.
+     */
+    private Map<SuggestionField, PrefixIndex> load(Long householdId) {
+        synchronized (households) {
+            pending.computeIfAbsent(householdId, id -> new ArrayList<>());
+        }
+        Map<SuggestionField, PrefixIndex> indexes = new EnumMap<>(SuggestionField.class);
+        try {
+            indexes.put(SuggestionField.RECIPIENT, build(transactionRepository.findRecipientFrequenciesByHouseholdId(householdId)));
+            indexes.put(SuggestionField.SOURCE, build(transactionRepository.findSourceFrequenciesByHouseholdId(householdId)));
+            PrefixIndex items = build(shoppingListItemRepository.findNameFrequenciesByHouseholdId(householdId));
+            shoppingSpreeItemRepository.findNameFrequenciesByHouseholdId(householdId)
+                    .forEach(item -> items.add(item.term(), item.frequency()));
+            indexes.put(SuggestionField.ITEM, items);
+        } catch (RuntimeException e) {
+            synchronized (households) {
+                if (!households.containsKey(householdId)) {
+                    pending.remove(householdId);
+                }
+            }
+            throw e;
+        }
+
+        synchronized (households) {
+            Map<SuggestionField, PrefixIndex> existing = households.putIfAbsent(householdId, indexes);
+            if (existing != null) {
+                return existing;
+            }
+            List<Term> buffer = pending.remove(householdId);
+            if (buffer != null) {
+                buffer.forEach(term -> indexes.get(term.field()).add(term.term(), 1));
+            }
+            evict();
+        }
+        return indexes;
+    }
+
+    /**
+     * Builds a PrefixIndex from the given term frequencies.
+     *
+     * @param frequencies The terms and their frequencies.
+     * @return The PrefixIndex.
+     */
+    private PrefixIndex build(List<TermFrequency> frequencies) {
+        PrefixIndex index = new PrefixIndex();
+        frequencies.forEach(frequency -> index.add(frequency.term(), frequency.frequency()));
+        return index;
+    }
+
+    /**
+     * Evicts the least recently used Households until the total number of indexed terms fits the configured maximum.
+     * The most recently used Household is always kept. Must be called while holding the lock.
+     */
+    private void evict() {
+        long terms = households.values().stream().mapToLong(this::countTerms).sum();
+        Iterator<Map.Entry<Long, Map<SuggestionField, PrefixIndex>>> iterator = households.entrySet().iterator();
+        while (terms > maxTerms && households.size() > 1) {
+            Map.Entry<Long, Map<SuggestionField, PrefixIndex>> eldest = iterator.next();
+            terms -= countTerms(eldest.getValue());
+            iterator.remove();
+            log.debug("Evicted suggestion index of household {}", eldest.getKey());
+        }
+    }
+
+    /**
+     * Counts the terms in the given indexes of a Household. Every Household counts as at least one term, so Households
+     * without any terms, e.g. unknown IDs, are evicted as well.
+     *
+     * @param indexes The indexes to count.
+     * @return The total number of terms plus one.
+     */
+    private long countTerms(Map<SuggestionField, PrefixIndex> indexes) {
+        return 1 + indexes.values().stream().mapToLong(PrefixIndex::size).sum();
+    }
+
+    /**
+     * A term recorded while the indexes of its Household were being loaded.
+     *
+     * @param field The field the term was entered in.
+     * @param term The entered term.
+     */
+    private record Term(SuggestionField field, String term) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.terfehr.homehub.infrastructure.suggestion;
+
+import com.terfehr.homehub.domain.household.value.TermFrequency;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * <p>Frequency-weighted prefix index over the terms of a single vocabulary. Terms are stored in a sorted map under their
+ * normalized form, so all terms with a given prefix form a contiguous range that is found in O(log n) and the top
+ * suggestions are picked from that range with a bounded heap.</p>
+ *
+ * <p>Terms are matched case-insensitively and with collapsed white space, the spelling that was entered last is
+ * suggested. All methods are synchronized, as the index is read by request threads and updated after commits.</p>
+ */
+public class PrefixIndex {
+
+    private final TreeMap<String, Entry> entries;
+
+    /**
+     * Constructs a new, empty PrefixIndex.
+     */
+    public PrefixIndex() {
+        this.entries = new TreeMap<>();
+    }
+
+    /**
+     * Adds the given frequency to the given term. Unknown terms are added to the index.
+     *
+     * @param term The term as entered.
+     * @param frequency The frequency to add.
+     */
+    public synchronized void add(String term, long frequency) {
+        String key = normalize(term);
+        if (key.isEmpty()) {
+            return;
+        }
+        Entry entry = entries.get(key);
+        entries.put(key, new Entry(term.trim(), entry == null ? frequency : entry.frequency() + frequency));
+    }
+
+    /**
+     * Suggests the most frequent terms that start with the given prefix. Ties are broken alphabetically.
+     *
+     * @param prefix The prefix typed so far.
+     * @param limit The maximum number of suggestions.
+     * @return The suggestions ordered by descending frequency.
+     */
+    public synchronized List<TermFrequency> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        Map<String, Entry> range = key.isEmpty() ? entries : entries.subMap(key, true, key + Character.MAX_VALUE, false);
+
+        Comparator<Entry> ranking = Comparator.comparingLong(Entry::frequency).reversed().thenComparing(Entry::term);
+        PriorityQueue<Entry> top = new PriorityQueue<>(ranking.reversed());
+        for (Entry entry : range.values()) {
+            top.offer(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<Entry> sorted = new ArrayList<>(top);
+        sorted.sort(ranking);
+        return sorted.stream().map(entry -> new TermFrequency(entry.term(), entry.frequency())).toList();
+    }
+
+    /**
+     * Returns the number of distinct terms in the index.
+     *
+     * @return The number of terms.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Normalizes the given text to the form it is indexed and looked up by.
+     *
+     * @param text The text to normalize.
+     * @return The text in lower case, trimmed and with collapsed white space.
+     */
+    private String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A term in the spelling it is suggested in together with its frequency.
+     *
+     * @param term The term as entered last.
+     * @param frequency The accumulated frequency of the term.
+     */
+    private record Entry(String term, long frequency) {
+    }
+}
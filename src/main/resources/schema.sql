@@ -0,0 +1,320 @@
+-- Runs after Hibernate has updated the schema (spring.jpa.defer-datasource-initialization) and covers what
+-- the JPA mapping cannot express. Every statement has to be idempotent, as the script runs on every startup.
+
+create extension if not exists pg_trgm;
+create extension if not exists btree_gin;
+
+-- Household partitioning of the tables that grow with every booking, purchase and chore. Each of them carries the
+-- household of its parent row and is hash partitioned by it, so the queries of a household read a single partition
+-- and the indexes of a partition stay small no matter how many households there are. Rows never move between
+-- households, and the partition has to be known before any trigger fires, so every insert supplies the household.
+-- Primary keys and unique constraints of a partitioned table have to contain the household, the IDs stay unique
+-- through their sequences. Existing tables are converted once: the household is filled in from the parent row, the
+-- rows are copied into the partitions, and foreign keys, unique constraints containing the household and plain
+-- indexes are recreated. Unique constraints without the household are dropped and replaced below. Hibernate does not
+-- update these tables once they are partitioned (see PartitionedTableSchemaFilterProvider), so later changes to
+-- them have to be made here.
+create or replace function homehub_partition_by_household(p_table text, p_household_sql text, p_partitions int) returns void
+    language plpgsql as
+$$
+declare
+    v_old text := p_table || '_unpartitioned';
+    v_household smallint;
+    v_missing bigint;
+    v_statements text[];
+    v_statement text;
+    v_columns text;
+    v_sequence text;
+begin
+    if (select c.relkind from pg_class c where c.oid = to_regclass(p_table)) is distinct from 'r' then
+        return;
+    end if;
+
+    execute format('alter table %I add column if not exists household_id bigint', p_table);
+    execute format('update %I x set household_id = coalesce(%s, x.household_id)', p_table, p_household_sql);
+    execute format('select count(*) from %I where household_id is null', p_table) into v_missing;
+    if v_missing > 0 then
+        raise exception '% rows of % belong to no household', v_missing, p_table;
+    end if;
+
+    v_household := (select a.attnum from pg_attribute a where a.attrelid = p_table::regclass and a.attname = 'household_id');
+    select array_agg(d.statement order by d.kind, d.name) into v_statements
+    from (select 1 as kind, c.conname as name,
+                 format('alter table %I add constraint %I %s', p_table, c.conname, pg_get_constraintdef(c.oid)) as statement
+          from pg_constraint c
+          where c.conrelid = p_table::regclass
+            and (c.contype = 'f' or c.contype = 'u' and v_household = any (c.conkey))
+          union all
+          select 2, ic.relname, pg_get_indexdef(i.indexrelid)
+          from pg_index i
+                   join pg_class ic on ic.oid = i.indexrelid
+          where i.indrelid = p_table::regclass
+            and not exists (select 1 from pg_constraint c where c.conindid = i.indexrelid)
+            and (not i.indisunique or v_household = any (i.indkey))) d;
+
+    execute format('alter table %I rename to %I', p_table, v_old);
+    execute format('create table %I (like %I including all excluding indexes) partition by hash (household_id)', p_table, v_old);
+    for i in 0 .. p_partitions - 1 loop
+        execute format('create table %I partition of %I for values with (modulus %s, remainder %s)',
+                       p_table || '_p' || lpad(i::text, 2, '0'), p_table, p_partitions, i);
+    end loop;
+
+    select string_agg(quote_ident(a.attname), ', ' order by a.attnum) into v_columns
+    from pg_attribute a
+    where a.attrelid = v_old::regclass and a.attnum > 0 and not a.attisdropped and a.attgenerated = '';
+    execute format('insert into %I (%s) overriding system value select %s from %I', p_table, v_columns, v_columns, v_old);
+
+    execute format('drop table %I cascade', v_old); -- Foreign keys referencing the table cannot be recreated, see Expense
+    execute format('alter table %I alter column household_id set not null', p_table);
+    execute format('alter table %I add primary key (id, household_id)', p_table);
+    foreach v_statement in array coalesce(v_statements, '{}') loop
+        execute v_statement;
+    end loop;
+
+    v_sequence := pg_get_serial_sequence(p_table, 'id');
+    if v_sequence is not null then
+        execute format('select setval(%L, coalesce(max(id), 0) + 1, false) from %I', v_sequence, p_table);
+        execute format('alter sequence %s rename to %I', v_sequence, p_table || '_id_seq');
+    end if;
+end
+$$;
+
+select homehub_partition_by_household('transactions', '(select a.household_id from accounts a where a.id = x.account)', 16);
+select homehub_partition_by_household('tasks', '(select l.household_id from task_lists l where l.id = x.task_list_id)', 16);
+select homehub_partition_by_household('shopping_list_items', '(select l.household_id from shopping_lists l where l.id = x.shopping_list_id)', 16);
+select homehub_partition_by_household('shopping_spree_items', '(select s.household_id from shopping_sprees s where s.id = x.shopping_spree_id)', 16);
+
+-- Full-text search over transactions
+
+update transactions t
+set search_text = concat_ws(' ', t.description, e.recipient, i.source)
+from transactions s
+         left join expenses e on e.id = s.id
+         left join incomes i on i.id = s.id
+where t.id = s.id
+  and t.search_text is null;
+
+alter table transactions
+    add column if not exists search_vector tsvector
+        generated always as (to_tsvector('simple', coalesce(search_text, ''))) stored;
+
+create index if not exists idx_transactions_search_vector on transactions using gin (account, search_vector);
+create index if not exists idx_transactions_search_text_trgm on transactions using gin (account, search_text gin_trgm_ops);
+
+-- Change versions for the delta sync of shopping lists and task lists. Every insert and update stamps the row with the
+-- next change version of its household, every delete writes a tombstone. All rows changed by one transaction share a
+-- version, which is taken from the household row while holding its lock, so versions become visible in the order
+-- they were assigned and a client never skips a change by resuming after the highest version it has seen.
+create or replace function homehub_next_change_version(p_household_id bigint) returns bigint
+    language plpgsql as
+$$
+declare
+    v_setting text := 'homehub.change_version_' || p_household_id;
+    v_version bigint := nullif(current_setting(v_setting, true), '')::bigint;
+begin
+    if v_version is null then
+        update households set change_version = change_version + 1 where id = p_household_id
+        returning change_version into v_version;
+        perform set_config(v_setting, v_version::text, true);
+    end if;
+    return v_version;
+end
+$$;
+
+-- Arguments: the entity type of the tombstones, optionally the parent table and the column referencing it if the
+-- table has no household_id of its own.
+create or replace function homehub_track_change() returns trigger
+    language plpgsql as
+$$
+declare
+    v_row jsonb;
+    v_household_id bigint;
+begin
+    if TG_OP = 'DELETE' then
+        v_row := to_jsonb(OLD);
+    else
+        v_row := to_jsonb(NEW);
+    end if;
+    if TG_NARGS = 1 then
+        v_household_id := (v_row ->> 'household_id')::bigint;
+    else
+        execute format('select household_id from %I where id = $1', TG_ARGV[1])
+            into v_household_id using (v_row ->> TG_ARGV[2])::bigint;
+    end if;
+
+    if TG_OP = 'DELETE' then
+        if v_household_id is not null then
+            insert into change_tombstones (household_id, entity_type, entity_id, change_version, deleted_at)
+            values (v_household_id, TG_ARGV[0], OLD.id, homehub_next_change_version(v_household_id), localtimestamp);
+        end if;
+        return OLD;
+    end if;
+    if v_household_id is not null then
+        NEW.change_version := homehub_next_change_version(v_household_id);
+    end if;
+    return NEW;
+end
+$$;
+
+drop trigger if exists trg_shopping_lists_version on shopping_lists;
+create trigger trg_shopping_lists_version before insert or update on shopping_lists
+    for each row execute function homehub_track_change('SHOPPING_LIST');
+drop trigger if exists trg_shopping_lists_tombstone on shopping_lists;
+create trigger trg_shopping_lists_tombstone after delete on shopping_lists
+    for each row execute function homehub_track_change('SHOPPING_LIST');
+
+drop trigger if exists trg_shopping_list_items_version on shopping_list_items;
+create trigger trg_shopping_list_items_version before insert or update on shopping_list_items
+    for each row execute function homehub_track_change('SHOPPING_LIST_ITEM');
+drop trigger if exists trg_shopping_list_items_tombstone on shopping_list_items;
+create trigger trg_shopping_list_items_tombstone after delete on shopping_list_items
+    for each row execute function homehub_track_change('SHOPPING_LIST_ITEM');
+
+drop trigger if exists trg_task_lists_version on task_lists;
+create trigger trg_task_lists_version before insert or update on task_lists
+    for each row execute function homehub_track_change('TASK_LIST');
+drop trigger if exists trg_task_lists_tombstone on task_lists;
+create trigger trg_task_lists_tombstone after delete on task_lists
+    for each row execute function homehub_track_change('TASK_LIST');
+
+drop trigger if exists trg_tasks_version on tasks;
+create trigger trg_tasks_version before insert or update on tasks
+    for each row execute function homehub_track_change('TASK');
+drop trigger if exists trg_tasks_tombstone on tasks;
+create trigger trg_tasks_tombstone after delete on tasks
+    for each row execute function homehub_track_change('TASK');
+
+-- Canonical item keys. Items of a shopping list or spree whose names only differ in unicode representation, case or
+-- whitespace share a key and are merged into one item, adding up their quantities. The application computes the key
+-- (see ItemKey), this function only approximates it for rows that were written before the key existed.
+create or replace function homehub_item_key(p_name text) returns text
+    language sql immutable as
+$$
+select lower(upper(btrim(regexp_replace(normalize(p_name, NFKC), '\s+', ' ', 'g'))))
+$$;
+
+update shopping_list_items set item_key = homehub_item_key(name) where item_key is null;
+update shopping_spree_items set item_key = homehub_item_key(name) where item_key is null;
+
+with ranked as (
+    select id, quantity, first_value(id) over (partition by shopping_list_id, item_key order by id) as keeper_id
+    from shopping_list_items
+), merged as (
+    update shopping_list_items i
+    set quantity = m.quantity
+    from (select keeper_id, sum(quantity) as quantity from ranked group by keeper_id having count(*) > 1) m
+    where i.id = m.keeper_id
+)
+delete from shopping_list_items i using ranked r where i.id = r.id and r.id <> r.keeper_id;
+
+with ranked as (
+    select id, quantity, first_value(id) over (partition by shopping_spree_id, item_key order by id) as keeper_id
+    from shopping_spree_items
+), merged as (
+    update shopping_spree_items i
+    set quantity = m.quantity
+    from (select keeper_id, sum(quantity) as quantity from ranked group by keeper_id having count(*) > 1) m
+    where i.id = m.keeper_id
+)
+delete from shopping_spree_items i using ranked r where i.id = r.id and r.id <> r.keeper_id;
+
+alter table shopping_list_items alter column item_key set not null;
+alter table shopping_spree_items alter column item_key set not null;
+create unique index if not exists uk_shopping_list_items_household_list_item_key on shopping_list_items (household_id, shopping_list_id, item_key);
+create unique index if not exists uk_shopping_spree_items_household_spree_item_key on shopping_spree_items (household_id, shopping_spree_id, item_key);
+
+-- Tasks are created unfinished, so they have no finishing time yet. Older schemas declared the column as not null.
+alter table tasks alter column finished_at drop not null;
+
+-- Sort keys ordering the tasks of a task list and the items of a shopping list, see SortKey. New rows are appended to
+-- the end of their list by a trigger, so every insert path gets a key without reading the list first. The trigger is
+-- named to fire after the change version trigger, which holds the household lock, so concurrent appends to the same
+-- list see each other and get distinct keys. Appended keys consist of n leading "f" followed by n + 1 other digits,
+-- so they grow logarithmically with the number of appends instead of by one digit per few appends.
+create or replace function homehub_sort_key_after(p_key text) returns text
+    language sql immutable as
+$$
+with k as (select length(p_key) - length(ltrim(p_key, 'f')) as fs)
+select case
+           when p_key is null then '8'
+           else rtrim(repeat('f', fs) || lpad(to_hex(('x' || lpad(rpad(substr(p_key, fs + 1, fs + 1), fs + 1, '0'), 16, '0'))::bit(64)::bigint + 1), fs + 1, '0'), '0')
+           end
+from k
+$$;
+
+-- Evenly spaced keys for rebalancing a list of p_count entries, p_rank being the one-based position of an entry.
+create or replace function homehub_sort_key(p_rank bigint, p_count bigint) returns text
+    language sql immutable as
+$$
+select lpad(to_hex(p_rank), length(to_hex(p_count)), '0') || '8'
+$$;
+
+-- Argument: the column referencing the list. The trigger fires on the partition of the household of the list.
+create or replace function homehub_append_sort_key() returns trigger
+    language plpgsql as
+$$
+declare
+    v_last text;
+begin
+    if NEW.sort_key is null then
+        execute format('select max(sort_key) from %I.%I where household_id = $2 and %I = $1', TG_TABLE_SCHEMA, TG_TABLE_NAME, TG_ARGV[0])
+            into v_last using (to_jsonb(NEW) ->> TG_ARGV[0])::bigint, NEW.household_id;
+        NEW.sort_key := homehub_sort_key_after(v_last);
+    end if;
+    return NEW;
+end
+$$;
+
+with ranked as (
+    select id, homehub_sort_key(row_number() over (partition by task_list_id order by sort_key nulls last, id),
+                                count(*) over (partition by task_list_id)) as sort_key
+    from tasks
+    where sort_key is null or task_list_id in (select task_list_id from tasks where sort_key is null)
+)
+update tasks t set sort_key = r.sort_key from ranked r where t.id = r.id;
+
+with ranked as (
+    select id, homehub_sort_key(row_number() over (partition by shopping_list_id order by sort_key nulls last, id),
+                                count(*) over (partition by shopping_list_id)) as sort_key
+    from shopping_list_items
+    where sort_key is null or shopping_list_id in (select shopping_list_id from shopping_list_items where sort_key is null)
+)
+update shopping_list_items i set sort_key = r.sort_key from ranked r where i.id = r.id;
+
+alter table tasks alter column sort_key set not null;
+alter table shopping_list_items alter column sort_key set not null;
+
+drop trigger if exists trg_tasks_version_sort_key on tasks;
+create trigger trg_tasks_version_sort_key before insert on tasks
+    for each row execute function homehub_append_sort_key('task_list_id');
+
+drop trigger if exists trg_shopping_list_items_version_sort_key on shopping_list_items;
+create trigger trg_shopping_list_items_version_sort_key before insert on shopping_list_items
+    for each row execute function homehub_append_sort_key('shopping_list_id');
+
+-- Households that were moved to another shard and are pinned to it, see ShardRouter. Only used in the global shard.
+create table if not exists household_placements (
+    household_id bigint primary key,
+    shard text not null,
+    moving boolean not null default false
+);
+
+-- Membership changes for the HouseholdMembershipService of every instance. Adding or removing a roommate sends the ID
+-- of its user on the channel household_membership once the transaction commits, no matter whether the change was
+-- made through the application or directly in the database, and every instance forgets the households of the user.
+create or replace function homehub_notify_membership() returns trigger
+    language plpgsql as
+$$
+begin
+    if TG_OP = 'DELETE' then
+        perform pg_notify('household_membership', OLD.user_id::text);
+    else
+        perform pg_notify('household_membership', NEW.user_id::text);
+    end if;
+    return null;
+end
+$$;
+
+drop trigger if exists trg_roommates_membership on roommates;
+create trigger trg_roommates_membership after insert or delete on roommates
+    for each row execute function homehub_notify_membership();
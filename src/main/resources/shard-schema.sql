@@ -0,0 +1,96 @@
+-- Runs after schema.sql on every household shard, see ShardSchemaInitializer. Every statement has to be idempotent, as
+-- the script runs on every startup.
+
+-- Fences of the households that are being moved to another shard, see HouseholdShardMover. Every change to a row of a
+-- household takes a shared lock on the household and is rejected while the household is fenced. The mover fences a
+-- household while holding the exclusive lock, so it waits for all transactions that already changed the household and
+-- no change can reach it afterward. The mover itself copies and deletes rows without triggers. The triggers are named
+-- to fire before the change version triggers, so a rejected change never waits for the lock of the household row.
+create table if not exists household_fences (
+    household_id bigint primary key
+);
+
+-- Argument: optionally a query returning the household of the row, which is passed as $1, if the table has no
+-- household_id of its own.
+create or replace function homehub_guard_household() returns trigger
+    language plpgsql as
+$$
+declare
+    v_row jsonb;
+    v_household_id bigint;
+begin
+    if TG_OP = 'DELETE' then
+        v_row := to_jsonb(OLD);
+    else
+        v_row := to_jsonb(NEW);
+    end if;
+    if TG_NARGS = 0 then
+        v_household_id := (v_row ->> 'household_id')::bigint;
+    else
+        execute TG_ARGV[0] into v_household_id using v_row;
+    end if;
+
+    if v_household_id is not null then
+        perform pg_advisory_xact_lock_shared(v_household_id);
+        if exists (select 1 from household_fences where household_id = v_household_id) then
+            raise exception 'Household with ID % is being moved to another shard', v_household_id
+                using errcode = 'lock_not_available';
+        end if;
+    end if;
+    if TG_OP = 'DELETE' then
+        return OLD;
+    end if;
+    return NEW;
+end
+$$;
+
+do
+$$
+declare
+    v_table text;
+begin
+    foreach v_table in array array ['roommates', 'chore_profiles', 'accounts', 'transactions', 'budgets', 'shopping_lists',
+        'shopping_list_items', 'shopping_sprees', 'shopping_spree_items', 'task_lists', 'tasks', 'chore_statistics',
+        'change_tombstones', 'frequent_item_sketches', 'item_price_statistics']
+        loop
+            execute format('drop trigger if exists %I on %I', 'trg_' || v_table || '_guard', v_table);
+            execute format('create trigger %I before insert or update or delete on %I for each row execute function homehub_guard_household()',
+                           'trg_' || v_table || '_guard', v_table);
+        end loop;
+end
+$$;
+
+drop trigger if exists trg_households_guard on households;
+create trigger trg_households_guard before insert or update or delete on households
+    for each row execute function homehub_guard_household('select ($1 ->> ''id'')::bigint');
+
+drop trigger if exists trg_expenses_guard on expenses;
+create trigger trg_expenses_guard before insert or update or delete on expenses
+    for each row execute function homehub_guard_household('select household_id from transactions where id = ($1 ->> ''id'')::bigint');
+
+drop trigger if exists trg_incomes_guard on incomes;
+create trigger trg_incomes_guard before insert or update or delete on incomes
+    for each row execute function homehub_guard_household('select household_id from transactions where id = ($1 ->> ''id'')::bigint');
+
+drop trigger if exists trg_shopping_expenses_guard on shopping_expenses;
+create trigger trg_shopping_expenses_guard before insert or update or delete on shopping_expenses
+    for each row execute function homehub_guard_household('select household_id from transactions where id = ($1 ->> ''id'')::bigint');
+
+drop trigger if exists trg_budget_consumptions_guard on budget_consumptions;
+create trigger trg_budget_consumptions_guard before insert or update or delete on budget_consumptions
+    for each row execute function homehub_guard_household('select household_id from budgets where id = ($1 ->> ''budget_id'')::bigint');
+
+drop trigger if exists trg_recurring_transactions_guard on recurring_transactions;
+create trigger trg_recurring_transactions_guard before insert or update or delete on recurring_transactions
+    for each row execute function homehub_guard_household('select household_id from accounts where id = ($1 ->> ''account_id'')::bigint');
+
+drop trigger if exists trg_recurring_tasks_guard on recurring_tasks;
+create trigger trg_recurring_tasks_guard before insert or update or delete on recurring_tasks
+    for each row execute function homehub_guard_household('select household_id from task_lists where id = ($1 ->> ''task_list_id'')::bigint');
+
+drop trigger if exists trg_reminders_guard on reminders;
+create trigger trg_reminders_guard before insert or update or delete on reminders
+    for each row execute function homehub_guard_household('select case $1 ->> ''type''
+        when ''TASK'' then (select household_id from tasks where id = ($1 ->> ''subject_id'')::bigint)
+        when ''BILL'' then (select a.household_id from recurring_transactions r join accounts a on a.id = r.account_id where r.id = ($1 ->> ''subject_id'')::bigint)
+        end');
@@ -0,0 +1,81 @@
+package com.terfehr.homehub.application.service;
+
+import com.terfehr.homehub.domain.bookkeeping.entity.RecurringTransaction;
+import com.terfehr.homehub.domain.bookkeeping.repository.RecurringTransactionRepositoryInterface;
+import com.terfehr.homehub.domain.bookkeeping.repository.TransactionRepositoryInterface;
+import com.terfehr.homehub.domain.bookkeeping.service.BookkeepingService;
+import com.terfehr.homehub.domain.bookkeeping.value.RecurringSchedule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test for the MaterializeRecurringTransactionsService. Occurrences whose keys are already in the ledger are skipped,
+ * all others are booked, and the ledger is queried once per call.
+ */
+class MaterializeRecurringTransactionsServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 3, 1, 8, 0);
+    private static final int CATCH_UP_LIMIT = 12;
+
+    private RecurringTransactionRepositoryInterface recurringTransactionRepository;
+    private TransactionRepositoryInterface transactionRepository;
+    private BookkeepingService bookkeepingService;
+    private MaterializeRecurringTransactionsService service;
+
+    @BeforeEach
+    void setUp() {
+        recurringTransactionRepository = mock(RecurringTransactionRepositoryInterface.class);
+        transactionRepository = mock(TransactionRepositoryInterface.class);
+        bookkeepingService = mock(BookkeepingService.class);
+        service = new MaterializeRecurringTransactionsService(recurringTransactionRepository, transactionRepository, bookkeepingService);
+    }
+
+    @Test
+    public void testSkipsBookedOccurrencesAndBooksTheOthers() {
+        RecurringTransaction rent = recurringTransaction(1L, NOW.plusMonths(1), "recurring-1-0", "recurring-1-1");
+        RecurringTransaction salary = recurringTransaction(2L, NOW.plusDays(14), "recurring-2-4");
+        when(recurringTransactionRepository.findAllWithAccountByIdIn(List.of(1L, 2L))).thenReturn(List.of(rent, salary));
+        when(transactionRepository.findExistingOccurrenceKeys(anyCollection())).thenReturn(Set.of("recurring-1-0"));
+
+        List<RecurringSchedule> schedules = service.execute(List.of(1L, 2L), NOW, CATCH_UP_LIMIT);
+
+        verify(transactionRepository).findExistingOccurrenceKeys(List.of("recurring-1-0", "recurring-1-1", "recurring-2-4"));
+        InOrder order = inOrder(rent, bookkeepingService);
+        order.verify(rent).advance();
+        order.verify(bookkeepingService).bookNextOccurrence(rent);
+        verify(bookkeepingService).bookNextOccurrence(salary);
+        verify(salary, never()).advance();
+        assertEquals(List.of(new RecurringSchedule(1L, NOW.plusMonths(1)), new RecurringSchedule(2L, NOW.plusDays(14))), schedules);
+    }
+
+    @Test
+    public void testDefinitionsWithoutDueOccurrencesDoNotQueryTheLedger() {
+        RecurringTransaction ended = recurringTransaction(3L, null);
+        when(recurringTransactionRepository.findAllWithAccountByIdIn(List.of(3L))).thenReturn(List.of(ended));
+
+        List<RecurringSchedule> schedules = service.execute(List.of(3L), NOW, CATCH_UP_LIMIT);
+
+        verifyNoInteractions(transactionRepository, bookkeepingService);
+        assertEquals(List.of(new RecurringSchedule(3L, null)), schedules);
+    }
+
+    /**
+     * Mocks a RecurringTransaction with the given due occurrence keys and the next occurrence after booking them.
+     */
+    private RecurringTransaction recurringTransaction(Long id, LocalDateTime nextOccurrence, String... dueKeys) {
+        RecurringTransaction recurringTransaction = mock(RecurringTransaction.class);
+        when(recurringTransaction.getId()).thenReturn(id);
+        when(recurringTransaction.getNextOccurrence()).thenReturn(nextOccurrence);
+        when(recurringTransaction.getDueOccurrenceKeys(NOW, CATCH_UP_LIMIT)).thenReturn(List.of(dueKeys));
+        return recurringTransaction;
+    }
+}
@@ -0,0 +1,373 @@
+package com.terfehr.homehub.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.terfehr.homehub.domain.household.entity.Household;
+import com.terfehr.homehub.domain.household.entity.Roommate;
+import com.terfehr.homehub.domain.household.entity.User;
+import com.terfehr.homehub.domain.household.repository.HouseholdRepositoryInterface;
+import com.terfehr.homehub.domain.household.repository.UserRepositoryInterface;
+import com.terfehr.homehub.domain.shopping.entity.ShoppingList;
+import com.terfehr.homehub.domain.shopping.repository.ShoppingListRepositoryInterface;
+import com.terfehr.homehub.infrastructure.service.JwtService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Local load test for the live ShoppingList events. Connects thousands of Server-Sent Event clients to the same
+ * ShoppingList, fires a burst of item changes through the REST API and asserts that every client converges to the
+ * persisted state of the list while receiving at most one event per coalescing window. The number of clients can be
+ * raised with {@code -Dloadtest.clients}. The load test only runs with -Dbenchmark=true or the benchmark profile, as
+ * it asserts timings. Also asserts that items moved into a ShoppingSpree leave the list of every client and that
+ * changes made by another instance reach the clients subscribed to this one.
+ */
+@Slf4j
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "security.jwt.secret-key=YWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWE=",
+        "security.jwt.expiration-time=3600000",
+        "spring.mail.username=test",
+        "spring.mail.password=test",
+        "logging.level.org.springframework.security=INFO"
+})
+@ActiveProfiles("test")
+class ShoppingListEventsLoadIT {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 2_000);
+    private static final int CONNECT_BATCH = 250;
+    private static final int ITEMS = 50;
+    private static final int ROOMMATES = 4;
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${shopping.live.coalesce-millis}")
+    private long coalesceMillis;
+
+    @Autowired
+    private UserRepositoryInterface userRepository;
+
+    @Autowired
+    private HouseholdRepositoryInterface householdRepository;
+
+    @Autowired
+    private ShoppingListRepositoryInterface shoppingListRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private HttpClient http;
+
+    @BeforeEach
+    void setUp() {
+        http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        http.shutdownNow();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    public void testThousandsOfSubscribersConvergeOnCoalescedChanges() throws Exception {
+        Fixture fixture = seed("LoadTester");
+        String token = fixture.token();
+        Long shoppingListId = fixture.shoppingListId();
+
+        long connectStart = System.nanoTime();
+        List<EventClient> clients = subscribe(token, shoppingListId, CLIENTS);
+        long connectMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - connectStart);
+
+        AtomicInteger changes = new AtomicInteger();
+        long burstStart = System.nanoTime();
+        try (ExecutorService roommates = Executors.newFixedThreadPool(ROOMMATES)) {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int i = 0; i < ITEMS; i++) {
+                int index = i;
+                tasks.add(roommates.submit(() -> {
+                    changeItem(token, shoppingListId, index, changes);
+                    return null;
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        }
+        long burstMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - burstStart);
+
+        Map<Long, ItemState> expected = retrieveItems(token, shoppingListId);
+
+        long convergeStart = System.nanoTime();
+        awaitUntil(() -> clients.stream().allMatch(client -> client.items.equals(expected)),
+                () -> clients.stream().filter(client -> !client.items.equals(expected)).count() + " clients did not converge");
+        long convergeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - convergeStart);
+
+        int maxEvents = clients.stream().mapToInt(client -> client.events.get()).max().orElse(0);
+        double averageEvents = clients.stream().mapToInt(client -> client.events.get()).average().orElse(0);
+        log.info("Live shopping list: {} clients subscribed in {} ms, {} changes in {} ms, converged {} ms after the burst, {} events per client (max {})",
+                CLIENTS, connectMillis, changes.get(), burstMillis, convergeMillis, String.format("%.1f", averageEvents), maxEvents);
+
+        assertEquals(ITEMS - ITEMS / 5, expected.size());
+        assertTrue(clients.stream().noneMatch(client -> client.failed), "A client received an event it could not parse");
+        assertTrue(maxEvents < changes.get(), "Changes were not coalesced: " + maxEvents + " events for " + changes.get() + " changes");
+        assertTrue(maxEvents <= burstMillis / coalesceMillis + 2, "More than one event per window: " + maxEvents + " events within " + burstMillis + " ms");
+    }
+
+    @Test
+    public void testItemsMovedIntoASpreeAreRemovedForSubscribers() throws Exception {
+        Fixture fixture = seed("SpreeShopper");
+        String token = fixture.token();
+        String items = "/shopping-lists/" + fixture.shoppingListId() + "/items";
+        List<EventClient> clients = subscribe(token, fixture.shoppingListId(), 3);
+        for (int i = 0; i < 6; i++) {
+            long itemId = send(request(token, items).header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"Spree item " + i + "\",\"quantity\":1}"))).get("id").asLong();
+            if (i % 2 == 0) {
+                send(request(token, items + "/" + itemId + "/picked").PUT(HttpRequest.BodyPublishers.noBody()));
+            }
+        }
+        awaitUntil(() -> clients.stream().allMatch(client -> client.items.size() == 6), () -> "Clients did not receive the items");
+
+        String spree = "{\"accountId\":" + fixture.accountId() + ",\"amount\":1500,\"description\":\"Groceries\",\"date\":\""
+                + LocalDateTime.now().withNano(0) + "\",\"recipient\":\"Market\"}";
+        send(request(token, "/shopping-lists/" + fixture.shoppingListId() + "/sprees").header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(spree)));
+
+        Map<Long, ItemState> expected = retrieveItems(token, fixture.shoppingListId());
+        assertEquals(3, expected.size());
+        awaitUntil(() -> clients.stream().allMatch(client -> client.items.equals(expected)),
+                () -> "The picked items were not removed for the subscribers");
+    }
+
+    @Test
+    public void testChangesOfOtherInstancesReachSubscribers() throws Exception {
+        Fixture fixture = seed("RemoteShopper");
+        List<EventClient> clients = subscribe(fixture.token(), fixture.shoppingListId(), 3);
+
+        jdbcTemplate.queryForList("select pg_notify('shopping_list_changes', ?)", Object.class, """
+                {"shoppingListId":%d,"change":{"itemId":42,"name":"Remote item","quantity":2,"picked":true,"sortKey":"8","removed":false}}
+                """.formatted(fixture.shoppingListId()));
+
+        Map<Long, ItemState> expected = Map.of(42L, new ItemState("Remote item", 2, true));
+        awaitUntil(() -> clients.stream().allMatch(client -> client.items.equals(expected)),
+                () -> "The change of another instance did not reach the subscribers");
+    }
+
+    /**
+     * Saves an enabled User as the only Roommate of a new Household with an Account and a ShoppingList.
+     */
+    private Fixture seed(String username) {
+        User user = new User(username, username.toLowerCase() + "@homehub.de", "LoadTest123!", "123456789", LocalDateTime.now().plusDays(1));
+        user.enable();
+        userRepository.save(user);
+        Household household = householdRepository.save(new Household(username + "'s Household"));
+        household.addRoommate(new Roommate(household, user));
+        household.addAccount("Cash", 0, "EUR");
+        household = householdRepository.save(household);
+        Long accountId = household.getAccounts().iterator().next().getId();
+        Long shoppingListId = shoppingListRepository.save(new ShoppingList("Weekly", household)).getId();
+        return new Fixture(jwtService.generateToken(user), shoppingListId, accountId);
+    }
+
+    /**
+     * Connects the given number of clients to the events of the ShoppingList and waits until all of them subscribed.
+     */
+    private List<EventClient> subscribe(String token, Long shoppingListId, int count) throws InterruptedException {
+        AtomicInteger ready = new AtomicInteger();
+        List<EventClient> clients = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            EventClient client = new EventClient(ready);
+            http.sendAsync(request(token, "/shopping-lists/" + shoppingListId + "/events").GET().build(),
+                    HttpResponse.BodyHandlers.fromLineSubscriber(client));
+            clients.add(client);
+            if (clients.size() % CONNECT_BATCH == 0 || clients.size() == count) {
+                awaitUntil(() -> ready.get() == clients.size(), () -> "Only " + ready.get() + " of " + clients.size() + " clients subscribed");
+            }
+        }
+        return clients;
+    }
+
+    /**
+     * Retrieves the persisted state of the items of the ShoppingList.
+     */
+    private Map<Long, ItemState> retrieveItems(String token, Long shoppingListId) throws IOException, InterruptedException {
+        Map<Long, ItemState> items = new HashMap<>();
+        for (JsonNode item : send(request(token, "/shopping-lists/" + shoppingListId).GET()).get("items")) {
+            items.put(item.get("id").asLong(), new ItemState(item.get("name").asText(), item.get("quantity").asInt(), item.get("picked").asBoolean()));
+        }
+        return items;
+    }
+
+    /**
+     * Adds an item, picks it and unpicks or removes some of them again, like a roommate going through the list.
+     */
+    private void changeItem(String token, Long shoppingListId, int index, AtomicInteger changes) throws IOException, InterruptedException {
+        String items = "/shopping-lists/" + shoppingListId + "/items";
+        String body = "{\"name\":\"Item " + index + "\",\"quantity\":" + (index % 5 + 1) + "}";
+        long itemId = send(request(token, items).header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(body)))
+                .get("id").asLong();
+        send(request(token, items + "/" + itemId + "/picked").PUT(HttpRequest.BodyPublishers.noBody()));
+        changes.addAndGet(2);
+        if (index % 3 == 0) {
+            send(request(token, items + "/" + itemId + "/picked").DELETE());
+            changes.incrementAndGet();
+        }
+        if (index % 5 == 0) {
+            send(request(token, items + "/" + itemId).DELETE());
+            changes.incrementAndGet();
+        }
+    }
+
+    /**
+     * Builds a request to the test server that is authenticated with the given token.
+     */
+    private HttpRequest.Builder request(String token, String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    /**
+     * Sends the given request and returns the parsed response body, failing on any unsuccessful status.
+     */
+    private JsonNode send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        assertTrue(response.statusCode() < 300, "Request failed with status " + response.statusCode());
+        return response.body().isEmpty() ? objectMapper.nullNode() : objectMapper.readTree(response.body());
+    }
+
+    /**
+     * Polls the given condition until it holds or the timeout elapsed.
+     */
+    private void awaitUntil(BooleanSupplier condition, Supplier<String> message) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, message);
+            Thread.sleep(10);
+        }
+    }
+
+    private record Fixture(String token, Long shoppingListId, Long accountId) {
+    }
+
+    /**
+     * The state of an item as seen by a client.
+     */
+    private record ItemState(String name, int quantity, boolean picked) {
+    }
+
+    /**
+     * A non-blocking Server-Sent Events client that applies every received change to its own copy of the list.
+     */
+    private class EventClient implements Flow.Subscriber<String> {
+
+        private final AtomicInteger ready;
+        private final Map<Long, ItemState> items = new ConcurrentHashMap<>();
+        private final AtomicInteger events = new AtomicInteger();
+        private volatile boolean failed;
+        private String event;
+        private String data;
+
+        private EventClient(AtomicInteger ready) {
+            this.ready = ready;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line.startsWith("event:")) {
+                event = line.substring("event:".length());
+            } else if (line.startsWith("data:")) {
+                data = line.substring("data:".length());
+            } else if (line.isEmpty() && event != null) {
+                dispatch(event, data);
+                event = null;
+                data = null;
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            failed = true;
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        private void dispatch(String event, String data) {
+            if (event.equals("ready")) {
+                ready.incrementAndGet();
+                return;
+            }
+            events.incrementAndGet();
+            try {
+                for (JsonNode change : objectMapper.readTree(data).get("changes")) {
+                    Long itemId = change.get("itemId").asLong();
+                    if (change.get("removed").asBoolean()) {
+                        items.remove(itemId);
+                    } else {
+                        items.put(itemId, new ItemState(change.get("name").asText(), change.get("quantity").asInt(), change.get("picked").asBoolean()));
+                    }
+                }
+            } catch (IOException e) {
+                failed = true;
+            }
+        }
+    }
+}
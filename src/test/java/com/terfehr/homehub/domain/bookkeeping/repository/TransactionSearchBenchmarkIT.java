@@ -0,0 +1,160 @@
+package com.terfehr.homehub.domain.bookkeeping.repository;
+
+import com.terfehr.homehub.domain.bookkeeping.value.TransactionSearchResult;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.MatchResult;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark for the full-text search over the ledger. Seeds {@code benchmark.rows} Transactions (1,000,000 by default,
+ * pass -Dbenchmark.rows=10000000 for the full-size ledger) spread over Accounts of 1,000 Transactions each and measures
+ * the latency of word, substring and paged searches on a single Account. Only runs with -Dbenchmark=true or the
+ * benchmark profile, as it asserts wall-clock latencies.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Testcontainers
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionSearchBenchmarkIT {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+    private static final int ROWS_PER_ACCOUNT = 1_000;
+    private static final int WARMUP_RUNS = 20;
+    private static final int MEASURED_RUNS = 200;
+    private static final long MAX_P95_MICROS = 50_000;
+    private static final Pattern PARTITION = Pattern.compile("transactions_p\\d+");
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @Autowired
+    private TransactionRepositoryInterface transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        int accounts = Math.max(1, ROWS / ROWS_PER_ACCOUNT);
+        jdbcTemplate.update("insert into households (name) select 'Household ' || g from generate_series(1, ?) g", accounts);
+        jdbcTemplate.update("""
+                insert into accounts (name, currency, amount_in_smallest_unit, household_id)
+                select 'Account ' || h.id, 'EUR', 0, h.id from households h order by h.id
+                """);
+        jdbcTemplate.update("""
+                insert into transactions (amount_in_smallest_unit, currency, description, date, account, household_id, search_text)
+                select 100 + g % 10000, 'EUR', d.description, timestamp '2020-01-01' + g * interval '1 minute',
+                       a.id, a.household_id, d.description || ' ' || d.counterparty
+                from generate_series(1, ?) g
+                         join accounts a on a.id = 1 + g % ?
+                         cross join lateral (select (array ['Groceries', 'Furniture', 'Electricity', 'Salary', 'Rent', 'Streaming', 'Insurance', 'Dinner'])[1 + (g / 7) % 8] as description,
+                                                    (array ['IKEA', 'Stadtwerke München', 'REWE', 'Aldi Süd', 'Landlord', 'Netflix', 'Allianz', 'Employer GmbH', 'Trattoria ' || g % 5000])[1 + g % 9] as counterparty) d
+                """, ROWS, accounts);
+        jdbcTemplate.update("""
+                insert into expenses (id, recipient)
+                select t.id, substr(t.search_text, length(t.description) + 2) from transactions t where t.id % 4 <> 0
+                """);
+        jdbcTemplate.update("""
+                insert into incomes (id, source)
+                select t.id, substr(t.search_text, length(t.description) + 2) from transactions t where t.id % 4 = 0
+                """);
+        jdbcTemplate.execute("analyze");
+    }
+
+    @Test
+    public void testWordSearchUsesIndexAndStaysFast() {
+        long accountId = 42;
+        List<String> plan = jdbcTemplate.queryForList("""
+                explain select id from transactions
+                where household_id = ? and account = 42::bigint and search_vector @@ websearch_to_tsquery('simple', 'IKEA')
+                """, String.class, householdOf(accountId));
+        assertTrue(plan.stream().noneMatch(line -> line.contains("Seq Scan")), String.join("\n", plan));
+        assertEquals(1, partitions(plan), String.join("\n", plan));
+
+        assertFalse(transactionRepository.search(accountId, "IKEA", "%IKEA%", null, null, 20).isEmpty());
+        measure("word", () -> transactionRepository.search(accountId, "IKEA", "%IKEA%", null, null, 20));
+    }
+
+    @Test
+    public void testSubstringSearchUsesIndexAndStaysFast() {
+        long accountId = 42;
+        List<String> plan = jdbcTemplate.queryForList("""
+                explain select id from transactions where household_id = ? and account = 42::bigint and search_text ilike '%stadtw%'
+                """, String.class, householdOf(accountId));
+        assertTrue(plan.stream().noneMatch(line -> line.contains("Seq Scan")), String.join("\n", plan));
+        assertEquals(1, partitions(plan), String.join("\n", plan));
+
+        assertFalse(transactionRepository.search(accountId, "stadtw", "%stadtw%", null, null, 20).isEmpty());
+        measure("substring", () -> transactionRepository.search(accountId, "stadtw", "%stadtw%", null, null, 20));
+    }
+
+    @Test
+    public void testKeysetPagingStaysFast() {
+        long accountId = 42;
+        List<TransactionSearchResult> firstPage = transactionRepository.search(accountId, "Groceries", "%Groceries%", null, null, 20);
+        TransactionSearchResult last = firstPage.getLast();
+        List<TransactionSearchResult> secondPage = transactionRepository.search(accountId, "Groceries", "%Groceries%", last.getRank(), last.getId(), 20);
+        assertFalse(secondPage.isEmpty());
+        assertTrue(secondPage.stream().noneMatch(r -> firstPage.stream().anyMatch(f -> f.getId().equals(r.getId()))));
+
+        measure("second page", () -> transactionRepository.search(accountId, "Groceries", "%Groceries%", last.getRank(), last.getId(), 20));
+    }
+
+    /**
+     * Runs the given search repeatedly after a warmup, prints the latency percentiles and asserts the 95th percentile.
+     *
+     * @param name The name of the search printed with the percentiles.
+     * @param search The search to measure.
+     */
+    private void measure(String name, Runnable search) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            search.run();
+        }
+        long[] micros = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            search.run();
+            micros[i] = (System.nanoTime() - start) / 1_000;
+        }
+        Arrays.sort(micros);
+        long p50 = micros[MEASURED_RUNS / 2];
+        long p95 = micros[MEASURED_RUNS * 95 / 100];
+        log.info("Transaction search ({}) over {} rows: p50={}us p95={}us", name, ROWS, p50, p95);
+        assertTrue(p95 < MAX_P95_MICROS, "p95 of " + p95 + "us exceeds " + MAX_P95_MICROS + "us");
+    }
+
+    private Long householdOf(long accountId) {
+        return jdbcTemplate.queryForObject("select household_id from accounts where id = ?", Long.class, accountId);
+    }
+
+    private long partitions(List<String> plan) {
+        return plan.stream().flatMap(line -> PARTITION.matcher(line).results().map(MatchResult::group)).distinct().count();
+    }
+}
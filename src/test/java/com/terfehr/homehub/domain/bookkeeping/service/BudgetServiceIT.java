@@ -0,0 +1,250 @@
+package com.terfehr.homehub.domain.bookkeeping.service;
+
+import com.terfehr.homehub.domain.bookkeeping.entity.Account;
+import com.terfehr.homehub.domain.bookkeeping.entity.Budget;
+import com.terfehr.homehub.domain.bookkeeping.entity.Transaction;
+import com.terfehr.homehub.domain.bookkeeping.event.BudgetThresholdCrossedEvent;
+import com.terfehr.homehub.domain.bookkeeping.repository.AccountRepositoryInterface;
+import com.terfehr.homehub.domain.bookkeeping.repository.BudgetRepositoryInterface;
+import com.terfehr.homehub.domain.bookkeeping.value.BudgetScope;
+import com.terfehr.homehub.domain.bookkeeping.value.BudgetUsage;
+import com.terfehr.homehub.domain.household.entity.Household;
+import com.terfehr.homehub.domain.household.repository.HouseholdRepositoryInterface;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the Budget consumption counters. Asserts that booking and removing Expenses keeps the counters of all
+ * matching Budgets up to date, that crossing a threshold publishes a single event, and that rebuilding the counters
+ * from the ledger restores drifted counters without losing Expenses that are booked while it runs.
+ */
+@Testcontainers
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({BudgetService.class, BookkeepingService.class})
+@RecordApplicationEvents
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BudgetServiceIT {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final YearMonth MONTH = YearMonth.from(NOW);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private BookkeepingService bookkeepingService;
+
+    @Autowired
+    private HouseholdRepositoryInterface householdRepository;
+
+    @Autowired
+    private AccountRepositoryInterface accountRepository;
+
+    @Autowired
+    private BudgetRepositoryInterface budgetRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    public void testCountersFollowAddedAndRemovedExpenses() {
+        Long accountId = seedAccount("Counters");
+        Long otherAccountId = seedAccount("Elsewhere");
+        Long everything = seedBudget(accountId, "Everything", BudgetScope.EXPENSES, null, false);
+        Long shopping = seedBudget(accountId, "Shopping", BudgetScope.SHOPPING, null, false);
+        Long rent = seedBudget(accountId, "Rent", BudgetScope.RECIPIENT, "Landlord", true);
+
+        Long rentId = book(accountId, account -> bookkeepingService.addExpense(account, 3000, "Rent", NOW, "Landlord"));
+        book(accountId, account -> bookkeepingService.addShoppingExpense(account, 2000, "Groceries", NOW, "Market"));
+        book(accountId, account -> bookkeepingService.addExpense(account, 1000, "Last month", NOW.minusMonths(1), "Landlord"));
+        book(accountId, account -> bookkeepingService.addIncome(account, 5000, "Salary", NOW, "Employer"));
+        book(otherAccountId, account -> bookkeepingService.addExpense(account, 700, "Other household", NOW, "Landlord"));
+        assertEquals(Map.of(everything, 5000L, shopping, 2000L, rent, 3000L), consumption(accountId, MONTH));
+        assertEquals(Map.of(everything, 1000L, shopping, 0L, rent, 1000L), consumption(accountId, MONTH.minusMonths(1)));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Account account = accountRepository.findById(accountId).orElseThrow();
+            bookkeepingService.removeTransaction(account, account.getTransactions().stream()
+                    .filter(transaction -> transaction.getId().equals(rentId))
+                    .findFirst().orElseThrow());
+        });
+        assertEquals(Map.of(everything, 2000L, shopping, 2000L, rent, 0L), consumption(accountId, MONTH));
+    }
+
+    @Test
+    public void testCrossingAThresholdPublishesOneEvent() {
+        Long accountId = seedAccount("Thresholds");
+        Long budgetId = seedBudget(accountId, "Limited", BudgetScope.EXPENSES, null, false);
+
+        List<Integer> crossed = crossedThresholds(budgetId, () -> book(accountId, account -> bookkeepingService.addExpense(account, 7000, "Below", NOW, "Shop")));
+        assertEquals(List.of(), crossed);
+        crossed = crossedThresholds(budgetId, () -> book(accountId, account -> bookkeepingService.addExpense(account, 1500, "Warning", NOW, "Shop")));
+        assertEquals(List.of(80), crossed);
+        crossed = crossedThresholds(budgetId, () -> book(accountId, account -> bookkeepingService.addExpense(account, 500, "Still warned", NOW, "Shop")));
+        assertEquals(List.of(), crossed);
+        crossed = crossedThresholds(budgetId, () -> book(accountId, account -> bookkeepingService.addExpense(account, 6000, "Last month", NOW.minusMonths(1), "Shop")));
+        assertEquals(List.of(), crossed, "An Expense of another month crossed a threshold");
+        crossed = crossedThresholds(budgetId, () -> book(accountId, account -> bookkeepingService.addExpense(account, 2000, "Exceeded", NOW, "Shop")));
+        assertEquals(List.of(100), crossed);
+
+        BudgetUsage usage = events.stream(BudgetThresholdCrossedEvent.class).toList().getLast().getUsage();
+        assertEquals(11000, usage.consumedInSmallestUnit());
+        assertEquals(10000, usage.limitInSmallestUnit());
+    }
+
+    @Test
+    public void testRebuildRestoresDriftedCounters() {
+        Long accountId = seedAccount("Rebuild");
+        Long everything = seedBudget(accountId, "Everything", BudgetScope.EXPENSES, null, false);
+        Long shopping = seedBudget(accountId, "Shopping", BudgetScope.SHOPPING, null, false);
+        Long rent = seedBudget(accountId, "Rent", BudgetScope.RECIPIENT, "Landlord", true);
+        for (int month = 0; month < 3; month++) {
+            LocalDateTime date = NOW.minusMonths(month);
+            book(accountId, account -> bookkeepingService.addExpense(account, 1200, "Rent", date, "Landlord"));
+            book(accountId, account -> bookkeepingService.addShoppingExpense(account, 300, "Groceries", date, "Market"));
+        }
+        Map<Long, Long> current = consumption(accountId, MONTH);
+        Map<Long, Long> previous = consumption(accountId, MONTH.minusMonths(2));
+
+        jdbcTemplate.update("update budget_consumptions set consumed_in_smallest_unit = 0 where budget_id = ?", everything);
+        jdbcTemplate.update("delete from budget_consumptions where budget_id = ?", rent);
+        jdbcTemplate.update("""
+                insert into budget_consumptions (budget_id, period_start, consumed_in_smallest_unit) values (?, ?, 999)
+                """, shopping, MONTH.minusMonths(6).atDay(1));
+        transactionTemplate.execute(status -> budgetService.rebuildCounters());
+
+        assertEquals(current, consumption(accountId, MONTH));
+        assertEquals(previous, consumption(accountId, MONTH.minusMonths(2)));
+        assertEquals(0L, consumption(accountId, MONTH.minusMonths(6)).get(shopping));
+    }
+
+    @Test
+    public void testExpensesBookedDuringTheRebuildAreCountedOnTop() throws Exception {
+        Long accountId = seedAccount("Concurrent");
+        Long budgetId = seedBudget(accountId, "Everything", BudgetScope.EXPENSES, null, false);
+        book(accountId, account -> bookkeepingService.addExpense(account, 1000, "Before", NOW, "Shop"));
+
+        CountDownLatch rebuilt = new CountDownLatch(1);
+        CountDownLatch booked = new CountDownLatch(1);
+        CompletableFuture<Integer> rebuild = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            int counters = budgetService.rebuildCounters();
+            rebuilt.countDown();
+            await(booked);
+            return counters;
+        }));
+        CompletableFuture<Long> booking;
+        try {
+            await(rebuilt);
+            booking = CompletableFuture.supplyAsync(() ->
+                    book(accountId, account -> bookkeepingService.addExpense(account, 500, "During", NOW.plusMonths(1), "Shop")));
+            while (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "select count(*) > 0 from pg_locks where relation = 'budget_consumptions'::regclass and not granted", Boolean.class))) {
+                assertFalse(booking.isDone(), "The booking did not wait for the rebuild");
+                Thread.sleep(10);
+            }
+        } finally {
+            booked.countDown(); // Lets the rebuild commit even if the booking did not wait
+        }
+        rebuild.get();
+        booking.get();
+
+        assertEquals(1000L, consumption(accountId, MONTH).get(budgetId));
+        assertEquals(500L, consumption(accountId, MONTH.plusMonths(1)).get(budgetId));
+    }
+
+    /**
+     * Saves a Household with a single EUR Account.
+     */
+    private Long seedAccount(String name) {
+        return transactionTemplate.execute(status -> {
+            Household household = new Household(name);
+            Account account = household.addAccount("Giro", 0, "EUR");
+            householdRepository.save(household);
+            return account.getId();
+        });
+    }
+
+    /**
+     * Saves a Budget with a limit of 100 EUR for the Household of the given Account, optionally restricted to it.
+     */
+    private Long seedBudget(Long accountId, String name, BudgetScope scope, String recipient, boolean restricted) {
+        return transactionTemplate.execute(status -> {
+            Account account = accountRepository.findById(accountId).orElseThrow();
+            Budget budget = new Budget(name, 10000, "EUR", scope, recipient, account.getHousehold(), restricted ? account : null);
+            return budgetRepository.save(budget).getId();
+        });
+    }
+
+    /**
+     * Books a Transaction on the given Account in its own transaction and returns its ID.
+     */
+    private Long book(Long accountId, Function<Account, ? extends Transaction> booking) {
+        return transactionTemplate.execute(status -> {
+            Account account = accountRepository.findById(accountId).orElseThrow();
+            Transaction transaction = booking.apply(account);
+            accountRepository.flush();
+            return transaction.getId();
+        });
+    }
+
+    private Map<Long, Long> consumption(Long accountId, YearMonth month) {
+        Long householdId = transactionTemplate.execute(status -> accountRepository.findById(accountId).orElseThrow().getHousehold().getId());
+        return budgetService.getHouseholdUsage(householdId, month).stream()
+                .collect(Collectors.toMap(BudgetUsage::budgetId, BudgetUsage::consumedInSmallestUnit));
+    }
+
+    private List<Integer> crossedThresholds(Long budgetId, Runnable action) {
+        events.clear();
+        action.run();
+        return events.stream(BudgetThresholdCrossedEvent.class)
+                .filter(event -> event.getUsage().budgetId().equals(budgetId))
+                .map(BudgetThresholdCrossedEvent::getThresholdPercent)
+                .toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
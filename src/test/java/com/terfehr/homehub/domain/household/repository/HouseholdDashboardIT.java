@@ -0,0 +1,314 @@
+package com.terfehr.homehub.domain.household.repository;
+
+import com.terfehr.homehub.application.dto.HouseholdDashboardDTO;
+import com.terfehr.homehub.application.service.GetHouseholdDashboardService;
+import com.terfehr.homehub.domain.bookkeeping.repository.AccountRepositoryInterface;
+import com.terfehr.homehub.domain.bookkeeping.value.AccountBalance;
+import com.terfehr.homehub.domain.household.exception.HouseholdNotFoundException;
+import com.terfehr.homehub.domain.household.value.RoommateSummary;
+import com.terfehr.homehub.domain.scheduling.repository.TaskListRepositoryInterface;
+import com.terfehr.homehub.domain.scheduling.value.TaskListSummary;
+import com.terfehr.homehub.domain.shopping.repository.ShoppingListRepositoryInterface;
+import com.terfehr.homehub.domain.shopping.value.ShoppingListSummary;
+import com.terfehr.homehub.infrastructure.config.ThreadContextTaskDecorator;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the dashboard of a Household. Asserts that the counts and balances are correct and that a small and a
+ * large Household take the same fixed number of statements without loading a single entity. Slowed down and failing
+ * repositories assert that the sections are read concurrently, that sections which fail or exceed the timeout are
+ * cancelled and degraded to unavailable ones, and that a missing Household cancels all other reads.
+ */
+@Slf4j
+@Testcontainers
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({GetHouseholdDashboardService.class, ThreadContextTaskDecorator.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HouseholdDashboardIT {
+
+    private static final int STATEMENTS = 5; // Name, Roommates, Accounts, TaskLists and ShoppingLists
+    private static final long DELAY_MILLIS = 300;
+    private static final long TIMEOUT_MILLIS = 1_000;
+    private static final long STUCK_MILLIS = 30_000;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @Autowired
+    private GetHouseholdDashboardService getHouseholdDashboardService;
+
+    @Autowired
+    private HouseholdRepositoryInterface householdRepository;
+
+    @Autowired
+    private AccountRepositoryInterface accountRepository;
+
+    @Autowired
+    private TaskListRepositoryInterface taskListRepository;
+
+    @Autowired
+    private ShoppingListRepositoryInterface shoppingListRepository;
+
+    @Autowired
+    private TaskDecorator taskDecorator;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    public void testDashboardCountsWithFixedStatements() {
+        Long small = seedHousehold("Small", 1, 1, 1, 2, 1);
+        Long large = seedHousehold("Large", 30, 5, 20, 500, 300);
+
+        HouseholdDashboardDTO smallDashboard = measure(small, "small");
+        HouseholdDashboardDTO largeDashboard = measure(large, "large");
+
+        assertEquals("Small", smallDashboard.getName());
+        assertEquals(List.of(new RoommateSummary(userId("Small", 1), "Small-1")), smallDashboard.getRoommates());
+        assertEquals(List.of(new AccountBalance(accountId(small), "Account 1", 100, Currency.getInstance("EUR"))), smallDashboard.getAccounts());
+
+        assertEquals("Large", largeDashboard.getName());
+        assertEquals(30, largeDashboard.getRoommates().size());
+        assertEquals(5, largeDashboard.getAccounts().size());
+        assertEquals(500L, largeDashboard.getAccounts().stream().mapToLong(AccountBalance::amountInSmallestUnit).sum());
+
+        List<TaskListSummary> taskLists = largeDashboard.getTaskLists();
+        assertEquals(21, taskLists.size()); // Includes the empty TaskList
+        TaskListSummary empty = taskLists.getFirst();
+        assertEquals("Empty", empty.name());
+        assertEquals(0, empty.totalTasks());
+        assertEquals(0, empty.openTasks());
+        for (TaskListSummary taskList : taskLists.subList(1, taskLists.size())) {
+            assertEquals(500, taskList.totalTasks());
+            assertEquals(300, taskList.openTasks());
+        }
+
+        List<ShoppingListSummary> shoppingLists = largeDashboard.getShoppingLists();
+        assertEquals(21, shoppingLists.size());
+        assertEquals(0, shoppingLists.getFirst().totalItems());
+        for (ShoppingListSummary shoppingList : shoppingLists.subList(1, shoppingLists.size())) {
+            assertEquals(500, shoppingList.totalItems());
+            assertEquals(300, shoppingList.unpickedItems());
+        }
+
+        assertThrows(HouseholdNotFoundException.class, () -> getHouseholdDashboardService.execute(-1L));
+    }
+
+    @Test
+    public void testSectionsAreReadConcurrently() {
+        Long householdId = seedHousehold("Concurrent", 3, 2, 2, 10, 5);
+        GetHouseholdDashboardService service = new GetHouseholdDashboardService(
+                delayed(HouseholdRepositoryInterface.class, householdRepository, DELAY_MILLIS, null),
+                delayed(AccountRepositoryInterface.class, accountRepository, DELAY_MILLIS, null),
+                delayed(TaskListRepositoryInterface.class, taskListRepository, DELAY_MILLIS, null),
+                delayed(ShoppingListRepositoryInterface.class, shoppingListRepository, DELAY_MILLIS, null),
+                taskDecorator,
+                TIMEOUT_MILLIS);
+        try {
+            long start = System.nanoTime();
+            HouseholdDashboardDTO dashboard = service.execute(householdId);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            log.info("Dashboard with five reads of {}ms each: {}ms", DELAY_MILLIS, millis);
+
+            assertTrue(millis < 3 * DELAY_MILLIS, "The reads took " + millis + "ms, they did not overlap");
+            assertTrue(dashboard.getUnavailableSections().isEmpty());
+            assertEquals(3, dashboard.getRoommates().size());
+            assertEquals(2, dashboard.getAccounts().size());
+            assertEquals(3, dashboard.getTaskLists().size());
+            assertEquals(3, dashboard.getShoppingLists().size());
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    public void testFailingAndStuckSectionsDegrade() throws Exception {
+        Long householdId = seedHousehold("Degraded", 3, 2, 2, 10, 5);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        GetHouseholdDashboardService service = new GetHouseholdDashboardService(
+                householdRepository,
+                delayed(AccountRepositoryInterface.class, accountRepository, STUCK_MILLIS, cancelled),
+                failing(TaskListRepositoryInterface.class),
+                shoppingListRepository,
+                taskDecorator,
+                TIMEOUT_MILLIS);
+        try {
+            long start = System.nanoTime();
+            HouseholdDashboardDTO dashboard = service.execute(householdId);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+
+            assertTrue(millis < TIMEOUT_MILLIS + 1_000, "The dashboard took " + millis + "ms");
+            assertEquals(List.of(GetHouseholdDashboardService.ACCOUNTS, GetHouseholdDashboardService.TASK_LISTS), dashboard.getUnavailableSections());
+            assertNull(dashboard.getAccounts());
+            assertNull(dashboard.getTaskLists());
+            assertEquals("Degraded", dashboard.getName());
+            assertEquals(3, dashboard.getRoommates().size());
+            assertEquals(3, dashboard.getShoppingLists().size());
+            assertTrue(cancelled.await(5, TimeUnit.SECONDS), "The stuck read was not cancelled");
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    public void testMissingHouseholdCancelsAllReads() throws Exception {
+        CountDownLatch cancelled = new CountDownLatch(1);
+        GetHouseholdDashboardService service = new GetHouseholdDashboardService(
+                delayed(HouseholdRepositoryInterface.class, householdRepository, DELAY_MILLIS, null), // The stuck read is running by then
+                delayed(AccountRepositoryInterface.class, accountRepository, STUCK_MILLIS, cancelled),
+                taskListRepository,
+                shoppingListRepository,
+                taskDecorator,
+                TIMEOUT_MILLIS);
+        try {
+            long start = System.nanoTime();
+            assertThrows(HouseholdNotFoundException.class, () -> service.execute(-1L));
+            long millis = (System.nanoTime() - start) / 1_000_000;
+
+            assertTrue(millis < TIMEOUT_MILLIS, "The failure took " + millis + "ms, it waited for the other reads");
+            assertTrue(cancelled.await(5, TimeUnit.SECONDS), "The stuck read was not cancelled");
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    /**
+     * Wraps the given repository, so every call first sleeps for the given time. A sleep that is interrupted counts
+     * down the given latch.
+     */
+    private static <T> T delayed(Class<T> type, T repository, long millis, CountDownLatch cancelled) {
+        return proxy(type, (proxy, method, args) -> {
+            if (method.getDeclaringClass() != Object.class) {
+                try {
+                    Thread.sleep(millis);
+                } catch (InterruptedException e) {
+                    if (cancelled != null) {
+                        cancelled.countDown();
+                    }
+                    throw new IllegalStateException("Cancelled", e);
+                }
+            }
+            try {
+                return method.invoke(repository, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    /**
+     * Creates a repository whose every call fails.
+     */
+    private static <T> T failing(Class<T> type) {
+        return proxy(type, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.getName().equals("equals") ? proxy == args[0] : method.getName().equals("hashCode") ? 0 : "failing";
+            }
+            throw new IllegalStateException("Database unavailable");
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private HouseholdDashboardDTO measure(Long householdId, String label) {
+        statistics.clear();
+        long start = System.nanoTime();
+        HouseholdDashboardDTO dashboard = getHouseholdDashboardService.execute(householdId);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Dashboard of the {} household: {}ms, {} statements", label, millis, statistics.getPrepareStatementCount());
+        assertEquals(STATEMENTS, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount(), "The dashboard loaded entities");
+        return dashboard;
+    }
+
+    /**
+     * Seeds a Household with the given number of Roommates and Accounts, whose balances sum up to 100 per Account,
+     * an empty TaskList and ShoppingList and the given number of further lists, each with the given number of
+     * entries of which the given number is still open.
+     */
+    private Long seedHousehold(String name, int roommates, int accounts, int lists, int entries, int open) {
+        Long householdId = jdbcTemplate.queryForObject("insert into households (name) values (?) returning id", Long.class, name);
+        jdbcTemplate.update("""
+                with u as (
+                    insert into users (enabled, password, email, username)
+                    select true, 'x', ? || '-' || g || '@homehub.de', ? || '-' || g from generate_series(1, ?) g
+                    returning id
+                )
+                insert into roommates (household_id, user_id) select ?, id from u
+                """, name, name, roommates, householdId);
+        jdbcTemplate.update("""
+                insert into accounts (name, currency, amount_in_smallest_unit, household_id)
+                select 'Account ' || g, 'EUR', 100, ? from generate_series(1, ?) g
+                """, householdId, accounts);
+        jdbcTemplate.update("insert into task_lists (name, household_id) values ('Empty', ?)", householdId);
+        jdbcTemplate.update("insert into shopping_lists (name, household_id) values ('Empty', ?)", householdId);
+        List<Long> taskListIds = jdbcTemplate.queryForList("""
+                insert into task_lists (name, household_id) select 'Tasks ' || g, ? from generate_series(1, ?) g returning id
+                """, Long.class, householdId, lists);
+        List<Long> shoppingListIds = jdbcTemplate.queryForList("""
+                insert into shopping_lists (name, household_id) select 'Items ' || g, ? from generate_series(1, ?) g returning id
+                """, Long.class, householdId, lists);
+        jdbcTemplate.update("""
+                insert into tasks (action, description, finished, finished_at, task_list_id, household_id)
+                select 'Chore ' || g, '', g > ?, case when g > ? then localtimestamp end, l, ?
+                from unnest(cast(? as bigint[])) l, generate_series(1, ?) g
+                """, open, open, householdId, taskListIds.toArray(Long[]::new), entries);
+        jdbcTemplate.update("""
+                insert into shopping_list_items (name, item_key, quantity, picked, shopping_list_id, household_id)
+                select 'Item ' || g, 'item ' || g, 1, g > ?, l, ?
+                from unnest(cast(? as bigint[])) l, generate_series(1, ?) g
+                """, open, householdId, shoppingListIds.toArray(Long[]::new), entries);
+        return householdId;
+    }
+
+    private Long userId(String name, int index) {
+        return jdbcTemplate.queryForObject("select id from users where username = ?", Long.class, name + "-" + index);
+    }
+
+    private Long accountId(Long householdId) {
+        return jdbcTemplate.queryForObject("select min(id) from accounts where household_id = ?", Long.class, householdId);
+    }
+}
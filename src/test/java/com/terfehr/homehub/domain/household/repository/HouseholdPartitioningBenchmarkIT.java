@@ -0,0 +1,202 @@
+package com.terfehr.homehub.domain.household.repository;
+
+import com.terfehr.homehub.domain.bookkeeping.repository.TransactionRepositoryInterface;
+import com.terfehr.homehub.domain.scheduling.repository.TaskRepositoryInterface;
+import com.terfehr.homehub.domain.shopping.repository.ShoppingListItemRepositoryInterface;
+import com.terfehr.homehub.domain.shopping.repository.ShoppingSpreeItemRepositoryInterface;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongFunction;
+import java.util.regex.MatchResult;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark for the household partitioning of the ledger, item and task tables. Seeds {@code benchmark.households}
+ * Households (10,000 by default) with a handful of rows in every partitioned table, asserts that the queries of a
+ * Household read a single partition, both for a known Household and for one looked up from a parent row, and
+ * measures the latency of the household queries of the repositories. The latencies are only measured with
+ * -Dbenchmark=true or the benchmark profile.
+ */
+@Slf4j
+@Testcontainers
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class HouseholdPartitioningBenchmarkIT {
+
+    private static final int HOUSEHOLDS = Integer.getInteger("benchmark.households", 10_000);
+    private static final int ROWS_PER_HOUSEHOLD = 10;
+    private static final int PARTITIONS = 16;
+    private static final List<String> TABLES = List.of("transactions", "tasks", "shopping_list_items", "shopping_spree_items");
+    private static final int WARMUP_RUNS = 50;
+    private static final int MEASURED_RUNS = 500;
+    private static final long MAX_P95_MICROS = 25_000;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @Autowired
+    private TransactionRepositoryInterface transactionRepository;
+
+    @Autowired
+    private TaskRepositoryInterface taskRepository;
+
+    @Autowired
+    private ShoppingListItemRepositoryInterface shoppingListItemRepository;
+
+    @Autowired
+    private ShoppingSpreeItemRepositoryInterface shoppingSpreeItemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long householdId;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("insert into households (name) select 'Household ' || g from generate_series(1, ?) g", HOUSEHOLDS);
+        jdbcTemplate.update("insert into accounts (name, currency, amount_in_smallest_unit, household_id) select 'Main', 'EUR', 0, id from households");
+        jdbcTemplate.update("insert into task_lists (name, household_id) select 'Chores', id from households");
+        jdbcTemplate.update("insert into shopping_lists (name, household_id) select 'Groceries', id from households");
+        jdbcTemplate.update("insert into shopping_sprees (date, household_id) select localtimestamp, id from households");
+
+        jdbcTemplate.update("""
+                insert into transactions (amount_in_smallest_unit, currency, description, date, account, household_id, search_text)
+                select 100 * g, 'EUR', 'Groceries', localtimestamp - g * interval '1 day', a.id, a.household_id, 'Groceries Shop ' || g
+                from accounts a, generate_series(1, ?) g
+                """, ROWS_PER_HOUSEHOLD);
+        jdbcTemplate.update("insert into expenses (id, recipient) select id, substr(search_text, 11) from transactions");
+        jdbcTemplate.update("""
+                insert into tasks (action, description, finished, task_list_id, household_id)
+                select 'Chore ' || g, '', g % 2 = 0, l.id, l.household_id from task_lists l, generate_series(1, ?) g
+                """, ROWS_PER_HOUSEHOLD);
+        jdbcTemplate.update("""
+                insert into shopping_list_items (name, item_key, quantity, picked, shopping_list_id, household_id)
+                select 'Item ' || g, 'item ' || g, 1, false, l.id, l.household_id from shopping_lists l, generate_series(1, ?) g
+                """, ROWS_PER_HOUSEHOLD);
+        jdbcTemplate.update("""
+                insert into shopping_spree_items (id, name, item_key, quantity, shopping_spree_id, household_id)
+                select nextval('shopping_spree_items_seq'), 'Item ' || g, 'item ' || g, 1, s.id, s.household_id
+                from shopping_sprees s, generate_series(1, ?) g
+                """, ROWS_PER_HOUSEHOLD);
+        jdbcTemplate.execute("analyze");
+        householdId = jdbcTemplate.queryForObject("select id from households order by id offset ? limit 1", Long.class, HOUSEHOLDS / 2);
+    }
+
+    @Test
+    public void testTablesArePartitionedByHousehold() {
+        for (String table : TABLES) {
+            assertEquals("p", jdbcTemplate.queryForObject("select relkind::text from pg_class where oid = to_regclass(?)", String.class, table));
+            assertEquals(PARTITIONS, count("select count(*) from pg_inherits where inhparent = to_regclass(?)", table));
+            assertEquals((long) HOUSEHOLDS * ROWS_PER_HOUSEHOLD, count("select count(*) from " + table));
+            assertEquals(0, count("select count(*) from only " + table));
+            List<Long> sizes = jdbcTemplate.queryForList("select count(*) from " + table + " group by tableoid", Long.class);
+            assertEquals(PARTITIONS, sizes.size(), "Households are not spread over all partitions of " + table);
+            log.info("Partitions of {}: {} rows", table, sizes);
+        }
+    }
+
+    @Test
+    public void testHouseholdQueriesReadOnePartition() {
+        Map<String, String> byHousehold = Map.of(
+                "transactions", "select t.id from transactions t join expenses e on e.id = t.id where t.household_id = ?",
+                "tasks", "select t.id from tasks t join task_lists l on l.id = t.task_list_id where t.household_id = ? and t.change_version > 0",
+                "shopping_list_items", "select i.name, count(*) from shopping_list_items i where i.household_id = ? group by i.name",
+                "shopping_spree_items", "select i.name, s.date from shopping_spree_items i join shopping_sprees s on s.id = i.shopping_spree_id where i.household_id = ?"
+        );
+        byHousehold.forEach((table, sql) -> assertEquals(1, partitionsRead(table, sql, householdId), sql));
+
+        Map<String, String> byParent = Map.of(
+                "transactions", "select id from transactions where household_id = (select household_id from accounts where id = ?) and account = ?",
+                "tasks", "select id from tasks where household_id = (select household_id from task_lists where id = ?) and task_list_id = ?",
+                "shopping_list_items", "select id from shopping_list_items where household_id = (select household_id from shopping_lists where id = ?) and shopping_list_id = ?",
+                "shopping_spree_items", "select id from shopping_spree_items where household_id = (select household_id from shopping_sprees where id = ?) and shopping_spree_id = ?"
+        );
+        Map<String, String> parents = Map.of("transactions", "accounts", "tasks", "task_lists",
+                "shopping_list_items", "shopping_lists", "shopping_spree_items", "shopping_sprees");
+        byParent.forEach((table, sql) -> {
+            Long parentId = jdbcTemplate.queryForObject("select id from " + parents.get(table) + " where household_id = ?", Long.class, householdId);
+            assertEquals(1, partitionsRead(table, sql, parentId, parentId), sql);
+        });
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    public void testHouseholdQueriesStayFast() {
+        measure("tasks changed", id -> taskRepository.findAllChangedByHouseholdId(id, 0));
+        measure("items changed", id -> shoppingListItemRepository.findAllChangedByHouseholdId(id, 0));
+        measure("purchases", id -> shoppingSpreeItemRepository.findPurchasesByHouseholdId(id));
+        measure("recipients", id -> transactionRepository.findRecipientFrequenciesByHouseholdId(id));
+    }
+
+    /**
+     * Executes the given query of the given partitioned table and counts the partitions it read, which excludes the
+     * partitions pruned while planning as well as those pruned while executing.
+     *
+     * @param table The partitioned table.
+     * @param sql The query.
+     * @param args The arguments of the query.
+     * @return The number of partitions read.
+     */
+    private long partitionsRead(String table, String sql, Object... args) {
+        List<String> plan = jdbcTemplate.queryForList("explain (analyze, costs off, timing off, summary off) " + sql, String.class, args);
+        Pattern partition = Pattern.compile(table + "_p\\d+");
+        return plan.stream()
+                .filter(line -> !line.contains("never executed"))
+                .flatMap(line -> partition.matcher(line).results().map(MatchResult::group))
+                .distinct()
+                .count();
+    }
+
+    /**
+     * Runs the given query for random Households after a warmup, prints the latency percentiles and asserts the 95th
+     * percentile.
+     *
+     * @param name The name of the query printed with the percentiles.
+     * @param query The query, receiving the ID of the Household.
+     */
+    private void measure(String name, LongFunction<List<?>> query) {
+        List<Long> householdIds = jdbcTemplate.queryForList("select id from households order by random() limit ?", Long.class, WARMUP_RUNS + MEASURED_RUNS);
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            assertEquals(ROWS_PER_HOUSEHOLD, query.apply(householdIds.get(i)).size());
+        }
+        long[] micros = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            query.apply(householdIds.get(WARMUP_RUNS + i));
+            micros[i] = (System.nanoTime() - start) / 1_000;
+        }
+        Arrays.sort(micros);
+        long p50 = micros[MEASURED_RUNS / 2];
+        long p95 = micros[MEASURED_RUNS * 95 / 100];
+        log.info("Household query ({}) over {} households: p50={}us p95={}us", name, HOUSEHOLDS, p50, p95);
+        assertTrue(p95 < MAX_P95_MICROS, "p95 of " + p95 + "us exceeds " + MAX_P95_MICROS + "us");
+    }
+
+    private long count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+}
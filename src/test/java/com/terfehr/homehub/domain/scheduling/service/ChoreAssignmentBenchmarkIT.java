@@ -0,0 +1,179 @@
+package com.terfehr.homehub.domain.scheduling.service;
+
+import com.terfehr.homehub.domain.scheduling.entity.Task;
+import com.terfehr.homehub.domain.scheduling.repository.TaskRepositoryInterface;
+import com.terfehr.homehub.domain.scheduling.value.ChoreAssignment;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark for assigning the open Tasks of a large Household automatically. Asserts that a thousand Tasks are spread
+ * evenly across the available Roommates, respecting their history, availability and preferences, with a constant
+ * number of statements.
+ */
+@Slf4j
+@Testcontainers
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(ChoreAssignmentService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ChoreAssignmentBenchmarkIT {
+
+    private static final int ROOMMATES = 50;
+    private static final int TASKS = 1_000;
+    private static final int FINISHED_PER_BUSY_ROOMMATE = 20;
+    private static final int MAX_STATEMENTS = 5; // Open Tasks, profiles, their creation, unfinished Tasks and the assignment
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @Autowired
+    private ChoreAssignmentService choreAssignmentService;
+
+    @Autowired
+    private TaskRepositoryInterface taskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    public void testThousandTasksAreSpreadFairlyWithConstantStatements() {
+        Household household = seedHousehold();
+        Long unavailable = household.userIds().get(0);
+        Long halfAvailable = household.userIds().get(1);
+        Long vacuumFan = household.userIds().get(2);
+        jdbcTemplate.update("insert into chore_profiles (household_id, user_id, completion_load, load_updated_at, availability) values (?, ?, 0, localtimestamp, 0)", household.id(), unavailable);
+        jdbcTemplate.update("insert into chore_profiles (household_id, user_id, completion_load, load_updated_at, availability) values (?, ?, 0, localtimestamp, 0.5)", household.id(), halfAvailable);
+        jdbcTemplate.update("insert into chore_profiles (household_id, user_id, completion_load, load_updated_at, availability, preferred_actions) values (?, ?, 0, localtimestamp, 1, array['vacuum'])", household.id(), vacuumFan);
+
+        statistics.clear();
+        long start = System.nanoTime();
+        List<ChoreAssignment> assignments = transactionTemplate.execute(status ->
+                choreAssignmentService.assignOpenTasks(household.id(), LocalDateTime.now()));
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        long statements = statistics.getPrepareStatementCount();
+        log.info("Assignment of {} tasks across {} roommates: {}ms, {} statements", TASKS, ROOMMATES, millis, statements);
+
+        Map<Long, Long> tasksPerUser = assignments.stream().collect(Collectors.groupingBy(ChoreAssignment::userId, Collectors.counting()));
+        Map<Long, Long> vacuumPerUser = jdbcTemplate.queryForList("select user_id from tasks where household_id = ? and not finished and action = 'Vacuum'", Long.class, household.id())
+                .stream().collect(Collectors.groupingBy(userId -> userId, Collectors.counting()));
+        Long regular = household.userIds().subList(3, ROOMMATES).stream()
+                .filter(userId -> !household.busyUserIds().contains(userId))
+                .findFirst().orElseThrow();
+        List<Long> regularLoads = household.userIds().subList(3, ROOMMATES).stream()
+                .map(userId -> tasksPerUser.getOrDefault(userId, 0L) + (household.busyUserIds().contains(userId) ? FINISHED_PER_BUSY_ROOMMATE : 0))
+                .toList();
+
+        assertEquals(TASKS, assignments.size());
+        assertEquals(0, count("select count(*) from tasks where task_list_id = ? and user_id is null", household.taskListId()));
+        assertEquals(0, tasksPerUser.getOrDefault(unavailable, 0L));
+        assertTrue(regularLoads.stream().mapToLong(Long::longValue).max().orElseThrow()
+                - regularLoads.stream().mapToLong(Long::longValue).min().orElseThrow() <= 1, "Uneven loads " + regularLoads);
+        assertTrue(household.busyUserIds().stream().allMatch(userId -> tasksPerUser.get(userId) < tasksPerUser.get(regular)));
+        assertTrue(Math.abs(2 * tasksPerUser.get(halfAvailable) - tasksPerUser.get(regular)) <= 2);
+        assertTrue(vacuumPerUser.get(vacuumFan) > vacuumPerUser.getOrDefault(regular, 0L));
+        assertTrue(statements <= MAX_STATEMENTS, "Needed " + statements + " statements");
+    }
+
+    @Test
+    public void testFinishingTaskUpdatesLoadIncrementally() {
+        Household household = seedHousehold();
+        transactionTemplate.executeWithoutResult(status -> choreAssignmentService.assignOpenTasks(household.id(), LocalDateTime.now()));
+        Long taskId = jdbcTemplate.queryForObject("select min(id) from tasks where task_list_id = ? and not finished", Long.class, household.taskListId());
+        Long userId = jdbcTemplate.queryForObject("select user_id from tasks where id = ?", Long.class, taskId);
+        double before = load(household.id(), userId);
+
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            Task task = taskRepository.findById(taskId).orElseThrow();
+            choreAssignmentService.finishTask(task);
+        });
+        double afterFinish = load(household.id(), userId);
+        transactionTemplate.executeWithoutResult(status -> {
+            Task task = taskRepository.findById(taskId).orElseThrow();
+            choreAssignmentService.unfinishTask(task, LocalDateTime.now());
+        });
+
+        assertEquals(before + 1, afterFinish, 0.01);
+        assertEquals(before, load(household.id(), userId), 0.01);
+        assertTrue(statistics.getPrepareStatementCount() <= 6, "Needed " + statistics.getPrepareStatementCount() + " statements"); // Per change: load, update Task and profile
+    }
+
+    /**
+     * Seeds a Household with Roommates, of which every fifth recently finished some Tasks, and a TaskList of open Tasks.
+     *
+     * @return The seeded Household.
+     */
+    private Household seedHousehold() {
+        Long householdId = jdbcTemplate.queryForObject("insert into households (name) values ('Benchmark') returning id", Long.class);
+        List<Long> userIds = jdbcTemplate.queryForList("""
+                insert into users (enabled, password, email, username)
+                select true, 'x', 'chores' || ? || '-' || g || '@homehub.de', 'chores' || ? || '-' || g from generate_series(1, ?) g
+                returning id
+                """, Long.class, householdId, householdId, ROOMMATES).stream().sorted().toList();
+        jdbcTemplate.update("insert into roommates (household_id, user_id) select ?, unnest(cast(? as bigint[]))", householdId, userIds.toArray(Long[]::new));
+        Long taskListId = jdbcTemplate.queryForObject("insert into task_lists (name, household_id) values ('Chores', ?) returning id", Long.class, householdId);
+
+        List<Long> busyUserIds = userIds.subList(3, ROOMMATES).stream().filter(userId -> userId % 5 == 0).toList();
+        jdbcTemplate.update("""
+                insert into tasks (action, description, finished, finished_at, task_list_id, household_id, user_id)
+                select 'Dishes', '', true, localtimestamp, ?, ?, u from unnest(cast(? as bigint[])) u, generate_series(1, ?)
+                """, taskListId, householdId, busyUserIds.toArray(Long[]::new), FINISHED_PER_BUSY_ROOMMATE);
+        jdbcTemplate.update("""
+                insert into tasks (action, description, finished, task_list_id, household_id)
+                select (array['Vacuum', 'Dishes', 'Trash', 'Laundry'])[g % 4 + 1], '', false, ?, ? from generate_series(1, ?) g
+                """, taskListId, householdId, TASKS);
+        return new Household(householdId, taskListId, userIds, busyUserIds);
+    }
+
+    private double load(Long householdId, Long userId) {
+        return jdbcTemplate.queryForObject("select completion_load from chore_profiles where household_id = ? and user_id = ?", Double.class, householdId, userId);
+    }
+
+    private long count(String sql, Long id) {
+        return jdbcTemplate.queryForObject(sql, Long.class, id);
+    }
+
+    private record Household(Long id, Long taskListId, List<Long> userIds, List<Long> busyUserIds) {
+    }
+}
@@ -0,0 +1,194 @@
+package com.terfehr.homehub.domain.scheduling.service;
+
+import com.terfehr.homehub.application.service.FinishTaskService;
+import com.terfehr.homehub.domain.scheduling.entity.Task;
+import com.terfehr.homehub.domain.scheduling.repository.TaskRepositoryInterface;
+import com.terfehr.homehub.domain.scheduling.value.RoommateChoreStatistics;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the incremental chore statistics. Asserts that counting Tasks as they are finished and unfinished results
+ * in the same weekly counters and streaks as rebuilding them from the tasks table, and that the leaderboard of a
+ * Household with a long Task history is read with a single statement.
+ */
+@Slf4j
+@Testcontainers
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ChoreStatisticsService.class, ChoreAssignmentService.class, FinishTaskService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ChoreStatisticsIT {
+
+    private static final int ROOMMATES = 8;
+    private static final int WEEKS = 16;
+    private static final int HISTORY = 20_000;
+    private static final String SNAPSHOT = """
+            select s.user_id, s.week_start, s.finished_count, s.timed_count, s.finish_seconds, s.streak
+            from chore_statistics s where s.household_id = ? and s.finished_count > 0 order by s.user_id, s.week_start
+            """;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @Autowired
+    private ChoreStatisticsService choreStatisticsService;
+
+    @Autowired
+    private FinishTaskService finishTaskService;
+
+    @Autowired
+    private TaskRepositoryInterface taskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    public void testIncrementalCountersMatchRebuild() {
+        Random random = new Random(41);
+        Household household = seedHousehold("Counters");
+        LocalDateTime firstWeek = ChoreStatisticsService.weekOf(LocalDateTime.now()).minusWeeks(WEEKS).atTime(9, 0);
+        List<Long> taskIds = new ArrayList<>();
+        for (Long userId : household.userIds()) {
+            for (int week = 0; week < WEEKS; week++) {
+                if (random.nextInt(4) == 0) {
+                    continue; // Gaps break streaks
+                }
+                for (int i = 0, tasks = 1 + random.nextInt(3); i < tasks; i++) {
+                    LocalDateTime finishedAt = firstWeek.plusWeeks(week).plusHours(random.nextInt(24 * 7));
+                    LocalDateTime createdAt = random.nextInt(10) == 0 ? finishedAt.plusHours(1) : finishedAt.minusMinutes(random.nextInt(5000));
+                    taskIds.add(jdbcTemplate.queryForObject("""
+                            insert into tasks (action, description, finished, finished_at, created_at, task_list_id, household_id, user_id)
+                            values ('Chore', '', true, ?, ?, ?, ?, ?) returning id
+                            """, Long.class, finishedAt, createdAt, household.taskListId(), household.id(), userId));
+                }
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> taskRepository.findAllById(taskIds).stream()
+                .sorted((a, b) -> a.getFinishedAt().compareTo(b.getFinishedAt()))
+                .forEach(choreStatisticsService::countFinished));
+
+        List<Long> unfinished = new ArrayList<>(taskIds);
+        Collections.shuffle(unfinished, random);
+        unfinished = unfinished.subList(0, taskIds.size() / 3);
+        for (Long taskId : unfinished) {
+            transactionTemplate.executeWithoutResult(status -> {
+                Task task = taskRepository.findById(taskId).orElseThrow();
+                LocalDateTime finishedAt = task.getFinishedAt();
+                task.unfinishTask();
+                choreStatisticsService.countUnfinished(task, finishedAt);
+            });
+        }
+
+        List<Map<String, Object>> incremental = jdbcTemplate.queryForList(SNAPSHOT, household.id());
+        assertEquals(0, count("select count(*) from chore_statistics where finished_count = 0 and (timed_count <> 0 or finish_seconds <> 0 or streak <> 0)"));
+        assertTrue(incremental.stream().anyMatch(row -> ((Number) row.get("streak")).intValue() > 2), "Expected some streaks");
+
+        transactionTemplate.execute(status -> choreStatisticsService.rebuild());
+        assertEquals(jdbcTemplate.queryForList(SNAPSHOT, household.id()), incremental);
+    }
+
+    @Test
+    public void testLeaderboardIsReadWithOneStatementRegardlessOfHistory() {
+        Household household = seedHousehold("Leaderboard");
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("""
+                insert into tasks (action, description, finished, finished_at, created_at, task_list_id, household_id, user_id)
+                select 'Old chore', '', true, ? - g * interval '1 hour', ? - g * interval '1 hour' - interval '2 hours', ?, ?,
+                       (cast(? as bigint[]))[1 + g % ?]
+                from generate_series(1, ?) g
+                """, now, now, household.taskListId(), household.id(), household.userIds().toArray(Long[]::new), ROOMMATES, HISTORY);
+        transactionTemplate.execute(status -> choreStatisticsService.rebuild());
+
+        Long first = household.userIds().getFirst();
+        Long taskId = jdbcTemplate.queryForObject("""
+                insert into tasks (action, description, finished, task_list_id, household_id, user_id, created_at)
+                values ('Dishes', '', false, ?, ?, ?, localtimestamp - interval '30 minutes') returning id
+                """, Long.class, household.taskListId(), household.id(), first);
+        RoommateChoreStatistics before = leaderboard(household.id(), first);
+        finishTaskService.execute(taskId, true);
+        RoommateChoreStatistics after = leaderboard(household.id(), first);
+        assertEquals(before.getFinishedThisWeek() + 1, after.getFinishedThisWeek());
+        assertEquals(before.getFinishedCount() + 1, after.getFinishedCount());
+        assertTrue(after.getFinishSeconds() - before.getFinishSeconds() >= 30 * 60);
+        assertTrue(after.getStreak() >= 1);
+
+        finishTaskService.execute(taskId, false);
+        RoommateChoreStatistics reverted = leaderboard(household.id(), first);
+        assertEquals(before.getFinishedCount(), reverted.getFinishedCount());
+        assertEquals(before.getFinishSeconds(), reverted.getFinishSeconds());
+        assertEquals(before.getStreak(), reverted.getStreak());
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long begin = System.nanoTime();
+        List<RoommateChoreStatistics> leaderboard = transactionTemplate.execute(status ->
+                choreStatisticsService.getLeaderboard(household.id(), 52, LocalDate.now()));
+        long micros = (System.nanoTime() - begin) / 1_000;
+        log.info("Leaderboard of {} roommates with {} finished tasks: {}us, {} statements",
+                ROOMMATES, HISTORY, micros, statistics.getPrepareStatementCount());
+        assertEquals(ROOMMATES, leaderboard.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertTrue(leaderboard.getFirst().getFinishedCount() >= leaderboard.getLast().getFinishedCount());
+    }
+
+    private RoommateChoreStatistics leaderboard(Long householdId, Long userId) {
+        return transactionTemplate.execute(status -> choreStatisticsService.getLeaderboard(householdId, 4, LocalDate.now())).stream()
+                .filter(statistics -> statistics.getUserId().equals(userId))
+                .findFirst().orElseThrow();
+    }
+
+    private Household seedHousehold(String name) {
+        Long householdId = jdbcTemplate.queryForObject("insert into households (name) values (?) returning id", Long.class, name);
+        List<Long> userIds = jdbcTemplate.queryForList("""
+                insert into users (enabled, password, email, username)
+                select true, 'x', ? || g || '@homehub.de', ? || g from generate_series(1, ?) g
+                returning id
+                """, Long.class, name, name, ROOMMATES).stream().sorted().toList();
+        jdbcTemplate.update("insert into roommates (household_id, user_id) select ?, unnest(cast(? as bigint[]))", householdId, userIds.toArray(Long[]::new));
+        Long taskListId = jdbcTemplate.queryForObject("insert into task_lists (name, household_id) values ('Chores', ?) returning id", Long.class, householdId);
+        return new Household(householdId, taskListId, userIds);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private record Household(Long id, Long taskListId, List<Long> userIds) {
+    }
+}
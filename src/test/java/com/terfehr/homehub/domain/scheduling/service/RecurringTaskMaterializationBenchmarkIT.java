@@ -0,0 +1,210 @@
+package com.terfehr.homehub.domain.scheduling.service;
+
+import com.terfehr.homehub.domain.scheduling.entity.Task;
+import com.terfehr.homehub.domain.scheduling.repository.RecurringTaskRepositoryInterface;
+import com.terfehr.homehub.domain.scheduling.value.RecurrenceRule;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark for materializing the occurrences of RecurringTasks. Asserts that the occurrences of a thousand
+ * RecurringTasks are created with a constant number of statements per batch and exactly once, and that the Tasks due
+ * today are found through the index on their due time.
+ */
+@Slf4j
+@Testcontainers
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(RecurringTaskService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RecurringTaskMaterializationBenchmarkIT {
+
+    private static final int HOUSEHOLDS = 200;
+    private static final List<String> RULES = List.of("FREQ=DAILY", "FREQ=WEEKLY;BYDAY=MO", "FREQ=WEEKLY;BYDAY=MO,WE,FR",
+            "FREQ=DAILY;INTERVAL=2", "FREQ=DAILY;BYDAY=MO,TU,WE,TH,FR");
+    private static final int BATCH_SIZE = 250;
+    private static final int STATEMENTS_PER_BATCH = 3; // Locking the batch, inserting the occurrences and advancing the batch
+    private static final int HISTORY = 50_000;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @Autowired
+    private RecurringTaskService recurringTaskService;
+
+    @Autowired
+    private RecurringTaskRepositoryInterface recurringTaskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    public void testDueOccurrencesAreMaterializedInBatchesOnceAndFoundByIndex() {
+        LocalDate today = LocalDate.now();
+        LocalDateTime start = today.minusWeeks(4).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atTime(8, 0);
+        LocalDateTime until = today.plusDays(2).atStartOfDay();
+        Long firstTaskListId = seedRecurringTasks(start);
+
+        statistics.clear();
+        long begin = System.nanoTime();
+        int batches = materializeAll(until);
+        long millis = (System.nanoTime() - begin) / 1_000_000;
+        long statements = statistics.getPrepareStatementCount();
+        long created = count("select count(*) from tasks where recurring_task_id is not null");
+        log.info("Materialization of {} recurring tasks: {} occurrences in {} batches, {}ms, {} statements",
+                HOUSEHOLDS * RULES.size(), created, batches, millis, statements);
+
+        long days = ChronoUnit.DAYS.between(start.toLocalDate(), until.toLocalDate());
+        assertEquals(days, count("select count(*) from tasks t join recurring_tasks r on r.id = t.recurring_task_id where r.task_list_id = " + firstTaskListId + " and r.recurrence_rule = 'FREQ=DAILY'"));
+        assertEquals(0, count("select count(*) from recurring_tasks where active and next_occurrence < '" + until + "'"));
+        assertTrue(statements <= (long) batches * STATEMENTS_PER_BATCH, "Needed " + statements + " statements");
+
+        materializeAll(until);
+        assertEquals(created, count("select count(*) from tasks where recurring_task_id is not null"));
+
+        jdbcTemplate.execute("analyze tasks");
+        List<String> plan = jdbcTemplate.queryForList("explain select id from tasks where due_at >= '" + today.atStartOfDay()
+                + "' and due_at < '" + today.plusDays(1).atStartOfDay() + "' and not finished", String.class);
+        assertTrue(plan.stream().anyMatch(line -> line.contains("_due_at_idx")), String.join("\n", plan));
+        assertTrue(plan.stream().noneMatch(line -> line.contains("Seq Scan")), String.join("\n", plan));
+    }
+
+    @Test
+    public void testUpcomingOccurrencesAreMaterializedOnDemand() {
+        Long taskListId = seedTaskList();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime first = RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=TU").first(now.plusDays(1));
+        Long recurringTaskId = jdbcTemplate.queryForObject("""
+                insert into recurring_tasks (task_list_id, action, description, recurrence_rule, starts_at, occurrence_count, next_occurrence, active)
+                values (?, 'Trash', '', 'FREQ=WEEKLY;BYDAY=TU', ?, 0, ?, true) returning id
+                """, Long.class, taskListId, now.plusDays(1), first);
+
+        List<Task> occurrences = upcoming(recurringTaskId, now, 5);
+        List<Task> again = upcoming(recurringTaskId, now, 5);
+
+        assertEquals(5, occurrences.size());
+        assertEquals(first, occurrences.getFirst().getDueAt());
+        assertTrue(occurrences.stream().allMatch(task -> task.getDueAt().getDayOfWeek() == DayOfWeek.TUESDAY));
+        assertEquals(occurrences.stream().map(Task::getId).toList(), again.stream().map(Task::getId).toList());
+        assertEquals(5, count("select count(*) from tasks where recurring_task_id = " + recurringTaskId));
+    }
+
+    @Test
+    public void testRecurrenceRulesFollowICalendar() {
+        LocalDateTime january31 = LocalDateTime.of(2027, 1, 31, 9, 0);
+        RecurrenceRule monthly = RecurrenceRule.parse("FREQ=MONTHLY");
+        assertEquals(LocalDateTime.of(2027, 3, 31, 9, 0), monthly.next(january31, january31));
+
+        RecurrenceRule lastDay = RecurrenceRule.parse("rrule:freq=monthly;bymonthday=-1;count=3");
+        assertEquals(LocalDateTime.of(2027, 2, 28, 9, 0), lastDay.next(january31, january31));
+        assertEquals("FREQ=MONTHLY;BYMONTHDAY=-1;COUNT=3", lastDay.toString());
+
+        RecurrenceRule biweekly = RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=2;BYDAY=TU,TH;UNTIL=20270228");
+        LocalDateTime monday = LocalDateTime.of(2027, 2, 1, 18, 0);
+        LocalDateTime tuesday = biweekly.first(monday);
+        assertEquals(LocalDateTime.of(2027, 2, 2, 18, 0), tuesday);
+        assertEquals(LocalDateTime.of(2027, 2, 4, 18, 0), biweekly.next(monday, tuesday));
+        assertEquals(LocalDateTime.of(2027, 2, 16, 18, 0), biweekly.next(monday, LocalDateTime.of(2027, 2, 4, 18, 0)));
+        assertNull(biweekly.next(monday, LocalDateTime.of(2027, 2, 25, 18, 0)));
+
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=HOURLY"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=MONTHLY;BYDAY=MO"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=DAILY;COUNT=2;UNTIL=20270101"));
+    }
+
+    /**
+     * Materializes all due occurrences batch by batch like the nightly job, one transaction per batch.
+     *
+     * @param until The exclusive upper bound for the occurrences.
+     * @return The number of batches.
+     */
+    private int materializeAll(LocalDateTime until) {
+        int batches = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> recurringTaskService.materializeDue(until, BATCH_SIZE));
+            batches++;
+        } while (batch == BATCH_SIZE);
+        return batches;
+    }
+
+    private List<Task> upcoming(Long recurringTaskId, LocalDateTime now, int count) {
+        return transactionTemplate.execute(status -> recurringTaskService.getUpcomingOccurrences(
+                recurringTaskRepository.findByIdForUpdate(recurringTaskId).orElseThrow(), now, count));
+    }
+
+    /**
+     * Seeds a TaskList with every rule in each of many Households, all starting on the given Monday, as well as a
+     * history of finished Tasks with due times in the past.
+     *
+     * @param start The start of all RecurringTasks.
+     * @return The ID of the first TaskList.
+     */
+    private Long seedRecurringTasks(LocalDateTime start) {
+        List<Long> taskListIds = jdbcTemplate.queryForList("""
+                with h as (insert into households (name) select 'Recurring ' || g from generate_series(1, ?) g returning id)
+                insert into task_lists (name, household_id) select 'Chores', id from h returning id
+                """, Long.class, HOUSEHOLDS).stream().sorted().toList();
+        jdbcTemplate.update("""
+                insert into recurring_tasks (task_list_id, action, description, recurrence_rule, starts_at, occurrence_count, next_occurrence, active)
+                select l, 'Chore', '', r, ?, 0, ?, true from unnest(cast(? as bigint[])) l, unnest(cast(? as text[])) r
+                """, start, start, taskListIds.toArray(Long[]::new), RULES.toArray(String[]::new));
+        jdbcTemplate.update("""
+                insert into tasks (action, description, finished, task_list_id, household_id, due_at)
+                select 'Old chore', '', true, l.id, l.household_id, localtimestamp - g * interval '15 minutes'
+                from generate_series(1, ?) g
+                         join task_lists l on l.id = (cast(? as bigint[]))[1 + g % ?]
+                """, HISTORY, taskListIds.toArray(Long[]::new), HOUSEHOLDS);
+        return taskListIds.getFirst();
+    }
+
+    private Long seedTaskList() {
+        Long householdId = jdbcTemplate.queryForObject("insert into households (name) values ('Trash') returning id", Long.class);
+        return jdbcTemplate.queryForObject("insert into task_lists (name, household_id) values ('Chores', ?) returning id", Long.class, householdId);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
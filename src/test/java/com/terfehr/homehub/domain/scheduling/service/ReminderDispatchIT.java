@@ -0,0 +1,241 @@
+package com.terfehr.homehub.domain.scheduling.service;
+
+import com.terfehr.homehub.domain.scheduling.value.ReminderDigest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for dispatching reminders from several instances. Asserts that instances claiming at the same time receive
+ * disjoint batches that cover every pending reminder exactly once, grouped into one digest per User, that leases
+ * expire, that stale reminders are never claimed, and that pending reminders are found through their index.
+ */
+@Testcontainers
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(ReminderService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReminderDispatchIT {
+
+    private static final int USERS = 300;
+    private static final int TASKS_PER_USER = 3;
+    private static final int INSTANCES = 4;
+    private static final int BATCH_SIZE = 50;
+    private static final int LEASE_SECONDS = 300; // See reminders.lease-seconds
+    private static final int HISTORY = 50_000;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @Autowired
+    private ReminderService reminderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from reminders");
+        jdbcTemplate.update("delete from tasks");
+        jdbcTemplate.update("delete from recurring_transactions");
+    }
+
+    @Test
+    public void testConcurrentInstancesClaimEveryReminderOnce() throws Exception {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Seed seed = seed("concurrent", now);
+        int generated = transactionTemplate.execute(status -> reminderService.generate(now));
+        assertEquals(USERS * TASKS_PER_USER + seed.users().size(), generated);
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<List<ReminderDigest>>> instances = new ArrayList<>();
+        for (int i = 0; i < INSTANCES; i++) {
+            String owner = "instance-" + i;
+            instances.add(() -> {
+                start.await();
+                List<ReminderDigest> claimed = new ArrayList<>();
+                List<ReminderDigest> batch;
+                do {
+                    batch = transactionTemplate.execute(status -> reminderService.claim(owner, now, BATCH_SIZE));
+                    assertEquals(batch.size(), batch.stream().map(ReminderDigest::userId).distinct().count(), "A User got two digests");
+                    claimed.addAll(batch);
+                    List<Long> sent = ids(batch);
+                    transactionTemplate.executeWithoutResult(status -> reminderService.complete(sent, owner, now));
+                } while (!batch.isEmpty());
+                return claimed;
+            });
+        }
+
+        List<ReminderDigest> digests = Collections.synchronizedList(new ArrayList<>());
+        try (ExecutorService executor = Executors.newFixedThreadPool(INSTANCES)) {
+            List<Future<List<ReminderDigest>>> results = instances.stream().map(executor::submit).toList();
+            start.countDown();
+            for (Future<List<ReminderDigest>> result : results) {
+                digests.addAll(result.get());
+            }
+        }
+
+        List<Long> claimedIds = ids(digests);
+        assertEquals(generated, claimedIds.size());
+        assertEquals(generated, new HashSet<>(claimedIds).size(), "A reminder was claimed twice");
+        for (ReminderDigest digest : digests) {
+            assertTrue(digest.reminders().stream().allMatch(reminder -> reminder.getUserId().equals(digest.userId())));
+            assertEquals(digest.username() + "@homehub.de", digest.email());
+        }
+        assertEquals(0, count("select count(*) from reminders where sent_at is null"));
+
+        assertEquals(0, (int) transactionTemplate.execute(status -> reminderService.generate(now)));
+        assertTrue(transactionTemplate.execute(status -> reminderService.claim("late", now, BATCH_SIZE)).isEmpty());
+    }
+
+    @Test
+    public void testUnsentRemindersAreClaimedAgainAfterTheirLeaseExpired() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        seed("lease", now);
+        transactionTemplate.execute(status -> reminderService.generate(now));
+
+        List<Long> crashed = ids(transactionTemplate.execute(status -> reminderService.claim("crashed", now, BATCH_SIZE)));
+        assertEquals(BATCH_SIZE, crashed.size());
+        List<Long> other = ids(transactionTemplate.execute(status -> reminderService.claim("other", now, BATCH_SIZE)));
+        assertTrue(Collections.disjoint(crashed, other), "A leased reminder was claimed again");
+
+        LocalDateTime expired = now.plusSeconds(LEASE_SECONDS + 1);
+        Set<Long> reclaimed = new HashSet<>();
+        List<ReminderDigest> batch;
+        do {
+            batch = transactionTemplate.execute(status -> reminderService.claim("takeover", expired, 10 * BATCH_SIZE));
+            reclaimed.addAll(ids(batch));
+        } while (!batch.isEmpty());
+        assertTrue(reclaimed.containsAll(crashed) && reclaimed.containsAll(other));
+
+        assertEquals(0, (int) transactionTemplate.execute(status -> reminderService.complete(crashed, "crashed", expired)));
+        assertEquals(crashed.size(), (int) transactionTemplate.execute(status -> reminderService.complete(crashed, "takeover", expired)));
+        assertEquals(2, count("select max(attempts) from reminders where id = " + crashed.getFirst()));
+    }
+
+    @Test
+    public void testStaleRemindersAreNotClaimedAndPendingOnesAreFoundByIndex() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Seed seed = seed("stale", now);
+        transactionTemplate.execute(status -> reminderService.generate(now));
+        Long finished = seed.taskIds().get(0);
+        Long rescheduled = seed.taskIds().get(1);
+        jdbcTemplate.update("update tasks set finished = true, finished_at = localtimestamp where id = ?", finished);
+        jdbcTemplate.update("update tasks set due_at = due_at + interval '1 day' where id = ?", rescheduled);
+        jdbcTemplate.update("update recurring_transactions set active = false");
+
+        List<ReminderDigest> claimed = new ArrayList<>();
+        List<ReminderDigest> batch;
+        do {
+            batch = transactionTemplate.execute(status -> reminderService.claim("stale", now, 10 * BATCH_SIZE));
+            claimed.addAll(batch);
+        } while (!batch.isEmpty());
+        List<Long> claimedIds = ids(claimed);
+        assertEquals(USERS * TASKS_PER_USER - 2, claimedIds.size());
+        assertTrue(claimed.stream().allMatch(digest -> digest.reminders().stream().allMatch(reminder -> reminder.getType().equals("TASK"))));
+        assertEquals(0, count("select count(*) from reminders where id = any(array" + claimedIds + ") and subject_id in (" + finished + ", " + rescheduled + ")"));
+
+        jdbcTemplate.update("""
+                insert into reminders (user_id, type, subject_id, title, due_at, remind_at, attempts, sent_at)
+                select (cast(? as bigint[]))[1 + g % ?], 'TASK', -g, 'Old', localtimestamp - g * interval '1 minute',
+                       localtimestamp - g * interval '1 minute', 1, localtimestamp - g * interval '1 minute'
+                from generate_series(1, ?) g
+                """, seed.users().toArray(Long[]::new), seed.users().size(), HISTORY);
+        jdbcTemplate.execute("analyze reminders");
+        List<String> plan = jdbcTemplate.queryForList("explain select id from reminders where sent_at is null and remind_at <= '"
+                + now + "' order by remind_at limit " + BATCH_SIZE, String.class);
+        assertTrue(plan.stream().anyMatch(line -> line.contains("idx_reminders_pending")), String.join("\n", plan));
+
+        assertEquals(HISTORY, (int) transactionTemplate.execute(status -> reminderService.prune(now)));
+    }
+
+    private static List<Long> ids(List<ReminderDigest> digests) {
+        return digests.stream().flatMap(digest -> digest.reminderIds().stream()).toList();
+    }
+
+    /**
+     * Seeds a Household with Users that each have Tasks due within the next minutes, as well as Tasks that are not
+     * due soon, finished or unassigned, and a recurring expense due tomorrow.
+     *
+     * @param name The prefix of the Usernames, unique per test.
+     * @param now The current time.
+     * @return The IDs of the Users and of their Tasks due soon.
+     */
+    private Seed seed(String name, LocalDateTime now) {
+        Long householdId = jdbcTemplate.queryForObject("insert into households (name) values (?) returning id", Long.class, name);
+        List<Long> userIds = jdbcTemplate.queryForList("""
+                insert into users (enabled, password, email, username)
+                select true, 'x', ? || '-' || g || '@homehub.de', ? || '-' || g from generate_series(1, ?) g
+                returning id
+                """, Long.class, name, name, USERS).stream().sorted().toList();
+        jdbcTemplate.update("insert into roommates (household_id, user_id) select ?, unnest(cast(? as bigint[]))", householdId, userIds.toArray(Long[]::new));
+        Long taskListId = jdbcTemplate.queryForObject("insert into task_lists (name, household_id) values ('Chores', ?) returning id", Long.class, householdId);
+
+        List<Long> taskIds = jdbcTemplate.queryForList("""
+                insert into tasks (action, description, finished, task_list_id, household_id, user_id, due_at)
+                select 'Chore ' || u || '-' || g, '', false, ?, ?, u, cast(? as timestamp) + g * interval '10 minutes'
+                from unnest(cast(? as bigint[])) u, generate_series(1, ?) g
+                returning id
+                """, Long.class, taskListId, householdId, now, userIds.toArray(Long[]::new), TASKS_PER_USER).stream().sorted().toList();
+        jdbcTemplate.update("""
+                insert into tasks (action, description, finished, task_list_id, household_id, user_id, due_at)
+                select 'Later', '', false, ?, ?, u, cast(? as timestamp) + interval '1 week' from unnest(cast(? as bigint[])) u
+                """, taskListId, householdId, now, userIds.toArray(Long[]::new));
+        jdbcTemplate.update("""
+                insert into tasks (action, description, finished, finished_at, task_list_id, household_id, user_id, due_at)
+                values ('Done', '', true, localtimestamp, ?, ?, ?, ?)
+                """, taskListId, householdId, userIds.getFirst(), now.plusMinutes(5));
+        jdbcTemplate.update("insert into tasks (action, description, finished, task_list_id, household_id, due_at) values ('Nobody', '', false, ?, ?, ?)",
+                taskListId, householdId, now.plusMinutes(5));
+
+        Long accountId = jdbcTemplate.queryForObject("""
+                insert into accounts (name, currency, amount_in_smallest_unit, household_id) values ('Main', 'EUR', 0, ?) returning id
+                """, Long.class, householdId);
+        jdbcTemplate.update("""
+                insert into recurring_transactions (account_id, type, amount_in_smallest_unit, currency, description, counterparty,
+                                                    frequency, recurrence_interval, starts_at, occurrence_count, next_occurrence, active)
+                values (?, 'EXPENSE', 80000, 'EUR', 'Rent', 'Landlord', 'MONTHLY', 1, ?, 3, ?, true),
+                       (?, 'INCOME', 300000, 'EUR', 'Salary', 'Employer', 'MONTHLY', 1, ?, 3, ?, true)
+                """, accountId, now.minusMonths(3), now.plusDays(1), accountId, now.minusMonths(3), now.plusDays(1));
+        return new Seed(userIds, taskIds);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private record Seed(List<Long> users, List<Long> taskIds) {
+    }
+}
@@ -0,0 +1,158 @@
+package com.terfehr.homehub.domain.scheduling.service;
+
+import com.terfehr.homehub.domain.scheduling.value.TaskClaim;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress test for claiming Tasks. Many Roommates claim the same Tasks at the same time, one by one and in bulk, and
+ * every open Task must end up with exactly one winner that every losing claim reports, while assigned and finished
+ * Tasks are never taken over.
+ */
+@Slf4j
+@Testcontainers
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(ChoreAssignmentService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskClaimStressIT {
+
+    private static final int ROOMMATES = 24;
+    private static final int TASKS = 300;
+    private static final int BULK_SIZE = 25;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @Autowired
+    private ChoreAssignmentService choreAssignmentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    public void testEveryTaskHasExactlyOneWinner() throws Exception {
+        Long householdId = jdbcTemplate.queryForObject("insert into households (name) values ('Claims') returning id", Long.class);
+        List<Long> userIds = jdbcTemplate.queryForList("""
+                insert into users (enabled, password, email, username)
+                select true, 'x', 'claims' || g || '@homehub.de', 'claims' || g from generate_series(1, ?) g
+                returning id
+                """, Long.class, ROOMMATES).stream().sorted().toList();
+        jdbcTemplate.update("insert into roommates (household_id, user_id) select ?, unnest(cast(? as bigint[]))", householdId, userIds.toArray(Long[]::new));
+        Long taskListId = jdbcTemplate.queryForObject("insert into task_lists (name, household_id) values ('Chores', ?) returning id", Long.class, householdId);
+        List<Long> taskIds = jdbcTemplate.queryForList("""
+                insert into tasks (action, description, finished, task_list_id, household_id) select 'Chore ' || g, '', false, ?, ? from generate_series(1, ?) g
+                returning id
+                """, Long.class, taskListId, householdId, TASKS).stream().sorted().toList();
+        Long finished = taskIds.get(0);
+        Long assigned = taskIds.get(1);
+        Long owner = userIds.getLast();
+        jdbcTemplate.update("update tasks set finished = true, finished_at = localtimestamp where id = ?", finished);
+        jdbcTemplate.update("update tasks set household_id = ?, user_id = ? where id = ?", householdId, owner, assigned);
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<List<ClaimResult>>> roommates = new ArrayList<>();
+        for (int i = 0; i < ROOMMATES; i++) {
+            Long userId = userIds.get(i);
+            boolean bulk = i % 2 == 0;
+            Random random = new Random(i);
+            roommates.add(() -> {
+                List<Long> order = new ArrayList<>(taskIds);
+                Collections.shuffle(order, random);
+                start.await();
+                List<ClaimResult> results = new ArrayList<>();
+                if (bulk) {
+                    for (int from = 0; from < order.size(); from += BULK_SIZE) {
+                        List<Long> chunk = order.subList(from, Math.min(order.size(), from + BULK_SIZE));
+                        transactionTemplate.execute(status -> choreAssignmentService.claimTasks(householdId, chunk, userId))
+                                .forEach(claim -> results.add(new ClaimResult(userId, claim)));
+                    }
+                } else {
+                    for (Long taskId : order) {
+                        results.add(new ClaimResult(userId, transactionTemplate.execute(status ->
+                                choreAssignmentService.claimTask(taskId, userId)).orElseThrow()));
+                    }
+                }
+                return results;
+            });
+        }
+
+        List<ClaimResult> results = new ArrayList<>();
+        long begin = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(ROOMMATES)) {
+            List<Future<List<ClaimResult>>> futures = roommates.stream().map(executor::submit).toList();
+            start.countDown();
+            for (Future<List<ClaimResult>> future : futures) {
+                results.addAll(future.get());
+            }
+        }
+        long millis = (System.nanoTime() - begin) / 1_000_000;
+        log.info("{} concurrent claims of {} tasks by {} roommates: {}ms", results.size(), TASKS, ROOMMATES, millis);
+
+        assertEquals((long) TASKS * ROOMMATES, results.size());
+        Map<Long, Long> assignees = new HashMap<>();
+        jdbcTemplate.query("select id, user_id from tasks where task_list_id = ?", row -> {
+            assignees.put(row.getLong("id"), (Long) row.getObject("user_id"));
+        }, taskListId);
+
+        Map<Long, List<ClaimResult>> byTask = new HashMap<>();
+        results.forEach(result -> byTask.computeIfAbsent(result.claim().getTaskId(), taskId -> new ArrayList<>()).add(result));
+        for (Long taskId : taskIds) {
+            List<ClaimResult> claims = byTask.get(taskId);
+            List<Long> winners = claims.stream().filter(result -> result.claim().getClaimed()).map(ClaimResult::userId).toList();
+            if (taskId.equals(finished)) {
+                assertTrue(winners.isEmpty(), "Finished task was claimed");
+                assertNull(assignees.get(taskId));
+                continue;
+            }
+            if (taskId.equals(assigned)) {
+                assertTrue(winners.isEmpty(), "Assigned task was taken over");
+                assertEquals(owner, assignees.get(taskId));
+                continue;
+            }
+            assertEquals(1, winners.size(), "Task " + taskId + " has winners " + winners);
+            assertEquals(winners.getFirst(), assignees.get(taskId));
+            assertTrue(claims.stream().allMatch(result -> winners.getFirst().equals(result.claim().getAssigneeUserId())),
+                    "A losing claim did not report the winner of task " + taskId);
+        }
+
+        Long stranger = jdbcTemplate.queryForObject("insert into users (enabled, password, email, username) values (true, 'x', 'stranger@homehub.de', 'stranger') returning id", Long.class);
+        assertTrue(transactionTemplate.execute(status -> choreAssignmentService.claimTask(taskIds.get(2), stranger)).isEmpty());
+        assertTrue(transactionTemplate.execute(status -> choreAssignmentService.claimTasks(householdId, taskIds, stranger)).isEmpty());
+    }
+
+    private record ClaimResult(Long userId, TaskClaim claim) {
+    }
+}
@@ -0,0 +1,186 @@
+package com.terfehr.homehub.domain.scheduling.service;
+
+import com.terfehr.homehub.domain.scheduling.entity.Task;
+import com.terfehr.homehub.domain.scheduling.repository.TaskListRepositoryInterface;
+import com.terfehr.homehub.domain.scheduling.repository.TaskRepositoryInterface;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for ordering Tasks by fractional SortKeys. Asserts that every move writes only the moved Task while keeping
+ * the order the client asked for, that rebalancing shortens the keys and separates shared ones without changing the
+ * order, and that concurrent appends to the same TaskList get distinct keys.
+ */
+@Slf4j
+@Testcontainers
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(TaskOrderService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskOrderIT {
+
+    private static final int TASKS = 200;
+    private static final int MOVES = 2_000;
+    private static final int MAX_LENGTH = 16;
+    private static final int WRITERS = 8;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @Autowired
+    private TaskOrderService taskOrderService;
+
+    @Autowired
+    private TaskRepositoryInterface taskRepository;
+
+    @Autowired
+    private TaskListRepositoryInterface taskListRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    public void testEveryMoveWritesOneTaskAndKeepsTheOrder() {
+        Long taskListId = seedTaskList("Moves");
+        List<Long> order = new ArrayList<>(jdbcTemplate.queryForList("""
+                insert into tasks (action, description, finished, task_list_id, household_id)
+                select 'Chore ' || g, '', false, l.id, l.household_id from task_lists l, generate_series(1, ?) g where l.id = ?
+                returning id
+                """, Long.class, TASKS, taskListId).stream().sorted().toList());
+        assertEquals(order, ordered(taskListId));
+
+        Random random = new Random(43);
+        int longest = 0;
+        for (int i = 0; i < MOVES; i++) {
+            Long taskId = order.remove(random.nextInt(order.size()));
+            // Favor the start of the list and a few hot spots, which grows the keys fastest
+            int index = switch (random.nextInt(4)) {
+                case 0 -> 0;
+                case 1 -> Math.min(order.size(), 1 + random.nextInt(3));
+                default -> random.nextInt(order.size() + 1);
+            };
+            Long afterTaskId = index == 0 ? null : order.get(index - 1);
+            order.add(index, taskId);
+
+            long version = maxChangeVersion(taskListId);
+            String sortKey = transactionTemplate.execute(status ->
+                    taskOrderService.moveTask(taskRepository.findById(taskId).orElseThrow(), afterTaskId));
+            longest = Math.max(longest, sortKey.length());
+            assertEquals(1, count("select count(*) from tasks where task_list_id = " + taskListId + " and change_version > " + version),
+                    "A move wrote more than the moved task");
+        }
+        log.info("{} moves in a list of {} tasks, longest sort key: {}", MOVES, TASKS, longest);
+        assertEquals(order, ordered(taskListId));
+        assertEquals(order, transactionTemplate.execute(status -> taskListRepository.findById(taskListId).orElseThrow()
+                .getTasks().stream().map(Task::getId).toList()));
+
+        assertTrue(longest > MAX_LENGTH, "Expected the moves to grow the keys");
+        assertTrue(taskOrderService.getTaskListsToRebalance(MAX_LENGTH).contains(taskListId));
+        transactionTemplate.execute(status -> taskOrderService.rebalance(taskListId));
+        assertEquals(order, ordered(taskListId));
+        assertEquals(3, count("select max(length(sort_key)) from tasks where task_list_id = " + taskListId));
+        assertFalse(taskOrderService.getTaskListsToRebalance(MAX_LENGTH).contains(taskListId));
+    }
+
+    @Test
+    public void testMovingBetweenSharedKeysRebalancesTheList() {
+        Long taskListId = seedTaskList("Shared");
+        List<Long> shared = jdbcTemplate.queryForList("""
+                insert into tasks (action, description, finished, task_list_id, household_id, sort_key)
+                select 'Chore ' || g, '', false, l.id, l.household_id, '8' from task_lists l, generate_series(1, 3) g where l.id = ?
+                returning id
+                """, Long.class, taskListId).stream().sorted().toList();
+        Long appended = jdbcTemplate.queryForObject("""
+                insert into tasks (action, description, finished, task_list_id, household_id)
+                select 'Last', '', false, l.id, l.household_id from task_lists l where l.id = ? returning id
+                """, Long.class, taskListId);
+        assertEquals(List.of(shared.get(0), shared.get(1), shared.get(2), appended), ordered(taskListId));
+        assertTrue(taskOrderService.getTaskListsToRebalance(MAX_LENGTH).contains(taskListId));
+
+        transactionTemplate.execute(status ->
+                taskOrderService.moveTask(taskRepository.findById(appended).orElseThrow(), shared.getFirst()));
+
+        assertEquals(List.of(shared.get(0), appended, shared.get(1), shared.get(2)), ordered(taskListId));
+        assertEquals(4, count("select count(distinct sort_key) from tasks where task_list_id = " + taskListId));
+        assertFalse(taskOrderService.getTaskListsToRebalance(MAX_LENGTH).contains(taskListId));
+        assertThrows(IllegalArgumentException.class, () -> transactionTemplate.execute(status ->
+                taskOrderService.moveTask(taskRepository.findById(appended).orElseThrow(), appended)));
+    }
+
+    @Test
+    public void testConcurrentAppendsGetDistinctKeys() throws Exception {
+        Long taskListId = seedTaskList("Appends");
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<Void>> writers = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            writers.add(() -> {
+                start.await();
+                for (int j = 0; j < TASKS / WRITERS; j++) {
+                    jdbcTemplate.update("""
+                            insert into tasks (action, description, finished, task_list_id, household_id)
+                            select 'Chore', '', false, l.id, l.household_id from task_lists l where l.id = ?
+                            """, taskListId);
+                }
+                return null;
+            });
+        }
+        try (ExecutorService executor = Executors.newFixedThreadPool(WRITERS)) {
+            List<Future<Void>> futures = writers.stream().map(executor::submit).toList();
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        }
+
+        List<String> keys = jdbcTemplate.queryForList("select sort_key from tasks where task_list_id = ?", String.class, taskListId);
+        assertEquals(TASKS, keys.size());
+        assertEquals(TASKS, new HashSet<>(keys).size(), "Concurrent appends share a sort key");
+    }
+
+    private List<Long> ordered(Long taskListId) {
+        return jdbcTemplate.queryForList("select id from tasks where task_list_id = ? order by sort_key, id", Long.class, taskListId);
+    }
+
+    private long maxChangeVersion(Long taskListId) {
+        return jdbcTemplate.queryForObject("select max(change_version) from tasks where task_list_id = ?", Long.class, taskListId);
+    }
+
+    private Long seedTaskList(String name) {
+        Long householdId = jdbcTemplate.queryForObject("insert into households (name) values (?) returning id", Long.class, name);
+        return jdbcTemplate.queryForObject("insert into task_lists (name, household_id) values ('Chores', ?) returning id", Long.class, householdId);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,147 @@
+package com.terfehr.homehub.domain.scheduling.value;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the RecurrenceRule. Occurrences are listed by calling first and then next repeatedly, as the services do.
+ */
+class RecurrenceRuleTest {
+
+    private static final LocalTime TIME = LocalTime.of(18, 30);
+
+    @Test
+    public void testNegativeMonthDaysCountFromTheEndOfTheMonth() {
+        RecurrenceRule lastDay = RecurrenceRule.parse("FREQ=MONTHLY;BYMONTHDAY=-1");
+        assertEquals(dates("2031-12-31", "2032-01-31", "2032-02-29", "2032-03-31", "2032-04-30"),
+                occurrences(lastDay, at("2031-12-15"), 5));
+
+        RecurrenceRule secondToLast = RecurrenceRule.parse("FREQ=MONTHLY;BYMONTHDAY=1,-2");
+        assertEquals(dates("2030-02-01", "2030-02-27", "2030-03-01", "2030-03-30"),
+                occurrences(secondToLast, at("2030-01-31"), 4));
+    }
+
+    @Test
+    public void testSkipsTheThirtyFirstInShortMonths() {
+        List<LocalDateTime> expected = dates("2030-01-31", "2030-03-31", "2030-05-31", "2030-07-31", "2030-08-31", "2030-10-31");
+
+        assertEquals(expected, occurrences(RecurrenceRule.parse("FREQ=MONTHLY"), at("2030-01-31"), 6));
+        assertEquals(expected, occurrences(RecurrenceRule.parse("FREQ=MONTHLY;BYMONTHDAY=31"), at("2030-01-01"), 6));
+    }
+
+    @Test
+    public void testYearlyRulesOnTheTwentyNinthOfFebruaryOnlyOccurInLeapYears() {
+        assertEquals(dates("2028-02-29", "2032-02-29", "2036-02-29"),
+                occurrences(RecurrenceRule.parse("FREQ=YEARLY"), at("2028-02-29"), 3));
+        assertEquals(dates("2028-02-29", "2040-02-29", "2052-02-29"),
+                occurrences(RecurrenceRule.parse("FREQ=YEARLY;INTERVAL=3"), at("2028-02-29"), 3));
+    }
+
+    @Test
+    public void testIntervalsSkipWholeWeeksWithSeveralWeekdays() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=2;BYDAY=TH,MO");
+
+        assertEquals(dates("2030-01-03", "2030-01-14", "2030-01-17", "2030-01-28", "2030-01-31"),
+                occurrences(rule, at("2030-01-02"), 5));
+    }
+
+    @Test
+    public void testDailyRulesFilterByWeekday() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY;INTERVAL=2;BYDAY=MO,WE,FR");
+
+        assertEquals(dates("2030-01-07", "2030-01-09", "2030-01-11", "2030-01-21"),
+                occurrences(rule, at("2030-01-07"), 4));
+    }
+
+    @Test
+    public void testUntilAsADateIncludesTheWholeDay() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY;UNTIL=20300104");
+
+        assertEquals(dates("2030-01-01", "2030-01-02", "2030-01-03", "2030-01-04"), occurrences(rule, at("2030-01-01"), 10));
+        assertEquals("FREQ=DAILY;UNTIL=20300104T235959", rule.toString());
+    }
+
+    @Test
+    public void testUntilAsADateTimeEndsAtThatTime() {
+        List<LocalDateTime> expected = dates("2030-01-01", "2030-01-02", "2030-01-03");
+
+        assertEquals(expected, occurrences(RecurrenceRule.parse("FREQ=DAILY;UNTIL=20300104T120000"), at("2030-01-01"), 10));
+        assertEquals(expected, occurrences(RecurrenceRule.parse("FREQ=DAILY;UNTIL=20300104T120000Z"), at("2030-01-01"), 10));
+        assertEquals(dates("2030-01-01", "2030-01-02", "2030-01-03", "2030-01-04"),
+                occurrences(RecurrenceRule.parse("FREQ=DAILY;UNTIL=20300104T183000"), at("2030-01-01"), 10));
+        assertNull(RecurrenceRule.parse("FREQ=DAILY;UNTIL=20291231").first(at("2030-01-01")));
+    }
+
+    @Test
+    public void testCountAndUntilAreExclusive() {
+        assertEquals(3, RecurrenceRule.parse("FREQ=DAILY;COUNT=3").getCount());
+        assertNull(RecurrenceRule.parse("FREQ=DAILY;UNTIL=20300104").getCount());
+
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=DAILY;COUNT=3;UNTIL=20300104"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=DAILY;UNTIL=20300104;COUNT=3"));
+    }
+
+    @Test
+    public void testRejectsMalformedRules() {
+        List<String> rules = new ArrayList<>(List.of("", "  ", "FREQ", "FREQ=", "INTERVAL=2", "FREQ=HOURLY",
+                "FREQ=DAILY;FREQ=WEEKLY", "FREQ=DAILY;INTERVAL=0", "FREQ=DAILY;INTERVAL=1001", "FREQ=DAILY;INTERVAL=two",
+                "FREQ=WEEKLY;BYDAY=XX", "FREQ=WEEKLY;BYDAY=1MO", "FREQ=MONTHLY;BYDAY=MO", "FREQ=YEARLY;BYDAY=MO",
+                "FREQ=WEEKLY;BYMONTHDAY=1", "FREQ=MONTHLY;BYMONTHDAY=0", "FREQ=MONTHLY;BYMONTHDAY=32",
+                "FREQ=MONTHLY;BYMONTHDAY=-32", "FREQ=DAILY;COUNT=0", "FREQ=DAILY;COUNT=-1", "FREQ=DAILY;UNTIL=2030-01-04",
+                "FREQ=DAILY;UNTIL=20301304", "FREQ=DAILY;BYSETPOS=1", "FREQ=DAILY;WKST=SU"));
+        rules.add(null);
+
+        for (String rule : rules) {
+            assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse(rule), String.valueOf(rule));
+        }
+    }
+
+    @Test
+    public void testFormatsRulesCanonically() {
+        RecurrenceRule rule = RecurrenceRule.parse(" rrule:byday=th,mo;freq=weekly;interval=2;count=4 ");
+
+        assertEquals("FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,TH;COUNT=4", rule.toString());
+        assertEquals(rule.toString(), RecurrenceRule.parse(rule.toString()).toString());
+        assertEquals("FREQ=MONTHLY;BYMONTHDAY=-1,15", RecurrenceRule.parse("FREQ=MONTHLY;BYMONTHDAY=15,-1").toString());
+    }
+
+    @Test
+    public void testNextJumpsToThePeriodOfThePreviousOccurrence() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=3;BYDAY=SA");
+        LocalDateTime start = at("2000-01-01");
+
+        LocalDateTime next = rule.next(start, at("2030-06-15"));
+
+        assertEquals(at("2030-06-22"), next);
+        assertEquals(0, ChronoUnit.WEEKS.between(start, next) % 3);
+    }
+
+    /**
+     * Lists the first occurrences of the given rule, at most the given number.
+     */
+    private List<LocalDateTime> occurrences(RecurrenceRule rule, LocalDateTime start, int limit) {
+        List<LocalDateTime> occurrences = new ArrayList<>();
+        LocalDateTime occurrence = rule.first(start);
+        while (occurrence != null && occurrences.size() < limit) {
+            occurrences.add(occurrence);
+            occurrence = rule.next(start, occurrence);
+        }
+        return occurrences;
+    }
+
+    private List<LocalDateTime> dates(String... dates) {
+        return List.of(dates).stream().map(this::at).toList();
+    }
+
+    private LocalDateTime at(String date) {
+        return LocalDate.parse(date).atTime(TIME);
+    }
+}
@@ -0,0 +1,136 @@
+package com.terfehr.homehub.domain.shopping.entity;
+
+import com.terfehr.homehub.domain.shopping.value.FrequentItem;
+import com.terfehr.homehub.domain.shopping.value.FrequentItemPurchase;
+import com.terfehr.homehub.domain.shopping.value.FrequentItemSettings;
+import com.terfehr.homehub.domain.shopping.value.ItemKey;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the FrequentItemSketch. The sketches are wide enough for the few items of a test to never collide, so the
+ * weights of the top items are exact.
+ */
+class FrequentItemSketchTest {
+
+    private static final Duration HALF_LIFE = Duration.ofDays(60);
+    private static final LocalDateTime LANDMARK = LocalDateTime.of(2030, 1, 1, 12, 0);
+    private static final FrequentItemSettings SETTINGS = new FrequentItemSettings(HALF_LIFE, 3, 512, 4);
+
+    @Test
+    public void testKeepsTheMostFrequentItems() {
+        FrequentItemSketch sketch = sketch();
+        sketch.record(purchases(LANDMARK, "Milk", 5, "Bread", 4, "Eggs", 3), SETTINGS);
+        assertEquals(List.of(item("Milk", 5), item("Bread", 4), item("Eggs", 3)), topItems(sketch, LANDMARK));
+
+        sketch.record(purchases(LANDMARK, "Butter", 1), SETTINGS);
+        assertEquals(List.of(item("Milk", 5), item("Bread", 4), item("Eggs", 3)), topItems(sketch, LANDMARK),
+                "A rare item displaced a frequent one");
+
+        sketch.record(purchases(LANDMARK, "Coffee", 10), SETTINGS);
+        assertEquals(List.of(item("Coffee", 10), item("Milk", 5), item("Bread", 4)), topItems(sketch, LANDMARK));
+    }
+
+    @Test
+    public void testMatchesItemsByItemKeyAndKeepsTheLatestName() {
+        FrequentItemSketch sketch = sketch();
+        sketch.record(purchases(LANDMARK, "Oat milk", 1, "OAT  MILK ", 1, "Crème fraîche", 1), SETTINGS);
+
+        assertEquals(List.of(item("OAT  MILK ", 2), item("Crème fraîche", 1)), topItems(sketch, LANDMARK));
+    }
+
+    @Test
+    public void testIgnoresBlankNames() {
+        FrequentItemSketch sketch = sketch();
+        sketch.record(purchases(LANDMARK, "  ", 3, "Milk", 1), SETTINGS);
+
+        assertEquals(List.of(item("Milk", 1)), topItems(sketch, LANDMARK));
+    }
+
+    @Test
+    public void testPurchasesDecayWithTheHalfLife() {
+        FrequentItemSketch sketch = sketch();
+        sketch.record(purchases(LANDMARK, "Milk", 3), SETTINGS);
+        sketch.record(purchases(LANDMARK.plus(HALF_LIFE), "Bread", 1), SETTINGS);
+
+        assertEquals(List.of(item("Milk", 1.5), item("Bread", 1)), topItems(sketch, LANDMARK.plus(HALF_LIFE)));
+        assertEquals(List.of(item("Milk", 0.75), item("Bread", 0.5)), topItems(sketch, LANDMARK.plus(HALF_LIFE.multipliedBy(2))));
+        assertEquals(LANDMARK, sketch.getLandmark());
+    }
+
+    @Test
+    public void testRenormalizesOnceTheExponentExceedsTheLimit() {
+        FrequentItemSketch sketch = sketch();
+        sketch.record(purchases(LANDMARK, "Milk", 4), SETTINGS);
+        LocalDateTime late = LANDMARK.plus(HALF_LIFE.multipliedBy(16));
+        sketch.record(purchases(late, "Bread", 1), SETTINGS);
+        assertEquals(LANDMARK, sketch.getLandmark(), "The landmark moved before the limit was exceeded");
+
+        LocalDateTime later = LANDMARK.plus(HALF_LIFE.multipliedBy(17));
+        sketch.record(purchases(later, "Eggs", 1, "Bread", 1), SETTINGS);
+
+        assertEquals(later, sketch.getLandmark());
+        assertEquals(List.of(item("Bread", 1.5), item("Eggs", 1), item("Milk", 4 * Math.pow(2, -17))), topItems(sketch, later));
+    }
+
+    @Test
+    public void testRecordingInBatchesMatchesRecordingAtOnce() {
+        List<FrequentItemPurchase> purchases = new ArrayList<>();
+        for (int day = 0; day < 100; day++) {
+            purchases.addAll(purchases(LANDMARK.plusDays(day), "Item " + day % 7, 1 + day % 3));
+        }
+        FrequentItemSketch atOnce = sketch();
+        atOnce.record(purchases, SETTINGS);
+
+        FrequentItemSketch inBatches = sketch();
+        for (int i = 0; i < purchases.size(); i += 10) {
+            inBatches.record(purchases.subList(i, Math.min(i + 10, purchases.size())), SETTINGS);
+        }
+
+        assertArrayEquals(atOnce.getCounters(), inBatches.getCounters());
+        assertEquals(topItems(atOnce, LANDMARK.plusDays(100)), topItems(inBatches, LANDMARK.plusDays(100)));
+    }
+
+    @Test
+    public void testHouseholdsWithoutPurchasesHaveNoTopItems() {
+        assertEquals(List.of(), FrequentItemSketch.getTopItems(null, LANDMARK, LANDMARK, HALF_LIFE, 10));
+    }
+
+    /**
+     * Creates an empty sketch as it is inserted before the first purchase.
+     */
+    private FrequentItemSketch sketch() {
+        FrequentItemSketch sketch = new FrequentItemSketch();
+        ReflectionTestUtils.setField(sketch, "householdId", 1L);
+        ReflectionTestUtils.setField(sketch, "landmark", LANDMARK);
+        return sketch;
+    }
+
+    /**
+     * Creates purchases at the given date from pairs of item names and the number of times they were bought.
+     */
+    private List<FrequentItemPurchase> purchases(LocalDateTime date, Object... namesAndCounts) {
+        List<FrequentItemPurchase> purchases = new ArrayList<>();
+        for (int i = 0; i < namesAndCounts.length; i += 2) {
+            for (int j = 0; j < (int) namesAndCounts[i + 1]; j++) {
+                purchases.add(new FrequentItemPurchase((String) namesAndCounts[i], date));
+            }
+        }
+        return purchases;
+    }
+
+    private List<FrequentItem> topItems(FrequentItemSketch sketch, LocalDateTime now) {
+        return FrequentItemSketch.getTopItems(sketch.getTopItems(), sketch.getLandmark(), now, HALF_LIFE, 10);
+    }
+
+    private FrequentItem item(String name, double weight) {
+        return new FrequentItem(ItemKey.of(name).value(), name, weight);
+    }
+}
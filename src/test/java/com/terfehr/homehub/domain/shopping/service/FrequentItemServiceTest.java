@@ -0,0 +1,73 @@
+package com.terfehr.homehub.domain.shopping.service;
+
+import com.terfehr.homehub.domain.shopping.entity.FrequentItemSketch;
+import com.terfehr.homehub.domain.shopping.repository.FrequentItemSketchRepositoryInterface;
+import com.terfehr.homehub.domain.shopping.repository.ShoppingSpreeItemRepositoryInterface;
+import com.terfehr.homehub.domain.shopping.value.FrequentItem;
+import com.terfehr.homehub.domain.shopping.value.FrequentItemPurchase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test for the FrequentItemService. The sketch of a Household is built from its ShoppingSpree history once, when it
+ * is created, and only counts the new items of a ShoppingSpree afterward.
+ */
+class FrequentItemServiceTest {
+
+    private static final Long HOUSEHOLD_ID = 1L;
+    private static final LocalDateTime DATE = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    private FrequentItemSketchRepositoryInterface frequentItemSketchRepository;
+    private ShoppingSpreeItemRepositoryInterface shoppingSpreeItemRepository;
+    private FrequentItemService frequentItemService;
+    private FrequentItemSketch sketch;
+
+    @BeforeEach
+    void setUp() {
+        frequentItemSketchRepository = mock(FrequentItemSketchRepositoryInterface.class);
+        shoppingSpreeItemRepository = mock(ShoppingSpreeItemRepositoryInterface.class);
+        frequentItemService = new FrequentItemService(frequentItemSketchRepository, shoppingSpreeItemRepository, 60, 8, 512, 4);
+        sketch = new FrequentItemSketch();
+        ReflectionTestUtils.setField(sketch, "householdId", HOUSEHOLD_ID);
+        ReflectionTestUtils.setField(sketch, "landmark", DATE);
+        when(frequentItemSketchRepository.findByIdForUpdate(HOUSEHOLD_ID)).thenReturn(Optional.of(sketch));
+    }
+
+    @Test
+    public void testNewSketchesAreBuiltFromTheHistory() {
+        when(frequentItemSketchRepository.createIfAbsent(HOUSEHOLD_ID, DATE)).thenReturn(1);
+        when(shoppingSpreeItemRepository.findPurchasesByHouseholdId(HOUSEHOLD_ID)).thenReturn(List.of(
+                new FrequentItemPurchase("Milk", DATE.minusDays(60)),
+                new FrequentItemPurchase("Milk", DATE),
+                new FrequentItemPurchase("Bread", DATE)));
+
+        frequentItemService.recordShoppingSpree(HOUSEHOLD_ID, List.of("Milk", "Bread"), DATE);
+
+        assertEquals(List.of(new FrequentItem("milk", "Milk", 1.5), new FrequentItem("bread", "Bread", 1)), topItems());
+    }
+
+    @Test
+    public void testExistingSketchesOnlyCountTheNewItems() {
+        when(frequentItemSketchRepository.createIfAbsent(HOUSEHOLD_ID, DATE)).thenReturn(0);
+
+        frequentItemService.recordShoppingSpree(HOUSEHOLD_ID, List.of("Milk", "Bread"), DATE);
+
+        verifyNoInteractions(shoppingSpreeItemRepository);
+        assertEquals(List.of(new FrequentItem("bread", "Bread", 1), new FrequentItem("milk", "Milk", 1)),
+                topItems().stream().sorted(Comparator.comparing(FrequentItem::itemKey)).toList());
+    }
+
+    private List<FrequentItem> topItems() {
+        return FrequentItemSketch.getTopItems(sketch.getTopItems(), sketch.getLandmark(), DATE, Duration.ofDays(60), 10);
+    }
+}
@@ -0,0 +1,169 @@
+package com.terfehr.homehub.domain.shopping.service;
+
+import com.terfehr.homehub.domain.shopping.entity.ShoppingList;
+import com.terfehr.homehub.domain.shopping.entity.ShoppingListItem;
+import com.terfehr.homehub.domain.shopping.repository.ShoppingListItemRepositoryInterface;
+import com.terfehr.homehub.domain.shopping.repository.ShoppingListRepositoryInterface;
+import com.terfehr.homehub.domain.shopping.value.ShoppingListItemUpdate;
+import com.terfehr.homehub.domain.shopping.value.ShoppingListItemUpdateOutcome;
+import com.terfehr.homehub.domain.shopping.value.ShoppingListItemUpdateResult;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark for ticking off and editing many items of a ShoppingList at once. Compares the set-based
+ * {@link ShoppingService#updateItems} with picking the items one request at a time and asserts that the set-based path
+ * needs a constant number of statements.
+ */
+@Slf4j
+@Testcontainers
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ShoppingService.class, FrequentItemService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ShoppingListBulkUpdateBenchmarkIT {
+
+    private static final int ITEMS = 500;
+    private static final int MAX_STATEMENTS = 4; // One update per field and the query for the resulting states
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @Autowired
+    private ShoppingService shoppingService;
+
+    @Autowired
+    private ShoppingListRepositoryInterface shoppingListRepository;
+
+    @Autowired
+    private ShoppingListItemRepositoryInterface shoppingListItemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    public void testBulkUpdateAppliesAllFieldsWithConstantStatements() {
+        Long shoppingListId = seedShoppingList();
+        List<Long> itemIds = itemIds(shoppingListId);
+        List<ShoppingListItemUpdate> updates = new ArrayList<>();
+        for (int i = 0; i < itemIds.size(); i++) {
+            updates.add(new ShoppingListItemUpdate(itemIds.get(i), true, i % 2 == 0 ? 7 : null, i % 3 == 0 ? "Renamed " + i : null));
+        }
+        updates.add(new ShoppingListItemUpdate(-1L, true, null, null));
+        updates.add(new ShoppingListItemUpdate(itemIds.getFirst(), null, 0, null));
+
+        statistics.clear();
+        long start = System.nanoTime();
+        List<ShoppingListItemUpdateResult> results = transactionTemplate.execute(status -> {
+            ShoppingList shoppingList = shoppingListRepository.findById(shoppingListId).orElseThrow();
+            return shoppingService.updateItems(shoppingList, updates);
+        });
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        long statements = statistics.getPrepareStatementCount();
+        log.info("Set-based update of {} items: {}ms, {} statements", ITEMS, millis, statements);
+
+        assertEquals(updates.size(), results.size());
+        assertEquals(ITEMS, results.stream().filter(result -> result.outcome() == ShoppingListItemUpdateOutcome.UPDATED).count());
+        assertEquals(ShoppingListItemUpdateOutcome.NOT_FOUND, results.get(ITEMS).outcome());
+        assertEquals(ShoppingListItemUpdateOutcome.INVALID, results.get(ITEMS + 1).outcome());
+        assertEquals(ITEMS, count("select count(*) from shopping_list_items where shopping_list_id = ? and picked", shoppingListId));
+        assertEquals(ITEMS / 2, count("select count(*) from shopping_list_items where shopping_list_id = ? and quantity = 7", shoppingListId));
+        assertEquals((ITEMS + 2) / 3, count("select count(*) from shopping_list_items where shopping_list_id = ? and name like 'Renamed %'", shoppingListId));
+        assertTrue(statements <= MAX_STATEMENTS + 1, "Needed " + statements + " statements"); // Plus loading the list
+    }
+
+    @Test
+    public void testBulkUpdateLeavesItemsInDesiredStateUnchanged() {
+        Long shoppingListId = seedShoppingList();
+        List<ShoppingListItemUpdate> updates = itemIds(shoppingListId).stream()
+                .map(itemId -> new ShoppingListItemUpdate(itemId, true, null, null))
+                .toList();
+
+        transactionTemplate.executeWithoutResult(status ->
+                shoppingService.updateItems(shoppingListRepository.findById(shoppingListId).orElseThrow(), updates));
+        List<ShoppingListItemUpdateResult> results = transactionTemplate.execute(status ->
+                shoppingService.updateItems(shoppingListRepository.findById(shoppingListId).orElseThrow(), updates));
+
+        assertTrue(results.stream().allMatch(result -> result.outcome() == ShoppingListItemUpdateOutcome.UNCHANGED));
+    }
+
+    @Test
+    public void testPerItemPickingForComparison() {
+        Long shoppingListId = seedShoppingList();
+        List<Long> itemIds = itemIds(shoppingListId);
+
+        statistics.clear();
+        long start = System.nanoTime();
+        for (Long itemId : itemIds) {
+            transactionTemplate.executeWithoutResult(status -> {
+                ShoppingListItem item = shoppingListItemRepository.findById(itemId).orElseThrow();
+                shoppingService.pickItem(item);
+            });
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Per-item picking of {} items: {}ms, {} statements", ITEMS, millis, statistics.getPrepareStatementCount());
+
+        assertEquals(ITEMS, count("select count(*) from shopping_list_items where shopping_list_id = ? and picked", shoppingListId));
+    }
+
+    /**
+     * Seeds a Household with a ShoppingList of unpicked items.
+     *
+     * @return The ID of the ShoppingList.
+     */
+    private Long seedShoppingList() {
+        Long householdId = jdbcTemplate.queryForObject("insert into households (name) values ('Benchmark') returning id", Long.class);
+        Long shoppingListId = jdbcTemplate.queryForObject("insert into shopping_lists (name, household_id) values ('Groceries', ?) returning id", Long.class, householdId);
+        jdbcTemplate.update("""
+                insert into shopping_list_items (name, item_key, quantity, picked, shopping_list_id, household_id)
+                select 'Item ' || g, 'item ' || g, 1, false, ?, ? from generate_series(1, ?) g
+                """, shoppingListId, householdId, ITEMS);
+        return shoppingListId;
+    }
+
+    private List<Long> itemIds(Long shoppingListId) {
+        return jdbcTemplate.queryForList("select id from shopping_list_items where shopping_list_id = ? order by id", Long.class, shoppingListId);
+    }
+
+    private long count(String sql, Long shoppingListId) {
+        return jdbcTemplate.queryForObject(sql, Long.class, shoppingListId);
+    }
+}
@@ -0,0 +1,143 @@
+package com.terfehr.homehub.domain.shopping.service;
+
+import com.terfehr.homehub.domain.household.entity.Household;
+import com.terfehr.homehub.domain.shopping.entity.ShoppingList;
+import com.terfehr.homehub.domain.shopping.entity.ShoppingListItem;
+import com.terfehr.homehub.domain.shopping.entity.ShoppingSpree;
+import com.terfehr.homehub.domain.shopping.repository.ShoppingListRepositoryInterface;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark for creating a ShoppingSpree from a ShoppingList with thousands of items. Compares the set-based move of
+ * {@link ShoppingService#prepareShoppingSpree} with copying the picked items entity by entity and asserts that the
+ * set-based path needs a constant number of statements.
+ */
+@Slf4j
+@Testcontainers
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ShoppingService.class, FrequentItemService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ShoppingSpreeBenchmarkIT {
+
+    private static final int ITEMS = 5_000;
+    private static final int MAX_STATEMENTS = 6; // Spree, items and the frequent item sketch, which is built from the history on the first spree
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @Autowired
+    private ShoppingService shoppingService;
+
+    @Autowired
+    private ShoppingListRepositoryInterface shoppingListRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    public void testSetBasedSpreeMovesPickedItemsWithConstantStatements() {
+        Long shoppingListId = seedShoppingList();
+
+        statistics.clear();
+        long start = System.nanoTime();
+        Long spreeId = transactionTemplate.execute(status -> {
+            ShoppingList shoppingList = shoppingListRepository.findById(shoppingListId).orElseThrow();
+            return shoppingService.prepareShoppingSpree(shoppingList, shoppingList.getHousehold(), LocalDateTime.now()).getId();
+        });
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        long statements = statistics.getPrepareStatementCount();
+        log.info("Set-based spree of {} picked items: {}ms, {} statements", ITEMS / 2, millis, statements);
+
+        assertEquals(ITEMS / 2, countSpreeItems(spreeId));
+        assertEquals(ITEMS / 2, countListItems(shoppingListId));
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertTrue(statements <= MAX_STATEMENTS + 1, "Needed " + statements + " statements"); // Plus loading the list
+    }
+
+    @Test
+    public void testEntityCopyingForComparison() {
+        Long shoppingListId = seedShoppingList();
+
+        statistics.clear();
+        long start = System.nanoTime();
+        Long spreeId = transactionTemplate.execute(status -> {
+            ShoppingList shoppingList = shoppingListRepository.findById(shoppingListId).orElseThrow();
+            Household household = shoppingList.getHousehold();
+            Set<ShoppingListItem> pickedItems = shoppingList.getPickedItems();
+            shoppingList.deletePickedItems();
+            ShoppingSpree spree = new ShoppingSpree(LocalDateTime.now(), household);
+            pickedItems.forEach(item -> spree.addShoppingSpreeItem(item.getName(), item.getQuantity()));
+            entityManager.persist(spree);
+            entityManager.flush();
+            return spree.getId();
+        });
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Entity-copying spree of {} picked items: {}ms, {} statements", ITEMS / 2, millis, statistics.getPrepareStatementCount());
+
+        assertEquals(ITEMS / 2, countSpreeItems(spreeId));
+        assertEquals(ITEMS / 2, countListItems(shoppingListId));
+    }
+
+    /**
+     * Seeds a Household with a ShoppingList of which every other item is picked.
+     *
+     * @return The ID of the ShoppingList.
+     */
+    private Long seedShoppingList() {
+        Long householdId = jdbcTemplate.queryForObject("insert into households (name) values ('Benchmark') returning id", Long.class);
+        Long shoppingListId = jdbcTemplate.queryForObject("insert into shopping_lists (name, household_id) values ('Groceries', ?) returning id", Long.class, householdId);
+        jdbcTemplate.update("""
+                insert into shopping_list_items (name, item_key, quantity, picked, shopping_list_id, household_id)
+                select 'Item ' || g, 'item ' || g, 1 + g % 5, g % 2 = 0, ?, ? from generate_series(1, ?) g
+                """, shoppingListId, householdId, ITEMS);
+        return shoppingListId;
+    }
+
+    private long countSpreeItems(Long shoppingSpreeId) {
+        return jdbcTemplate.queryForObject("select count(*) from shopping_spree_items where shopping_spree_id = ?", Long.class, shoppingSpreeId);
+    }
+
+    private long countListItems(Long shoppingListId) {
+        return jdbcTemplate.queryForObject("select count(*) from shopping_list_items where shopping_list_id = ?", Long.class, shoppingListId);
+    }
+}
@@ -0,0 +1,102 @@
+package com.terfehr.homehub.domain.shopping.value;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the CountMinSketch. Keys follow a skewed distribution in a sketch much narrower than the number of keys,
+ * so collisions are certain, but estimates must never fall below the actual weights.
+ */
+class CountMinSketchTest {
+
+    private static final int WIDTH = 64;
+    private static final int DEPTH = 4;
+    private static final int KEYS = 2_000;
+
+    @Test
+    public void testEstimatesNeverUndercount() {
+        CountMinSketch sketch = new CountMinSketch(WIDTH, DEPTH);
+        Map<String, Double> actual = fill(sketch);
+
+        actual.forEach((key, weight) -> assertTrue(sketch.estimate(key) >= weight, key + " was undercounted"));
+    }
+
+    @Test
+    public void testOvercountIsBoundedForFrequentKeys() {
+        CountMinSketch sketch = new CountMinSketch(WIDTH, DEPTH);
+        Map<String, Double> actual = fill(sketch);
+        double total = actual.values().stream().mapToDouble(Double::doubleValue).sum();
+
+        for (int i = 0; i < 20; i++) {
+            String key = "item " + i;
+            assertEquals(actual.get(key), sketch.estimate(key), Math.E * total / WIDTH, key);
+        }
+    }
+
+    @Test
+    public void testAddReturnsTheNewEstimate() {
+        CountMinSketch sketch = new CountMinSketch(WIDTH, DEPTH);
+        assertEquals(0, sketch.estimate("milk"));
+
+        assertEquals(1.5, sketch.add("milk", 1.5));
+        assertEquals(4, sketch.add("milk", 2.5));
+        assertEquals(4, sketch.estimate("milk"));
+    }
+
+    @Test
+    public void testScalesAllCounters() {
+        CountMinSketch sketch = new CountMinSketch(WIDTH, DEPTH);
+        sketch.add("milk", 8);
+        sketch.add("bread", 2);
+
+        sketch.scale(0.25);
+
+        assertEquals(2, sketch.estimate("milk"));
+        assertEquals(0.5, sketch.estimate("bread"));
+    }
+
+    @Test
+    public void testBytesRoundTrip() {
+        CountMinSketch sketch = new CountMinSketch(WIDTH, DEPTH);
+        Map<String, Double> actual = fill(sketch);
+        byte[] bytes = sketch.toBytes();
+
+        CountMinSketch restored = CountMinSketch.fromBytes(bytes);
+
+        assertEquals(2 * Integer.BYTES + WIDTH * DEPTH * Float.BYTES, bytes.length);
+        assertArrayEquals(bytes, restored.toBytes());
+        actual.keySet().forEach(key -> assertEquals(sketch.estimate(key), restored.estimate(key), key));
+    }
+
+    @Test
+    public void testRejectsInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(0, DEPTH));
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(WIDTH, -1));
+
+        byte[] bytes = new CountMinSketch(WIDTH, DEPTH).toBytes();
+        assertThrows(IllegalArgumentException.class, () -> CountMinSketch.fromBytes(Arrays.copyOf(bytes, bytes.length + 1)));
+        assertThrows(IllegalArgumentException.class, () -> CountMinSketch.fromBytes(Arrays.copyOf(bytes, bytes.length - 1)));
+        assertThrows(IllegalArgumentException.class, () -> CountMinSketch.fromBytes(new byte[3]));
+    }
+
+    /**
+     * Adds KEYS keys to the given sketch, where the i-th key has a weight of about KEYS / (i + 1).
+     *
+     * @return The actual weights by key.
+     */
+    private Map<String, Double> fill(CountMinSketch sketch) {
+        Map<String, Double> actual = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            String key = "item " + i;
+            int weight = Math.max(1, KEYS / (i + 1));
+            sketch.add(key, weight);
+            actual.put(key, (double) weight);
+        }
+        return actual;
+    }
+}
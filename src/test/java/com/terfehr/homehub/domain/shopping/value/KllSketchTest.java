@@ -0,0 +1,181 @@
+package com.terfehr.homehub.domain.shopping.value;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the KllSketch. Ranks and quantiles are compared against an exact sort of the same values, with a tolerance
+ * well above the expected error of the sketch, as compactions are randomized.
+ */
+class KllSketchTest {
+
+    private static final int K = 200;
+    private static final int VALUES = 100_000;
+    private static final double TOLERANCE = 0.02;
+
+    @Test
+    public void testRanksAreCloseToTheExactRanks() {
+        float[] values = shuffled(VALUES, 42);
+        KllSketch sketch = new KllSketch(K);
+        for (float value : values) {
+            sketch.add(value);
+        }
+
+        assertRanksMatch(sketch, values);
+    }
+
+    @Test
+    public void testQuantilesAreCloseToTheExactQuantiles() {
+        float[] values = shuffled(VALUES, 7);
+        KllSketch sketch = new KllSketch(K);
+        for (float value : values) {
+            sketch.add(value);
+        }
+
+        for (double rank = 0.05; rank < 1; rank += 0.05) {
+            float quantile = sketch.quantile(rank);
+            assertEquals(rank, exactRank(values, quantile), TOLERANCE, "Quantile of rank " + rank);
+        }
+        assertEquals(0, sketch.quantile(0));
+        assertEquals(VALUES - 1, sketch.quantile(1));
+    }
+
+    @Test
+    public void testMemoryStaysBounded() {
+        KllSketch sketch = new KllSketch(K);
+        for (int i = 0; i < 1_000_000; i++) {
+            sketch.add(i);
+        }
+
+        assertTrue(sketch.toBytes().length < 4 * K * Float.BYTES, "The sketch holds " + sketch.toBytes().length + " bytes");
+    }
+
+    @Test
+    public void testMergedSketchesMatchASingleSketch() {
+        float[] values = shuffled(VALUES, 3);
+        KllSketch left = new KllSketch(K);
+        KllSketch right = new KllSketch(K);
+        for (int i = 0; i < values.length; i++) {
+            (i < values.length / 3 ? left : right).add(values[i]);
+        }
+        byte[] rightBefore = right.toBytes();
+
+        left.merge(right);
+
+        assertEquals(VALUES, left.getCount());
+        assertEquals(0, left.getMin());
+        assertEquals(VALUES - 1, left.getMax());
+        assertRanksMatch(left, values);
+        assertArrayEquals(rightBefore, right.toBytes(), "The merged sketch was changed");
+    }
+
+    @Test
+    public void testMergingEmptySketches() {
+        KllSketch empty = new KllSketch(K);
+        KllSketch sketch = new KllSketch(K);
+        sketch.add(5);
+
+        sketch.merge(empty);
+        assertEquals(1, sketch.getCount());
+        empty.merge(sketch);
+        assertEquals(1, empty.getCount());
+        assertEquals(5, empty.getMin());
+        assertEquals(5, empty.getMax());
+    }
+
+    @Test
+    public void testTracksMinimumMaximumAndCountExactly() {
+        KllSketch sketch = new KllSketch(K);
+        assertEquals(0, sketch.getCount());
+        assertTrue(Float.isNaN(sketch.getMin()));
+        assertTrue(Float.isNaN(sketch.getMax()));
+        assertTrue(Double.isNaN(sketch.rank(1)));
+        assertTrue(Float.isNaN(sketch.quantile(0.5)));
+
+        float[] values = shuffled(VALUES, 11);
+        for (float value : values) {
+            sketch.add(value + 1_000);
+        }
+        sketch.add(-3.5f);
+        sketch.add(250_000.25f);
+
+        assertEquals(VALUES + 2, sketch.getCount());
+        assertEquals(-3.5f, sketch.getMin());
+        assertEquals(250_000.25f, sketch.getMax());
+        assertEquals(0, sketch.rank(-4));
+        assertEquals(1, sketch.rank(250_000.25f));
+    }
+
+    @Test
+    public void testBytesRoundTrip() {
+        KllSketch sketch = new KllSketch(K);
+        for (float value : shuffled(VALUES, 5)) {
+            sketch.add(value);
+        }
+
+        KllSketch restored = KllSketch.fromBytes(sketch.toBytes());
+
+        assertArrayEquals(sketch.toBytes(), restored.toBytes());
+        assertEquals(sketch.getCount(), restored.getCount());
+        assertEquals(sketch.getMin(), restored.getMin());
+        assertEquals(sketch.getMax(), restored.getMax());
+        for (float value = 0; value < VALUES; value += VALUES / 20f) {
+            assertEquals(sketch.rank(value), restored.rank(value));
+        }
+        assertEquals(sketch.quantile(0.5), restored.quantile(0.5));
+        assertEquals(0, KllSketch.fromBytes(new KllSketch(K).toBytes()).getCount());
+    }
+
+    @Test
+    public void testRejectsInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> new KllSketch(1));
+        assertThrows(IllegalArgumentException.class, () -> new KllSketch(K).quantile(-0.1));
+        assertThrows(IllegalArgumentException.class, () -> new KllSketch(K).quantile(1.1));
+
+        byte[] bytes = new KllSketch(K).toBytes();
+        assertThrows(IllegalArgumentException.class, () -> KllSketch.fromBytes(Arrays.copyOf(bytes, bytes.length + 1)));
+        assertThrows(IllegalArgumentException.class, () -> KllSketch.fromBytes(Arrays.copyOf(bytes, bytes.length - 1)));
+    }
+
+    /**
+     * Asserts that the ranks estimated by the given sketch are close to the exact ranks within the given values.
+     */
+    private void assertRanksMatch(KllSketch sketch, float[] values) {
+        for (float value = 0; value < VALUES; value += VALUES / 50f) {
+            assertEquals(exactRank(values, value), sketch.rank(value), TOLERANCE, "Rank of " + value);
+        }
+    }
+
+    private double exactRank(float[] values, float value) {
+        long below = 0;
+        for (float candidate : values) {
+            if (candidate <= value) {
+                below++;
+            }
+        }
+        return (double) below / values.length;
+    }
+
+    /**
+     * Returns the values 0 to count - 1 in a random order.
+     */
+    private float[] shuffled(int count, long seed) {
+        List<Float> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add((float) i);
+        }
+        Collections.shuffle(values, new Random(seed));
+        float[] result = new float[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = values.get(i);
+        }
+        return result;
+    }
+}
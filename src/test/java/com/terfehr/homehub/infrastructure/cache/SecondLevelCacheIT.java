@@ -0,0 +1,231 @@
+package com.terfehr.homehub.infrastructure.cache;
+
+import com.terfehr.homehub.domain.bookkeeping.entity.Account;
+import com.terfehr.homehub.domain.bookkeeping.repository.AccountRepositoryInterface;
+import com.terfehr.homehub.domain.household.entity.Household;
+import com.terfehr.homehub.domain.household.entity.Roommate;
+import com.terfehr.homehub.domain.household.entity.User;
+import com.terfehr.homehub.domain.household.repository.ChangeTombstoneRepositoryInterface;
+import com.terfehr.homehub.domain.household.repository.HouseholdRepositoryInterface;
+import com.terfehr.homehub.domain.household.repository.UserRepositoryInterface;
+import com.terfehr.homehub.domain.household.value.RoommateSummary;
+import com.terfehr.homehub.domain.scheduling.repository.ReminderRepositoryInterface;
+import com.terfehr.homehub.infrastructure.config.SecondLevelCacheConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the second-level and query cache. Every step runs in a transaction of its own, as the cache only takes
+ * over what was committed. Whether a step was served by the cache is told by the statements Hibernate prepared.
+ * Writes of other instances are made through JDBC, which bypasses the cache of this one.
+ */
+@Testcontainers
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({SecondLevelCacheConfiguration.class, SecondLevelCacheMetrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheIT {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @Autowired
+    private UserRepositoryInterface userRepository;
+
+    @Autowired
+    private HouseholdRepositoryInterface householdRepository;
+
+    @Autowired
+    private AccountRepositoryInterface accountRepository;
+
+    @Autowired
+    private ReminderRepositoryInterface reminderRepository;
+
+    @Autowired
+    private ChangeTombstoneRepositoryInterface changeTombstoneRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SecondLevelCacheMetrics secondLevelCacheMetrics;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    public void testHouseholdAggregatesAreServedFromTheCache() {
+        Long householdId = seedHousehold("Cached", "Hannah", "Hugo");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        secondLevelCacheMetrics.bindTo(registry);
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        assertEquals("Cached: Hannah, Hugo", inTransaction(() -> describe(householdId)));
+        assertTrue(statistics.getPrepareStatementCount() > 0);
+        assertEquals(0, statistics.getSecondLevelCacheHitCount());
+
+        statistics.clear();
+        assertEquals("Cached: Hannah, Hugo", inTransaction(() -> describe(householdId)));
+        assertEquals(0, statistics.getPrepareStatementCount(), "The household was not served from the cache");
+        for (String region : List.of("households", "household-roommates", "roommates", "users")) {
+            assertEquals(1.0, registry.get("hibernate.second.level.cache.hit.ratio").tag("region", region).gauge().value(), region);
+        }
+    }
+
+    @Test
+    public void testFindByUsernameIsServedFromTheQueryCache() {
+        seedHousehold("Queried", "Quentin");
+        statistics.clear();
+
+        assertTrue(inTransaction(() -> userRepository.findByUsername("Quentin")).isPresent());
+        assertEquals(1, statistics.getQueryCachePutCount());
+
+        statistics.clear();
+        assertTrue(inTransaction(() -> userRepository.findByUsername("Quentin")).isPresent());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount(), "The User was not served from the cache");
+    }
+
+    @Test
+    public void testCacheStaysCoherentAfterUpdates() {
+        Long householdId = seedHousehold("Before", "Carla", "Conrad");
+        Long newcomerId = saveUser("Nina").getId();
+        inTransaction(() -> describe(householdId));
+        inTransaction(() -> accountNames(householdId));
+        inTransaction(() -> userRepository.findByUsername("Nina").orElseThrow().isEnabled());
+        inTransaction(() -> userRepository.findById(newcomerId).orElseThrow().getRoommates().size());
+        inTransaction(() -> householdRepository.findAllRoommateSummariesByHouseholdId(householdId));
+
+        inTransaction(() -> {
+            Household household = householdRepository.findById(householdId).orElseThrow();
+            household.setName("After");
+            household.getAccounts().iterator().next().setName("Savings");
+            Roommate leaving = household.getRoommates().stream()
+                    .filter(roommate -> roommate.getUser().getUsername().equals("Conrad"))
+                    .findFirst().orElseThrow();
+            household.removeRoommate(leaving);
+            household.addRoommate(new Roommate(household, userRepository.findById(newcomerId).orElseThrow()));
+            userRepository.findById(newcomerId).orElseThrow().enable();
+            return null;
+        });
+        assertEquals("After: Carla, Nina", inTransaction(() -> describe(householdId)));
+        assertEquals(List.of("Savings"), inTransaction(() -> accountNames(householdId)));
+        assertTrue(inTransaction(() -> userRepository.findByUsername("Nina").orElseThrow().isEnabled()));
+        assertEquals(1, inTransaction(() -> userRepository.findById(newcomerId).orElseThrow().getRoommates().size()));
+        assertEquals(List.of("Carla", "Nina"), inTransaction(() -> householdRepository.findAllRoommateSummariesByHouseholdId(householdId)).stream()
+                .map(RoommateSummary::username).toList());
+
+        statistics.clear();
+        inTransaction(() -> reminderRepository.prune(LocalDateTime.now()));
+        inTransaction(() -> describe(householdId));
+        assertEquals(0, statistics.getSecondLevelCacheMissCount(), "A native query on an unrelated table evicted the household");
+
+        statistics.clear();
+        inTransaction(() -> changeTombstoneRepository.pruneBefore(LocalDateTime.now()));
+        inTransaction(() -> householdRepository.findById(householdId).orElseThrow().getName());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("households").getMissCount(),
+                "A native query on the households table kept the cached household");
+    }
+
+    @Test
+    public void testAccountBalancesAreNeverUpdatedFromStaleState() {
+        Long householdId = seedHousehold("Ledger", "Lena");
+        Long accountId = inTransaction(() -> householdRepository.findById(householdId).orElseThrow().getAccounts().iterator().next().getId());
+
+        assertEquals(0, (long) inReadOnlyTransaction(() -> balanceOf(accountId)));
+        assertFalse(entityManagerFactory.getCache().contains(Account.class, accountId), "A read-only read, e.g. from a lagging replica, was cached");
+
+        jdbcTemplate.update("update accounts set amount_in_smallest_unit = amount_in_smallest_unit - 500 where id = ?", accountId); // Another instance
+        inTransaction(() -> accountRepository.findById(accountId).orElseThrow().addExpense(300, "Groceries", LocalDateTime.now(), "Market"));
+        jdbcTemplate.update("update accounts set amount_in_smallest_unit = amount_in_smallest_unit - 200 where id = ?", accountId);
+        inTransaction(() -> accountRepository.findById(accountId).orElseThrow().addExpense(100, "Bakery", LocalDateTime.now(), "Baker"));
+
+        assertEquals(-1100, (long) inTransaction(() -> balanceOf(accountId)), "A write of another instance was lost");
+        assertEquals(-1100L, jdbcTemplate.queryForObject("select amount_in_smallest_unit from accounts where id = ?", Long.class, accountId));
+    }
+
+    /**
+     * Saves a Household with an Account and Roommates for the Users of the given names.
+     */
+    private Long seedHousehold(String name, String... usernames) {
+        List<Long> userIds = List.of(usernames).stream().map(username -> saveUser(username).getId()).toList();
+        return inTransaction(() -> {
+            Household household = new Household(name);
+            householdRepository.save(household);
+            for (Long userId : userIds) {
+                household.addRoommate(new Roommate(household, userRepository.findById(userId).orElseThrow()));
+            }
+            household.addAccount("Cash", 0, "EUR");
+            return household.getId();
+        });
+    }
+
+    private User saveUser(String username) {
+        return userRepository.save(new User(username, username.toLowerCase() + "@homehub.de", "Cache123!", username, LocalDateTime.now().plusDays(1)));
+    }
+
+    /**
+     * Describes a Household by its name and the usernames of its Roommates, which touches every cached region of the
+     * household aggregate.
+     */
+    private String describe(Long householdId) {
+        Household household = householdRepository.findById(householdId).orElseThrow();
+        return household.getName() + ": "
+                + String.join(", ", household.getRoommates().stream().map(roommate -> roommate.getUser().getUsername()).sorted().toList());
+    }
+
+    private List<String> accountNames(Long householdId) {
+        return householdRepository.findById(householdId).orElseThrow().getAccounts().stream().map(Account::getName).sorted().toList();
+    }
+
+    private Long balanceOf(Long accountId) {
+        return accountRepository.findById(accountId).orElseThrow().getBalance().getAmountInSmallestUnit();
+    }
+
+    private <T> T inTransaction(Supplier<T> action) {
+        return new TransactionTemplate(transactionManager).execute(status -> action.get());
+    }
+
+    private <T> T inReadOnlyTransaction(Supplier<T> action) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate.execute(status -> action.get());
+    }
+}
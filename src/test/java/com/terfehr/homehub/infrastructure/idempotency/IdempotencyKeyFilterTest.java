@@ -0,0 +1,278 @@
+package com.terfehr.homehub.infrastructure.idempotency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.terfehr.homehub.infrastructure.idempotency.IdempotencyKeyFilter.IDEMPOTENCY_KEY_HEADER;
+import static com.terfehr.homehub.infrastructure.idempotency.IdempotencyKeyFilter.REPLAYED_HEADER;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the IdempotencyKeyFilter. The IdempotencyStore is replaced by an in-memory one, and the filter chain
+ * stands in for the controller, echoing the request body with the next status code.
+ */
+class IdempotencyKeyFilterTest {
+
+    private static final long WAIT_MILLIS = 200;
+    private static final String KEY = "b0f4c7a2-2f1e-4a53-9a41-0d7c1f0e6a11";
+    private static final String BODY = "{\"name\":\"Milk\"}";
+
+    private InMemoryIdempotencyStore idempotencyStore;
+    private IdempotencyKeyFilter filter;
+    private AtomicInteger executions;
+    private Queue<Integer> statuses;
+    private FilterChain filterChain;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyStore = new InMemoryIdempotencyStore();
+        filter = new IdempotencyKeyFilter(idempotencyStore, WAIT_MILLIS);
+        executions = new AtomicInteger();
+        statuses = new ArrayDeque<>();
+        filterChain = (request, response) -> {
+            executions.incrementAndGet();
+            byte[] body = request.getInputStream().readAllBytes();
+            ((HttpServletResponse) response).setStatus(statuses.isEmpty() ? 201 : statuses.poll());
+            response.setContentType("application/json");
+            response.getOutputStream().write(body);
+        };
+    }
+
+    @Test
+    public void testRetriesReplayTheStoredResponse() throws Exception {
+        MockHttpServletResponse first = send(KEY, BODY);
+        MockHttpServletResponse retry = send(KEY, BODY);
+
+        assertEquals(1, executions.get());
+        assertEquals(201, first.getStatus());
+        assertNull(first.getHeader(REPLAYED_HEADER));
+        assertEquals(201, retry.getStatus());
+        assertEquals("true", retry.getHeader(REPLAYED_HEADER));
+        assertEquals("application/json", retry.getContentType());
+        assertEquals(BODY, retry.getContentAsString());
+    }
+
+    @Test
+    public void testReusingAKeyForADifferentRequestIsRejected() throws Exception {
+        send(KEY, BODY);
+
+        MockHttpServletResponse reused = send(KEY, "{\"name\":\"Bread\"}");
+
+        assertEquals(1, executions.get());
+        assertEquals(422, reused.getStatus());
+        assertNull(reused.getHeader(REPLAYED_HEADER));
+    }
+
+    @Test
+    public void testFailedExecutionsReleaseTheKey() throws Exception {
+        statuses.addAll(List.of(500, 409));
+
+        assertEquals(500, send(KEY, BODY).getStatus());
+        assertEquals(409, send(KEY, BODY).getStatus());
+        MockHttpServletResponse succeeded = send(KEY, BODY);
+        MockHttpServletResponse retry = send(KEY, BODY);
+
+        assertEquals(3, executions.get());
+        assertEquals(201, succeeded.getStatus());
+        assertNull(succeeded.getHeader(REPLAYED_HEADER));
+        assertEquals("true", retry.getHeader(REPLAYED_HEADER));
+    }
+
+    @Test
+    public void testConcurrentDuplicatesWaitForTheFirstExecution() throws Exception {
+        CountDownLatch executing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain echo = filterChain;
+        filterChain = (request, response) -> {
+            executing.countDown();
+            try {
+                assertTrue(release.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            echo.doFilter(request, response);
+        };
+        filter = new IdempotencyKeyFilter(idempotencyStore, 10_000);
+
+        CompletableFuture<MockHttpServletResponse> first = sendAsync(KEY, BODY);
+        CompletableFuture<MockHttpServletResponse> duplicate;
+        try {
+            assertTrue(executing.await(10, TimeUnit.SECONDS));
+            duplicate = sendAsync(KEY, BODY);
+            assertThrows(TimeoutException.class, () -> duplicate.get(WAIT_MILLIS, TimeUnit.MILLISECONDS));
+        } finally {
+            release.countDown();
+        }
+
+        assertEquals(201, first.get(10, TimeUnit.SECONDS).getStatus());
+        assertEquals(201, duplicate.get(10, TimeUnit.SECONDS).getStatus());
+        assertEquals("true", duplicate.get().getHeader(REPLAYED_HEADER));
+        assertEquals(BODY, duplicate.get().getContentAsString());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void testDuplicatesWaitingTooLongAreRejected() throws Exception {
+        CountDownLatch executing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        filterChain = (request, response) -> {
+            executing.countDown();
+            try {
+                assertTrue(release.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        CompletableFuture<MockHttpServletResponse> first = sendAsync(KEY, BODY);
+        try {
+            assertTrue(executing.await(10, TimeUnit.SECONDS));
+            assertEquals(409, send(KEY, BODY).getStatus());
+        } finally {
+            release.countDown();
+        }
+        first.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testDuplicatesOfAnotherInstanceAreRejectedAfterWaiting() throws Exception {
+        idempotencyStore.claimedByAnotherInstance = true;
+
+        long start = System.nanoTime();
+        MockHttpServletResponse response = send(KEY, BODY);
+
+        assertEquals(409, response.getStatus());
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(WAIT_MILLIS));
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    public void testRejectsInvalidKeysAndIgnoresSafeMethods() throws Exception {
+        assertEquals(400, send(" ", BODY).getStatus());
+        assertEquals(400, send("k".repeat(256), BODY).getStatus());
+        assertEquals(0, executions.get());
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/shopping-lists/1");
+        request.addHeader(IDEMPOTENCY_KEY_HEADER, KEY);
+        filter.doFilter(request, new MockHttpServletResponse(), filterChain);
+        filter.doFilter(request, new MockHttpServletResponse(), filterChain);
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    public void testReadListenersReceiveTheWholeBody() throws Exception {
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicInteger allDataRead = new AtomicInteger();
+        filterChain = (request, response) -> {
+            ServletInputStream input = request.getInputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    byte[] buffer = new byte[4];
+                    while (input.isReady() && !input.isFinished()) {
+                        read.write(buffer, 0, Math.max(0, input.read(buffer, 0, buffer.length)));
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allDataRead.incrementAndGet();
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    fail(throwable);
+                }
+            });
+        };
+
+        send(KEY, BODY);
+
+        assertEquals(BODY, read.toString(StandardCharsets.UTF_8));
+        assertEquals(1, allDataRead.get());
+    }
+
+    private MockHttpServletResponse send(String key, String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/shopping-lists/1/items");
+        request.addHeader(IDEMPOTENCY_KEY_HEADER, key);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, filterChain);
+        return response;
+    }
+
+    private CompletableFuture<MockHttpServletResponse> sendAsync(String key, String body) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return send(key, body);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    /**
+     * Keeps claims and responses in maps instead of the idempotency_records table. Can pretend that every key is
+     * claimed by another instance, which never completes it.
+     */
+    private static class InMemoryIdempotencyStore extends IdempotencyStore {
+
+        private final Map<String, String> claims = new ConcurrentHashMap<>();
+        private final Map<String, StoredResponse> completed = new ConcurrentHashMap<>();
+        private volatile boolean claimedByAnotherInstance;
+
+        private InMemoryIdempotencyStore() {
+            super(null, 24, 60, 100);
+        }
+
+        @Override
+        public Optional<StoredResponse> findCompleted(String keyHash) {
+            return Optional.ofNullable(completed.get(keyHash));
+        }
+
+        @Override
+        public boolean isPending(String keyHash) {
+            return claimedByAnotherInstance || claims.containsKey(keyHash);
+        }
+
+        @Override
+        public boolean claim(String keyHash, String requestHash) {
+            return !claimedByAnotherInstance && !completed.containsKey(keyHash) && claims.putIfAbsent(keyHash, requestHash) == null;
+        }
+
+        @Override
+        public StoredResponse complete(String keyHash, String requestHash, int statusCode, String contentType, byte[] body) {
+            StoredResponse response = new StoredResponse(requestHash, statusCode, contentType, body, LocalDateTime.now().plusHours(24));
+            completed.put(keyHash, response);
+            claims.remove(keyHash, requestHash);
+            return response;
+        }
+
+        @Override
+        public void release(String keyHash, String requestHash) {
+            claims.remove(keyHash, requestHash);
+        }
+    }
+}
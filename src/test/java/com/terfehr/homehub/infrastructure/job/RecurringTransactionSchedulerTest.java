@@ -0,0 +1,124 @@
+package com.terfehr.homehub.infrastructure.job;
+
+import com.terfehr.homehub.application.service.MaterializeRecurringTransactionsService;
+import com.terfehr.homehub.domain.bookkeeping.event.RecurringTransactionScheduledEvent;
+import com.terfehr.homehub.domain.bookkeeping.repository.RecurringTransactionRepositoryInterface;
+import com.terfehr.homehub.domain.bookkeeping.value.RecurringSchedule;
+import com.terfehr.homehub.infrastructure.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test for the RecurringTransactionScheduler. Overdue schedules expire on the next tick of the wheel, so the tests do
+ * not wait for the wheel to turn, except for retries, which are scheduled one tick ahead.
+ */
+class RecurringTransactionSchedulerTest {
+
+    private static final long TICK_MILLIS = 10;
+    private static final int BATCH_SIZE = 2;
+    private static final int CATCH_UP_LIMIT = 5;
+
+    private RecurringTransactionRepositoryInterface recurringTransactionRepository;
+    private MaterializeRecurringTransactionsService materializeRecurringTransactionsService;
+    private RecurringTransactionScheduler scheduler;
+    private List<List<Long>> chunks;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        recurringTransactionRepository = mock(RecurringTransactionRepositoryInterface.class);
+        materializeRecurringTransactionsService = mock(MaterializeRecurringTransactionsService.class);
+        ShardRouter shardRouter = mock(ShardRouter.class);
+        when(shardRouter.onEveryShard(any(Supplier.class))).thenAnswer(invocation ->
+                List.of(invocation.getArgument(0, Supplier.class).get()));
+        scheduler = new RecurringTransactionScheduler(recurringTransactionRepository, materializeRecurringTransactionsService,
+                shardRouter, TICK_MILLIS, 64, BATCH_SIZE, CATCH_UP_LIMIT, 60);
+
+        chunks = new ArrayList<>();
+        when(materializeRecurringTransactionsService.execute(anyCollection(), any(), eq(CATCH_UP_LIMIT))).thenAnswer(invocation -> {
+            List<Long> chunk = List.copyOf(invocation.getArgument(0));
+            chunks.add(chunk);
+            return chunk.stream().map(id -> new RecurringSchedule(id, LocalDateTime.now().plusDays(30))).toList();
+        });
+    }
+
+    @Test
+    public void testMaterializesDueDefinitionsInChunks() {
+        for (long id = 1; id <= 5; id++) {
+            scheduler.onScheduled(new RecurringTransactionScheduledEvent(overdue(id)));
+        }
+        scheduler.onScheduled(new RecurringTransactionScheduledEvent(new RecurringSchedule(6L, LocalDateTime.now().plusDays(1))));
+
+        scheduler.tick();
+
+        assertEquals(List.of(2, 2, 1), chunks.stream().map(List::size).toList());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), chunks.stream().flatMap(List::stream).sorted().toList());
+
+        scheduler.tick();
+        assertEquals(3, chunks.size(), "Definitions were materialized again before their next occurrence");
+    }
+
+    @Test
+    public void testFailedChunksAreRetriedOnTheNextTick() throws Exception {
+        doThrow(new IllegalStateException("Database down"))
+                .doReturn(List.of(new RecurringSchedule(1L, LocalDateTime.now().plusDays(30))))
+                .when(materializeRecurringTransactionsService).execute(anyCollection(), any(), eq(CATCH_UP_LIMIT));
+        scheduler.onScheduled(new RecurringTransactionScheduledEvent(overdue(1)));
+
+        scheduler.tick();
+        Thread.sleep(3 * TICK_MILLIS);
+        scheduler.tick();
+        scheduler.tick();
+
+        verify(materializeRecurringTransactionsService, times(2)).execute(eq(List.of(1L)), any(), eq(CATCH_UP_LIMIT));
+    }
+
+    @Test
+    public void testDefinitionsWithoutNextOccurrenceAreCancelled() {
+        scheduler.onScheduled(new RecurringTransactionScheduledEvent(overdue(1)));
+        scheduler.onScheduled(new RecurringTransactionScheduledEvent(new RecurringSchedule(1L, null)));
+
+        scheduler.tick();
+
+        verifyNoInteractions(materializeRecurringTransactionsService);
+    }
+
+    @Test
+    public void testLoadsAllPagesOnStartup() {
+        List<RecurringSchedule> fullPage = LongStream.rangeClosed(1, 10_000)
+                .mapToObj(id -> new RecurringSchedule(id, LocalDateTime.now().plusDays(1)))
+                .toList();
+        when(recurringTransactionRepository.findActiveSchedulesAfterId(0L, Limit.of(10_000))).thenReturn(fullPage);
+        when(recurringTransactionRepository.findActiveSchedulesAfterId(10_000L, Limit.of(10_000))).thenReturn(List.of(overdue(10_001)));
+
+        scheduler.load();
+        scheduler.tick();
+
+        assertEquals(List.of(List.of(10_001L)), chunks);
+    }
+
+    @Test
+    public void testResyncSchedulesDefinitionsChangedElsewhere() {
+        when(recurringTransactionRepository.findActiveSchedulesDueBefore(any())).thenReturn(List.of(overdue(7)));
+
+        scheduler.resync();
+        scheduler.tick();
+
+        assertEquals(List.of(List.of(7L)), chunks);
+    }
+
+    private RecurringSchedule overdue(long id) {
+        return new RecurringSchedule(id, LocalDateTime.now().minusMinutes(1));
+    }
+}
@@ -0,0 +1,56 @@
+package com.terfehr.homehub.infrastructure.replica;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the ReplicaContext. Pooled threads started by a request that has to read from the primary must not keep
+ * reading from it, and tasks handed to them only read from the primary if they were wrapped.
+ */
+class ReplicaContextTest {
+
+    @AfterEach
+    void tearDown() {
+        ReplicaContext.clear();
+    }
+
+    @Test
+    public void testPooledThreadsDoNotKeepThePrimary() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            ReplicaContext.requirePrimary();
+            boolean started = executor.submit(ReplicaContext::isPrimaryRequired).get(5, TimeUnit.SECONDS); // Starts the pooled thread
+
+            assertFalse(started);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testWrappedTasksReadFromThePrimaryIfTheirRequestHasTo() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            AtomicBoolean seen = new AtomicBoolean();
+            Runnable replica = ReplicaContext.wrap(() -> seen.set(ReplicaContext.isPrimaryRequired()));
+            ReplicaContext.requirePrimary();
+            Runnable primary = ReplicaContext.wrap(() -> seen.set(ReplicaContext.isPrimaryRequired()));
+
+            executor.submit(primary).get(5, TimeUnit.SECONDS);
+            assertTrue(seen.get());
+            executor.submit(replica).get(5, TimeUnit.SECONDS);
+            assertFalse(seen.get());
+            assertFalse(executor.submit(ReplicaContext::isPrimaryRequired).get(5, TimeUnit.SECONDS),
+                    "The worker kept the primary of a wrapped task");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.terfehr.homehub.infrastructure.replica;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test for the ReplicaPool. Without a check, no replica qualifies, so these tests only cover the connections that are
+ * taken from the primary.
+ */
+class ReplicaPoolTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private ReplicaPool replicaPool;
+
+    @BeforeEach
+    void setUp() {
+        primary = mock(DataSource.class);
+        replica = mock(DataSource.class);
+        replicaPool = new ReplicaPool(primary, Map.of("replica-0", replica), ReplicaProperties.Selection.ROUND_ROBIN, 5_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaContext.clear();
+    }
+
+    @Test
+    public void testConnectionsWithCredentialsAreTakenFromThePrimary() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(primary.getConnection("reporting", "secret")).thenReturn(connection);
+
+        assertSame(connection, replicaPool.getConnection("reporting", "secret"));
+        verifyNoInteractions(replica);
+    }
+
+    @Test
+    public void testUncheckedReplicasAreNotUsed() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(connection);
+
+        assertSame(connection, replicaPool.getConnection());
+        ReplicaContext.requirePrimary();
+        assertSame(connection, replicaPool.getConnection());
+        verifyNoInteractions(replica);
+    }
+}
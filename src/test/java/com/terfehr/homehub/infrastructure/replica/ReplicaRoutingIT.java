@@ -0,0 +1,221 @@
+package com.terfehr.homehub.infrastructure.replica;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.terfehr.homehub.domain.household.entity.Household;
+import com.terfehr.homehub.domain.household.entity.Roommate;
+import com.terfehr.homehub.domain.household.entity.User;
+import com.terfehr.homehub.domain.household.repository.HouseholdRepositoryInterface;
+import com.terfehr.homehub.domain.household.repository.UserRepositoryInterface;
+import com.terfehr.homehub.infrastructure.service.JwtService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the read replicas, run against a primary and a replica fed by streaming replication. Replaying is paused
+ * on the replica to make it fall behind, which shows where a read was served: read-only requests see the old state on
+ * the replica, while the User who changed data reads the new state from the primary. Once the replica lags behind
+ * too far, all reads go to the primary, until the replica caught up again.
+ */
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "security.jwt.secret-key=YWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWE=",
+        "security.jwt.expiration-time=3600000",
+        "spring.mail.username=test",
+        "spring.mail.password=test",
+        "replicas.enabled=true",
+        "replicas.max-lag-millis=5000",
+        "replicas.lag-check-millis=200",
+        "replicas.read-your-writes-millis=60000"
+})
+@ActiveProfiles("test")
+class ReplicaRoutingIT {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final Network NETWORK = Network.newNetwork();
+
+    @Container
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:latest")
+            .withNetwork(NETWORK)
+            .withNetworkAliases("primary")
+            .withCopyToContainer(Transferable.of("echo 'host replication all all scram-sha-256' >> \"$PGDATA/pg_hba.conf\""),
+                    "/docker-entrypoint-initdb.d/replication.sh");
+
+    @Container
+    static GenericContainer<?> replica = new GenericContainer<>("postgres:latest")
+            .withNetwork(NETWORK)
+            .withEnv("PGPASSWORD", "test")
+            .withExposedPorts(PostgreSQLContainer.POSTGRESQL_PORT)
+            .withCreateContainerCmdModifier(cmd -> cmd.withEntrypoint("bash", "-c", """
+                    mkdir -p "$PGDATA" && chown postgres:postgres "$PGDATA" && chmod 700 "$PGDATA"
+                    until gosu postgres pg_basebackup -h primary -U test -D "$PGDATA" -R -X stream; do
+                        rm -rf "${PGDATA:?}"/*; sleep 1
+                    done
+                    exec gosu postgres postgres
+                    """))
+            .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*", 1))
+            .dependsOn(primary);
+
+    @DynamicPropertySource
+    static void databases(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("replicas.sources[0].url", ReplicaRoutingIT::replicaUrl);
+        registry.add("replicas.sources[0].username", primary::getUsername);
+        registry.add("replicas.sources[0].password", primary::getPassword);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserRepositoryInterface userRepository;
+
+    @Autowired
+    private HouseholdRepositoryInterface householdRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private HttpClient http;
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate replicaJdbc;
+
+    @BeforeEach
+    void setUp() {
+        http = HttpClient.newHttpClient();
+        primaryJdbc = new JdbcTemplate(new DriverManagerDataSource(primary.getJdbcUrl(), primary.getUsername(), primary.getPassword()));
+        replicaJdbc = new JdbcTemplate(new DriverManagerDataSource(replicaUrl(), primary.getUsername(), primary.getPassword()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        replicaJdbc.execute("select pg_wal_replay_resume()");
+        http.close();
+    }
+
+    @Test
+    public void testReadOnlyRequestsAreServedByReplicasThatAreRecentEnough() throws Exception {
+        User writer = saveUser("Writer");
+        User reader = saveUser("Reader");
+        Long householdId = seedHousehold("Original", writer, reader);
+        Long shoppingListId = primaryJdbc.queryForObject("select id from shopping_lists where household_id = ?", Long.class, householdId);
+        String writerToken = jwtService.generateToken(writer);
+        String readerToken = jwtService.generateToken(reader);
+        ReplicaPool replicaPool = ((ReplicaRoutingDataSource) dataSource).getReplicaPool();
+        awaitUntil(() -> replicaJdbc.queryForObject("select count(*) from households where id = ?", Integer.class, householdId) == 1
+                && !replicaPool.getUsableReplicas().isEmpty());
+
+        replicaJdbc.execute("select pg_wal_replay_pause()");
+        primaryJdbc.update("update households set name = 'Renamed' where id = ?", householdId);
+        assertEquals("Original", dashboardName(readerToken, householdId), "The read was not served by the replica");
+
+        send(writerToken, "/shopping-lists/" + shoppingListId + "/items", "{\"name\":\"Milk\",\"quantity\":1}");
+        assertEquals("Renamed", dashboardName(writerToken, householdId), "The writer did not read its own write");
+        assertEquals("Original", dashboardName(readerToken, householdId));
+
+        awaitUntil(() -> replicaPool.getUsableReplicas().isEmpty());
+        assertEquals("Renamed", dashboardName(readerToken, householdId), "The lagging replica was still read from");
+
+        replicaJdbc.execute("select pg_wal_replay_resume()");
+        awaitUntil(() -> !replicaPool.getUsableReplicas().isEmpty());
+        assertEquals("Renamed", dashboardName(readerToken, householdId));
+    }
+
+    private static String replicaUrl() {
+        return "jdbc:postgresql://" + replica.getHost() + ":" + replica.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT)
+                + "/" + primary.getDatabaseName();
+    }
+
+    private User saveUser(String username) {
+        User user = new User(username, username.toLowerCase() + "@homehub.de", "Replica123!", "123456789", LocalDateTime.now().plusDays(1));
+        user.enable();
+        return userRepository.save(user);
+    }
+
+    /**
+     * Saves a Household with the given Users as Roommates and a ShoppingList.
+     */
+    private Long seedHousehold(String name, User... users) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Household household = new Household(name);
+            for (User user : List.of(users)) {
+                household.addRoommate(new Roommate(household, userRepository.findById(user.getId()).orElseThrow()));
+            }
+            household.addShoppingList("Weekly");
+            return householdRepository.save(household).getId();
+        });
+    }
+
+    private String dashboardName(String token, Long householdId) throws Exception {
+        return send(token, "/households/" + householdId + "/dashboard", null).get("name").asText();
+    }
+
+    /**
+     * Sends an authenticated request, a POST with the given JSON body or a GET without one, and returns the parsed
+     * response body, failing on any unsuccessful status.
+     */
+    private JsonNode send(String token, String path, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token);
+        if (body == null) {
+            request.GET();
+        } else {
+            request.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+        HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        assertTrue(response.statusCode() < 300, "Request to " + path + " failed with status " + response.statusCode() + ": " + response.body());
+        return objectMapper.readTree(response.body());
+    }
+
+    /**
+     * Polls the given condition until it holds or the timeout elapsed.
+     */
+    private void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met within " + TIMEOUT);
+            Thread.sleep(50);
+        }
+    }
+}
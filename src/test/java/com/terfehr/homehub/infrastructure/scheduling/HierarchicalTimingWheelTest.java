@@ -0,0 +1,148 @@
+package com.terfehr.homehub.infrastructure.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the HierarchicalTimingWheel. Uses ticks of 10 ms and 8 buckets per level, so level 0 covers 80 ms, level 1
+ * covers 640 ms and every further level multiplies the horizon by eight.
+ */
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 10;
+    private static final int WHEEL_SIZE = 8;
+
+    @Test
+    public void testFiresAtTheTickOfTheDeadline() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZE, 0);
+        wheel.schedule("exact", 30);
+        wheel.schedule("rounded", 31);
+
+        assertEquals(List.of(), wheel.advance(29));
+        assertEquals(List.of("exact"), wheel.advance(30));
+        assertEquals(List.of(), wheel.advance(39));
+        assertEquals(List.of("rounded"), wheel.advance(40));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testCascadesThroughHigherLevels() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZE, 0);
+        wheel.schedule("level 1", 500);
+        wheel.schedule("level 2", 4_000);
+        wheel.schedule("level 4", 300_000);
+
+        Map<String, Long> fired = advanceInTicks(wheel, 0, 400_000);
+
+        assertEquals(Map.of("level 1", 500L, "level 2", 4_000L, "level 4", 300_000L), fired);
+    }
+
+    @Test
+    public void testRandomDeadlinesFireAtTheirTickInAnyLevel() {
+        Random random = new Random(42);
+        long start = 1_234_567;
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZE, start);
+        Map<Integer, Long> expected = new HashMap<>();
+        for (int key = 0; key < 2_000; key++) {
+            long deadline = start + random.nextLong(200_000);
+            wheel.schedule(key, deadline);
+            expected.put(key, Math.ceilDiv(deadline, TICK) * TICK);
+        }
+
+        assertEquals(expected, advanceInTicks(wheel, start, start + 200_000 + TICK));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testLargeJumpsReturnAllPassedDeadlines() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZE, 0);
+        wheel.schedule("soon", 20);
+        wheel.schedule("later", 50_000);
+        wheel.schedule("never", 2_000_000);
+
+        List<String> fired = wheel.advance(1_000_000);
+
+        assertEquals(Set.of("soon", "later"), Set.copyOf(fired));
+        assertTrue(wheel.isScheduled("never"));
+    }
+
+    @Test
+    public void testPastDeadlinesFireOnTheNextAdvance() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZE, 1_000);
+        wheel.schedule("overdue", 10);
+
+        assertTrue(wheel.isScheduled("overdue"));
+        assertEquals(List.of("overdue"), wheel.advance(1_000));
+        assertFalse(wheel.isScheduled("overdue"));
+    }
+
+    @Test
+    public void testCancelledKeysNeverFire() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZE, 0);
+        wheel.schedule("near", 40);
+        wheel.schedule("far", 40_000);
+        wheel.schedule("overdue", -100);
+        wheel.schedule("kept", 40);
+
+        wheel.cancel("near");
+        wheel.cancel("far");
+        wheel.cancel("overdue");
+        wheel.cancel("unknown");
+
+        assertFalse(wheel.isScheduled("near"));
+        assertEquals(1, wheel.size());
+        assertEquals(Map.of("kept", 40L), advanceInTicks(wheel, 0, 50_000));
+    }
+
+    @Test
+    public void testSchedulingAgainReplacesTheDeadline() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZE, 0);
+        wheel.schedule("earlier", 5_000);
+        wheel.schedule("earlier", 100);
+        wheel.schedule("later", 100);
+        wheel.schedule("later", 5_000);
+
+        assertEquals(2, wheel.size());
+        assertEquals(Map.of("earlier", 100L, "later", 5_000L), advanceInTicks(wheel, 0, 10_000));
+    }
+
+    @Test
+    public void testExpiredKeysCanBeScheduledAgain() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZE, 0);
+        wheel.schedule("monthly", 30);
+        assertEquals(List.of("monthly"), wheel.advance(30));
+
+        wheel.schedule("monthly", 700);
+
+        assertEquals(Map.of("monthly", 700L), advanceInTicks(wheel, 30, 1_000));
+    }
+
+    @Test
+    public void testRejectsInvalidConfigurations() {
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<>(0, WHEEL_SIZE, 0));
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<>(TICK, 1, 0));
+    }
+
+    /**
+     * Advances the given wheel one tick at a time and records the time at which every key fired. Fails if a key fires
+     * twice.
+     *
+     * @return The fire times by key.
+     */
+    private <K> Map<K, Long> advanceInTicks(HierarchicalTimingWheel<K> wheel, long from, long to) {
+        Map<K, Long> fired = new HashMap<>();
+        for (long now = from - from % TICK + TICK; now <= to; now += TICK) {
+            for (K key : wheel.advance(now)) {
+                assertNull(fired.put(key, now), key + " fired twice");
+            }
+        }
+        return fired;
+    }
+}
@@ -0,0 +1,278 @@
+package com.terfehr.homehub.infrastructure.service;
+
+import com.terfehr.homehub.domain.household.entity.Household;
+import com.terfehr.homehub.domain.household.entity.Roommate;
+import com.terfehr.homehub.domain.household.entity.User;
+import com.terfehr.homehub.domain.household.repository.HouseholdRepositoryInterface;
+import com.terfehr.homehub.domain.household.repository.UserRepositoryInterface;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the household-scoped authorization checks. Requests to a Household are only let through for its Roommates,
+ * and adding or removing a Roommate changes that right away, although the Households of every User are cached.
+ * Roommates added or removed by another instance, which a change made directly in the database stands in for, are
+ * noticed through the notification of the roommates trigger. Requests that only name an entity of a Household are
+ * checked against the Household of the entity.
+ */
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "security.jwt.secret-key=YWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWE=",
+        "security.jwt.expiration-time=3600000",
+        "spring.mail.username=test",
+        "spring.mail.password=test"
+})
+@ActiveProfiles("test")
+class HouseholdMembershipIT {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepositoryInterface userRepository;
+
+    @Autowired
+    private HouseholdRepositoryInterface householdRepository;
+
+    @Autowired
+    private HouseholdMembershipService householdMembershipService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private HttpClient http;
+
+    @BeforeEach
+    void setUp() {
+        http = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        http.close();
+    }
+
+    @Test
+    public void testOnlyRoommatesCanAccessTheirHousehold() throws Exception {
+        User member = saveUser("Member");
+        User stranger = saveUser("Stranger");
+        Long householdId = seedHousehold("Private", member);
+
+        assertEquals(200, dashboardStatus(jwtService.generateToken(member), householdId));
+        assertEquals(403, dashboardStatus(jwtService.generateToken(stranger), householdId));
+    }
+
+    @Test
+    public void testAddingAndRemovingRoommatesTakesEffectImmediately() throws Exception {
+        User member = saveUser("Host");
+        User guest = saveUser("Guest");
+        Long householdId = seedHousehold("Shared", member);
+        String guestToken = jwtService.generateToken(guest);
+        assertEquals(403, dashboardStatus(guestToken, householdId));
+
+        inTransaction(() -> {
+            Household household = householdRepository.findById(householdId).orElseThrow();
+            household.addRoommate(new Roommate(household, userRepository.findById(guest.getId()).orElseThrow()));
+        });
+        assertEquals(200, dashboardStatus(guestToken, householdId), "The new Roommate was still denied");
+
+        inTransaction(() -> {
+            Household household = householdRepository.findById(householdId).orElseThrow();
+            household.removeRoommate(household.getRoommates().stream()
+                    .filter(roommate -> roommate.getUser().getId().equals(guest.getId()))
+                    .findFirst().orElseThrow());
+        });
+        assertEquals(403, dashboardStatus(guestToken, householdId), "The removed Roommate was still let through");
+    }
+
+    @Test
+    public void testRoommatesChangedByOtherInstancesAreNoticed() throws Exception {
+        User member = saveUser("Resident");
+        User guest = saveUser("Visitor");
+        Long householdId = seedHousehold("Remote", member);
+        String guestToken = jwtService.generateToken(guest);
+        assertEquals(403, dashboardStatus(guestToken, householdId));
+
+        jdbcTemplate.update("insert into roommates (household_id, user_id) values (?, ?)", householdId, guest.getId());
+        assertTrue(eventually(() -> dashboardStatus(guestToken, householdId) == 200), "The new Roommate was still denied");
+
+        jdbcTemplate.update("delete from roommates where household_id = ? and user_id = ?", householdId, guest.getId());
+        assertTrue(eventually(() -> dashboardStatus(guestToken, householdId) == 403), "The removed Roommate was still let through");
+    }
+
+    @Test
+    public void testEntitiesOfOtherHouseholdsAreDenied() throws Exception {
+        User member = saveUser("Owner");
+        User stranger = saveUser("Intruder");
+        Long householdId = seedHousehold("Guarded", member);
+        Long strangerHouseholdId = seedHousehold("Elsewhere", stranger);
+        Long shoppingListId = idOf("shopping_lists", householdId);
+        Long accountId = idOf("accounts", householdId);
+        Long taskListId = idOf("task_lists", householdId);
+        Long taskId = jdbcTemplate.queryForObject("""
+                insert into tasks (action, description, finished, task_list_id, household_id) values ('Dishes', '', false, ?, ?)
+                returning id
+                """, Long.class, taskListId, householdId);
+        String memberToken = jwtService.generateToken(member);
+        String strangerToken = jwtService.generateToken(stranger);
+        assertEquals(201, status(memberToken, "POST", "/task-lists/" + taskListId + "/recurring-tasks",
+                "{\"action\":\"Vacuum\",\"description\":\"Hall\",\"recurrenceRule\":\"FREQ=WEEKLY;BYDAY=MO\",\"startsAt\":\"2030-01-07T10:00:00\"}"));
+        Long recurringTaskId = jdbcTemplate.queryForObject("select id from recurring_tasks where task_list_id = ?", Long.class, taskListId);
+
+        List<Call> calls = List.of(
+                new Call("GET", "/shopping-lists/" + shoppingListId, null),
+                new Call("GET", "/shopping-lists/" + shoppingListId + "/events", null),
+                new Call("POST", "/shopping-lists/" + shoppingListId + "/items", "{}"),
+                new Call("PATCH", "/shopping-lists/" + shoppingListId + "/items", "{}"),
+                new Call("PUT", "/shopping-lists/" + shoppingListId + "/items/1/picked", null),
+                new Call("PUT", "/shopping-lists/" + shoppingListId + "/items/1/position", "{}"),
+                new Call("DELETE", "/shopping-lists/" + shoppingListId + "/items/1", null),
+                new Call("POST", "/shopping-lists/" + shoppingListId + "/sprees", "{\"accountId\":" + accountId + "}"),
+                new Call("PUT", "/tasks/" + taskId + "/finished", null),
+                new Call("PUT", "/tasks/" + taskId + "/position", "{}"),
+                new Call("PUT", "/tasks/" + taskId + "/claim", null),
+                new Call("GET", "/task-lists/" + taskListId + "/recurring-tasks", null),
+                new Call("POST", "/task-lists/" + taskListId + "/recurring-tasks", "{}"),
+                new Call("GET", "/recurring-tasks/" + recurringTaskId + "/occurrences", null),
+                new Call("GET", "/accounts/" + accountId + "/transactions/search?q=rent", null),
+                new Call("GET", "/accounts/" + accountId + "/recurring-transactions", null),
+                new Call("POST", "/accounts/" + accountId + "/recurring-transactions", "{}"));
+        for (Call call : calls) {
+            assertEquals(403, status(strangerToken, call.method(), call.path(), call.body()), call.method() + " " + call.path() + " by a stranger");
+            assertNotEquals(403, status(memberToken, call.method(), call.path(), call.body()), call.method() + " " + call.path() + " by a Roommate");
+        }
+
+        Long strangerShoppingListId = idOf("shopping_lists", strangerHouseholdId);
+        assertEquals(403, status(strangerToken, "POST", "/shopping-lists/" + strangerShoppingListId + "/sprees", "{\"accountId\":" + accountId + "}"),
+                "A spree on the own ShoppingList was booked on the Account of another Household");
+        assertEquals(403, status(strangerToken, "GET", "/shopping-lists/" + Long.MAX_VALUE, null));
+    }
+
+    @Test
+    public void testChecksDoNotQueryTheDatabaseOnceLoaded() {
+        User member = saveUser("Regular");
+        Long householdId = seedHousehold("Frequent", member);
+        Long otherHouseholdId = seedHousehold("Other", saveUser("Outsider"));
+        Authentication authentication = new UsernamePasswordAuthenticationToken(member, null, member.getAuthorities());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertTrue(householdMembershipService.isRoommate(authentication, householdId));
+
+        statistics.clear();
+        for (int i = 0; i < 100; i++) {
+            assertTrue(householdMembershipService.isRoommate(authentication, householdId));
+            assertFalse(householdMembershipService.isRoommate(authentication, otherHouseholdId));
+        }
+        assertEquals(0, statistics.getPrepareStatementCount(), "The checks were not answered from memory");
+    }
+
+    private User saveUser(String username) {
+        User user = new User(username, username.toLowerCase() + "@homehub.de", "Member123!", "123456789", LocalDateTime.now().plusDays(1));
+        user.enable();
+        return userRepository.save(user);
+    }
+
+    /**
+     * Saves a Household with the given Users as Roommates, a ShoppingList, an Account and a TaskList.
+     */
+    private Long seedHousehold(String name, User... users) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Household household = new Household(name);
+            for (User user : List.of(users)) {
+                household.addRoommate(new Roommate(household, userRepository.findById(user.getId()).orElseThrow()));
+            }
+            household.addShoppingList("Weekly");
+            household.addAccount("Cash", 0, "EUR");
+            household.addTaskList("Chores");
+            return householdRepository.save(household).getId();
+        });
+    }
+
+    private Long idOf(String table, Long householdId) {
+        return jdbcTemplate.queryForObject("select id from " + table + " where household_id = ?", Long.class, householdId);
+    }
+
+    private void inTransaction(Runnable action) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> action.run());
+    }
+
+    /**
+     * Checks the condition until it holds, for far less than the TTL of the cached Households.
+     */
+    private boolean eventually(Check check) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!check.holds()) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            Thread.sleep(50);
+        }
+        return true;
+    }
+
+    private int dashboardStatus(String token, Long householdId) throws Exception {
+        return status(token, "GET", "/households/" + householdId + "/dashboard", null);
+    }
+
+    /**
+     * Sends an authenticated request with the given JSON body, if any, and returns the status of the response without
+     * waiting for its body, which never ends for event streams.
+     */
+    private int status(String token, String method, String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<InputStream> response = http.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        response.body().close();
+        return response.statusCode();
+    }
+
+    private record Call(String method, String path, String body) {
+    }
+
+    private interface Check {
+        boolean holds() throws Exception;
+    }
+}
@@ -0,0 +1,70 @@
+package com.terfehr.homehub.infrastructure.sharding;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the ShardContext. Pooled threads must not keep the shard of the thread that started them, and tasks handed
+ * to them only run on a shard if they were wrapped.
+ */
+class ShardContextTest {
+
+    @AfterEach
+    void tearDown() {
+        ShardContext.clear();
+    }
+
+    @Test
+    public void testPooledThreadsDoNotKeepTheShardTheyWereStartedWith() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            ShardContext.set("shard-1");
+            String started = submit(executor, ShardContext::current); // Starts the pooled thread
+            ShardContext.set("shard-2");
+
+            assertNull(started);
+            assertNull(submit(executor, ShardContext::current));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testWrappedTasksRunOnTheShardTheyWereWrappedOn() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Callable<String> onShard1 = ShardContext.callIn("shard-1", () -> ShardContext.wrap(ShardContext::current));
+            String[] seen = new String[1];
+            Runnable record = () -> seen[0] = ShardContext.current();
+            Runnable onShard2 = ShardContext.callIn("shard-2", () -> ShardContext.wrap(record));
+
+            assertEquals("shard-1", submit(executor, onShard1));
+            executor.submit(onShard2).get(5, TimeUnit.SECONDS);
+            assertEquals("shard-2", seen[0]);
+            assertNull(submit(executor, ShardContext::current), "The worker kept the shard of a wrapped task");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCallInRestoresThePreviousShard() {
+        ShardContext.set("shard-1");
+
+        assertEquals("shard-2", ShardContext.callIn("shard-2", ShardContext::current));
+        assertEquals("shard-1", ShardContext.current());
+        assertNull(ShardContext.callIn(null, ShardContext::current));
+        assertEquals("shard-1", ShardContext.current());
+    }
+
+    private <T> T submit(ExecutorService executor, Callable<T> task) throws Exception {
+        return executor.submit(task).get(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,345 @@
+package com.terfehr.homehub.infrastructure.sharding;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.terfehr.homehub.application.dto.UserDTO;
+import com.terfehr.homehub.domain.household.entity.Household;
+import com.terfehr.homehub.domain.household.entity.Roommate;
+import com.terfehr.homehub.domain.household.entity.User;
+import com.terfehr.homehub.domain.household.event.UserRegisteredEvent;
+import com.terfehr.homehub.domain.household.repository.HouseholdRepositoryInterface;
+import com.terfehr.homehub.domain.household.repository.UserRepositoryInterface;
+import com.terfehr.homehub.infrastructure.service.JwtService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the household shards. Asserts that Households are spread evenly over the shards, that every shard
+ * generates IDs from its own range, that requests naming a Household or one of its entities are served by the shard of
+ * the Household, that the second-level cache keeps the copies of a User in the shards apart and that a Household can
+ * be moved to another shard with all its rows while changes to it are rejected during the move. Changes that are
+ * already running when the move starts are waited for and moved along, later changes bypassing the requests, like
+ * those of the scheduled jobs, are rejected by the shard itself.
+ */
+@Slf4j
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "security.jwt.secret-key=YWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWFhYWE=",
+        "security.jwt.expiration-time=3600000",
+        "spring.mail.username=test",
+        "spring.mail.password=test",
+        "sharding.enabled=true"
+})
+@ActiveProfiles("test")
+class ShardingIT {
+
+    private static final String SHARD_A = "shard-a";
+    private static final String SHARD_B = "shard-b";
+    private static final int HOUSEHOLDS = 10_000;
+
+    @Container
+    static PostgreSQLContainer<?> global = new PostgreSQLContainer<>("postgres:latest");
+
+    @Container
+    static PostgreSQLContainer<?> shardA = new PostgreSQLContainer<>("postgres:latest");
+
+    @Container
+    static PostgreSQLContainer<?> shardB = new PostgreSQLContainer<>("postgres:latest");
+
+    @DynamicPropertySource
+    static void shards(DynamicPropertyRegistry registry) {
+        registry.add("sharding.global.url", global::getJdbcUrl);
+        registry.add("sharding.global.username", global::getUsername);
+        registry.add("sharding.global.password", global::getPassword);
+        List<PostgreSQLContainer<?>> containers = List.of(shardA, shardB);
+        List<String> names = List.of(SHARD_A, SHARD_B);
+        for (int i = 0; i < containers.size(); i++) {
+            PostgreSQLContainer<?> container = containers.get(i);
+            String name = names.get(i);
+            registry.add("sharding.shards[" + i + "].name", () -> name);
+            registry.add("sharding.shards[" + i + "].url", container::getJdbcUrl);
+            registry.add("sharding.shards[" + i + "].username", container::getUsername);
+            registry.add("sharding.shards[" + i + "].password", container::getPassword);
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private HouseholdShardMover householdShardMover;
+
+    @Autowired
+    private UserReplicator userReplicator;
+
+    @Autowired
+    private UserRepositoryInterface userRepository;
+
+    @Autowired
+    private HouseholdRepositoryInterface householdRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private HttpClient http;
+
+    @BeforeEach
+    void setUp() {
+        http = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        http.close();
+    }
+
+    @Test
+    public void testHouseholdsAreSpreadOverTheShards() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (long householdId = 1; householdId <= HOUSEHOLDS; householdId++) {
+            counts.merge(shardRouter.getPlacement(householdId).shard(), 1, Integer::sum);
+        }
+        log.info("Households per shard: {}", counts);
+
+        assertEquals(Map.of(SHARD_A, 0, SHARD_B, 0).keySet(), counts.keySet());
+        counts.values().forEach(count -> assertTrue(count > HOUSEHOLDS * 0.4, "Uneven spread: " + counts));
+    }
+
+    @Test
+    public void testEveryShardGeneratesIdsFromItsOwnRange() {
+        long globalId = saveUser("RangeGlobal").getId();
+        Long householdA = ShardContext.callIn(SHARD_A, () -> householdRepository.save(new Household("Range A")).getId());
+        Long householdB = ShardContext.callIn(SHARD_B, () -> householdRepository.save(new Household("Range B")).getId());
+
+        assertTrue(globalId < shardRouter.getIdRangeStart(SHARD_A));
+        assertTrue(householdA >= shardRouter.getIdRangeStart(SHARD_A) && householdA < shardRouter.getIdRangeStart(SHARD_B));
+        assertTrue(householdB >= shardRouter.getIdRangeStart(SHARD_B));
+    }
+
+    @Test
+    public void testRequestsAreRoutedToTheShardOfTheirHousehold() throws Exception {
+        User user = saveUser("Router");
+        Long householdId = seedHousehold(SHARD_A, "Routed", user);
+        Long shoppingListId = findShoppingListId(SHARD_A, householdId);
+        String token = jwtService.generateToken(user);
+
+        assertEquals("Routed", send(token, "/households/" + householdId + "/dashboard", null).get("name").asText());
+        long itemId = send(token, "/shopping-lists/" + shoppingListId + "/items", "{\"name\":\"Milk\",\"quantity\":2}").get("id").asLong();
+
+        assertTrue(itemId >= shardRouter.getIdRangeStart(SHARD_A) && itemId < shardRouter.getIdRangeStart(SHARD_B));
+        assertEquals(1, count(SHARD_A, "shopping_list_items", householdId));
+        assertEquals(0, count(SHARD_B, "shopping_list_items", householdId));
+        assertEquals(0, count(ShardRoutingDataSource.GLOBAL, "shopping_list_items", householdId));
+    }
+
+    @Test
+    public void testSecondLevelCacheKeepsTheShardsApart() {
+        User user = saveUser("Cacher");
+
+        String password = userRepository.findById(user.getId()).orElseThrow().getPassword();
+        String copiedPassword = ShardContext.callIn(SHARD_A, () -> userRepository.findById(user.getId()).orElseThrow().getPassword());
+
+        assertFalse(password.isEmpty());
+        assertEquals("", copiedPassword, "The User of the global shard was served from the cache");
+        assertEquals(password, userRepository.findById(user.getId()).orElseThrow().getPassword());
+    }
+
+    @Test
+    public void testHouseholdIsMovedWithAllItsRows() throws Exception {
+        User user = saveUser("Mover");
+        Long householdId = seedHousehold(SHARD_A, "Moved", user);
+        Long shoppingListId = findShoppingListId(SHARD_A, householdId);
+        String token = jwtService.generateToken(user);
+        send(token, "/shopping-lists/" + shoppingListId + "/items", "{\"name\":\"Bread\",\"quantity\":1}");
+        List<String> tables = new JdbcTemplate(shardRouter.getDataSource(SHARD_A)).queryForList("""
+                select table_name from information_schema.columns
+                where table_schema = current_schema() and column_name = 'household_id'
+                and table_name in (select tablename from pg_tables where schemaname = current_schema())
+                """, String.class);
+        Map<String, Integer> before = new HashMap<>();
+        tables.forEach(table -> before.put(table, count(SHARD_A, table, householdId)));
+
+        CompletableFuture<Void> move;
+        try (Connection blocker = lock(SHARD_B, "households")) { // Keeps the move from completing
+            move = CompletableFuture.runAsync(() -> householdShardMover.move(householdId, SHARD_B));
+            await(() -> shardRouter.getPlacement(householdId).moving());
+            HttpResponse<String> rejected = http.send(request(token, "/shopping-lists/" + shoppingListId + "/items", "{\"name\":\"Eggs\",\"quantity\":6}"),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(503, rejected.statusCode());
+            assertEquals("Moved", send(token, "/households/" + householdId + "/dashboard", null).get("name").asText());
+            blocker.rollback();
+        }
+        move.get();
+
+        assertEquals(new HouseholdPlacement(householdId, SHARD_B, false), shardRouter.getPlacement(householdId));
+        AtomicInteger moved = new AtomicInteger();
+        tables.forEach(table -> {
+            assertEquals(before.get(table), count(SHARD_B, table, householdId), "Rows of " + table + " were not copied");
+            assertEquals(0, count(SHARD_A, table, householdId), "Rows of " + table + " were not deleted");
+            moved.addAndGet(before.get(table));
+        });
+        assertTrue(moved.get() >= 4, "Too few rows moved: " + before); // Household, Roommate, ShoppingList and item
+
+        assertEquals("Moved", send(token, "/households/" + householdId + "/dashboard", null).get("name").asText());
+        long itemId = send(token, "/shopping-lists/" + shoppingListId + "/items", "{\"name\":\"Eggs\",\"quantity\":6}").get("id").asLong();
+        assertTrue(itemId >= shardRouter.getIdRangeStart(SHARD_B));
+        assertEquals(2, count(SHARD_B, "shopping_list_items", householdId));
+        assertThrows(IllegalArgumentException.class, () -> householdShardMover.move(householdId, SHARD_B));
+    }
+
+    @Test
+    public void testChangesDuringTheMoveAreMovedAlongOrRejected() throws Exception {
+        User user = saveUser("Fencer");
+        Long householdId = seedHousehold(SHARD_A, "Fenced", user);
+        Long shoppingListId = findShoppingListId(SHARD_A, householdId);
+        JdbcTemplate source = new JdbcTemplate(shardRouter.getDataSource(SHARD_A));
+        String rename = "update shopping_lists set name = ? where id = ?";
+
+        CompletableFuture<Void> move;
+        try (Connection running = shardRouter.getDataSource(SHARD_A).getConnection(); Connection blocker = lock(SHARD_B, "households")) {
+            running.setAutoCommit(false);
+            try (PreparedStatement statement = running.prepareStatement(rename)) {
+                statement.setString(1, "Running");
+                statement.setLong(2, shoppingListId);
+                statement.executeUpdate();
+            }
+            move = CompletableFuture.runAsync(() -> householdShardMover.move(householdId, SHARD_B));
+            await(() -> source.queryForObject("select count(*) > 0 from pg_locks where locktype = 'advisory' and not granted", Boolean.class));
+            running.commit();
+
+            await(() -> source.queryForObject("select count(*) > 0 from household_fences where household_id = ?", Boolean.class, householdId));
+            DataAccessException rejected = assertThrows(DataAccessException.class, () -> source.update(rename, "Lost", shoppingListId),
+                    "A job changed the Household while it was copied");
+            assertTrue(rejected.getMessage().contains("is being moved"), rejected.getMessage());
+            assertFalse(move.isDone());
+            blocker.rollback();
+        }
+        move.get();
+
+        assertEquals(new HouseholdPlacement(householdId, SHARD_B, false), shardRouter.getPlacement(householdId));
+        assertEquals("Running", new JdbcTemplate(shardRouter.getDataSource(SHARD_B))
+                .queryForObject("select name from shopping_lists where id = ?", String.class, shoppingListId));
+        assertEquals(0, count(SHARD_A, "shopping_lists", householdId));
+        assertEquals(0, source.queryForObject("select count(*) from household_fences", Integer.class));
+    }
+
+    /**
+     * Saves an enabled User in the global shard and copies it to the household shards like a registration does.
+     */
+    private User saveUser(String username) {
+        User user = new User(username, username.toLowerCase() + "@homehub.de", "Sharding123!", "123456789", LocalDateTime.now().plusDays(1));
+        user.enable();
+        userRepository.save(user);
+        userReplicator.onUserRegistered(new UserRegisteredEvent(new UserDTO(user)));
+        return user;
+    }
+
+    /**
+     * Saves a Household with the given User as Roommate and a ShoppingList in the given shard and pins it there.
+     */
+    private Long seedHousehold(String shard, String name, User user) {
+        Long householdId = ShardContext.callIn(shard, () -> new TransactionTemplate(transactionManager).execute(status -> {
+            Household household = new Household(name);
+            household.addRoommate(new Roommate(household, userRepository.findById(user.getId()).orElseThrow()));
+            household.addShoppingList("Weekly");
+            return householdRepository.save(household).getId();
+        }));
+        shardRouter.savePlacement(new HouseholdPlacement(householdId, shard, false));
+        return householdId;
+    }
+
+    private Long findShoppingListId(String shard, Long householdId) {
+        return new JdbcTemplate(shardRouter.getDataSource(shard))
+                .queryForObject("select id from shopping_lists where household_id = ?", Long.class, householdId);
+    }
+
+    private int count(String shard, String table, Long householdId) {
+        Integer count = new JdbcTemplate(shardRouter.getDataSource(shard))
+                .queryForObject("select count(*) from " + table + " where household_id = ?", Integer.class, householdId);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Opens a transaction holding an exclusive lock on the given table of a shard, which blocks all writes to it until
+     * the transaction is rolled back or the connection is closed.
+     */
+    private Connection lock(String shard, String table) throws SQLException {
+        Connection connection = shardRouter.getDataSource(shard).getConnection();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("lock table " + table + " in exclusive mode");
+        }
+        return connection;
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for the move");
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Builds an authenticated request, a POST with the given JSON body or a GET without one.
+     */
+    private HttpRequest request(String token, String path, String body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token);
+        if (body == null) {
+            return request.GET().build();
+        }
+        return request.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    /**
+     * Sends the given request and returns the parsed response body, failing on any unsuccessful status.
+     */
+    private JsonNode send(String token, String path, String body) throws Exception {
+        HttpResponse<String> response = http.send(request(token, path, body), HttpResponse.BodyHandlers.ofString());
+        assertTrue(response.statusCode() < 300, "Request to " + path + " failed with status " + response.statusCode() + ": " + response.body());
+        return objectMapper.readTree(response.body());
+    }
+}
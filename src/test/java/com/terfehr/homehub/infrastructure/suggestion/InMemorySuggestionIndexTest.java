@@ -0,0 +1,104 @@
+package com.terfehr.homehub.infrastructure.suggestion;
+
+import com.terfehr.homehub.domain.bookkeeping.repository.TransactionRepositoryInterface;
+import com.terfehr.homehub.domain.household.value.SuggestionField;
+import com.terfehr.homehub.domain.household.value.TermFrequency;
+import com.terfehr.homehub.domain.shopping.entity.ShoppingListItem;
+import com.terfehr.homehub.domain.shopping.event.ShoppingListItemAddedEvent;
+import com.terfehr.homehub.domain.shopping.repository.ShoppingListItemRepositoryInterface;
+import com.terfehr.homehub.domain.shopping.repository.ShoppingSpreeItemRepositoryInterface;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test for the InMemorySuggestionIndex. Added items are counted once the indexes of their Household are loaded, and
+ * items added while the indexes are being built are not lost.
+ */
+class InMemorySuggestionIndexTest {
+
+    private static final Long HOUSEHOLD_ID = 1L;
+
+    private TransactionRepositoryInterface transactionRepository;
+    private ShoppingListItemRepositoryInterface shoppingListItemRepository;
+    private ShoppingSpreeItemRepositoryInterface shoppingSpreeItemRepository;
+    private InMemorySuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository = mock(TransactionRepositoryInterface.class);
+        shoppingListItemRepository = mock(ShoppingListItemRepositoryInterface.class);
+        shoppingSpreeItemRepository = mock(ShoppingSpreeItemRepositoryInterface.class);
+        index = new InMemorySuggestionIndex(transactionRepository, shoppingListItemRepository, shoppingSpreeItemRepository, 1000);
+    }
+
+    @Test
+    public void testAddedItemsAreCountedOnceLoaded() {
+        when(shoppingListItemRepository.findNameFrequenciesByHouseholdId(HOUSEHOLD_ID)).thenReturn(List.of(new TermFrequency("Milk", 1)));
+        when(shoppingSpreeItemRepository.findNameFrequenciesByHouseholdId(HOUSEHOLD_ID)).thenReturn(List.of(new TermFrequency("Milk", 2)));
+
+        assertEquals(List.of(new TermFrequency("Milk", 3)), index.suggest(HOUSEHOLD_ID, SuggestionField.ITEM, "mi", 10));
+        index.onShoppingListItemAdded(added("Milk"));
+        index.onShoppingListItemAdded(added("Mints"));
+
+        assertEquals(List.of(new TermFrequency("Milk", 4), new TermFrequency("Mints", 1)),
+                index.suggest(HOUSEHOLD_ID, SuggestionField.ITEM, "mi", 10));
+    }
+
+    @Test
+    public void testItemsOfUnloadedHouseholdsAreLeftToTheDatabase() {
+        index.onShoppingListItemAdded(added("Milk"));
+        when(shoppingListItemRepository.findNameFrequenciesByHouseholdId(HOUSEHOLD_ID)).thenReturn(List.of(new TermFrequency("Milk", 1)));
+
+        assertEquals(List.of(new TermFrequency("Milk", 1)), index.suggest(HOUSEHOLD_ID, SuggestionField.ITEM, "mi", 10));
+    }
+
+    @Test
+    public void testItemsAddedWhileLoadingAreNotLost() throws Exception {
+        CountDownLatch querying = new CountDownLatch(1);
+        CountDownLatch added = new CountDownLatch(1);
+        when(shoppingListItemRepository.findNameFrequenciesByHouseholdId(HOUSEHOLD_ID)).thenAnswer(invocation -> {
+            querying.countDown();
+            assertTrue(added.await(10, TimeUnit.SECONDS));
+            return List.of();
+        });
+
+        CompletableFuture<List<TermFrequency>> loading = CompletableFuture.supplyAsync(() ->
+                index.suggest(HOUSEHOLD_ID, SuggestionField.ITEM, "", 10));
+        try {
+            assertTrue(querying.await(10, TimeUnit.SECONDS));
+            index.onShoppingListItemAdded(added("Bread"));
+        } finally {
+            added.countDown();
+        }
+
+        assertEquals(List.of(new TermFrequency("Bread", 1)), loading.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFailedLoadsStopBuffering() {
+        when(shoppingListItemRepository.findNameFrequenciesByHouseholdId(HOUSEHOLD_ID))
+                .thenThrow(new IllegalStateException("Database down"))
+                .thenReturn(List.of());
+
+        assertThrows(IllegalStateException.class, () -> index.suggest(HOUSEHOLD_ID, SuggestionField.ITEM, "", 10));
+        index.onShoppingListItemAdded(added("Butter"));
+
+        assertEquals(List.of(), index.suggest(HOUSEHOLD_ID, SuggestionField.ITEM, "", 10),
+                "An item added after the failed load was counted on top of the database");
+    }
+
+    private ShoppingListItemAddedEvent added(String name) {
+        ShoppingListItem item = mock(ShoppingListItem.class);
+        when(item.getHouseholdId()).thenReturn(HOUSEHOLD_ID);
+        when(item.getName()).thenReturn(name);
+        return new ShoppingListItemAddedEvent(item);
+    }
+}
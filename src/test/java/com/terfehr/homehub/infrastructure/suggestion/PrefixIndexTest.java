@@ -0,0 +1,107 @@
+package com.terfehr.homehub.infrastructure.suggestion;
+
+import com.terfehr.homehub.domain.household.value.TermFrequency;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the PrefixIndex. Suggestions are the terms in the range of the prefix, ranked by frequency and then
+ * alphabetically, and terms are matched regardless of case and white space.
+ */
+class PrefixIndexTest {
+
+    @Test
+    public void testSuggestsOnlyTermsWithThePrefix() {
+        PrefixIndex index = new PrefixIndex();
+        index.add("Milk", 1);
+        index.add("Mild Cheese", 1);
+        index.add("Mint", 1);
+        index.add("Bread", 1);
+
+        assertEquals(List.of("Mild Cheese", "Milk"), terms(index.suggest("mil", 10)));
+        assertEquals(List.of("Mild Cheese", "Milk", "Mint"), terms(index.suggest("m", 10)));
+        assertEquals(List.of(), index.suggest("milkshake", 10));
+        assertEquals(List.of(), index.suggest("z", 10));
+    }
+
+    @Test
+    public void testRanksByFrequencyAndThenAlphabetically() {
+        PrefixIndex index = new PrefixIndex();
+        index.add("Butter", 2);
+        index.add("Bread", 5);
+        index.add("Beans", 2);
+        index.add("Bananas", 1);
+
+        assertEquals(List.of(new TermFrequency("Bread", 5), new TermFrequency("Beans", 2),
+                new TermFrequency("Butter", 2), new TermFrequency("Bananas", 1)), index.suggest("b", 10));
+    }
+
+    @Test
+    public void testReturnsAtMostTheLimit() {
+        PrefixIndex index = new PrefixIndex();
+        for (int i = 0; i < 50; i++) {
+            index.add("Term " + i, i);
+        }
+
+        assertEquals(List.of("Term 49", "Term 48", "Term 47"), terms(index.suggest("term", 3)));
+        assertEquals(List.of(), index.suggest("term", 0));
+    }
+
+    @Test
+    public void testMatchesRegardlessOfCaseAndWhiteSpace() {
+        PrefixIndex index = new PrefixIndex();
+        index.add("Oat  Milk", 1);
+        index.add(" oat milk ", 2);
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(new TermFrequency("oat milk", 3)), index.suggest("  OAT   m", 10));
+    }
+
+    @Test
+    public void testSuggestsTheSpellingEnteredLast() {
+        PrefixIndex index = new PrefixIndex();
+        index.add("landlord", 3);
+        index.add("Landlord", 1);
+
+        assertEquals(List.of(new TermFrequency("Landlord", 4)), index.suggest("land", 10));
+    }
+
+    @Test
+    public void testEmptyPrefixSuggestsFromAllTerms() {
+        PrefixIndex index = new PrefixIndex();
+        index.add("Apples", 1);
+        index.add("Zucchini", 2);
+
+        assertEquals(List.of("Zucchini", "Apples"), terms(index.suggest("", 10)));
+        assertEquals(List.of("Zucchini", "Apples"), terms(index.suggest(null, 10)));
+        assertEquals(List.of("Zucchini", "Apples"), terms(index.suggest("   ", 10)));
+    }
+
+    @Test
+    public void testIgnoresBlankTerms() {
+        PrefixIndex index = new PrefixIndex();
+        index.add(null, 1);
+        index.add("", 1);
+        index.add("  ", 1);
+
+        assertEquals(0, index.size());
+        assertEquals(List.of(), index.suggest("", 10));
+    }
+
+    @Test
+    public void testSizeCountsDistinctTerms() {
+        PrefixIndex index = new PrefixIndex();
+        index.add("Rent", 1);
+        index.add("rent", 1);
+        index.add("Electricity", 1);
+
+        assertEquals(2, index.size());
+    }
+
+    private List<String> terms(List<TermFrequency> suggestions) {
+        return suggestions.stream().map(TermFrequency::term).toList();
+    }
+}